@@ -7,6 +7,7 @@ plugins {
     jacoco
     alias(libs.plugins.sonarqube)
     alias(libs.plugins.jreleaser)
+    alias(libs.plugins.jmh)
 }
 
 java {
@@ -28,8 +29,15 @@ repositories {
 dependencies {
     implementation(libs.log4j.api)
     implementation(libs.netty.codec.base)
+    // optional native transports, see DatagramTransport - users add the native artifacts for their platform
+    compileOnly(libs.netty.transport.classes.epoll)
+    compileOnly(libs.netty.transport.classes.iouring)
 
     testImplementation(libs.log4j.core)
+    for (platform in listOf("linux-x86_64", "linux-aarch_64")) {
+        testRuntimeOnly(variantOf(libs.netty.transport.epoll) { classifier(platform) })
+        testRuntimeOnly(variantOf(libs.netty.transport.iouring) { classifier(platform) })
+    }
     testImplementation(libs.junit.jupiter)
     testImplementation(libs.mockito.junit.jupiter)
     testImplementation(libs.awaitility)
@@ -38,6 +46,12 @@ dependencies {
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
 
+jmh {
+    jmhVersion = libs.versions.jmh
+    includeTests = true // test resources include the FreeRADIUS dictionary corpus
+    jvmArgsAppend.add("-Dlog4j2.configurationFile=log4j2-jmh.xml")
+}
+
 tasks.jacocoTestReport {
     reports {
         xml.required = true
@@ -56,6 +70,7 @@ sonarqube {
 
 tasks.named<Test>("test") {
     useJUnitPlatform()
+    systemProperty("io.netty.leakDetection.level", "paranoid") // track every buffer in pooled mode tests
     testLogging {
         showStandardStreams = true
         exceptionFormat = TestExceptionFormat.FULL
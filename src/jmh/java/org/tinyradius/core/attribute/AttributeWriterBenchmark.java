@@ -0,0 +1,49 @@
+package org.tinyradius.core.attribute;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.*;
+import org.tinyradius.core.attribute.type.RadiusAttribute;
+import org.tinyradius.core.dictionary.DefaultDictionary;
+import org.tinyradius.core.dictionary.Dictionary;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creating NAS-IP-Address and Session-Timeout attributes from strings: through the dictionary,
+ * with precompiled writers creating attributes, and with writers writing straight into a buffer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AttributeWriterBenchmark {
+
+    private final Dictionary dictionary = DefaultDictionary.INSTANCE;
+
+    private final AttributeWriter nasIp = AttributeWriter.of(dictionary, "NAS-IP-Address");
+    private final AttributeWriter sessionTimeout = AttributeWriter.of(dictionary, "Session-Timeout");
+
+    private final ByteBuf buffer = Unpooled.buffer(64);
+
+    @Benchmark
+    public RadiusAttribute dictionaryCreate() {
+        dictionary.createAttribute("NAS-IP-Address", "192.168.0.1");
+        return dictionary.createAttribute("Session-Timeout", "3600");
+    }
+
+    @Benchmark
+    public RadiusAttribute writerCreate() {
+        nasIp.create((byte) 0, "192.168.0.1");
+        return sessionTimeout.create((byte) 0, "3600");
+    }
+
+    @Benchmark
+    public ByteBuf writerWrite() {
+        buffer.clear();
+        nasIp.write(buffer, (byte) 0, "192.168.0.1");
+        return sessionTimeout.write(buffer, (byte) 0, "3600");
+    }
+}
@@ -0,0 +1,85 @@
+package org.tinyradius.core.attribute;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.*;
+import org.tinyradius.core.RadiusPacketException;
+import org.tinyradius.core.attribute.type.RadiusAttribute;
+import org.tinyradius.core.dictionary.DefaultDictionary;
+import org.tinyradius.core.dictionary.Dictionary;
+import org.tinyradius.core.packet.response.RadiusResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.tinyradius.core.attribute.AttributeTypes.EAP_MESSAGE;
+import static org.tinyradius.core.packet.PacketType.ACCESS_CHALLENGE;
+
+/**
+ * Reassembly and fragmentation of EAP-Message attributes for EAP-TLS sized messages:
+ * a typical 1020 octet TLS fragment, and a 4000 octet message close to the max packet size.
+ * <p>
+ * The copy benchmarks are the manual approach: concatenating {@code getValue()} copies,
+ * and creating one attribute per 253 octet array.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EapMessageBenchmark {
+
+    @Param({"1020", "4000"})
+    private int size;
+
+    private final Dictionary dictionary = DefaultDictionary.INSTANCE;
+
+    private byte[] eapMessage;
+    private RadiusResponse challenge;
+    private RadiusResponse empty;
+
+    @Setup
+    public void setup() throws RadiusPacketException {
+        eapMessage = new byte[size];
+        new Random(1).nextBytes(eapMessage);
+
+        empty = RadiusResponse.create(dictionary, ACCESS_CHALLENGE, (byte) 1, null, List.of());
+        challenge = empty.withEapMessage(Unpooled.wrappedBuffer(eapMessage));
+    }
+
+    @Benchmark
+    public int reassembleComposite() {
+        ByteBuf eap = challenge.getEapMessage().orElseThrow();
+        return eap.getByte(eap.readableBytes() - 1);
+    }
+
+    @Benchmark
+    public int reassembleCopy() {
+        var out = new ByteArrayOutputStream(size);
+        for (RadiusAttribute attribute : challenge.getAttributes(EAP_MESSAGE)) {
+            out.writeBytes(attribute.getValue());
+        }
+        byte[] eap = out.toByteArray();
+        return eap[eap.length - 1];
+    }
+
+    @Benchmark
+    public RadiusResponse fragment() throws RadiusPacketException {
+        return empty.withEapMessage(Unpooled.wrappedBuffer(eapMessage));
+    }
+
+    @Benchmark
+    public RadiusResponse fragmentCopy() throws RadiusPacketException {
+        var attributes = new ArrayList<RadiusAttribute>();
+        for (int offset = 0; offset < eapMessage.length; offset += AttributeFragments.MAX_VALUE_LENGTH) {
+            int end = Math.min(eapMessage.length, offset + AttributeFragments.MAX_VALUE_LENGTH);
+            attributes.add(dictionary.createAttribute(-1, EAP_MESSAGE, Arrays.copyOfRange(eapMessage, offset, end)));
+        }
+        return empty.withAttributes(attributes);
+    }
+}
@@ -0,0 +1,47 @@
+package org.tinyradius.core.dictionary;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.tinyradius.core.dictionary.parser.DictionaryParser;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.tinyradius.core.dictionary.DictionaryParserBenchmark.DEFAULT_DICTIONARY;
+
+/**
+ * Cold parse of dictionaries as seen at application startup, including class loading
+ * and interpreted code.
+ * <p>
+ * Each fork measures a single parse without warmup, and nothing is parsed in setup,
+ * so every shot starts from a fresh JVM.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+@State(Scope.Benchmark)
+public class DictionaryColdParseBenchmark {
+
+    private List<String> freeRadiusCorpus;
+
+    @Setup
+    public void setup() throws IOException {
+        freeRadiusCorpus = FreeRadiusCorpus.load();
+    }
+
+    @Benchmark
+    public WritableDictionary defaultDictionary() throws IOException {
+        return DictionaryParser.newClasspathParser().parseDictionary(DEFAULT_DICTIONARY);
+    }
+
+    @Benchmark
+    public void freeRadiusCorpus(Blackhole bh) throws IOException {
+        var parser = DictionaryParser.newClasspathParser();
+        for (String resource : freeRadiusCorpus) {
+            bh.consume(parser.parseDictionary(resource));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.tinyradius.core.dictionary;
+
+import org.openjdk.jmh.annotations.*;
+import org.tinyradius.core.attribute.AttributeTemplate;
+import org.tinyradius.core.attribute.type.RadiusAttribute;
+import org.tinyradius.core.dictionary.parser.DictionaryParser;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-lookup cost of dictionary queries and attribute creation by name.
+ * <p>
+ * Uses the test dictionary, which adds vendors (incl. WISPr) to the default dictionary.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DictionaryLookupBenchmark {
+
+    private static final int WISPR = 14122;
+
+    private Dictionary dictionary;
+
+    @Setup
+    public void setup() throws IOException {
+        dictionary = DictionaryParser.newClasspathParser()
+                .parseDictionary("org/tinyradius/core/dictionary/test_dictionary");
+    }
+
+    @Benchmark
+    public Optional<AttributeTemplate> templateByCode() {
+        return dictionary.getAttributeTemplate(-1, 6);
+    }
+
+    @Benchmark
+    public Optional<AttributeTemplate> vendorTemplateByCode() {
+        return dictionary.getAttributeTemplate(WISPR, 1);
+    }
+
+    @Benchmark
+    public Optional<AttributeTemplate> templateByCodeMiss() {
+        return dictionary.getAttributeTemplate(-1, 250);
+    }
+
+    @Benchmark
+    public Optional<AttributeTemplate> templateByName() {
+        return dictionary.getAttributeTemplate("Service-Type");
+    }
+
+    @Benchmark
+    public Optional<Vendor> vendorById() {
+        return dictionary.getVendor(WISPR);
+    }
+
+    @Benchmark
+    public Optional<Vendor> vendorByName() {
+        return dictionary.getVendor("WISPr");
+    }
+
+    @Benchmark
+    public RadiusAttribute createString() {
+        return dictionary.createAttribute("User-Name", "user@example.com");
+    }
+
+    @Benchmark
+    public RadiusAttribute createIntegerEnum() {
+        return dictionary.createAttribute("Service-Type", "Login-User");
+    }
+
+    @Benchmark
+    public RadiusAttribute createIpv4() {
+        return dictionary.createAttribute("Framed-IP-Address", "192.168.100.1");
+    }
+
+    @Benchmark
+    public RadiusAttribute createIpv6() {
+        return dictionary.createAttribute("Framed-IPv6-Address", "2001:db8::1");
+    }
+
+    @Benchmark
+    public RadiusAttribute createVendorSpecific() {
+        return dictionary.createAttribute("WISPr-Location-ID", "isocc=us,cc=1,ac=408,network=ACMEWISP");
+    }
+}
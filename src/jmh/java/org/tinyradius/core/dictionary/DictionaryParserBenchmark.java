@@ -0,0 +1,45 @@
+package org.tinyradius.core.dictionary;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.tinyradius.core.dictionary.parser.DictionaryParser;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Steady state cost of parsing dictionaries from the classpath, once the JIT has warmed up.
+ * See {@link DictionaryColdParseBenchmark} for a cold parse as seen at application startup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DictionaryParserBenchmark {
+
+    static final String DEFAULT_DICTIONARY = "org/tinyradius/core/dictionary/default_dictionary";
+
+    private final DictionaryParser parser = DictionaryParser.newClasspathParser();
+
+    private List<String> freeRadiusCorpus;
+
+    @Setup
+    public void setup() throws IOException {
+        freeRadiusCorpus = FreeRadiusCorpus.load();
+    }
+
+    @Benchmark
+    public WritableDictionary defaultDictionary() throws IOException {
+        return parser.parseDictionary(DEFAULT_DICTIONARY);
+    }
+
+    @Benchmark
+    public void freeRadiusCorpus(Blackhole bh) throws IOException {
+        for (String resource : freeRadiusCorpus) {
+            bh.consume(parser.parseDictionary(resource));
+        }
+    }
+}
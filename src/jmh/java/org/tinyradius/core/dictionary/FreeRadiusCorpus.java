@@ -0,0 +1,38 @@
+package org.tinyradius.core.dictionary;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * FreeRADIUS test dictionaries that parse on their own, listed in freeradius-corpus.txt.
+ * <p>
+ * The master dictionary cannot be parsed in one go, see DictionaryCompatibilityTest,
+ * so each file is parsed individually. Reading the list doesn't parse anything, so
+ * cold benchmarks don't load parser classes before they are measured.
+ */
+final class FreeRadiusCorpus {
+
+    private static final String FREERADIUS_DIR = "org/tinyradius/core/dictionary/freeradius/";
+
+    private FreeRadiusCorpus() {
+    }
+
+    static List<String> load() throws IOException {
+        var resources = new ArrayList<String>();
+        try (var in = new BufferedReader(new InputStreamReader(requireNonNull(
+                FreeRadiusCorpus.class.getClassLoader().getResourceAsStream("freeradius-corpus.txt"))))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#"))
+                    resources.add(FREERADIUS_DIR + line);
+            }
+        }
+        return resources;
+    }
+}
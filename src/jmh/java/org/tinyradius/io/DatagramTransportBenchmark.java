@@ -0,0 +1,143 @@
+package org.tinyradius.io;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.util.ReferenceCountUtil;
+import org.jspecify.annotations.NonNull;
+import org.openjdk.jmh.annotations.*;
+import org.tinyradius.core.RadiusPacketException;
+import org.tinyradius.core.dictionary.DefaultDictionary;
+import org.tinyradius.core.dictionary.Dictionary;
+import org.tinyradius.core.packet.request.AccountingRequest;
+import org.tinyradius.core.packet.request.RadiusRequest;
+import org.tinyradius.core.packet.response.RadiusResponse;
+import org.tinyradius.io.server.RequestCtx;
+import org.tinyradius.io.server.handler.RequestHandler;
+import org.tinyradius.io.server.handler.ServerPacketCodec;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.tinyradius.core.packet.PacketType.ACCOUNTING_REQUEST;
+import static org.tinyradius.core.packet.PacketType.ACCOUNTING_RESPONSE;
+
+/**
+ * Accounting request/response round trips over loopback for each datagram transport.
+ * <p>
+ * Server and client each run on a single event loop thread, so the score is packets/s
+ * per core. The server decodes and verifies each request and encodes a response, as
+ * a RadiusServer would. Transports not available on the platform fail in setup.
+ * <p>
+ * Datagrams dropped under load are not retried, and show up as lower throughput.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DatagramTransportBenchmark {
+
+    private static final String SECRET = "testing123";
+    private static final int BATCH = 64;
+    private static final int RECEIVE_BUFFER_SIZE = 4 * 1024 * 1024;
+
+    @Param({"NIO", "EPOLL", "IO_URING"})
+    private DatagramTransport transport;
+
+    private final Dictionary dictionary = DefaultDictionary.INSTANCE;
+    private final Semaphore responses = new Semaphore(0);
+
+    private EventLoopGroup serverGroup;
+    private EventLoopGroup clientGroup;
+    private Channel server;
+    private Channel client;
+    private InetSocketAddress serverAddress;
+    private ByteBuf request;
+
+    @Setup
+    public void setup() throws RadiusPacketException {
+        var options = DatagramOptions.DEFAULT.withReceiveBufferSize(RECEIVE_BUFFER_SIZE);
+        serverGroup = transport.newEventLoopGroup(1);
+        clientGroup = transport.newEventLoopGroup(1);
+
+        server = transport.newBootstrap(serverGroup, options)
+                .handler(new ChannelInitializer<DatagramChannel>() {
+                    @Override
+                    protected void initChannel(@NonNull DatagramChannel ch) {
+                        ch.pipeline().addLast(new ServerPacketCodec(dictionary, address -> SECRET), new AccountingHandler());
+                    }
+                })
+                .bind(new InetSocketAddress("127.0.0.1", 0))
+                .syncUninterruptibly()
+                .channel();
+        serverAddress = (InetSocketAddress) server.localAddress();
+
+        client = transport.newBootstrap(clientGroup, options)
+                .handler(new ChannelInboundHandlerAdapter() {
+                    @Override
+                    public void channelRead(@NonNull ChannelHandlerContext ctx, @NonNull Object msg) {
+                        ReferenceCountUtil.release(msg);
+                        responses.release();
+                    }
+                })
+                .bind(new InetSocketAddress("127.0.0.1", 0))
+                .syncUninterruptibly()
+                .channel();
+
+        byte[] bytes = RadiusRequest.create(dictionary, ACCOUNTING_REQUEST, (byte) 1, null, List.of())
+                .addAttribute("User-Name", "user1")
+                .addAttribute("Acct-Status-Type", "Start")
+                .addAttribute("Acct-Session-Id", "0123456789")
+                .encodeRequest(SECRET)
+                .toBytes();
+        request = Unpooled.unreleasableBuffer(Unpooled.wrappedBuffer(bytes));
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close().syncUninterruptibly();
+        server.close().syncUninterruptibly();
+        clientGroup.shutdownGracefully().syncUninterruptibly();
+        serverGroup.shutdownGracefully().syncUninterruptibly();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int roundTrip() throws InterruptedException {
+        client.eventLoop().execute(() -> {
+            for (int i = 0; i < BATCH; i++) {
+                client.write(new DatagramPacket(request.duplicate(), serverAddress));
+            }
+            client.flush();
+        });
+
+        if (!responses.tryAcquire(BATCH, 1, TimeUnit.SECONDS))
+            return responses.drainPermits(); // datagrams dropped, don't wait for stragglers
+        return BATCH;
+    }
+
+    private static class AccountingHandler extends RequestHandler {
+
+        @Override
+        protected @NonNull Class<? extends RadiusRequest> acceptedPacketType() {
+            return AccountingRequest.class;
+        }
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, RequestCtx msg) throws RadiusPacketException {
+            RadiusRequest request = msg.getRequest();
+            ctx.writeAndFlush(msg.withResponse(RadiusResponse.create(
+                    request.getDictionary(), ACCOUNTING_RESPONSE, request.getId(), null, List.of())));
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package org.tinyradius.core.attribute;
+
+import io.netty.buffer.Unpooled;
+import org.jspecify.annotations.NonNull;
+import org.tinyradius.core.attribute.type.RadiusAttribute;
+import org.tinyradius.core.dictionary.Dictionary;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Interning cache for attributes that are added to many packets with the same value,
+ * e.g. Service-Type, Session-Timeout or vendor QoS attributes set by reply policies.
+ * <p>
+ * Attributes are keyed by their template and string value. Cached attributes are backed
+ * by read-only buffers, so the same instance can safely be shared between packets and threads.
+ * <p>
+ * The cache is bounded: once maxSize entries are cached, further values are still created,
+ * but not cached. Entries are never evicted, as the cache is meant for a limited set of
+ * policy values, which can be loaded upfront with {@link #preload(Map)}.
+ */
+public class AttributeCache {
+
+    private final Dictionary dictionary;
+    private final int maxSize;
+    private final Map<Key, RadiusAttribute> cache = new ConcurrentHashMap<>();
+    private final AtomicInteger reserved = new AtomicInteger();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a new AttributeCache.
+     *
+     * @param dictionary dictionary to look up attribute templates and create attributes with
+     * @param maxSize    max number of attributes to cache
+     */
+    public AttributeCache(@NonNull Dictionary dictionary, int maxSize) {
+        if (maxSize < 0)
+            throw new IllegalArgumentException("Max size must not be negative, actual: " + maxSize);
+        this.dictionary = dictionary;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns a shared attribute with the given name and value,
+     * creating and caching it if required.
+     *
+     * @param name  attribute name
+     * @param value attribute value as string
+     * @return shared RadiusAttribute
+     * @throws IllegalArgumentException unknown attribute name or invalid value
+     */
+    @NonNull
+    public RadiusAttribute get(@NonNull String name, @NonNull String value) {
+        var template = dictionary.getAttributeTemplate(name)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown attribute type name: '" + name + "'"));
+        return get(template, value);
+    }
+
+    /**
+     * Returns a shared attribute for the given template and value,
+     * creating and caching it if required.
+     *
+     * @param template attribute template, from this cache's dictionary
+     * @param value    attribute value as string
+     * @return shared RadiusAttribute
+     * @throws IllegalArgumentException invalid value
+     */
+    @NonNull
+    public RadiusAttribute get(@NonNull AttributeTemplate template, @NonNull String value) {
+        var key = new Key(template.vendorId(), template.type(), value);
+        var attribute = cache.get(key);
+        if (attribute != null) {
+            hits.increment();
+            return attribute;
+        }
+
+        misses.increment();
+        var created = create(template, value);
+        if (!tryReserve())
+            return created;
+
+        var existing = cache.putIfAbsent(key, created);
+        if (existing != null) {
+            reserved.decrementAndGet();
+            return existing;
+        }
+        return created;
+    }
+
+    /**
+     * Creates and caches attributes for a reply policy, mapping attribute names to
+     * the values used by the policy. Does not affect hit/miss counts.
+     *
+     * @param policy attribute names and their values
+     * @return this AttributeCache
+     * @throws IllegalArgumentException unknown attribute name, invalid value, or maxSize exceeded
+     */
+    @NonNull
+    public AttributeCache preload(@NonNull Map<String, ? extends Collection<String>> policy) {
+        for (var entry : policy.entrySet()) {
+            var template = dictionary.getAttributeTemplate(entry.getKey())
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown attribute type name: '" + entry.getKey() + "'"));
+            for (String value : entry.getValue()) {
+                var key = new Key(template.vendorId(), template.type(), value);
+                if (cache.containsKey(key))
+                    continue;
+                var created = create(template, value);
+                if (!tryReserve())
+                    throw new IllegalArgumentException("Cannot preload " + entry.getKey() + "=" + value +
+                            ", cache is full (max size " + maxSize + ")");
+                if (cache.putIfAbsent(key, created) != null)
+                    reserved.decrementAndGet();
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Reserves space for one entry, so concurrent inserts can't exceed maxSize.
+     */
+    private boolean tryReserve() {
+        int current;
+        do {
+            current = reserved.get();
+            if (current >= maxSize)
+                return false;
+        } while (!reserved.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    @NonNull
+    private RadiusAttribute create(@NonNull AttributeTemplate template, @NonNull String value) {
+        var attribute = template.create(dictionary, (byte) 0, value);
+        var data = Unpooled.wrappedBuffer(attribute.toByteArray()).asReadOnly();
+        return template.factory().create(dictionary, template.vendorId(), data);
+    }
+
+    /**
+     * Returns the number of cached attributes.
+     *
+     * @return number of cached attributes
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Returns the number of lookups served from the cache.
+     *
+     * @return number of cache hits
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that had to create a new attribute.
+     *
+     * @return number of cache misses
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the ratio of lookups served from the cache, between 0 and 1.
+     *
+     * @return hit rate, or 0 if there were no lookups
+     */
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    private record Key(int vendorId, int type, @NonNull String value) {
+    }
+}
@@ -0,0 +1,230 @@
+package org.tinyradius.core.attribute;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Enumeration names for the integer values of an attribute, as declared by
+ * dictionary VALUE entries.
+ * <p>
+ * Entries are kept in sorted arrays (searched with binary search) instead of
+ * a pair of hash maps, so no boxed keys or map entries are allocated. Arrays
+ * grow geometrically, so VALUE blocks, which are usually in ascending order,
+ * are appended in amortized constant time.
+ * <p>
+ * Attributes without any VALUE entries share {@link #EMPTY}, which is replaced
+ * by a new enumeration when the first name is added to the attribute.
+ * <p>
+ * Like the dictionaries holding them, enumerations are only modified while
+ * dictionaries are loaded, and must not be modified while other threads read them.
+ */
+public final class AttributeEnumeration {
+
+    /**
+     * Shared enumeration without any names. Can't be modified.
+     */
+    static final AttributeEnumeration EMPTY = new AttributeEnumeration(0);
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private int[] values;
+    private String[] valueNames;
+    private int valueCount;
+
+    private String[] names;
+    private int[] nameValues;
+    private int nameCount;
+
+    /**
+     * Constructs an empty enumeration.
+     */
+    public AttributeEnumeration() {
+        this(INITIAL_CAPACITY);
+    }
+
+    private AttributeEnumeration(int capacity) {
+        values = new int[capacity];
+        valueNames = new String[capacity];
+        names = new String[capacity];
+        nameValues = new int[capacity];
+    }
+
+    /**
+     * Returns the name for the given integer value.
+     *
+     * @param value int value
+     * @return name of the value, or null if unknown
+     */
+    @Nullable
+    public String getName(int value) {
+        int i = Arrays.binarySearch(values, 0, valueCount, value);
+        return i < 0 ? null : valueNames[i];
+    }
+
+    /**
+     * Returns the integer value for the given name.
+     *
+     * @param name enumeration name
+     * @return integer value of the name, or null if unknown
+     */
+    @Nullable
+    public Integer getValue(@NonNull String name) {
+        int i = Arrays.binarySearch(names, 0, nameCount, name);
+        return i < 0 ? null : nameValues[i];
+    }
+
+    /**
+     * Adds a name for an integer value, replacing any existing name for that value
+     * and any existing value for that name.
+     *
+     * @param value number that shall get a name
+     * @param name  the name for this number
+     * @throws UnsupportedOperationException if this is the shared {@link #EMPTY} enumeration
+     */
+    public void add(int value, @NonNull String name) {
+        if (this == EMPTY)
+            throw new UnsupportedOperationException("Shared empty enumeration can't be modified");
+
+        int i = Arrays.binarySearch(values, 0, valueCount, value);
+        if (i >= 0) {
+            valueNames[i] = name;
+        } else {
+            int pos = -i - 1;
+            if (valueCount == values.length) {
+                values = Arrays.copyOf(values, grow(valueCount));
+                valueNames = Arrays.copyOf(valueNames, values.length);
+            }
+            System.arraycopy(values, pos, values, pos + 1, valueCount - pos);
+            System.arraycopy(valueNames, pos, valueNames, pos + 1, valueCount - pos);
+            values[pos] = value;
+            valueNames[pos] = name;
+            valueCount++;
+        }
+
+        int j = Arrays.binarySearch(names, 0, nameCount, name);
+        if (j >= 0) {
+            nameValues[j] = value;
+        } else {
+            int pos = -j - 1;
+            if (nameCount == names.length) {
+                names = Arrays.copyOf(names, grow(nameCount));
+                nameValues = Arrays.copyOf(nameValues, names.length);
+            }
+            System.arraycopy(names, pos, names, pos + 1, nameCount - pos);
+            System.arraycopy(nameValues, pos, nameValues, pos + 1, nameCount - pos);
+            names[pos] = name;
+            nameValues[pos] = value;
+            nameCount++;
+        }
+    }
+
+    private static int grow(int size) {
+        return Math.max(INITIAL_CAPACITY, size + (size >> 1));
+    }
+
+    /**
+     * Returns a new enumeration with the same entries as this one. Copying
+     * {@link #EMPTY} returns EMPTY.
+     *
+     * @return independent copy of this enumeration
+     */
+    @NonNull
+    public AttributeEnumeration copy() {
+        if (this == EMPTY)
+            return EMPTY;
+
+        var copy = new AttributeEnumeration(0);
+        copy.values = Arrays.copyOf(values, valueCount);
+        copy.valueNames = Arrays.copyOf(valueNames, valueCount);
+        copy.valueCount = valueCount;
+        copy.names = Arrays.copyOf(names, nameCount);
+        copy.nameValues = Arrays.copyOf(nameValues, nameCount);
+        copy.nameCount = nameCount;
+        return copy;
+    }
+
+    /**
+     * Returns a snapshot of the names for each value, in value order.
+     *
+     * @return unmodifiable map of value to name
+     */
+    @NonNull
+    Map<Integer, String> toValueMap() {
+        var map = new LinkedHashMap<Integer, String>();
+        for (int i = 0; i < valueCount; i++) {
+            map.put(values[i], valueNames[i]);
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Returns a snapshot of the value for each name, in name order.
+     *
+     * @return unmodifiable map of name to value
+     */
+    @NonNull
+    Map<String, Integer> toNameMap() {
+        var map = new LinkedHashMap<String, Integer>();
+        for (int i = 0; i < nameCount; i++) {
+            map.put(names[i], nameValues[i]);
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Returns the number of distinct values with a name.
+     *
+     * @return number of distinct values with a name
+     */
+    public int size() {
+        return valueCount;
+    }
+
+    /**
+     * Returns true if no enumeration names have been added.
+     *
+     * @return true if no enumeration names have been added
+     */
+    public boolean isEmpty() {
+        return valueCount == 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof AttributeEnumeration that)) return false;
+        return Arrays.equals(values, 0, valueCount, that.values, 0, that.valueCount)
+                && Arrays.equals(valueNames, 0, valueCount, that.valueNames, 0, that.valueCount)
+                && Arrays.equals(names, 0, nameCount, that.names, 0, that.nameCount)
+                && Arrays.equals(nameValues, 0, nameCount, that.nameValues, 0, that.nameCount);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (int i = 0; i < valueCount; i++) {
+            result = 31 * result + values[i];
+            result = 31 * result + valueNames[i].hashCode();
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public String toString() {
+        var sb = new StringBuilder("{");
+        for (int i = 0; i < valueCount; i++) {
+            if (i > 0)
+                sb.append(", ");
+            sb.append(values[i]).append('=').append(valueNames[i]);
+        }
+        return sb.append('}').toString();
+    }
+}
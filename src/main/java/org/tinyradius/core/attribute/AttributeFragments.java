@@ -0,0 +1,156 @@
+package org.tinyradius.core.attribute;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.jspecify.annotations.NonNull;
+import org.tinyradius.core.attribute.type.RadiusAttribute;
+import org.tinyradius.core.dictionary.Dictionary;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helpers for values that don't fit in a single attribute.
+ * <p>
+ * Concatenated attributes, such as EAP-Message (RFC 3579), carry a large value split across
+ * consecutive attributes of the same type. RFC 6929 Long Extended Type attributes (245, 246)
+ * split values into fragments with the 'More' flag set on all but the last fragment.
+ * <p>
+ * Reassembly returns a composite view of the attribute values without copying.
+ * Fragmentation copies the value once into a single buffer that all fragments slice.
+ */
+public final class AttributeFragments {
+
+    /**
+     * Max value length of a standard attribute (255 minus type and length octets).
+     */
+    public static final int MAX_VALUE_LENGTH = 253;
+
+    /**
+     * Max value length of a Long Extended Type fragment
+     * (255 minus type, length, extended-type and flags octets).
+     */
+    public static final int MAX_LONG_EXTENDED_FRAGMENT_LENGTH = 251;
+
+    private static final int LONG_EXTENDED_HEADER_LENGTH = 4;
+    private static final int MORE_FLAG = 0x80;
+
+    private AttributeFragments() {
+    }
+
+    /**
+     * Concatenates the values of attributes, e.g. all EAP-Message attributes of a packet.
+     *
+     * @param attributes attributes in packet order
+     * @return read-only composite view of attribute values, empty if there are no attributes
+     */
+    @NonNull
+    public static ByteBuf concatValues(@NonNull List<RadiusAttribute> attributes) {
+        var values = new ByteBuf[attributes.size()];
+        for (int i = 0; i < values.length; i++) {
+            var attribute = attributes.get(i);
+            var data = attribute.getData();
+            int valueLength = attribute.getValueLength();
+            values[i] = data.slice(data.readableBytes() - valueLength, valueLength);
+        }
+        return Unpooled.wrappedBuffer(values).asReadOnly();
+    }
+
+    /**
+     * Reassembles an RFC 6929 Long Extended Type value, starting at the first fragment
+     * with the given extended type, up to and including the first fragment without the 'More' flag.
+     *
+     * @param attributes   attributes of type Long-Extended-Type-1 (245) or -2 (246) in packet order
+     * @param extendedType extended type of the attribute to reassemble
+     * @return read-only composite view of fragment values, empty if there are no such fragments
+     * @throws IllegalArgumentException if a fragment is too short, or the last fragment has the 'More' flag set
+     */
+    @NonNull
+    public static ByteBuf concatLongExtended(@NonNull List<RadiusAttribute> attributes, int extendedType) {
+        var values = new ArrayList<ByteBuf>();
+        boolean more = false;
+        for (var attribute : attributes) {
+            var data = attribute.getData();
+            int length = data.readableBytes();
+            if (length < LONG_EXTENDED_HEADER_LENGTH)
+                throw new IllegalArgumentException("Long Extended Type attribute should be at least " +
+                        LONG_EXTENDED_HEADER_LENGTH + " octets, actual: " + length);
+
+            if (data.getUnsignedByte(2) != extendedType) {
+                if (more) // fragments must be consecutive
+                    break;
+                continue;
+            }
+
+            values.add(data.slice(LONG_EXTENDED_HEADER_LENGTH, length - LONG_EXTENDED_HEADER_LENGTH));
+            more = (data.getUnsignedByte(3) & MORE_FLAG) != 0;
+            if (!more)
+                break;
+        }
+
+        if (more)
+            throw new IllegalArgumentException("Long Extended Type attribute " + extendedType +
+                    " incomplete, last fragment has 'More' flag set");
+
+        return Unpooled.wrappedBuffer(values.toArray(ByteBuf[]::new)).asReadOnly();
+    }
+
+    /**
+     * Splits a value into as many attributes of the given type as needed,
+     * each with at most {@link #MAX_VALUE_LENGTH} octets, e.g. for EAP-Message.
+     *
+     * @param dictionary dictionary to create attributes with
+     * @param type       top level attribute type
+     * @param value      readable bytes of value to split, buffer indexes are not changed
+     * @return attributes in order, empty if value is empty
+     */
+    @NonNull
+    public static List<RadiusAttribute> fragment(@NonNull Dictionary dictionary, int type, @NonNull ByteBuf value) {
+        int valueLength = value.readableBytes();
+        int count = (valueLength + MAX_VALUE_LENGTH - 1) / MAX_VALUE_LENGTH;
+        var buffer = Unpooled.buffer(valueLength + 2 * count);
+        var attributes = new ArrayList<RadiusAttribute>(count);
+
+        for (int offset = 0; offset < valueLength; offset += MAX_VALUE_LENGTH) {
+            int chunk = Math.min(MAX_VALUE_LENGTH, valueLength - offset);
+            int start = buffer.writerIndex();
+            buffer.writeByte(type)
+                    .writeByte(chunk + 2)
+                    .writeBytes(value, value.readerIndex() + offset, chunk);
+            attributes.add(dictionary.createAttribute(-1, type, buffer.slice(start, chunk + 2)));
+        }
+        return attributes;
+    }
+
+    /**
+     * Splits a value into RFC 6929 Long Extended Type fragments, each with at most
+     * {@link #MAX_LONG_EXTENDED_FRAGMENT_LENGTH} octets, setting the 'More' flag
+     * on all but the last fragment.
+     *
+     * @param dictionary   dictionary to create attributes with
+     * @param type         Long-Extended-Type-1 (245) or Long-Extended-Type-2 (246)
+     * @param extendedType extended type of the attribute
+     * @param value        readable bytes of value to split, buffer indexes are not changed
+     * @return fragments in order, at least one
+     */
+    @NonNull
+    public static List<RadiusAttribute> fragmentLongExtended(@NonNull Dictionary dictionary, int type, int extendedType, @NonNull ByteBuf value) {
+        int valueLength = value.readableBytes();
+        int count = Math.max(1, (valueLength + MAX_LONG_EXTENDED_FRAGMENT_LENGTH - 1) / MAX_LONG_EXTENDED_FRAGMENT_LENGTH);
+        var buffer = Unpooled.buffer(valueLength + LONG_EXTENDED_HEADER_LENGTH * count);
+        var attributes = new ArrayList<RadiusAttribute>(count);
+
+        for (int i = 0; i < count; i++) {
+            int offset = i * MAX_LONG_EXTENDED_FRAGMENT_LENGTH;
+            int chunk = Math.min(MAX_LONG_EXTENDED_FRAGMENT_LENGTH, valueLength - offset);
+            int start = buffer.writerIndex();
+            buffer.writeByte(type)
+                    .writeByte(chunk + LONG_EXTENDED_HEADER_LENGTH)
+                    .writeByte(extendedType)
+                    .writeByte(i < count - 1 ? MORE_FLAG : 0)
+                    .writeBytes(value, value.readerIndex() + offset, chunk);
+            attributes.add(dictionary.createAttribute(-1, type, buffer.slice(start, chunk + LONG_EXTENDED_HEADER_LENGTH)));
+        }
+        return attributes;
+    }
+}
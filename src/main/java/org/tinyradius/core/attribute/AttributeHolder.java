@@ -4,6 +4,7 @@ import static java.util.stream.Collectors.toList;
 import static org.tinyradius.core.attribute.type.RadiusAttribute.HEX_FORMAT;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -71,13 +72,50 @@ public interface AttributeHolder<T extends AttributeHolder<T>> {
                 throw new IllegalArgumentException("Attribute malformed, " + data.readableBytes() + " bytes remaining to parse (minimum 2 octets)");
         } catch (Exception e) {
             attrHolderLogger.trace("Could not extract all attributes: 0x{}",
-                    HEX_FORMAT.formatHex(data.copy().array()));
+                    HEX_FORMAT.formatHex(ByteBufUtil.getBytes(data)));
             throw new IllegalArgumentException("Error reading attributes, already extracted attributes: " + attributes, e);
         }
 
         return attributes;
     }
 
+    /**
+     * Checks that attribute lengths add up to the length of data, without creating
+     * attributes or changing readerIndex. Applies the same checks as
+     * {@link #readAttributes(Dictionary, int, ByteBuf)}, so data that passes can be read later.
+     *
+     * @param dictionary dictionary to look up vendor type and length sizes
+     * @param vendorId   vendor Id of attributes
+     * @param data       byte array to check
+     * @throws IllegalArgumentException if attribute lengths are invalid
+     */
+    static void validateAttributes(@NonNull Dictionary dictionary, int vendorId, @NonNull ByteBuf data) {
+        var vendor = dictionary.getVendor(vendorId);
+
+        // undefined VSA body is read as a single AnonSubAttribute
+        if (vendorId != -1 && vendor.isEmpty())
+            return;
+
+        int typeSize = vendor.map(Vendor::typeSize).orElse(1);
+        int lengthSize = vendor.map(Vendor::lengthSize).orElse(1);
+        int index = data.readerIndex();
+        int end = data.writerIndex();
+
+        try {
+            // at least 2 octets left (minimum size header)
+            while (end - index >= 2) {
+                index += attributeLength(data, index, end - index, typeSize, lengthSize);
+            }
+
+            if (index < end)
+                throw new IllegalArgumentException("Attribute malformed, " + (end - index) + " bytes remaining to parse (minimum 2 octets)");
+        } catch (IllegalArgumentException e) {
+            attrHolderLogger.trace("Could not frame all attributes: 0x{}",
+                    HEX_FORMAT.formatHex(ByteBufUtil.getBytes(data)));
+            throw new IllegalArgumentException("Error reading attributes", e);
+        }
+    }
+
     /**
      * Parses an attribute and increases readerIndex by size of attribute.
      *
@@ -104,20 +142,28 @@ public interface AttributeHolder<T extends AttributeHolder<T>> {
                 .map(Vendor::lengthSize)
                 .orElse(1);
 
+        int length = attributeLength(data, data.readerIndex(), data.readableBytes(), typeSize, lengthSize);
+        return dictionary.createAttribute(vendorId, type, data.readSlice(length));
+    }
+
+    /**
+     * Reads and checks the length field of the attribute at index.
+     */
+    private static int attributeLength(@NonNull ByteBuf data, int index, int readable, int typeSize, int lengthSize) {
         int length = switch (lengthSize) {
-            case 0 -> data.readableBytes();
-            case 2 -> data.getShort(data.readerIndex() + typeSize);
-            default -> Byte.toUnsignedInt(data.getByte(data.readerIndex() + typeSize)); // max 255
+            case 0 -> readable;
+            case 2 -> data.getShort(index + typeSize);
+            default -> Byte.toUnsignedInt(data.getByte(index + typeSize)); // max 255
         };
 
         if (length < typeSize + lengthSize)
             throw new IllegalArgumentException("Invalid attribute length " + length + ", must be >= typeSize + lengthSize, " +
                     "but typeSize=" + typeSize + ", lengthSize=" + lengthSize);
 
-        if (length > data.readableBytes())
-            throw new IllegalArgumentException("Invalid attribute length " + length + ", parsable bytes " + data.readableBytes());
+        if (length > readable)
+            throw new IllegalArgumentException("Invalid attribute length " + length + ", parsable bytes " + readable);
 
-        return dictionary.createAttribute(vendorId, type, data.readSlice(length));
+        return length;
     }
 
     /**
@@ -339,6 +385,29 @@ public interface AttributeHolder<T extends AttributeHolder<T>> {
         return removeAttribute(attributes.get(attributes.size() - 1));
     }
 
+    /**
+     * Removes the last attribute if it has the given type, such as a Proxy-State appended when proxying.
+     * <p>
+     * Unlike {@link #removeLastAttribute(int)}, only that instance is removed, even if an earlier
+     * attribute is equal to it. If the last attribute has a different type, same as removeLastAttribute.
+     * <p>
+     * Packets override this to truncate the last attribute without rebuilding the header
+     * or re-checking the other attributes.
+     *
+     * @param type attribute type code
+     * @return object of the same type with removed attribute
+     * @throws RadiusPacketException packet validation exceptions
+     */
+    @NonNull
+    default T removeTrailingAttribute(int type) throws RadiusPacketException {
+        var attributes = getAttributes();
+        int size = attributes.size();
+        if (size == 0 || attributes.get(size - 1).getType() != type)
+            return removeLastAttribute(type);
+
+        return withAttributes(attributes.subList(0, size - 1));
+    }
+
     /**
      * @param requestAuth  request authenticator to encode attributes
      * @param sharedSecret shared secret with server/client to encode attributes
@@ -0,0 +1,267 @@
+package org.tinyradius.core.attribute;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * Nested definitions of a compound attribute type: child attribute templates
+ * of a 'tlv' attribute, or the members of a 'struct' attribute.
+ * <p>
+ * Definitions are usually only added while parsing dictionaries. Unlike {@link AttributeEnumeration},
+ * each addition publishes a new immutable table rather than changing arrays in place, so reads
+ * don't lock and stay consistent even while definitions are being added.
+ */
+public final class AttributeStructure {
+
+    private static final Table EMPTY_TABLE = new Table(new AttributeTemplate[0], List.of(), Map.of());
+
+    /**
+     * Shared structure without any children or members. Can't be modified.
+     */
+    static final AttributeStructure EMPTY = new AttributeStructure();
+
+    private volatile Table table = EMPTY_TABLE;
+
+    /**
+     * Returns the child template with the given type code.
+     *
+     * @param type child type code, 1-255
+     * @return child template, or empty Optional if unknown
+     */
+    @NonNull
+    public Optional<AttributeTemplate> getChild(int type) {
+        var children = table.children;
+        return type >= 0 && type < children.length ?
+                Optional.ofNullable(children[type]) : Optional.empty();
+    }
+
+    /**
+     * Returns the child template with the given name.
+     *
+     * @param name child attribute name
+     * @return child template, or empty Optional if unknown
+     */
+    @NonNull
+    public Optional<AttributeTemplate> getChild(@NonNull String name) {
+        for (var child : table.children) {
+            if (child != null && child.name().equals(name))
+                return Optional.of(child);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns all child templates, ordered by type code.
+     *
+     * @return child templates, empty if none are defined
+     */
+    @NonNull
+    public List<AttributeTemplate> getChildren() {
+        return Arrays.stream(table.children)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Adds a child template. TLV children have 1 octet type and length fields,
+     * so type codes are limited to 1-255.
+     *
+     * @param child child template
+     * @throws IllegalArgumentException      type code out of range, or type or name already defined with a different template
+     * @throws UnsupportedOperationException if this is the shared empty structure
+     */
+    public synchronized void addChild(@NonNull AttributeTemplate child) {
+        checkNotEmpty();
+        int type = child.type();
+        if (type < 1 || type > 255)
+            throw new IllegalArgumentException("TLV child type code out of bounds: " + type + ", must be 1-255");
+
+        var t = table;
+        var existingType = type < t.children.length ? t.children[type] : null;
+        var existingName = getChild(child.name()).orElse(null);
+        if (existingType != null && existingType.name().equals(child.name()))
+            return;
+        if (existingType != null || existingName != null)
+            throw new IllegalArgumentException("Duplicate TLV child: " + child + ", existing: " +
+                    (existingType != null ? existingType : existingName));
+
+        var children = Arrays.copyOf(t.children, Math.max(t.children.length, type + 1));
+        children[type] = child;
+        table = new Table(children, t.members, t.variants);
+    }
+
+    /**
+     * Returns the members of a struct, in order.
+     *
+     * @return struct members, empty if none are defined
+     */
+    @NonNull
+    public List<Member> getMembers() {
+        return table.members;
+    }
+
+    /**
+     * Returns the members following the common members for the given key value,
+     * for structs with variants selected by a key member.
+     *
+     * @param key value of the key member
+     * @return members of the variant, empty if none are defined for the key
+     */
+    @NonNull
+    public List<Member> getMembers(int key) {
+        return table.variants.getOrDefault(key, List.of());
+    }
+
+    /**
+     * Appends a struct member.
+     *
+     * @param member member to append
+     * @throws UnsupportedOperationException if this is the shared empty structure
+     */
+    public synchronized void addMember(@NonNull Member member) {
+        checkNotEmpty();
+        var t = table;
+        var members = new ArrayList<>(t.members);
+        members.add(member);
+        table = new Table(t.children, List.copyOf(members), t.variants);
+    }
+
+    /**
+     * Appends a member to the variant for the given key value.
+     *
+     * @param key    value of the key member that selects the variant
+     * @param member member to append
+     * @throws UnsupportedOperationException if this is the shared empty structure
+     */
+    public synchronized void addMember(int key, @NonNull Member member) {
+        checkNotEmpty();
+        var t = table;
+        var variants = new HashMap<>(t.variants);
+        var members = new ArrayList<>(variants.getOrDefault(key, List.of()));
+        members.add(member);
+        variants.put(key, List.copyOf(members));
+        table = new Table(t.children, t.members, Map.copyOf(variants));
+    }
+
+    private void checkNotEmpty() {
+        if (this == EMPTY)
+            throw new UnsupportedOperationException("Shared empty structure can't be modified");
+    }
+
+    /**
+     * Returns a new structure with the same members, and children copied with the given
+     * function. Definitions can then be added to the copy without changing this structure.
+     * Copying the shared empty structure returns it.
+     *
+     * @param copyChild function returning the child template to use in the copy
+     * @return new structure
+     */
+    @NonNull
+    public AttributeStructure copy(@NonNull UnaryOperator<AttributeTemplate> copyChild) {
+        if (this == EMPTY)
+            return EMPTY;
+
+        var copy = new AttributeStructure();
+        var t = table;
+        if (t != EMPTY_TABLE) {
+            var children = new AttributeTemplate[t.children.length];
+            for (int i = 0; i < children.length; i++) {
+                if (t.children[i] != null)
+                    children[i] = copyChild.apply(t.children[i]);
+            }
+            copy.table = new Table(children, t.members, t.variants);
+        }
+        return copy;
+    }
+
+    /**
+     * Returns true if no children or members are defined.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return table == EMPTY_TABLE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AttributeStructure that)) return false;
+        var t1 = table;
+        var t2 = that.table;
+        return getChildren().equals(that.getChildren())
+                && t1.members.equals(t2.members)
+                && t1.variants.equals(t2.variants);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        var t = table;
+        return 31 * t.members.hashCode() + t.variants.hashCode();
+    }
+
+    /**
+     * Struct member definition.
+     *
+     * @param name     member name
+     * @param dataType member data type, e.g. uint8, uint16, octets[3]
+     * @param length   length in octets, or -1 if variable (only valid for the last member)
+     * @param key      whether this member selects struct variants
+     */
+    public record Member(@NonNull String name, @NonNull String dataType, int length, boolean key) {
+
+        /**
+         * Creates a member, deriving the length from fixed size data types.
+         *
+         * @param name     member name
+         * @param dataType member data type
+         * @param key      whether this member selects struct variants
+         * @return new Member
+         */
+        @NonNull
+        public static Member of(@NonNull String name, @NonNull String dataType, boolean key) {
+            return new Member(name, dataType, lengthOf(dataType), key);
+        }
+
+        private static int lengthOf(@NonNull String dataType) {
+            var type = dataType.toLowerCase();
+            int bracket = type.indexOf('[');
+            if (bracket != -1 && type.endsWith("]")) {
+                try {
+                    return Integer.parseInt(type.substring(bracket + 1, type.length() - 1));
+                } catch (NumberFormatException e) {
+                    return -1;
+                }
+            }
+
+            return switch (type) {
+                case "uint8", "int8", "byte", "bool" -> 1;
+                case "uint16", "int16", "short" -> 2;
+                case "uint32", "int32", "integer", "signed", "ipaddr", "ipv4addr", "date" -> 4;
+                case "uint64", "int64", "integer64", "ifid" -> 8;
+                case "ipv6addr" -> 16;
+                default -> -1;
+            };
+        }
+    }
+
+    private record Table(@Nullable AttributeTemplate @NonNull [] children,
+                         @NonNull List<Member> members,
+                         @NonNull Map<Integer, List<Member>> variants) {
+    }
+}
@@ -4,6 +4,7 @@ import io.netty.buffer.ByteBuf;
 import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
 import org.tinyradius.core.RadiusPacketException;
+import org.tinyradius.core.attribute.AttributeStructure.Member;
 import org.tinyradius.core.attribute.codec.AttributeCodecType;
 import org.tinyradius.core.attribute.type.EncodedAttribute;
 import org.tinyradius.core.attribute.type.OctetsAttribute;
@@ -11,8 +12,8 @@ import org.tinyradius.core.attribute.type.RadiusAttribute;
 import org.tinyradius.core.attribute.type.RadiusAttributeFactory;
 import org.tinyradius.core.dictionary.Dictionary;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 import static org.tinyradius.core.attribute.AttributeTypes.TUNNEL_PASSWORD;
 import static org.tinyradius.core.attribute.AttributeTypes.USER_PASSWORD;
@@ -24,28 +25,85 @@ import static org.tinyradius.core.attribute.codec.AttributeCodecType.*;
  * Each attribute type is represented by an instance of this object.
  * This class stores the type code, the type name, and the vendor ID
  * for each attribute type.
- *
- * @param vendorId  vendor ID or -1 if not applicable
- * @param type      Radius type code for this attribute e.g. '1' (for User-Name)
- * @param name      name of type e.g. 'User-Name'
- * @param dataType  string | octets | integer | date | ipaddr | ipv6addr | ipv6prefix
- * @param tagged    Whether attribute supports Tag field as per RFC2868
- * @param codecType One of {@link AttributeCodecType} enum, defaults to NO_ENCRYPT for none
- * @param factory   the factory used to create instances of this attribute
- * @param int2str   Internal map for integer-to-string enumeration mapping
- * @param str2int   Internal map for string-to-integer enumeration mapping
+ * <p>
+ * Templates without enumeration values or nested definitions share a single empty
+ * enumeration and structure, which are replaced when the first value or definition is added.
  */
-public record AttributeTemplate(
-        int vendorId,
-        int type,
-        @NonNull String name,
-        @NonNull String dataType,
-        boolean tagged,
-        @NonNull AttributeCodecType codecType,
-        @NonNull RadiusAttributeFactory<? extends RadiusAttribute> factory,
-        @NonNull Map<Integer, String> int2str,
-        @NonNull Map<String, Integer> str2int
-) {
+public final class AttributeTemplate {
+
+    private final int vendorId;
+    private final int type;
+    private final @NonNull String name;
+    private final @NonNull String dataType;
+    private final boolean tagged;
+    private final @NonNull AttributeCodecType codecType;
+    private final @NonNull RadiusAttributeFactory<? extends RadiusAttribute> factory;
+    private volatile @NonNull AttributeEnumeration enumeration;
+    private volatile @NonNull AttributeStructure structure;
+
+    /**
+     * Create a new attribute type.
+     *
+     * @param vendorId    vendor ID or -1 if not applicable
+     * @param type        Radius type code for this attribute e.g. '1' (for User-Name)
+     * @param name        name of type e.g. 'User-Name'
+     * @param dataType    string | octets | integer | date | ipaddr | ipv6addr | ipv6prefix
+     * @param tagged      Whether attribute supports Tag field as per RFC2868
+     * @param codecType   One of {@link AttributeCodecType} enum, defaults to NO_ENCRYPT for none
+     * @param factory     the factory used to create instances of this attribute
+     * @param enumeration enumeration names for integer values, empty if none are defined
+     * @param structure   children of 'tlv' or members of 'struct' attributes, empty if none are defined
+     */
+    public AttributeTemplate(int vendorId,
+                             int type,
+                             @NonNull String name,
+                             @NonNull String dataType,
+                             boolean tagged,
+                             @NonNull AttributeCodecType codecType,
+                             @NonNull RadiusAttributeFactory<? extends RadiusAttribute> factory,
+                             @NonNull AttributeEnumeration enumeration,
+                             @NonNull AttributeStructure structure) {
+        this.vendorId = vendorId;
+        this.type = type;
+        this.name = name;
+        this.dataType = dataType;
+        this.tagged = tagged;
+        this.codecType = codecType;
+        this.factory = factory;
+        this.enumeration = enumeration;
+        this.structure = structure;
+    }
+
+    /**
+     * Create a new attribute type with enumeration names from maps, as when this class was a record.
+     * <p>
+     * The maps are copied, so later changes to them aren't seen by this template.
+     *
+     * @param vendorId  vendor ID or -1 if not applicable
+     * @param type      Radius type code for this attribute e.g. '1' (for User-Name)
+     * @param name      name of type e.g. 'User-Name'
+     * @param dataType  string | octets | integer | date | ipaddr | ipv6addr | ipv6prefix
+     * @param tagged    Whether attribute supports Tag field as per RFC2868
+     * @param codecType One of {@link AttributeCodecType} enum, defaults to NO_ENCRYPT for none
+     * @param factory   the factory used to create instances of this attribute
+     * @param int2str   enumeration names for integer values
+     * @param str2int   integer values for enumeration names
+     * @deprecated use {@link #AttributeTemplate(int, int, String, String, boolean, AttributeCodecType,
+     * RadiusAttributeFactory, AttributeEnumeration, AttributeStructure)}
+     */
+    @Deprecated(since = "3.1.1")
+    public AttributeTemplate(int vendorId,
+                             int type,
+                             @NonNull String name,
+                             @NonNull String dataType,
+                             boolean tagged,
+                             @NonNull AttributeCodecType codecType,
+                             @NonNull RadiusAttributeFactory<? extends RadiusAttribute> factory,
+                             @NonNull Map<Integer, String> int2str,
+                             @NonNull Map<String, Integer> str2int) {
+        this(vendorId, type, name, dataType, tagged, codecType, factory,
+                toEnumeration(int2str, str2int), AttributeStructure.EMPTY);
+    }
 
     /**
      * Create a new attribute type.
@@ -68,11 +126,122 @@ public record AttributeTemplate(
         this(vendorId, type, name, dataType.toLowerCase(),
                 detectHasTag(vendorId, type, hasTag),
                 confirmAttributeCodec(vendorId, type, dictionaryCodecType),
-                factory, new HashMap<>(), new HashMap<>());
+                factory, AttributeEnumeration.EMPTY, AttributeStructure.EMPTY);
         if (name.isEmpty())
             throw new IllegalArgumentException("Name is empty");
     }
 
+    /**
+     * Returns the vendor ID.
+     *
+     * @return vendor ID or -1 if not applicable
+     */
+    public int vendorId() {
+        return vendorId;
+    }
+
+    /**
+     * Returns the type code.
+     *
+     * @return Radius type code for this attribute e.g. '1' (for User-Name)
+     */
+    public int type() {
+        return type;
+    }
+
+    /**
+     * Returns the attribute name.
+     *
+     * @return name of type e.g. 'User-Name'
+     */
+    @NonNull
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Returns the data type.
+     *
+     * @return string | octets | integer | date | ipaddr | ipv6addr | ipv6prefix
+     */
+    @NonNull
+    public String dataType() {
+        return dataType;
+    }
+
+    /**
+     * Returns whether attribute supports Tag field as per RFC2868.
+     *
+     * @return true if attribute supports tags
+     */
+    public boolean tagged() {
+        return tagged;
+    }
+
+    /**
+     * Returns the codec type.
+     *
+     * @return One of {@link AttributeCodecType} enum, NO_ENCRYPT for none
+     */
+    @NonNull
+    public AttributeCodecType codecType() {
+        return codecType;
+    }
+
+    /**
+     * Returns the factory used to create instances of this attribute.
+     *
+     * @return attribute factory
+     */
+    @NonNull
+    public RadiusAttributeFactory<? extends RadiusAttribute> factory() {
+        return factory;
+    }
+
+    /**
+     * Returns the enumeration names for integer values.
+     *
+     * @return enumeration, empty if none are defined
+     */
+    @NonNull
+    public AttributeEnumeration enumeration() {
+        return enumeration;
+    }
+
+    /**
+     * Returns the enumeration names for integer values.
+     *
+     * @return unmodifiable snapshot of enumeration names for integer values
+     * @deprecated use {@link #enumeration()} or {@link #getEnumeration(int)}
+     */
+    @Deprecated(since = "3.1.1")
+    @NonNull
+    public Map<Integer, String> int2str() {
+        return enumeration.toValueMap();
+    }
+
+    /**
+     * Returns the integer values for enumeration names.
+     *
+     * @return unmodifiable snapshot of integer values for enumeration names
+     * @deprecated use {@link #enumeration()} or {@link #getEnumeration(String)}
+     */
+    @Deprecated(since = "3.1.1")
+    @NonNull
+    public Map<String, Integer> str2int() {
+        return enumeration.toNameMap();
+    }
+
+    /**
+     * Returns the children of 'tlv' or members of 'struct' attributes.
+     *
+     * @return structure, empty if none are defined
+     */
+    @NonNull
+    public AttributeStructure structure() {
+        return structure;
+    }
+
     /**
      * Create RadiusAttribute.
      *
@@ -154,7 +323,7 @@ public record AttributeTemplate(
      */
     @Nullable
     public String getEnumeration(int value) {
-        return int2str.get(value);
+        return enumeration.getName(value);
     }
 
     /**
@@ -166,7 +335,7 @@ public record AttributeTemplate(
      */
     @Nullable
     public Integer getEnumeration(@NonNull String value) {
-        return str2int.get(value);
+        return enumeration.getValue(value);
     }
 
     /**
@@ -178,8 +347,49 @@ public record AttributeTemplate(
     public void addEnumerationValue(int num, @NonNull String name) {
         if (name.isEmpty())
             throw new IllegalArgumentException("Name is empty");
-        int2str.put(num, name);
-        str2int.put(name, num);
+        synchronized (this) {
+            if (enumeration == AttributeEnumeration.EMPTY)
+                enumeration = new AttributeEnumeration();
+            enumeration.add(num, name);
+        }
+    }
+
+    /**
+     * Adds a child template to this 'tlv' attribute.
+     *
+     * @param child child template
+     * @throws IllegalArgumentException type code out of range, or type or name already defined with a different template
+     */
+    public void addChild(@NonNull AttributeTemplate child) {
+        modifiableStructure().addChild(child);
+    }
+
+    /**
+     * Appends a member to this 'struct' attribute.
+     *
+     * @param member member to append
+     */
+    public void addMember(@NonNull Member member) {
+        modifiableStructure().addMember(member);
+    }
+
+    /**
+     * Appends a member to the variant of this 'struct' attribute for the given key value.
+     *
+     * @param key    value of the key member that selects the variant
+     * @param member member to append
+     */
+    public void addMember(int key, @NonNull Member member) {
+        modifiableStructure().addMember(key, member);
+    }
+
+    @NonNull
+    private AttributeStructure modifiableStructure() {
+        synchronized (this) {
+            if (structure == AttributeStructure.EMPTY)
+                structure = new AttributeStructure();
+            return structure;
+        }
     }
 
     /**
@@ -227,6 +437,32 @@ public record AttributeTemplate(
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AttributeTemplate that)) return false;
+        return vendorId == that.vendorId
+                && type == that.type
+                && tagged == that.tagged
+                && name.equals(that.name)
+                && dataType.equals(that.dataType)
+                && codecType == that.codecType
+                && factory.equals(that.factory)
+                && enumeration.equals(that.enumeration)
+                && structure.equals(that.structure);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(vendorId, type, name, dataType, tagged, codecType, factory, enumeration, structure);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -239,6 +475,18 @@ public record AttributeTemplate(
         return s;
     }
 
+    @NonNull
+    private static AttributeEnumeration toEnumeration(@NonNull Map<Integer, String> int2str, @NonNull Map<String, Integer> str2int) {
+        if (int2str.isEmpty() && str2int.isEmpty())
+            return AttributeEnumeration.EMPTY;
+
+        // aliases first, so int2str decides the name returned for each value
+        var enumeration = new AttributeEnumeration();
+        str2int.forEach((name, value) -> enumeration.add(value, name));
+        int2str.forEach(enumeration::add);
+        return enumeration;
+    }
+
     /**
      * Detects if the attribute supports tags.
      *
@@ -0,0 +1,19 @@
+package org.tinyradius.core.attribute;
+
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Callback for walking attributes with {@link TlvCursor#forEach(AttributeVisitor)}.
+ */
+@FunctionalInterface
+public interface AttributeVisitor {
+
+    /**
+     * Visits the attribute the cursor is positioned on. The cursor is only valid
+     * for the duration of the call and must not be advanced by the visitor.
+     *
+     * @param attribute cursor positioned on the current attribute
+     * @return true to continue with the next attribute, false to stop
+     */
+    boolean visit(@NonNull TlvCursor attribute);
+}
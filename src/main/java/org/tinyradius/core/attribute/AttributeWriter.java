@@ -0,0 +1,262 @@
+package org.tinyradius.core.attribute;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.jspecify.annotations.NonNull;
+import org.tinyradius.core.attribute.type.RadiusAttribute;
+import org.tinyradius.core.dictionary.Dictionary;
+import org.tinyradius.core.dictionary.Vendor;
+
+import static org.tinyradius.core.attribute.type.RadiusAttribute.HEX_FORMAT;
+
+/**
+ * Writes attributes of a single type straight into a target buffer.
+ * <p>
+ * Vendor format, tag and value parser are resolved once when the writer is created,
+ * so writing an attribute doesn't look anything up in the dictionary and doesn't
+ * allocate beyond the target buffer. Writers are immutable and thread safe, and are
+ * meant to be created once and reused, e.g. as a static field.
+ * <p>
+ * String values are parsed according to the attribute data type. Integer, IP address
+ * and IPv6 prefix values only accept literals, see {@link LiteralParser}.
+ * <p>
+ * Values are written as is. Values of encrypted attribute types are written in plaintext
+ * and must be encoded like any other attribute, e.g. with {@link #create(byte, byte[])}
+ * and the packet encode methods.
+ * <pre>{@code
+ * private static final AttributeWriter NAS_IP = AttributeWriter.of(dictionary, "NAS-IP-Address");
+ * ...
+ * NAS_IP.write(buffer, (byte) 0, "192.168.0.1");
+ * }</pre>
+ */
+public final class AttributeWriter {
+
+    private final Dictionary dictionary;
+    private final AttributeTemplate template;
+    private final int type;
+    private final int typeSize;
+    private final int lengthSize;
+    private final boolean tagged;
+    private final int maxLength;
+    private final ValueParser parser;
+
+    private AttributeWriter(@NonNull Dictionary dictionary, @NonNull AttributeTemplate template) {
+        this.dictionary = dictionary;
+        this.template = template;
+        this.type = template.type();
+        var vendor = dictionary.getVendor(template.vendorId());
+        this.typeSize = vendor.map(Vendor::typeSize).orElse(1);
+        this.lengthSize = vendor.map(Vendor::lengthSize).orElse(1);
+        this.tagged = template.tagged();
+        this.maxLength = lengthSize == 2 ? 0xFFFF : 0xFF;
+        this.parser = parserFor(template);
+    }
+
+    /**
+     * Creates a writer for the attribute type with the given vendor ID and type code.
+     *
+     * @param dictionary dictionary to look up attribute type and vendor format
+     * @param vendorId   vendor ID, or -1 for top level attributes
+     * @param type       attribute type code
+     * @return new writer
+     * @throws IllegalArgumentException if attribute type is not defined in the dictionary
+     */
+    @NonNull
+    public static AttributeWriter of(@NonNull Dictionary dictionary, int vendorId, int type) {
+        return new AttributeWriter(dictionary, dictionary.getAttributeTemplate(vendorId, type)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown attribute type, vendorId: " + vendorId + ", type: " + type)));
+    }
+
+    /**
+     * Creates a writer for the attribute type with the given name.
+     *
+     * @param dictionary dictionary to look up attribute type and vendor format
+     * @param name       name of the attribute, e.g. "NAS-IP-Address"
+     * @return new writer
+     * @throws IllegalArgumentException if attribute type is not defined in the dictionary
+     */
+    @NonNull
+    public static AttributeWriter of(@NonNull Dictionary dictionary, @NonNull String name) {
+        return new AttributeWriter(dictionary, dictionary.getAttributeTemplate(name)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown attribute type name: '" + name + "'")));
+    }
+
+    /**
+     * Returns the attribute type this writer writes.
+     *
+     * @return attribute template
+     */
+    @NonNull
+    public AttributeTemplate getTemplate() {
+        return template;
+    }
+
+    /**
+     * Returns the number of octets written before the value: type, length and tag fields.
+     *
+     * @return header size including tag
+     */
+    public int getHeaderSize() {
+        return typeSize + lengthSize + (tagged ? 1 : 0);
+    }
+
+    /**
+     * Writes an attribute with the given value.
+     *
+     * @param dst   buffer to write attribute to
+     * @param tag   tag as per RFC2868, ignored if attribute type is not tagged
+     * @param value attribute value
+     * @return dst
+     * @throws IllegalArgumentException if attribute is too long, dst writerIndex is unchanged
+     */
+    @NonNull
+    public ByteBuf write(@NonNull ByteBuf dst, byte tag, byte @NonNull [] value) {
+        int start = writeHeader(dst, tag, value.length);
+        dst.writeBytes(value);
+        return writeLength(dst, start);
+    }
+
+    /**
+     * Writes an attribute with the readable bytes of the given buffer as value.
+     *
+     * @param dst   buffer to write attribute to
+     * @param tag   tag as per RFC2868, ignored if attribute type is not tagged
+     * @param value attribute value, buffer indexes are not changed
+     * @return dst
+     * @throws IllegalArgumentException if attribute is too long, dst writerIndex is unchanged
+     */
+    @NonNull
+    public ByteBuf write(@NonNull ByteBuf dst, byte tag, @NonNull ByteBuf value) {
+        int start = writeHeader(dst, tag, value.readableBytes());
+        dst.writeBytes(value, value.readerIndex(), value.readableBytes());
+        return writeLength(dst, start);
+    }
+
+    /**
+     * Writes an integer attribute. Tagged integers are written as 3 octets, as per RFC2868.
+     *
+     * @param dst   buffer to write attribute to
+     * @param tag   tag as per RFC2868, ignored if attribute type is not tagged
+     * @param value integer value
+     * @return dst
+     */
+    @NonNull
+    public ByteBuf writeInt(@NonNull ByteBuf dst, byte tag, int value) {
+        int start = writeHeader(dst, tag, 4);
+        writeInt(dst, value);
+        return writeLength(dst, start);
+    }
+
+    /**
+     * Writes an attribute, parsing the value according to the attribute data type.
+     *
+     * @param dst   buffer to write attribute to
+     * @param tag   tag as per RFC2868, ignored if attribute type is not tagged
+     * @param value attribute value as string, e.g. "192.168.0.1" for 'ipaddr'
+     * @return dst
+     * @throws IllegalArgumentException if value can't be parsed or attribute is too long, dst writerIndex is unchanged
+     */
+    @NonNull
+    public ByteBuf write(@NonNull ByteBuf dst, byte tag, @NonNull CharSequence value) {
+        int start = writeHeader(dst, tag, value.length());
+        try {
+            parser.write(this, dst, value);
+        } catch (IllegalArgumentException e) {
+            dst.writerIndex(start);
+            throw e;
+        }
+        return writeLength(dst, start);
+    }
+
+    /**
+     * Creates an attribute backed by a single buffer of exactly the attribute length.
+     *
+     * @param tag   tag as per RFC2868, ignored if attribute type is not tagged
+     * @param value attribute value
+     * @return new attribute
+     */
+    @NonNull
+    public RadiusAttribute create(byte tag, byte @NonNull [] value) {
+        int length = getHeaderSize() + value.length;
+        return create(write(Unpooled.buffer(length, length), tag, value));
+    }
+
+    /**
+     * Creates an attribute, parsing the value according to the attribute data type.
+     *
+     * @param tag   tag as per RFC2868, ignored if attribute type is not tagged
+     * @param value attribute value as string
+     * @return new attribute
+     * @throws IllegalArgumentException if value can't be parsed
+     */
+    @NonNull
+    public RadiusAttribute create(byte tag, @NonNull CharSequence value) {
+        return create(write(Unpooled.buffer(getHeaderSize() + 16), tag, value));
+    }
+
+    @NonNull
+    private RadiusAttribute create(@NonNull ByteBuf data) {
+        return template.factory().create(dictionary, template.vendorId(), data);
+    }
+
+    private int writeHeader(@NonNull ByteBuf dst, byte tag, int valueLength) {
+        int start = dst.writerIndex();
+        dst.ensureWritable(getHeaderSize() + valueLength);
+        switch (typeSize) {
+            case 2 -> dst.writeShort(type);
+            case 4 -> dst.writeInt(type);
+            default -> dst.writeByte(type);
+        }
+        dst.writeZero(lengthSize); // set after value is written
+        if (tagged)
+            dst.writeByte(tag);
+        return start;
+    }
+
+    @NonNull
+    private ByteBuf writeLength(@NonNull ByteBuf dst, int start) {
+        int length = dst.writerIndex() - start;
+        if (length > maxLength) {
+            dst.writerIndex(start);
+            throw new IllegalArgumentException("Attribute too long, max " + maxLength + " octets, actual: " + length);
+        }
+        switch (lengthSize) {
+            case 0 -> { // no length field
+            }
+            case 2 -> dst.setShort(start + typeSize, length);
+            default -> dst.setByte(start + typeSize, length);
+        }
+        return dst;
+    }
+
+    private void writeInt(@NonNull ByteBuf dst, int value) {
+        if (tagged)
+            dst.writeMedium(value); // skip first octet if has_tag
+        else
+            dst.writeInt(value);
+    }
+
+    @NonNull
+    private static ValueParser parserFor(@NonNull AttributeTemplate template) {
+        return switch (template.dataType()) {
+            case "integer", "date", "enum" -> (w, dst, value) -> {
+                Integer enumeration = template.getEnumeration(value.toString());
+                w.writeInt(dst, enumeration != null ? enumeration : LiteralParser.parseUnsignedInt(value));
+            };
+            case "ipaddr", "ipv4addr" -> (w, dst, value) -> dst.writeInt(LiteralParser.parseIpv4(value));
+            case "ipv6addr" -> (w, dst, value) -> LiteralParser.parseIpv6(value, dst);
+            case "ipv6prefix" -> (w, dst, value) -> LiteralParser.parseIpv6Prefix(value, dst);
+            case "string", "text" -> (w, dst, value) -> ByteBufUtil.writeUtf8(dst, value);
+            default -> (w, dst, value) -> dst.writeBytes(HEX_FORMAT.parseHex(value));
+        };
+    }
+
+    /**
+     * Writes a value parsed from a string.
+     */
+    @FunctionalInterface
+    private interface ValueParser {
+        void write(@NonNull AttributeWriter writer, @NonNull ByteBuf dst, @NonNull CharSequence value);
+    }
+}
@@ -0,0 +1,234 @@
+package org.tinyradius.core.attribute;
+
+import io.netty.buffer.ByteBuf;
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Parsers for integer, IP address and IPv6 prefix literals.
+ * <p>
+ * Unlike {@link java.net.InetAddress#getByName(String)}, only numeric literals are accepted,
+ * so parsing never triggers DNS resolution. Parsers don't allocate: results are returned
+ * as primitives or written straight into a target buffer.
+ */
+public final class LiteralParser {
+
+    private static final int IPV6_LENGTH = 16;
+
+    private LiteralParser() {
+    }
+
+    /**
+     * Parses a decimal unsigned 32-bit integer.
+     *
+     * @param value decimal literal, 0 to 4294967295
+     * @return int value, may be negative as Java ints are signed
+     * @throws IllegalArgumentException if value is not a valid unsigned integer
+     */
+    public static int parseUnsignedInt(@NonNull CharSequence value) {
+        try {
+            return Integer.parseUnsignedInt(value, 0, value.length(), 10);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Bad integer: " + value, e);
+        }
+    }
+
+    /**
+     * Parses an IPv4 address in dotted-decimal notation, e.g. '192.168.0.1'.
+     * <p>
+     * Like {@link java.net.InetAddress#getByName(String)}, a single decimal number is also accepted
+     * as the whole 32-bit address, e.g. '4294967295' for '255.255.255.255'.
+     *
+     * @param value IPv4 literal
+     * @return address as an int, in network byte order
+     * @throws IllegalArgumentException if value is not a valid IPv4 literal
+     */
+    public static int parseIpv4(@NonNull CharSequence value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '.')
+                return parseIpv4(value, 0, value.length());
+        }
+        try {
+            return parseUnsignedInt(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Bad IPv4 address: " + value, e);
+        }
+    }
+
+    private static int parseIpv4(@NonNull CharSequence value, int start, int end) {
+        int address = 0;
+        int octets = 0;
+        int i = start;
+        while (i < end) {
+            int octet = 0;
+            int digits = 0;
+            while (i < end && digits < 4) {
+                char c = value.charAt(i);
+                if (c < '0' || c > '9')
+                    break;
+                octet = octet * 10 + (c - '0');
+                digits++;
+                i++;
+            }
+
+            if (digits == 0 || digits > 3 || octet > 255 || octets == 4)
+                throw new IllegalArgumentException("Bad IPv4 address: " + value);
+
+            address = address << 8 | octet;
+            octets++;
+
+            if (i < end) {
+                if (value.charAt(i) != '.' || i == end - 1)
+                    throw new IllegalArgumentException("Bad IPv4 address: " + value);
+                i++;
+            }
+        }
+
+        if (octets != 4)
+            throw new IllegalArgumentException("Bad IPv4 address: " + value);
+        return address;
+    }
+
+    /**
+     * Parses an IPv6 address, e.g. '2001:db8::1' or '::ffff:192.168.0.1', and writes
+     * its 16 octets to the buffer. Zone IDs and brackets are not supported.
+     *
+     * @param value IPv6 literal
+     * @param dst   buffer to write address to
+     * @return dst, with writerIndex increased by 16
+     * @throws IllegalArgumentException if value is not a valid IPv6 literal, dst writerIndex is unchanged
+     */
+    @NonNull
+    public static ByteBuf parseIpv6(@NonNull CharSequence value, @NonNull ByteBuf dst) {
+        return parseIpv6(value, 0, value.length(), dst);
+    }
+
+    @NonNull
+    private static ByteBuf parseIpv6(@NonNull CharSequence value, int start, int end, @NonNull ByteBuf dst) {
+        dst.ensureWritable(IPV6_LENGTH);
+        int base = dst.writerIndex();
+        int groups = 0;
+        int compressAt = -1;
+        int i = start;
+
+        if (end - start >= 2 && value.charAt(i) == ':' && value.charAt(i + 1) == ':') {
+            compressAt = 0;
+            i += 2;
+        }
+
+        while (i < end) {
+            int groupStart = i;
+            int group = 0;
+            int digits = 0;
+            while (i < end && digits < 5) {
+                int digit = Character.digit(value.charAt(i), 16);
+                if (digit < 0)
+                    break;
+                group = group << 4 | digit;
+                digits++;
+                i++;
+            }
+
+            if (i < end && value.charAt(i) == '.') { // embedded IPv4 address as last 32 bits
+                if (groups > 6)
+                    throw new IllegalArgumentException("Bad IPv6 address: " + value);
+                dst.setInt(base + groups * 2, parseIpv4(value, groupStart, end));
+                groups += 2;
+                break;
+            }
+
+            if (digits == 0 || digits > 4 || groups == 8)
+                throw new IllegalArgumentException("Bad IPv6 address: " + value);
+
+            dst.setShort(base + groups * 2, group);
+            groups++;
+
+            if (i == end)
+                break;
+            if (value.charAt(i) != ':' || i == end - 1)
+                throw new IllegalArgumentException("Bad IPv6 address: " + value);
+            i++;
+
+            if (value.charAt(i) == ':') {
+                if (compressAt != -1)
+                    throw new IllegalArgumentException("Bad IPv6 address: " + value);
+                compressAt = groups;
+                i++;
+            }
+        }
+
+        if (compressAt == -1) {
+            if (groups != 8)
+                throw new IllegalArgumentException("Bad IPv6 address: " + value);
+        } else {
+            if (groups > 7)
+                throw new IllegalArgumentException("Bad IPv6 address: " + value);
+            // move groups after '::' to the end, then zero fill the gap
+            int tail = groups - compressAt;
+            for (int k = tail - 1; k >= 0; k--) {
+                dst.setShort(base + (8 - tail + k) * 2, dst.getShort(base + (compressAt + k) * 2));
+            }
+            dst.setZero(base + compressAt * 2, (8 - groups) * 2);
+        }
+
+        return dst.writerIndex(base + IPV6_LENGTH);
+    }
+
+    /**
+     * Parses an IPv6 prefix, e.g. '2001:db8::/32', and writes it to the buffer in RFC 3162 format:
+     * a reserved octet, the prefix length, and only as many address octets as the prefix length needs.
+     *
+     * @param value IPv6 prefix literal in format 'address/length'
+     * @param dst   buffer to write prefix to
+     * @return dst, with writerIndex increased by 2 to 18
+     * @throws IllegalArgumentException if value is not a valid IPv6 prefix, or has bits set
+     *                                  outside the prefix length, dst writerIndex is unchanged
+     */
+    @NonNull
+    public static ByteBuf parseIpv6Prefix(@NonNull CharSequence value, @NonNull ByteBuf dst) {
+        int slash = -1;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '/') {
+                slash = i;
+                break;
+            }
+        }
+        if (slash == -1)
+            throw new IllegalArgumentException("Invalid IPv6 prefix expression, should be in format 'prefix/length': " + value);
+
+        int prefixLength;
+        try {
+            prefixLength = Integer.parseInt(value, slash + 1, value.length(), 10);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid IPv6 prefix expression, should be in format 'prefix/length': " + value, e);
+        }
+        if (prefixLength < 0 || prefixLength > 128)
+            throw new IllegalArgumentException("IPv6 Prefix Prefix-Length should be between 0 and 128, declared: " + prefixLength);
+
+        int start = dst.writerIndex();
+        dst.ensureWritable(2 + IPV6_LENGTH)
+                .writeByte(0)
+                .writeByte(prefixLength);
+
+        try {
+            parseIpv6(value, 0, slash, dst);
+        } catch (IllegalArgumentException e) {
+            dst.writerIndex(start);
+            throw e;
+        }
+
+        int address = start + 2;
+        int prefixBytes = (prefixLength + 7) / 8;
+        boolean zero = prefixLength % 8 == 0 ||
+                (dst.getByte(address + prefixLength / 8) & (0xff >> prefixLength % 8)) == 0;
+        for (int i = prefixBytes; zero && i < IPV6_LENGTH; i++) {
+            zero = dst.getByte(address + i) == 0;
+        }
+
+        if (!zero) {
+            dst.writerIndex(start);
+            throw new IllegalArgumentException("Prefix-Length is " + prefixLength + ", bits outside of the Prefix-Length must be zero");
+        }
+
+        return dst.writerIndex(address + prefixBytes);
+    }
+}
@@ -1,10 +1,14 @@
 package org.tinyradius.core.attribute;
 
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 import org.tinyradius.core.RadiusPacketException;
+import org.tinyradius.core.attribute.type.IntegerAttribute;
 import org.tinyradius.core.attribute.type.RadiusAttribute;
+import org.tinyradius.core.attribute.type.StringAttribute;
 import org.tinyradius.core.attribute.type.VendorSpecificAttribute;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
@@ -59,11 +63,17 @@ public interface NestedAttributeHolder<T extends NestedAttributeHolder<T>> exten
         if (vendorId == getChildVendorId())
             return getAttributes(type);
 
-        return getVendorAttributes(vendorId).stream()
-                .map(VendorSpecificAttribute::getAttributes)
-                .flatMap(Collection::stream)
-                .filter(sa -> sa.getType() == type && sa.getVendorId() == vendorId)
-                .collect(toList());
+        var result = new ArrayList<RadiusAttribute>();
+        var vsas = getVendorAttributes(vendorId);
+        for (int i = 0; i < vsas.size(); i++) {
+            var subAttributes = vsas.get(i).getAttributes();
+            for (int j = 0; j < subAttributes.size(); j++) {
+                var sa = subAttributes.get(j);
+                if (sa.getType() == type && sa.getVendorId() == vendorId)
+                    result.add(sa);
+            }
+        }
+        return result;
     }
 
     /**
@@ -89,6 +99,76 @@ public interface NestedAttributeHolder<T extends NestedAttributeHolder<T>> exten
         return getAttributes(vendorId, type).stream().findFirst();
     }
 
+    /**
+     * Returns the int value of the first integer attribute of the given vendor and type,
+     * read directly from the attribute data without creating intermediate lists or copies.
+     *
+     * @param vendorId     vendor ID, or -1
+     * @param type         attribute type code
+     * @param defaultValue value to return if there is no such integer attribute
+     * @return int value of the attribute, or defaultValue
+     */
+    default int getInt(int vendorId, int type, int defaultValue) {
+        return findAttribute(vendorId, type) instanceof IntegerAttribute a ?
+                a.getValueInt() : defaultValue;
+    }
+
+    /**
+     * Returns the unsigned value of the first integer attribute of the given vendor and type,
+     * read directly from the attribute data without creating intermediate lists or copies.
+     *
+     * @param vendorId     vendor ID, or -1
+     * @param type         attribute type code
+     * @param defaultValue value to return if there is no such integer attribute
+     * @return long value of the attribute, or defaultValue
+     */
+    default long getLong(int vendorId, int type, long defaultValue) {
+        return findAttribute(vendorId, type) instanceof IntegerAttribute a ?
+                a.getValueLong() : defaultValue;
+    }
+
+    /**
+     * Returns the value of the first attribute of the given vendor and type as a CharSequence,
+     * without creating intermediate lists. String attributes with ASCII values are returned
+     * as a view of the attribute data, see {@link StringAttribute#getValueChars()}.
+     *
+     * @param vendorId vendor ID, or -1
+     * @param type     attribute type code
+     * @return value of the attribute, or null if there is no such attribute
+     */
+    @Nullable
+    default CharSequence getCharSequence(int vendorId, int type) {
+        var attribute = findAttribute(vendorId, type);
+        if (attribute == null)
+            return null;
+        return attribute instanceof StringAttribute s ?
+                s.getValueChars() : attribute.getValueString();
+    }
+
+    @Nullable
+    private RadiusAttribute findAttribute(int vendorId, int type) {
+        if (vendorId == getChildVendorId()) {
+            var attributes = getAttributes();
+            for (int i = 0; i < attributes.size(); i++) {
+                var attribute = attributes.get(i);
+                if (attribute.getType() == type)
+                    return attribute;
+            }
+            return null;
+        }
+
+        var vsas = getVendorAttributes(vendorId);
+        for (int i = 0; i < vsas.size(); i++) {
+            var subAttributes = vsas.get(i).getAttributes();
+            for (int j = 0; j < subAttributes.size(); j++) {
+                var sa = subAttributes.get(j);
+                if (sa.getType() == type && sa.getVendorId() == vendorId)
+                    return sa;
+            }
+        }
+        return null;
+    }
+
     /**
      * Returns the Vendor-Specific attribute(s) for the given vendor ID.
      *
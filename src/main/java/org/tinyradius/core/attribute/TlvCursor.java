@@ -0,0 +1,400 @@
+package org.tinyradius.core.attribute;
+
+import io.netty.buffer.ByteBuf;
+import org.jspecify.annotations.NonNull;
+import org.tinyradius.core.dictionary.Dictionary;
+import org.tinyradius.core.dictionary.Vendor;
+
+import static org.tinyradius.core.attribute.AttributeTypes.VENDOR_SPECIFIC;
+
+/**
+ * Allocation-free cursor over the attributes of a raw packet or attribute buffer,
+ * for code that only needs to inspect attributes, e.g. metering, filtering or logging.
+ * <p>
+ * Walks top level attributes and Vendor-Specific sub-attributes in order, in the same
+ * flattened form as {@link NestedAttributeHolder#getFlattenedAttributes()}: VSAs themselves
+ * are not visited, their sub-attributes are visited with the VSA vendor ID, using the
+ * dictionary vendor format for sub-attribute type and length fields. As with
+ * {@link AttributeHolder#readAttributes}, the body of a VSA with an unknown vendor
+ * is visited as a single sub-attribute with type 0.
+ * <p>
+ * No {@link org.tinyradius.core.attribute.type.RadiusAttribute} objects are created.
+ * Values are read in place using {@link #getData()} with {@link #getValueOffset()} and
+ * {@link #getValueLength()}, or with the primitive accessors.
+ * <p>
+ * The same cursor can walk the children of a 'tlv' attribute value with {@link #resetTlv(ByteBuf, int)}.
+ * <p>
+ * A cursor is not thread safe, but can be reused for many buffers with {@link #reset(ByteBuf)}.
+ * <pre>{@code
+ * var cursor = new TlvCursor(dictionary).resetPacket(datagram.content());
+ * long octets = 0;
+ * while (cursor.next()) {
+ *     if (cursor.is(-1, ACCT_INPUT_OCTETS))
+ *         octets += cursor.getValueLong();
+ *     else if (cursor.is(-1, ACCT_INPUT_GIGAWORDS))
+ *         octets += cursor.getValueLong() << 32;
+ * }
+ * }</pre>
+ */
+public final class TlvCursor {
+
+    private static final int PACKET_HEADER_LENGTH = 20;
+    private static final int VSA_HEADER_LENGTH = 6;
+
+    private final Dictionary dictionary;
+
+    private ByteBuf data;
+    private int next; // offset of next top level attribute
+    private int end;  // end of attributes
+
+    // set when reading children of a TLV value, which has no VSAs
+    private boolean tlv;
+    private int tlvVendorId;
+
+    // current Vendor-Specific attribute, if reading sub-attributes
+    private boolean inVsa;
+    private int vsaVendorId;
+    private int vsaTypeSize;
+    private int vsaLengthSize;
+    private boolean vsaAnon;
+    private int subNext;
+    private int vsaEnd;
+
+    // current attribute
+    private int vendorId;
+    private int type;
+    private int offset;
+    private int length;
+    private int headerSize;
+    private int tagSize = -1; // resolved on demand
+
+    /**
+     * Creates a cursor with no data, use {@link #reset(ByteBuf)} or
+     * {@link #resetPacket(ByteBuf)} before iterating.
+     *
+     * @param dictionary dictionary to look up vendor formats and tagged attributes
+     */
+    public TlvCursor(@NonNull Dictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Positions the cursor before the first attribute of an attribute buffer,
+     * between its readerIndex and writerIndex. Does not change the indexes of the buffer.
+     *
+     * @param attributes attribute data, without packet header
+     * @return this cursor
+     */
+    @NonNull
+    public TlvCursor reset(@NonNull ByteBuf attributes) {
+        return reset(attributes, attributes.readerIndex(), attributes.writerIndex());
+    }
+
+    /**
+     * Positions the cursor before the first attribute of a packet, skipping the header
+     * and ignoring any bytes beyond the length declared in the header.
+     * Does not change the indexes of the buffer.
+     *
+     * @param packet packet data, starting at readerIndex
+     * @return this cursor
+     * @throws IllegalArgumentException if packet is shorter than its header or declared length
+     */
+    @NonNull
+    public TlvCursor resetPacket(@NonNull ByteBuf packet) {
+        int start = packet.readerIndex();
+        if (packet.readableBytes() < PACKET_HEADER_LENGTH)
+            throw new IllegalArgumentException("Packet too short, header is " + PACKET_HEADER_LENGTH +
+                    " octets, actual: " + packet.readableBytes());
+
+        int declaredLength = packet.getUnsignedShort(start + 2);
+        if (declaredLength < PACKET_HEADER_LENGTH || declaredLength > packet.readableBytes())
+            throw new IllegalArgumentException("Packet declared length is " + declaredLength +
+                    ", readable bytes: " + packet.readableBytes());
+
+        return reset(packet, start + PACKET_HEADER_LENGTH, start + declaredLength);
+    }
+
+    /**
+     * Positions the cursor before the first child of a 'tlv' attribute value, between its
+     * readerIndex and writerIndex. Children have 1 octet type and length fields, are visited
+     * with the vendor ID of the parent, and type 26 has no special meaning.
+     * Does not change the indexes of the buffer.
+     *
+     * @param value    value of the 'tlv' attribute, excluding its own type and length fields
+     * @param vendorId vendor ID of the 'tlv' attribute, or -1
+     * @return this cursor
+     */
+    @NonNull
+    public TlvCursor resetTlv(@NonNull ByteBuf value, int vendorId) {
+        reset(value, value.readerIndex(), value.writerIndex());
+        this.tlv = true;
+        this.tlvVendorId = vendorId;
+        return this;
+    }
+
+    @NonNull
+    private TlvCursor reset(@NonNull ByteBuf data, int start, int end) {
+        this.tlv = false;
+        this.data = data;
+        this.next = start;
+        this.end = end;
+        this.inVsa = false;
+        this.length = 0;
+        return this;
+    }
+
+    /**
+     * Moves to the next attribute.
+     *
+     * @return true if the cursor is positioned on an attribute, false if there are no more attributes
+     * @throws IllegalArgumentException if attribute lengths are malformed
+     */
+    public boolean next() {
+        if (data == null)
+            return false;
+
+        while (true) {
+            if (inVsa) {
+                if (nextSubAttribute())
+                    return true;
+                inVsa = false;
+            }
+
+            // at least 2 octets left (minimum size header)
+            int remaining = end - next;
+            if (remaining < 2) {
+                if (remaining != 0)
+                    throw new IllegalArgumentException("Attribute malformed, " + remaining + " bytes remaining to parse (minimum 2 octets)");
+                return false;
+            }
+
+            int attributeType = data.getUnsignedByte(next);
+            int attributeLength = data.getUnsignedByte(next + 1);
+            if (attributeLength < 2 || attributeLength > remaining)
+                throw new IllegalArgumentException("Invalid attribute length " + attributeLength + ", parsable bytes " + remaining);
+
+            if (tlv) {
+                set(tlvVendorId, attributeType, next, attributeLength, 2);
+                tagSize = 0; // TLV children are not tagged
+                next += attributeLength;
+                return true;
+            }
+
+            if (attributeType == VENDOR_SPECIFIC) {
+                enterVsa(next, attributeLength);
+                next += attributeLength;
+                continue;
+            }
+
+            set(-1, attributeType, next, attributeLength, 2);
+            next += attributeLength;
+            return true;
+        }
+    }
+
+    private void enterVsa(int start, int vsaLength) {
+        if (vsaLength <= VSA_HEADER_LENGTH)
+            throw new IllegalArgumentException("Vendor-Specific attribute should be greater than 6 octets, actual: " + vsaLength);
+
+        inVsa = true;
+        vsaVendorId = data.getInt(start + 2);
+        subNext = start + VSA_HEADER_LENGTH;
+        vsaEnd = start + vsaLength;
+
+        Vendor vendor = dictionary.getVendor(vsaVendorId).orElse(null);
+        vsaAnon = vendor == null;
+        vsaTypeSize = vendor == null ? 0 : vendor.typeSize();
+        vsaLengthSize = vendor == null ? 0 : vendor.lengthSize();
+    }
+
+    private boolean nextSubAttribute() {
+        int remaining = vsaEnd - subNext;
+
+        if (vsaAnon) {
+            // unknown vendor format, whole body is a single undistinguished sub-attribute
+            if (remaining == 0)
+                return false;
+            set(vsaVendorId, 0, subNext, remaining, 0);
+            subNext = vsaEnd;
+            return true;
+        }
+
+        if (remaining < 2) {
+            if (remaining != 0)
+                throw new IllegalArgumentException("Attribute malformed, " + remaining + " bytes remaining to parse (minimum 2 octets)");
+            return false;
+        }
+
+        int subType = switch (vsaTypeSize) {
+            case 2 -> data.getShort(subNext);
+            case 4 -> data.getInt(subNext);
+            default -> data.getUnsignedByte(subNext);
+        };
+
+        int subLength = switch (vsaLengthSize) {
+            case 0 -> remaining;
+            case 2 -> data.getShort(subNext + vsaTypeSize);
+            default -> data.getUnsignedByte(subNext + vsaTypeSize); // max 255
+        };
+
+        int subHeaderSize = vsaTypeSize + vsaLengthSize;
+        if (subLength < subHeaderSize || subLength > remaining)
+            throw new IllegalArgumentException("Invalid attribute length " + subLength + ", parsable bytes " + remaining +
+                    ", typeSize=" + vsaTypeSize + ", lengthSize=" + vsaLengthSize);
+
+        set(vsaVendorId, subType, subNext, subLength, subHeaderSize);
+        subNext += subLength;
+        return true;
+    }
+
+    private void set(int vendorId, int type, int offset, int length, int headerSize) {
+        this.vendorId = vendorId;
+        this.type = type;
+        this.offset = offset;
+        this.length = length;
+        this.headerSize = headerSize;
+        this.tagSize = -1;
+    }
+
+    /**
+     * Visits the remaining attributes until the visitor returns false.
+     *
+     * @param visitor visitor to call for each attribute
+     * @return false if stopped by the visitor, true if all attributes were visited
+     * @throws IllegalArgumentException if attribute lengths are malformed
+     */
+    public boolean forEach(@NonNull AttributeVisitor visitor) {
+        while (next()) {
+            if (!visitor.visit(this))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the current attribute has the given vendor ID and type.
+     *
+     * @param vendorId vendor ID, or -1 for top level attributes
+     * @param type     attribute type code
+     * @return true if vendor ID and type match
+     */
+    public boolean is(int vendorId, int type) {
+        return this.type == type && this.vendorId == vendorId;
+    }
+
+    /**
+     * Returns the buffer the cursor is reading. Offsets returned by this cursor are
+     * absolute indexes into this buffer.
+     *
+     * @return buffer being read
+     */
+    @NonNull
+    public ByteBuf getData() {
+        return data;
+    }
+
+    /**
+     * Returns the vendor ID of the current attribute.
+     *
+     * @return vendor ID for VSA sub-attributes, otherwise -1
+     */
+    public int getVendorId() {
+        return vendorId;
+    }
+
+    /**
+     * Returns the type code of the current attribute.
+     *
+     * @return attribute type code
+     */
+    public int getType() {
+        return type;
+    }
+
+    /**
+     * Returns the tag of the current attribute, if its type is tagged according to the dictionary.
+     *
+     * @return tag of the attribute, or -1 if the attribute is not tagged
+     */
+    public int getTag() {
+        return getTagSize() == 0 ?
+                -1 : data.getUnsignedByte(offset + headerSize);
+    }
+
+    /**
+     * Returns the index of the current attribute, including its header.
+     *
+     * @return index of the attribute in {@link #getData()}
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns the length of the current attribute, including its header.
+     *
+     * @return length of the attribute
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Returns the index of the value of the current attribute,
+     * after type, length and tag fields.
+     *
+     * @return index of the value in {@link #getData()}
+     */
+    public int getValueOffset() {
+        return offset + headerSize + getTagSize();
+    }
+
+    /**
+     * Returns the length of the value of the current attribute.
+     *
+     * @return length of the value
+     */
+    public int getValueLength() {
+        return length - headerSize - getTagSize();
+    }
+
+    /**
+     * Reads the value of the current attribute as an int, for 4 octet values,
+     * or 3 octet values of tagged integers.
+     *
+     * @return int value
+     * @throws IllegalArgumentException if value length is not 3 or 4 octets
+     */
+    public int getValueInt() {
+        return switch (getValueLength()) {
+            case 4 -> data.getInt(getValueOffset());
+            case 3 -> data.getUnsignedMedium(getValueOffset());
+            default -> throw new IllegalArgumentException("Integer value should be 3 or 4 octets, actual: " + getValueLength());
+        };
+    }
+
+    /**
+     * Reads the value of the current attribute as an unsigned long,
+     * for 4 or 3 octet (unsigned) integers, or 8 octet integer64 values.
+     *
+     * @return long value
+     * @throws IllegalArgumentException if value length is not 3, 4 or 8 octets
+     */
+    public long getValueLong() {
+        return switch (getValueLength()) {
+            case 8 -> data.getLong(getValueOffset());
+            case 4 -> data.getUnsignedInt(getValueOffset());
+            case 3 -> data.getUnsignedMedium(getValueOffset());
+            default -> throw new IllegalArgumentException("Integer value should be 3, 4 or 8 octets, actual: " + getValueLength());
+        };
+    }
+
+    private int getTagSize() {
+        if (tagSize < 0) {
+            tagSize = headerSize != 0 && length > headerSize && dictionary.getAttributeTemplate(vendorId, type)
+                    .filter(AttributeTemplate::tagged)
+                    .isPresent() ? 1 : 0;
+        }
+        return tagSize;
+    }
+}
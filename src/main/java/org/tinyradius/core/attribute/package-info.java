@@ -12,6 +12,12 @@
  *   that can hold a collection of attributes, such as packets or sub-attribute holders.</li>
  *   <li>{@link org.tinyradius.core.attribute.AttributeTypes}: Constants for common
  *   attribute type codes.</li>
+ *   <li>{@link org.tinyradius.core.attribute.TlvCursor}: Allocation-free cursor over raw
+ *   attribute data, for inspecting attributes without creating attribute objects.</li>
+ *   <li>{@link org.tinyradius.core.attribute.AttributeWriter}: Precompiled writer for an
+ *   attribute type, writing header and value straight into a target buffer.</li>
+ *   <li>{@link org.tinyradius.core.attribute.AttributeStructure}: Children of 'tlv'
+ *   and members of 'struct' attributes, as defined in the dictionary.</li>
  * </ul>
  */
 package org.tinyradius.core.attribute;
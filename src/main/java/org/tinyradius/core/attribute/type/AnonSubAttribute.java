@@ -1,6 +1,7 @@
 package org.tinyradius.core.attribute.type;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import java.util.Optional;
 import org.jspecify.annotations.NonNull;
 import org.tinyradius.core.dictionary.Dictionary;
@@ -89,7 +90,7 @@ public class AnonSubAttribute implements RadiusAttribute {
      */
     @Override
     public byte @NonNull [] getValue() {
-        return data.copy().array();
+        return ByteBufUtil.getBytes(data);
     }
 
     /**
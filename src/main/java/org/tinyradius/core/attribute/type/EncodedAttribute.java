@@ -1,7 +1,5 @@
 package org.tinyradius.core.attribute.type;
 
-import static org.tinyradius.core.attribute.codec.AttributeCodecType.NO_ENCRYPT;
-
 import io.netty.buffer.ByteBuf;
 import java.util.Optional;
 import org.jspecify.annotations.NonNull;
@@ -9,6 +7,7 @@ import org.tinyradius.core.RadiusPacketException;
 import org.tinyradius.core.attribute.AttributeTemplate;
 import org.tinyradius.core.attribute.codec.AttributeCodecType;
 import org.tinyradius.core.dictionary.Dictionary;
+import org.tinyradius.core.dictionary.Vendor;
 
 /**
  * Wrapper around attributes encoded with one of {@link AttributeCodecType}
@@ -34,6 +33,82 @@ public record EncodedAttribute(OctetsAttribute delegate) implements RadiusAttrib
         return delegate.getVendorId();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getType() {
+        return delegate.getType();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getTypeSize() {
+        return delegate.getTypeSize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getLengthSize() {
+        return delegate.getLengthSize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getTagSize() {
+        return delegate.getTagSize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isTagged() {
+        return delegate.isTagged();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public Optional<Vendor> getVendor() {
+        return delegate.getVendor();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public Optional<AttributeTemplate> getAttributeTemplate() {
+        return delegate.getAttributeTemplate();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public AttributeCodecType codecType() {
+        return delegate.codecType();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public String getAttributeName() {
+        return delegate.getAttributeName();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -92,9 +167,6 @@ public record EncodedAttribute(OctetsAttribute delegate) implements RadiusAttrib
     @NonNull
     @Override
     public String toString() {
-        var codecType = getAttributeTemplate()
-                .map(AttributeTemplate::codecType)
-                .orElse(NO_ENCRYPT);
-        return "[Encoded: " + codecType.name() + "] " + delegate;
+        return "[Encoded: " + codecType().name() + "] " + delegate;
     }
 }
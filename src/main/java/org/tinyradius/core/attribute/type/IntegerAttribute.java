@@ -2,7 +2,6 @@ package org.tinyradius.core.attribute.type;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
-import java.nio.ByteBuffer;
 import org.jspecify.annotations.NonNull;
 import org.tinyradius.core.attribute.AttributeTemplate;
 import org.tinyradius.core.dictionary.Dictionary;
@@ -26,10 +25,10 @@ public class IntegerAttribute extends OctetsAttribute {
      */
     public IntegerAttribute(@NonNull Dictionary dictionary, int vendorId, @NonNull ByteBuf data) {
         super(dictionary, vendorId, data);
-        if (!isTagged() && getValue().length != 4)
-            throw new IllegalArgumentException("Integer / Date should be 4 octets, actual: " + getValue().length);
-        if (isTagged() && getValue().length != 3)
-            throw new IllegalArgumentException("Integer / Date should be 3 octets if has_tag, actual: " + getValue().length);
+        if (!isTagged() && getValueLength() != 4)
+            throw new IllegalArgumentException("Integer / Date should be 4 octets, actual: " + getValueLength());
+        if (isTagged() && getValueLength() != 3)
+            throw new IllegalArgumentException("Integer / Date should be 3 octets if has_tag, actual: " + getValueLength());
     }
 
     /**
@@ -47,13 +46,9 @@ public class IntegerAttribute extends OctetsAttribute {
      * @return int value of this attribute. May be negative as Java ints are signed.
      */
     public int getValueInt() {
-        byte[] value = getValue();
-        return value.length == 4 ?
-                ByteBuffer.wrap(value).getInt() :
-                ByteBuffer.allocate(Integer.BYTES) // length == 3
-                .put((byte) 0)
-                .put(value)
-                .getInt(0);
+        return isTagged() ?
+                getData().getUnsignedMedium(getValueOffset()) : // length == 3
+                getData().getInt(getValueOffset());
     }
 
     /**
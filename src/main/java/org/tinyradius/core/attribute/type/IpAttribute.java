@@ -1,10 +1,11 @@
 package org.tinyradius.core.attribute.type;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
-import java.nio.ByteBuffer;
 import org.jspecify.annotations.NonNull;
+import org.tinyradius.core.attribute.LiteralParser;
 import org.tinyradius.core.dictionary.Dictionary;
 
 /**
@@ -17,18 +18,24 @@ public abstract class IpAttribute extends OctetsAttribute {
     }
 
     /**
-     * Parses a string into an IP address byte array.
+     * Parses an IPv4 or IPv6 literal into an IP address byte array.
+     * Host names are not resolved, so this never triggers DNS lookups.
      *
      * @param value the string value
-     * @return the byte array
+     * @return the byte array, 4 octets for IPv4 or 16 octets for IPv6 literals
+     * @throws IllegalArgumentException if value is not an IP address literal
      */
     public static byte @NonNull [] stringParser(@NonNull String value) {
         if (value.isEmpty())
             throw new IllegalArgumentException("Address can't be empty");
 
         try {
-            return InetAddress.getByName(value).getAddress();
-        } catch (UnknownHostException e) {
+            if (value.indexOf(':') != -1)
+                return LiteralParser.parseIpv6(value, Unpooled.buffer(16, 16)).array();
+
+            int address = LiteralParser.parseIpv4(value);
+            return new byte[]{(byte) (address >>> 24), (byte) (address >> 16), (byte) (address >> 8), (byte) address};
+        } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Bad address: " + value, e);
         }
     }
@@ -75,17 +82,27 @@ public abstract class IpAttribute extends OctetsAttribute {
          */
         public V4(@NonNull Dictionary dictionary, int vendorId, @NonNull ByteBuf data) {
             super(dictionary, vendorId, data);
-            if (getValue().length != 4)
-                throw new IllegalArgumentException("IPv4 address should be 4 octets, actual: " + getValue().length);
+            if (getValueLength() != 4)
+                throw new IllegalArgumentException("IPv4 address should be 4 octets, actual: " + getValueLength());
         }
 
         /**
-         * Returns the IPv4 address as an int.
+         * Returns the IPv4 address as an int, read directly from the attribute data.
          *
          * @return the IPv4 address as an int
          */
         public int getValueInt() {
-            return ByteBuffer.wrap(getValue()).getInt();
+            return getData().getInt(getValueOffset());
+        }
+
+        /**
+         * Returns the IPv4 address in dotted-decimal notation, without going through InetAddress.
+         */
+        @Override
+        @NonNull
+        public String getValueString() {
+            int address = getValueInt();
+            return (address >>> 24) + "." + ((address >> 16) & 0xFF) + "." + ((address >> 8) & 0xFF) + "." + (address & 0xFF);
         }
 
         private static class Factory implements RadiusAttributeFactory<V4> {
@@ -127,8 +144,8 @@ public abstract class IpAttribute extends OctetsAttribute {
          */
         public V6(@NonNull Dictionary dictionary, int vendorId, @NonNull ByteBuf data) {
             super(dictionary, vendorId, data);
-            if (getValue().length != 16)
-                throw new IllegalArgumentException("IPv6 address should be 16 octets, actual: " + getValue().length);
+            if (getValueLength() != 16)
+                throw new IllegalArgumentException("IPv6 address should be 16 octets, actual: " + getValueLength());
         }
 
         private static class Factory implements RadiusAttributeFactory<V6> {
@@ -3,11 +3,14 @@ package org.tinyradius.core.attribute.type;
 import static java.lang.Byte.toUnsignedInt;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 import org.jspecify.annotations.NonNull;
+import org.tinyradius.core.attribute.LiteralParser;
 import org.tinyradius.core.dictionary.Dictionary;
 
 /**
@@ -77,28 +80,6 @@ public class Ipv6PrefixAttribute extends OctetsAttribute {
         return passed;
     }
 
-    /**
-     * Converts a string prefix into an InetAddress.
-     *
-     * @param value the string value
-     * @return the InetAddress
-     */
-    @NonNull
-    private static InetAddress convertString(@NonNull String value) {
-        if (value.isEmpty())
-            throw new IllegalArgumentException("Invalid IPv6 prefix, empty: " + value);
-        try {
-            var tokens = value.split("/");
-
-            if (tokens.length != 2)
-                throw new IllegalArgumentException("Invalid IPv6 prefix expression, should be in format 'prefix/length': " + value);
-
-            return InetAddress.getByName(tokens[0]);
-        } catch (UnknownHostException e) {
-            throw new IllegalArgumentException("Bad IPv6 prefix, invalid IPv6 address: " + value, e);
-        }
-    }
-
     /**
      * Converts a byte array into an InetAddress.
      *
@@ -148,13 +129,14 @@ public class Ipv6PrefixAttribute extends OctetsAttribute {
     }
 
     /**
-     * Parses a string prefix into a byte array.
+     * Parses a string prefix into a byte array. Only IPv6 literals are accepted,
+     * so this never triggers DNS lookups.
      *
-     * @param value the string value
+     * @param value the string value, e.g. '2001:db8::/32'
      * @return the byte array
      */
     public static byte @NonNull [] stringParser(@NonNull String value) {
-        return validate(convertString(value), Integer.parseInt(value.split("/")[1]));
+        return ByteBufUtil.getBytes(LiteralParser.parseIpv6Prefix(value, Unpooled.buffer(18, 18)));
     }
 
     private static class Factory implements RadiusAttributeFactory<Ipv6PrefixAttribute> {
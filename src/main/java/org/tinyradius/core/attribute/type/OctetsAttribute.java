@@ -1,13 +1,19 @@
 package org.tinyradius.core.attribute.type;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.tinyradius.core.attribute.AttributeTemplate;
+import org.tinyradius.core.attribute.codec.AttributeCodecType;
 import org.tinyradius.core.dictionary.Dictionary;
 import org.tinyradius.core.dictionary.Vendor;
 
 import java.util.Objects;
 import java.util.Optional;
 
+import static org.tinyradius.core.attribute.codec.AttributeCodecType.NO_ENCRYPT;
+
 /**
  * The basic generic Radius attribute. All type-specific implementations extend this class
  * by adding additional type conversion methods and validations.
@@ -27,6 +33,16 @@ public class OctetsAttribute implements RadiusAttribute {
     private final int vendorId;
     private final ByteBuf data;
 
+    // resolved once at construction, so accessors don't need dictionary lookups
+    @Nullable
+    private final Vendor vendor;
+    @Nullable
+    private final AttributeTemplate template;
+    private final int type;
+    private final int typeSize;
+    private final int lengthSize;
+    private final int tagSize;
+
     /**
      * Creates a new OctetsAttribute.
      *
@@ -43,16 +59,28 @@ public class OctetsAttribute implements RadiusAttribute {
         if (actualLength > 255)
             throw new IllegalArgumentException("Attribute too long, max 255 octets, actual: " + actualLength);
 
-        var vendor = dictionary.getVendor(vendorId);
-        int typeSize = vendor.map(Vendor::typeSize).orElse(1);
-        int lengthSize = vendor.map(Vendor::lengthSize).orElse(1);
+        this.vendor = dictionary.getVendor(vendorId).orElse(null);
+        this.typeSize = vendor == null ? 1 : vendor.typeSize();
+        this.lengthSize = vendor == null ? 1 : vendor.lengthSize();
 
-        int length = extractLength(typeSize, lengthSize);
+        int length = extractLength();
         if (length != actualLength)
             throw new IllegalArgumentException("Attribute declared length is " + length + ", actual length: " + actualLength);
+
+        this.type = extractType();
+        this.template = dictionary.getAttributeTemplate(vendorId, type).orElse(null);
+        this.tagSize = template != null && template.tagged() ? 1 : 0;
+    }
+
+    private int extractType() {
+        return switch (typeSize) {
+            case 2 -> data.getShort(0);
+            case 4 -> data.getInt(0);
+            default -> Byte.toUnsignedInt(data.getByte(0));
+        };
     }
 
-    private int extractLength(int typeSize, int lengthSize) {
+    private int extractLength() {
         return switch (lengthSize) {
             case 0 -> data.readableBytes();
             case 2 -> data.getShort(typeSize);
@@ -77,14 +105,95 @@ public class OctetsAttribute implements RadiusAttribute {
         return data;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getType() {
+        return type;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getTypeSize() {
+        return typeSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getLengthSize() {
+        return lengthSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getTagSize() {
+        return tagSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isTagged() {
+        return tagSize != 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public Optional<Vendor> getVendor() {
+        return Optional.ofNullable(vendor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public Optional<AttributeTemplate> getAttributeTemplate() {
+        return Optional.ofNullable(template);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public AttributeCodecType codecType() {
+        return template == null ? NO_ENCRYPT : template.codecType();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public String getAttributeName() {
+        if (template != null)
+            return template.name();
+
+        return vendorId != -1 ?
+                "Unknown-Sub-Attribute-" + type :
+                "Unknown-Attribute-" + type;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     @NonNull
     public Optional<Byte> getTag() {
-        return isTagged() ?
-                Optional.of(data.getByte(getHeaderSize())) :
+        return tagSize != 0 ?
+                Optional.of(data.getByte(typeSize + lengthSize)) :
                 Optional.empty();
     }
 
@@ -93,9 +202,33 @@ public class OctetsAttribute implements RadiusAttribute {
      */
     @Override
     public byte @NonNull [] getValue() {
-        int offset = getHeaderSize() + getTagSize();
-        return data.slice(offset, data.readableBytes() - offset)
-                .copy().array();
+        return ByteBufUtil.getBytes(data, getValueOffset(), getValueLength());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getValueLength() {
+        return data.readableBytes() - getValueOffset();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public ByteBuf copyValueTo(@NonNull ByteBuf dst) {
+        return dst.writeBytes(data, getValueOffset(), getValueLength());
+    }
+
+    /**
+     * Returns the index of the value in {@link #getData()}, after header and (optional) tag.
+     *
+     * @return index of the value in the attribute data
+     */
+    protected int getValueOffset() {
+        return typeSize + lengthSize + tagSize;
     }
 
     /**
@@ -3,6 +3,7 @@ package org.tinyradius.core.attribute.type;
 import static org.tinyradius.core.attribute.codec.AttributeCodecType.NO_ENCRYPT;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
 import java.util.Collections;
 import java.util.HexFormat;
@@ -81,6 +82,27 @@ public interface RadiusAttribute {
      */
     byte @NonNull [] getValue();
 
+    /**
+     * Returns the number of octets used by the value, excluding header and (optional) tag.
+     *
+     * @return number of octets used by the value
+     */
+    default int getValueLength() {
+        return getData().readableBytes() - getHeaderSize() - getTagSize();
+    }
+
+    /**
+     * Writes the attribute value to the given buffer, without
+     * the intermediate copy made by {@link #getValue()}.
+     *
+     * @param dst buffer to write the value to
+     * @return the dst buffer
+     */
+    @NonNull
+    default ByteBuf copyValueTo(@NonNull ByteBuf dst) {
+        return dst.writeBytes(getData(), getHeaderSize() + getTagSize(), getValueLength());
+    }
+
     /**
      * Returns the value of this attribute as a hex string.
      *
@@ -121,7 +143,7 @@ public interface RadiusAttribute {
      * @return entire attribute (including headers) as byte array
      */
     default byte @NonNull [] toByteArray() {
-        return getData().copy().array();
+        return ByteBufUtil.getBytes(getData());
     }
 
     /**
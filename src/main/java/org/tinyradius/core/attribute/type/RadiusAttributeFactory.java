@@ -3,13 +3,13 @@ package org.tinyradius.core.attribute.type;
 import static org.tinyradius.core.attribute.type.RadiusAttribute.HEX_FORMAT;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jspecify.annotations.NonNull;
 import org.tinyradius.core.attribute.AttributeTemplate;
 import org.tinyradius.core.dictionary.Dictionary;
-import org.tinyradius.core.dictionary.Vendor;
 
 /**
  * Factory interface for creating {@link RadiusAttribute} instances.
@@ -59,7 +59,7 @@ public interface RadiusAttributeFactory<T extends RadiusAttribute> {
             return attribute;
         } catch (Exception e) {
             throw new IllegalArgumentException("Could not create attribute with vendorId: " + vendorId +
-                    ", bytes: 0x" + HEX_FORMAT.formatHex(data.copy().array()) + " - " + e.getMessage(), e);
+                    ", bytes: 0x" + HEX_FORMAT.formatHex(ByteBufUtil.getBytes(data)) + " - " + e.getMessage(), e);
         }
     }
 
@@ -75,35 +75,31 @@ public interface RadiusAttributeFactory<T extends RadiusAttribute> {
      */
     @NonNull
     default T create(@NonNull Dictionary dictionary, int vendorId, int type, byte tag, byte @NonNull [] value) {
-        var vendor = dictionary.getVendor(vendorId);
-        int headerSize = vendor.map(Vendor::getHeaderSize).orElse(2);
+        var vendor = dictionary.getVendor(vendorId).orElse(null);
+        int typeSize = vendor == null ? 1 : vendor.typeSize();
+        int lengthSize = vendor == null ? 1 : vendor.lengthSize();
+        boolean tagged = dictionary.getAttributeTemplate(vendorId, type)
+                .map(AttributeTemplate::tagged)
+                .orElse(false);
 
-        byte[] tagBytes = toTagBytes(dictionary, vendorId, type, tag);
-        int length = headerSize + tagBytes.length + value.length;
-        byte[] typeBytes = vendor
-                .map(v -> v.toTypeBytes(type))
-                .orElse(new byte[]{(byte) type});
-        byte[] lengthBytes = vendor
-                .map(v -> v.toLengthBytes(length))
-                .orElse(new byte[]{(byte) length});
-
-        return create(dictionary, vendorId, Unpooled.wrappedBuffer(typeBytes, lengthBytes, tagBytes, value));
-    }
+        // single buffer, header written in place
+        int length = typeSize + lengthSize + (tagged ? 1 : 0) + value.length;
+        var data = Unpooled.buffer(length, length);
+        switch (typeSize) {
+            case 2 -> data.writeShort(type);
+            case 4 -> data.writeInt(type);
+            default -> data.writeByte(type);
+        }
+        switch (lengthSize) {
+            case 0 -> { // no length field
+            }
+            case 2 -> data.writeShort(length);
+            default -> data.writeByte(length);
+        }
+        if (tagged)
+            data.writeByte(tag);
 
-    /**
-     * Returns the tag bytes for the given attribute.
-     *
-     * @param dictionary the dictionary to use
-     * @param vendorId   the vendor ID
-     * @param type       the attribute type
-     * @param tag        the tag byte
-     * @return the tag bytes, or an empty array if not tagged
-     */
-    private static byte @NonNull [] toTagBytes(@NonNull Dictionary dictionary, int vendorId, int type, byte tag) {
-        return dictionary.getAttributeTemplate(vendorId, type)
-                .filter(AttributeTemplate::tagged)
-                .map(x -> new byte[]{tag})
-                .orElse(new byte[0]);
+        return create(dictionary, vendorId, data.writeBytes(value));
     }
 
     /**
@@ -136,7 +132,8 @@ public interface RadiusAttributeFactory<T extends RadiusAttribute> {
             case "integer", "date", "enum" -> IntegerAttribute.FACTORY;
             case "ipaddr", "ipv4addr" -> IpAttribute.V4.FACTORY;
             case "ipv6addr" -> IpAttribute.V6.FACTORY;
-            case "ipv6prefix" -> Ipv6PrefixAttribute.FACTORY; // nested attributes
+            case "ipv6prefix" -> Ipv6PrefixAttribute.FACTORY;
+            case "tlv" -> TlvAttribute.FACTORY; // nested attributes
             // compound types
             default -> OctetsAttribute.FACTORY;
         };
@@ -1,8 +1,10 @@
 package org.tinyradius.core.attribute.type;
 
+import static java.nio.charset.StandardCharsets.US_ASCII;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 import io.netty.buffer.ByteBuf;
+import java.util.Objects;
 import org.jspecify.annotations.NonNull;
 import org.tinyradius.core.dictionary.Dictionary;
 
@@ -35,7 +37,28 @@ public class StringAttribute extends OctetsAttribute {
     @Override
     @NonNull
     public String getValueString() {
-        return new String(getValue(), UTF_8);
+        return getData().toString(getValueOffset(), getValueLength(), UTF_8);
+    }
+
+    /**
+     * Returns the value of this attribute as a CharSequence.
+     * <p>
+     * If the value is plain ASCII, as is usual for e.g. User-Name, this is a view
+     * that reads characters directly from the attribute data, so no String is decoded.
+     * Otherwise, this is the same as {@link #getValueString()}.
+     *
+     * @return value of this attribute as a CharSequence
+     */
+    @NonNull
+    public CharSequence getValueChars() {
+        int offset = getValueOffset();
+        int length = getValueLength();
+        var data = getData();
+        for (int i = offset; i < offset + length; i++) {
+            if (data.getByte(i) < 0)
+                return getValueString();
+        }
+        return new AsciiView(data, offset, length);
     }
 
     /**
@@ -48,6 +71,36 @@ public class StringAttribute extends OctetsAttribute {
         return s.getBytes(UTF_8);
     }
 
+    /**
+     * Read-only view of ASCII characters in a ByteBuf.
+     */
+    private record AsciiView(@NonNull ByteBuf data, int offset, int length) implements CharSequence {
+
+        @Override
+        public char charAt(int index) {
+            Objects.checkIndex(index, length);
+            return (char) data.getByte(offset + index);
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        @NonNull
+        public CharSequence subSequence(int start, int end) {
+            Objects.checkFromToIndex(start, end, length);
+            return new AsciiView(data, offset + start, end - start);
+        }
+
+        @Override
+        @NonNull
+        public String toString() {
+            return data.toString(offset, length, US_ASCII);
+        }
+    }
+
     private static class Factory implements RadiusAttributeFactory<StringAttribute> {
 
         /**
@@ -0,0 +1,306 @@
+package org.tinyradius.core.attribute.type;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.tinyradius.core.RadiusPacketException;
+import org.tinyradius.core.attribute.AttributeHolder;
+import org.tinyradius.core.attribute.AttributeStructure;
+import org.tinyradius.core.attribute.AttributeTemplate;
+import org.tinyradius.core.attribute.TlvCursor;
+import org.tinyradius.core.dictionary.Dictionary;
+import org.tinyradius.core.dictionary.Vendor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Attribute with data type 'tlv'. Both an attribute itself and an attribute container for
+ * its children, which have 1 octet type and length fields and the same vendor ID as the parent.
+ * <p>
+ * Children are not parsed or validated when the attribute is created, only on first access
+ * with {@link #getAttributes()}, so TLVs that are never read cost nothing beyond the slice
+ * of the packet buffer. Children are created from the child templates in the dictionary
+ * definition of this attribute, see {@link #getChildDictionary()}.
+ */
+public class TlvAttribute extends OctetsAttribute implements AttributeHolder<TlvAttribute> {
+
+    /**
+     * Default factory for creating {@link TlvAttribute} instances.
+     */
+    public static final RadiusAttributeFactory<TlvAttribute> FACTORY = new Factory();
+
+    // parsed on first access if not provided
+    private volatile List<RadiusAttribute> attributes;
+    private volatile Dictionary childDictionary;
+
+    /**
+     * Creates a new TLV attribute from raw data. Children are parsed on first access.
+     *
+     * @param dictionary dictionary to use
+     * @param vendorId   vendor ID, or -1 for top level attributes
+     * @param data       attribute data incl. type/length
+     */
+    public TlvAttribute(@NonNull Dictionary dictionary, int vendorId, @NonNull ByteBuf data) {
+        this(dictionary, vendorId, data, null);
+    }
+
+    /**
+     * Constructs a new TLV attribute holding the given children.
+     *
+     * @param dictionary dictionary to use
+     * @param vendorId   vendor ID, or -1 for top level attributes
+     * @param type       attribute type code
+     * @param attributes children, should be created with {@link #getChildDictionary()} of an attribute of the same type
+     */
+    public TlvAttribute(@NonNull Dictionary dictionary, int vendorId, int type, @NonNull List<RadiusAttribute> attributes) {
+        this(dictionary, vendorId, toByteBuf(dictionary, vendorId, type, attributes), attributes);
+        for (var attribute : attributes) {
+            if (attribute.getVendorId() != vendorId || attribute.getHeaderSize() != 2)
+                throw new IllegalArgumentException("TLV children must have 1 octet type and length fields and same vendorId as parent: " +
+                        vendorId + ", actual: " + attribute);
+        }
+    }
+
+    private TlvAttribute(@NonNull Dictionary dictionary, int vendorId, @NonNull ByteBuf data, @Nullable List<RadiusAttribute> attributes) {
+        super(dictionary, vendorId, data);
+        this.attributes = attributes == null ? null : List.copyOf(attributes);
+    }
+
+    /**
+     * Returns the vendor ID of the children, which is the vendor ID of this attribute.
+     *
+     * @return vendor ID of this attribute
+     */
+    @Override
+    public int getChildVendorId() {
+        return getVendorId();
+    }
+
+    /**
+     * Returns the children of this TLV, parsing them on first access.
+     *
+     * @return the attributes
+     * @throws IllegalArgumentException if child lengths are malformed
+     */
+    @Override
+    @NonNull
+    public List<RadiusAttribute> getAttributes() {
+        var result = attributes;
+        if (result == null) {
+            // parsing is deterministic, so concurrent first calls at most parse twice
+            var data = getData();
+            var value = data.slice(getValueOffset(), getValueLength());
+            var children = getChildDictionary();
+            var list = new ArrayList<RadiusAttribute>();
+            var cursor = new TlvCursor(children).resetTlv(value, getVendorId());
+            while (cursor.next()) {
+                list.add(children.createAttribute(getVendorId(), cursor.getType(),
+                        value.slice(cursor.getOffset(), cursor.getLength())));
+            }
+            result = List.copyOf(list);
+            attributes = result;
+        }
+        return result;
+    }
+
+    /**
+     * Child names are resolved with {@link #getChildDictionary()}, as children
+     * aren't in the top level name index.
+     * <p>
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public List<RadiusAttribute> getAttributes(@NonNull String name) {
+        return getChildDictionary().getAttributeTemplate(name)
+                .map(this::getAttributes)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown attribute type name'" + name + "'"));
+    }
+
+    /**
+     * Creates the child with {@link #getChildDictionary()}.
+     * <p>
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public TlvAttribute addAttribute(@NonNull String name, @NonNull String value) throws RadiusPacketException {
+        return addAttribute(getChildDictionary().createAttribute(name, value));
+    }
+
+    /**
+     * Creates the child with {@link #getChildDictionary()}.
+     * <p>
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public TlvAttribute addAttribute(int type, @NonNull String value) throws RadiusPacketException {
+        return addAttribute(getChildDictionary().createAttribute(getChildVendorId(), type, (byte) 0, value));
+    }
+
+    /**
+     * Returns a view of the dictionary for creating children of this attribute.
+     * <p>
+     * Looking up templates for the vendor ID of this attribute returns the child
+     * templates defined for this attribute type, and children are always created
+     * with 1 octet type and length fields, regardless of vendor format.
+     *
+     * @return dictionary to create and look up children with
+     */
+    @NonNull
+    public Dictionary getChildDictionary() {
+        var result = childDictionary;
+        if (result == null) {
+            var structure = getAttributeTemplate()
+                    .map(AttributeTemplate::structure)
+                    .orElseGet(AttributeStructure::new);
+            result = new ChildDictionary(getDictionary(), getVendorId(), structure);
+            childDictionary = result;
+        }
+        return result;
+    }
+
+    @NonNull
+    private static ByteBuf toByteBuf(@NonNull Dictionary dictionary, int vendorId, int type, @NonNull List<RadiusAttribute> attributes) {
+        var value = AttributeHolder.attributesToBytes(attributes);
+        var vendor = dictionary.getVendor(vendorId);
+        int length = vendor.map(Vendor::getHeaderSize).orElse(2) + value.readableBytes();
+        byte[] typeBytes = vendor
+                .map(v -> v.toTypeBytes(type))
+                .orElse(new byte[]{(byte) type});
+        byte[] lengthBytes = vendor
+                .map(v -> v.toLengthBytes(length))
+                .orElse(new byte[]{(byte) length});
+        return Unpooled.wrappedBuffer(Unpooled.wrappedBuffer(typeBytes, lengthBytes), value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public TlvAttribute withAttributes(@NonNull List<RadiusAttribute> attributes) {
+        return new TlvAttribute(getDictionary(), getVendorId(), getType(), attributes);
+    }
+
+    /**
+     * Encodes children if any child type is encrypted, otherwise returns this attribute
+     * without parsing children.
+     * <p>
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public TlvAttribute encode(byte @NonNull [] requestAuth, @NonNull String secret) throws RadiusPacketException {
+        return hasEncryptedChildren() ?
+                withAttributes(encodeAttributes(requestAuth, secret)) : this;
+    }
+
+    /**
+     * Decodes children if any child type is encrypted, otherwise returns this attribute
+     * without parsing children.
+     * <p>
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public TlvAttribute decode(byte @NonNull [] requestAuth, @NonNull String secret) throws RadiusPacketException {
+        return hasEncryptedChildren() ?
+                withAttributes(decodeAttributes(requestAuth, secret)) : this;
+    }
+
+    private boolean hasEncryptedChildren() {
+        return getAttributeTemplate()
+                .map(t -> hasEncryptedChildren(t.structure()))
+                .orElse(false);
+    }
+
+    private static boolean hasEncryptedChildren(@NonNull AttributeStructure structure) {
+        for (var child : structure.getChildren()) {
+            if (child.isEncrypt() || hasEncryptedChildren(child.structure()))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public String toString() {
+        List<RadiusAttribute> children;
+        try {
+            children = getAttributes();
+        } catch (IllegalArgumentException e) {
+            return super.toString(); // malformed children, print raw value
+        }
+
+        var sb = new StringBuilder(getAttributeName()).append(':');
+        for (var child : children) {
+            sb.append("\n  ").append(child.toString().replace("\n", "\n  "));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Dictionary view that resolves children of a TLV, delegating everything else.
+     */
+    private record ChildDictionary(@NonNull Dictionary parent, int vendorId,
+                                   @NonNull AttributeStructure structure) implements Dictionary {
+
+        @Override
+        @NonNull
+        public Optional<AttributeTemplate> getAttributeTemplate(@NonNull String name) {
+            var child = structure.getChild(name);
+            return child.isPresent() ? child : parent.getAttributeTemplate(name);
+        }
+
+        @Override
+        @NonNull
+        public Optional<AttributeTemplate> getAttributeTemplate(int vendorId, int type) {
+            return vendorId == this.vendorId ?
+                    structure.getChild(type) :
+                    parent.getAttributeTemplate(vendorId, type);
+        }
+
+        @Override
+        @NonNull
+        public Optional<Vendor> getVendor(int vendorId) {
+            // children always have 1 octet type and length fields
+            return vendorId == this.vendorId ?
+                    Optional.empty() :
+                    parent.getVendor(vendorId);
+        }
+
+        @Override
+        @NonNull
+        public Optional<Vendor> getVendor(@NonNull String vendorName) {
+            return parent.getVendor(vendorName);
+        }
+    }
+
+    private static class Factory implements RadiusAttributeFactory<TlvAttribute> {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        @NonNull
+        public TlvAttribute newInstance(@NonNull Dictionary dictionary, int vendorId, @NonNull ByteBuf value) {
+            return new TlvAttribute(dictionary, vendorId, value);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public byte @NonNull [] parse(@NonNull Dictionary dictionary, int vendorId, int type, @NonNull String value) {
+            return stringHexParser(value);
+        }
+    }
+}
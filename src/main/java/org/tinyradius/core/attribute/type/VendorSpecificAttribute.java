@@ -3,6 +3,7 @@ package org.tinyradius.core.attribute.type;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 import org.tinyradius.core.RadiusPacketException;
 import org.tinyradius.core.attribute.AttributeHolder;
 import org.tinyradius.core.dictionary.Dictionary;
@@ -16,6 +17,10 @@ import static org.tinyradius.core.attribute.AttributeTypes.VENDOR_SPECIFIC;
 
 /**
  * Vendor-Specific attribute. Both an attribute itself and an attribute container for sub-attributes.
+ * <p>
+ * When parsed from bytes, the framing of sub-attributes is checked upfront, and sub-attributes
+ * are created on first access, so packets with many VSAs only pay for the vendors that are read.
+ * Sub-attributes with invalid values only fail when accessed.
  */
 public class VendorSpecificAttribute extends OctetsAttribute implements AttributeHolder<VendorSpecificAttribute> {
 
@@ -24,8 +29,8 @@ public class VendorSpecificAttribute extends OctetsAttribute implements Attribut
      */
     public static final RadiusAttributeFactory<VendorSpecificAttribute> FACTORY = new Factory();
 
-    // derived from byteBuf
-    private final List<RadiusAttribute> attributes;
+    // derived from byteBuf, parsed on first access if not provided
+    private volatile List<RadiusAttribute> attributes;
 
     /**
      * Constructs a new Vendor-Specific attribute.
@@ -48,23 +53,22 @@ public class VendorSpecificAttribute extends OctetsAttribute implements Attribut
      * @param data       data to parse for childVendorId and sub-attributes
      */
     public VendorSpecificAttribute(@NonNull Dictionary dictionary, int vendorId, @NonNull ByteBuf data) {
-        this(dictionary,
-                AttributeHolder.readAttributes(dictionary, validate(data).getInt(2), data.slice(6, data.readableBytes() - 6)),
-                data);
+        this(dictionary, null, validate(data));
         if (vendorId != -1)
             throw new IllegalArgumentException("Vendor-Specific attribute should be top level attribute, vendorId should be -1, actual: " + vendorId);
+        AttributeHolder.validateAttributes(dictionary, getChildVendorId(), data.slice(6, data.readableBytes() - 6));
     }
 
     /**
      * Internal constructor for VendorSpecificAttribute.
      *
      * @param dictionary dictionary to use for (sub)attributes
-     * @param attributes sub-attributes held
+     * @param attributes sub-attributes held, or null to parse from data on first access
      * @param data       equivalent of childVendorId + subattribute data in byte array form
      */
-    private VendorSpecificAttribute(@NonNull Dictionary dictionary, @NonNull List<RadiusAttribute> attributes, @NonNull ByteBuf data) {
+    private VendorSpecificAttribute(@NonNull Dictionary dictionary, @Nullable List<RadiusAttribute> attributes, @NonNull ByteBuf data) {
         super(dictionary, -1, data);
-        this.attributes = List.copyOf(attributes);
+        this.attributes = attributes == null ? null : List.copyOf(attributes);
         if (data.getByte(0) != VENDOR_SPECIFIC)
             throw new IllegalArgumentException("Vendor-Specific attribute attributeId should always be 26, " +
                     "actual: " + data.getByte(0));
@@ -89,7 +93,26 @@ public class VendorSpecificAttribute extends OctetsAttribute implements Attribut
     @Override
     @NonNull
     public List<RadiusAttribute> getAttributes() {
-        return attributes;
+        var result = attributes;
+        if (result == null) {
+            // parsing is deterministic, so concurrent first calls at most parse twice
+            var data = getData();
+            result = List.copyOf(AttributeHolder.readAttributes(getDictionary(), getChildVendorId(),
+                    data.slice(6, data.readableBytes() - 6)));
+            attributes = result;
+        }
+        return result;
+    }
+
+    /**
+     * Creates sub-attributes if not done yet, so invalid sub-attribute values fail as a RadiusPacketException.
+     */
+    private void checkAttributes() throws RadiusPacketException {
+        try {
+            getAttributes();
+        } catch (IllegalArgumentException e) {
+            throw new RadiusPacketException("Error reading Vendor-Specific sub-attributes: " + getValueString(), e);
+        }
     }
 
     @NonNull
@@ -141,6 +164,7 @@ public class VendorSpecificAttribute extends OctetsAttribute implements Attribut
     @Override
     @NonNull
     public VendorSpecificAttribute encode(byte @NonNull [] requestAuth, @NonNull String secret) throws RadiusPacketException {
+        checkAttributes();
         return new VendorSpecificAttribute(getDictionary(), getChildVendorId(), encodeAttributes(requestAuth, secret));
     }
 
@@ -150,6 +174,7 @@ public class VendorSpecificAttribute extends OctetsAttribute implements Attribut
     @Override
     @NonNull
     public VendorSpecificAttribute decode(byte @NonNull [] requestAuth, @NonNull String secret) throws RadiusPacketException {
+        checkAttributes();
         return new VendorSpecificAttribute(getDictionary(), getChildVendorId(), decodeAttributes(requestAuth, secret));
     }
 
@@ -165,7 +190,13 @@ public class VendorSpecificAttribute extends OctetsAttribute implements Attribut
                 .getVendor(getChildVendorId())
                 .map(Vendor::name)
                 .ifPresent(s -> sb.append(" (").append(s).append(")"));
-        for (var sa : getAttributes()) {
+        List<RadiusAttribute> subAttributes;
+        try {
+            subAttributes = getAttributes();
+        } catch (IllegalArgumentException e) {
+            return sb.append(", malformed sub-attributes: ").append(getValueString()).toString();
+        }
+        for (var sa : subAttributes) {
             sb.append("\n  ").append(sa.toString());
         }
         return sb.toString();
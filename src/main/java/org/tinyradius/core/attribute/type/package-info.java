@@ -12,5 +12,8 @@
  * <p>
  * Vendor-specific attributes are supported by the class
  * VendorSpecificAttribute.
+ * <p>
+ * Attributes with data type 'tlv' are supported by the class TlvAttribute,
+ * which parses its children on first access.
  */
 package org.tinyradius.core.attribute.type;
\ No newline at end of file
@@ -5,6 +5,7 @@ import org.apache.logging.log4j.Logger;
 import org.jspecify.annotations.NonNull;
 import org.tinyradius.core.attribute.AttributeTemplate;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -57,6 +58,16 @@ public class MemoryDictionary implements WritableDictionary {
         return Optional.ofNullable(attributesByName.get(name));
     }
 
+    /**
+     * Returns all top level AttributeTemplates.
+     *
+     * @return AttributeTemplates of this dictionary
+     */
+    @NonNull
+    Collection<AttributeTemplate> getAttributeTemplates() {
+        return attributesByName.values();
+    }
+
     /**
      * Returns the vendor with the given name.
      *
@@ -0,0 +1,296 @@
+package org.tinyradius.core.dictionary;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jspecify.annotations.NonNull;
+import org.tinyradius.core.attribute.AttributeStructure.Member;
+import org.tinyradius.core.attribute.AttributeTemplate;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * A <code>WritableDictionary</code> that stacks a small writable layer on top of
+ * a shared base dictionary, e.g. {@link DefaultDictionary#INSTANCE} plus the
+ * vendor attributes of a single tenant or site.
+ * <p>
+ * Lookups check the layer first and then fall through to the base, so the base
+ * is never copied. Entries are only ever added to the layer: the base is treated
+ * as frozen and is not modified, so one base can be shared by any number of overlays.
+ * <p>
+ * Definitions that conflict with the base are rejected when they are added. Adding
+ * an enumeration value, 'tlv' child or 'struct' member to an attribute of the base
+ * copies the top level attribute and all its children into the layer first, leaving
+ * the base attribute unchanged. Children of base attributes can only be found if the
+ * base is a {@link MemoryDictionary} or another OverlayDictionary.
+ */
+public class OverlayDictionary implements WritableDictionary {
+
+    private static final Logger log = LogManager.getLogger(OverlayDictionary.class);
+    private final Dictionary base;
+    private final MemoryDictionary layer = new MemoryDictionary();
+
+    // base templates copied into the layer, and templates that are only in the layer
+    private final Map<AttributeTemplate, AttributeTemplate> copies = new IdentityHashMap<>();
+    private final Set<AttributeTemplate> layerTemplates = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Constructs an empty overlay on top of the given base dictionary.
+     *
+     * @param base shared dictionary to fall through to, must not be modified afterwards
+     */
+    public OverlayDictionary(@NonNull Dictionary base) {
+        this.base = base;
+    }
+
+    /**
+     * Returns the base dictionary of this overlay.
+     *
+     * @return the base dictionary
+     */
+    @NonNull
+    public Dictionary getBase() {
+        return base;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public Optional<AttributeTemplate> getAttributeTemplate(int vendorCode, int type) {
+        var template = layer.getAttributeTemplate(vendorCode, type);
+        return template.isPresent() ? template : base.getAttributeTemplate(vendorCode, type);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public Optional<AttributeTemplate> getAttributeTemplate(@NonNull String name) {
+        var template = layer.getAttributeTemplate(name);
+        return template.isPresent() ? template : base.getAttributeTemplate(name);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public Optional<Vendor> getVendor(@NonNull String vendorName) {
+        var vendor = layer.getVendor(vendorName);
+        return vendor.isPresent() ? vendor : base.getVendor(vendorName);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public Optional<Vendor> getVendor(int vendorId) {
+        var vendor = layer.getVendor(vendorId);
+        return vendor.isPresent() ? vendor : base.getVendor(vendorId);
+    }
+
+    /**
+     * Adds the given vendor to the overlay layer.
+     *
+     * @param vendor vendor to add
+     * @return this OverlayDictionary
+     * @throws IllegalArgumentException if the vendor code or name is already in use
+     *                                  by a different vendor in the base or the layer
+     */
+    @Override
+    @NonNull
+    public OverlayDictionary addVendor(@NonNull Vendor vendor) {
+        var existing = base.getVendor(vendor.id());
+        if (existing.isPresent()) {
+            if (existing.get().equals(vendor)) {
+                log.info("Ignoring vendor definition already in base dictionary: {}", vendor);
+                return this;
+            }
+            throw new IllegalArgumentException("Duplicate vendor code: " + vendor.id() +
+                    " (adding " + vendor + ", but base dictionary has " + existing.get() + ")");
+        }
+
+        var existingName = base.getVendor(vendor.name());
+        if (existingName.isPresent())
+            throw new IllegalArgumentException("Duplicate vendor name: " + vendor.name() +
+                    " (adding " + vendor + ", but base dictionary has " + existingName.get() + ")");
+
+        layer.addVendor(vendor);
+        return this;
+    }
+
+    /**
+     * Adds an AttributeTemplate object to the overlay layer.
+     *
+     * @param attributeTemplate AttributeTemplate object
+     * @return this OverlayDictionary
+     * @throws IllegalArgumentException duplicate attribute name/type code
+     *                                  in the base or the layer
+     */
+    @Override
+    @NonNull
+    public OverlayDictionary addAttributeTemplate(@NonNull AttributeTemplate attributeTemplate) {
+        var vendorId = attributeTemplate.vendorId();
+        var typeCode = attributeTemplate.type();
+        var attributeName = attributeTemplate.name();
+
+        var existing = base.getAttributeTemplate(attributeName);
+        if (existing.isPresent()) {
+            if (sameDefinition(existing.get(), attributeTemplate)) {
+                log.info("Ignoring attribute definition already in base dictionary: {} [{},{}]",
+                        attributeName, vendorId, typeCode);
+                return this;
+            }
+            throw new IllegalArgumentException("Duplicate attribute definition name, " +
+                    "base attribute not equal to new attribute: " + attributeName + ", vendorId: " + vendorId);
+        }
+
+        var existingCode = base.getAttributeTemplate(vendorId, typeCode);
+        if (existingCode.isPresent())
+            throw new IllegalArgumentException("Duplicate type code [" + vendorId + "," + Integer.toUnsignedLong(typeCode) +
+                    "], adding " + attributeName + ", but base dictionary has " + existingCode.get().name());
+
+        layer.addAttributeTemplate(attributeTemplate);
+        layerTemplates.add(attributeTemplate);
+        return this;
+    }
+
+    /**
+     * Adds a name for an integer value of an AttributeTemplate. If the
+     * AttributeTemplate belongs to the base dictionary, it is first copied
+     * into the overlay layer, so the base is left unchanged.
+     *
+     * @param attributeTemplate AttributeTemplate to add the enumeration value to
+     * @param value             number that shall get a name
+     * @param name              the name for this number
+     * @return this OverlayDictionary
+     * @throws IllegalArgumentException empty name
+     */
+    @Override
+    @NonNull
+    public OverlayDictionary addEnumerationValue(@NonNull AttributeTemplate attributeTemplate, int value, @NonNull String name) {
+        if (!name.equals(attributeTemplate.getEnumeration(value)) || copies.containsKey(attributeTemplate))
+            toLayer(attributeTemplate).addEnumerationValue(value, name);
+        return this;
+    }
+
+    /**
+     * Adds a child to a 'tlv' AttributeTemplate. If the parent belongs to
+     * the base dictionary, it is first copied into the overlay layer, so the
+     * base is left unchanged.
+     *
+     * @param parent 'tlv' AttributeTemplate to add the child to
+     * @param child  child AttributeTemplate
+     * @return this OverlayDictionary
+     * @throws IllegalArgumentException type code out of range, or already defined
+     */
+    @Override
+    @NonNull
+    public OverlayDictionary addChildAttribute(@NonNull AttributeTemplate parent, @NonNull AttributeTemplate child) {
+        toLayer(parent).addChild(child);
+        layerTemplates.add(child);
+        return this;
+    }
+
+    /**
+     * Appends a member to a 'struct' AttributeTemplate. If the struct belongs
+     * to the base dictionary, it is first copied into the overlay layer, so the
+     * base is left unchanged.
+     *
+     * @param struct 'struct' AttributeTemplate to add the member to
+     * @param member member to append
+     * @return this OverlayDictionary
+     */
+    @Override
+    @NonNull
+    public OverlayDictionary addStructMember(@NonNull AttributeTemplate struct, @NonNull Member member) {
+        toLayer(struct).addMember(member);
+        return this;
+    }
+
+    /**
+     * Appends a member to a variant of a 'struct' AttributeTemplate. If the struct
+     * belongs to the base dictionary, it is first copied into the overlay layer, so
+     * the base is left unchanged.
+     *
+     * @param struct 'struct' AttributeTemplate to add the member to
+     * @param key    value of the key member that selects the variant
+     * @param member member to append
+     * @return this OverlayDictionary
+     */
+    @Override
+    @NonNull
+    public OverlayDictionary addStructMember(@NonNull AttributeTemplate struct, int key, @NonNull Member member) {
+        toLayer(struct).addMember(key, member);
+        return this;
+    }
+
+    /**
+     * Returns the template to modify instead of the given one. Base templates
+     * are copied into the layer together with their top level attribute, so
+     * lookups through the layer find the copy.
+     */
+    @NonNull
+    private AttributeTemplate toLayer(@NonNull AttributeTemplate template) {
+        var copy = copies.get(template);
+        if (copy != null || layerTemplates.contains(template))
+            return copy != null ? copy : template;
+
+        var root = base.getAttributeTemplate(template.name())
+                .filter(t -> t == template)
+                .or(() -> templates(base)
+                        .filter(t -> contains(t, template))
+                        .findFirst());
+        if (root.isEmpty())
+            return template;
+
+        layer.addAttributeTemplate(copyTemplate(root.get()));
+        return copies.get(template);
+    }
+
+    @NonNull
+    private AttributeTemplate copyTemplate(@NonNull AttributeTemplate template) {
+        var copy = new AttributeTemplate(template.vendorId(), template.type(), template.name(),
+                template.dataType(), template.tagged(), template.codecType(), template.factory(),
+                template.enumeration().copy(), template.structure().copy(this::copyTemplate));
+        copies.put(template, copy);
+        layerTemplates.add(copy);
+        return copy;
+    }
+
+    private static boolean contains(@NonNull AttributeTemplate parent, @NonNull AttributeTemplate template) {
+        return parent == template || parent.structure().getChildren().stream()
+                .anyMatch(child -> contains(child, template));
+    }
+
+    @NonNull
+    private static Stream<AttributeTemplate> templates(@NonNull Dictionary dictionary) {
+        if (dictionary instanceof MemoryDictionary memoryDictionary)
+            return memoryDictionary.getAttributeTemplates().stream();
+        if (dictionary instanceof OverlayDictionary overlay)
+            return Stream.concat(overlay.layer.getAttributeTemplates().stream(), templates(overlay.base));
+        return Stream.empty();
+    }
+
+    /**
+     * Compares everything but enumeration values, which are only added
+     * after the attribute itself.
+     */
+    private static boolean sameDefinition(@NonNull AttributeTemplate a, @NonNull AttributeTemplate b) {
+        return a.vendorId() == b.vendorId()
+                && a.type() == b.type()
+                && a.tagged() == b.tagged()
+                && a.name().equals(b.name())
+                && a.dataType().equals(b.dataType())
+                && a.codecType() == b.codecType()
+                && a.factory().equals(b.factory());
+    }
+}
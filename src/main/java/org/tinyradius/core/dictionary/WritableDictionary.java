@@ -1,6 +1,7 @@
 package org.tinyradius.core.dictionary;
 
 import org.jspecify.annotations.NonNull;
+import org.tinyradius.core.attribute.AttributeStructure.Member;
 import org.tinyradius.core.attribute.AttributeTemplate;
 
 /**
@@ -32,4 +33,64 @@ public interface WritableDictionary extends Dictionary {
      */
     @NonNull
     WritableDictionary addAttributeTemplate(@NonNull AttributeTemplate attributeTemplate);
+
+    /**
+     * Adds a name for an integer value of an AttributeTemplate
+     * previously retrieved from this dictionary.
+     *
+     * @param attributeTemplate AttributeTemplate to add the enumeration value to
+     * @param value             number that shall get a name
+     * @param name              the name for this number
+     * @return this WritableDictionary
+     * @throws IllegalArgumentException empty name
+     */
+    @NonNull
+    default WritableDictionary addEnumerationValue(@NonNull AttributeTemplate attributeTemplate, int value, @NonNull String name) {
+        attributeTemplate.addEnumerationValue(value, name);
+        return this;
+    }
+
+    /**
+     * Adds a child to a 'tlv' AttributeTemplate previously retrieved
+     * from this dictionary, or to a child of one.
+     *
+     * @param parent 'tlv' AttributeTemplate to add the child to
+     * @param child  child AttributeTemplate
+     * @return this WritableDictionary
+     * @throws IllegalArgumentException type code out of range, or already defined
+     */
+    @NonNull
+    default WritableDictionary addChildAttribute(@NonNull AttributeTemplate parent, @NonNull AttributeTemplate child) {
+        parent.addChild(child);
+        return this;
+    }
+
+    /**
+     * Appends a member to a 'struct' AttributeTemplate previously retrieved
+     * from this dictionary, or to a child of one.
+     *
+     * @param struct 'struct' AttributeTemplate to add the member to
+     * @param member member to append
+     * @return this WritableDictionary
+     */
+    @NonNull
+    default WritableDictionary addStructMember(@NonNull AttributeTemplate struct, @NonNull Member member) {
+        struct.addMember(member);
+        return this;
+    }
+
+    /**
+     * Appends a member to a variant of a 'struct' AttributeTemplate previously
+     * retrieved from this dictionary, or to a child of one.
+     *
+     * @param struct 'struct' AttributeTemplate to add the member to
+     * @param key    value of the key member that selects the variant
+     * @param member member to append
+     * @return this WritableDictionary
+     */
+    @NonNull
+    default WritableDictionary addStructMember(@NonNull AttributeTemplate struct, int key, @NonNull Member member) {
+        struct.addMember(key, member);
+        return this;
+    }
 }
@@ -1,6 +1,7 @@
 package org.tinyradius.core.dictionary.parser;
 
 import org.jspecify.annotations.NonNull;
+import org.tinyradius.core.attribute.type.RadiusAttributeFactory;
 import org.tinyradius.core.dictionary.WritableDictionary;
 import org.tinyradius.core.dictionary.parser.resolver.ClasspathResourceResolver;
 import org.tinyradius.core.dictionary.parser.resolver.FileResourceResolver;
@@ -48,4 +49,20 @@ public record DictionaryParser(@NonNull ResourceResolver resourceResolver) {
         var resourceParser = new ResourceParser(resourceResolver);
         return resourceParser.parseDictionary(resource);
     }
+
+    /**
+     * Fills an existing dictionary with the contents
+     * from the given input stream, e.g. an {@link org.tinyradius.core.dictionary.OverlayDictionary}
+     * for site-specific attributes.
+     *
+     * @param dictionary dictionary to populate
+     * @param resource   location of resource, resolved depending on {@link ResourceResolver}
+     * @return the populated dictionary
+     * @throws IOException parse error reading from input
+     */
+    @NonNull
+    public WritableDictionary parseDictionary(@NonNull WritableDictionary dictionary, @NonNull String resource) throws IOException {
+        var resourceParser = new ResourceParser(dictionary, resourceResolver, RadiusAttributeFactory::fromDataType);
+        return resourceParser.parseDictionary(resource);
+    }
 }
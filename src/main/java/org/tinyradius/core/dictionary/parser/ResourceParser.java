@@ -3,6 +3,7 @@ package org.tinyradius.core.dictionary.parser;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jspecify.annotations.NonNull;
+import org.tinyradius.core.attribute.AttributeStructure;
 import org.tinyradius.core.attribute.AttributeTemplate;
 import org.tinyradius.core.attribute.codec.AttributeCodecType;
 import org.tinyradius.core.attribute.type.RadiusAttribute;
@@ -16,9 +17,14 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
 
@@ -39,7 +45,12 @@ import static org.tinyradius.core.attribute.codec.AttributeCodecType.NO_ENCRYPT;
  *   <li>VALUE - enumeration values for attributes</li>
  *   <li>VENDOR - vendor ID and name</li>
  *   <li>FORMAT - attribute value formatting rules</li>
+ *   <li>BEGIN-TLV / END-TLV - children of a 'tlv' attribute, declared with plain type codes</li>
+ *   <li>STRUCT / MEMBER - members of a 'struct' attribute, optionally with variants selected by a key member</li>
  * </ul>
+ * Children of 'tlv' attributes can also be declared with dotted type codes, either absolute
+ * from a top level attribute (e.g. '15.9.1'), or relative to the last 'tlv' attribute
+ * declared with an absolute type code (e.g. '.1' or '.17.1').
  **/
 public class ResourceParser {
 
@@ -52,6 +63,13 @@ public class ResourceParser {
     private final List<Consumer<WritableDictionary>> deferred = new LinkedList<>();
     private int currentVendor = -1;
 
+    // support for nested 'tlv' and 'struct' definitions
+    private final Map<String, AttributeTemplate> nestedTemplates = new HashMap<>();
+    private final Deque<AttributeTemplate> currentTlvs = new ArrayDeque<>();
+    private AttributeTemplate lastTlv;
+    private AttributeTemplate currentStruct;
+    private Integer currentStructKey;
+
     /**
      * Constructs a ResourceParser with the specified dictionary, resource resolver, and factory provider.
      *
@@ -147,10 +165,10 @@ public class ResourceParser {
                 parseVendor(tokens, lineNum);
                 break;
             case "BEGIN-TLV":
-                log.warn("'BEGIN-TLV' not supported - ignoring");
+                parseBeginTlv(tokens, lineNum);
                 break;
             case "END-TLV":
-                log.warn("'END-TLV' not supported - ignoring");
+                parseEndTlv(tokens, lineNum);
                 break;
             case "PROTOCOL":
                 log.warn("'PROTOCOL' not supported - ignoring");
@@ -162,10 +180,10 @@ public class ResourceParser {
                 log.warn("'END-PROTOCOL' not supported - ignoring");
                 break;
             case "MEMBER": // for 'struct' compound type
-                log.warn("'MEMBER' not supported - ignoring");
+                parseMember(tokens, lineNum);
                 break;
             case "STRUCT":
-                log.warn("'STRUCT' not supported - ignoring");
+                parseStruct(tokens, lineNum);
                 break;
             default:
                 throw new IOException("Could not decode tokens on line " + lineNum + ": " + Arrays.toString(tokens));
@@ -196,6 +214,28 @@ public class ResourceParser {
         currentVendor = -1;
     }
 
+    private void parseBeginTlv(String[] tok, int lineNum) throws IOException {
+        if (tok.length != 2)
+            throw new IOException("BEGIN-TLV parse error on line " + lineNum + ", " + Arrays.toString(tok));
+
+        var tlv = getTemplate(tok[1])
+                .filter(ResourceParser::isTlv)
+                .orElseThrow(() -> new IOException("BEGIN-TLV parse error on line " + lineNum + ", " + Arrays.toString(tok) +
+                        " (no 'tlv' attribute with that name found)"));
+        currentTlvs.push(tlv);
+    }
+
+    private void parseEndTlv(String[] tok, int lineNum) throws IOException {
+        if (tok.length != 2)
+            throw new IOException("END-TLV parse error on line " + lineNum + ", " + Arrays.toString(tok));
+
+        if (currentTlvs.isEmpty() || !currentTlvs.peek().name().equals(tok[1]))
+            throw new IOException("END-TLV parse error on line " + lineNum + ", " + Arrays.toString(tok) +
+                    " (no corresponding BEGIN-TLV found)");
+
+        currentTlvs.pop();
+    }
+
     /**
      * Parse a line that declares an attribute.
      */
@@ -211,6 +251,19 @@ public class ResourceParser {
 
         int vendorId = offset == 1 ? parseInt(tok[1]) : currentVendor;
         String name = tok[1 + offset];
+        var dataType = tok[3 + offset];
+        String[] flags = tok.length == 4 + offset ?
+                new String[0] :
+                tok[4 + offset].split(",");
+
+        currentStruct = null;
+        currentStructKey = null;
+
+        if (tok[2 + offset].contains(".") || !currentTlvs.isEmpty()) {
+            parseChildAttribute(vendorId, name, tok[2 + offset], dataType, flags, lineNum);
+            return;
+        }
+
         int type;
         try {
             type = validateType(Integer.decode(tok[2 + offset]), vendorId);
@@ -218,15 +271,118 @@ public class ResourceParser {
             log.warn("Attribute type is not an integer and not supported - vendor: {}, attributeName: {}, type: {}", vendorId, name, tok[2 + offset]);
             return;
         }
-        var dataType = tok[3 + offset];
         RadiusAttributeFactory<?> factory =
-                factoryProvider.fromDataType(vendorId == -1 && type == VENDOR_SPECIFIC ? "vsa" : dataType);
-        String[] flags = tok.length == 4 + offset ?
-                new String[0] :
-                tok[4 + offset].split(",");
+                factoryProvider.fromDataType(vendorId == -1 && type == VENDOR_SPECIFIC ? "vsa" : dataType.toLowerCase());
+
+        var template = new AttributeTemplate(vendorId, type, name, dataType, factory, encryptFlag(flags), tagFlag(flags));
+        dictionary.addAttributeTemplate(template);
+        trackCompound(template);
+    }
+
+    /**
+     * Parses a child of a 'tlv' attribute, declared inside BEGIN-TLV or with a dotted type code.
+     */
+    private void parseChildAttribute(int vendorId, String name, String oid, String dataType, String[] flags, int lineNum) {
+        boolean relative = oid.startsWith(".");
+        String[] path = (relative ? oid.substring(1) : oid).split("\\.");
+
+        int type;
+        Optional<AttributeTemplate> parent;
+        try {
+            type = Integer.decode(path[path.length - 1]);
+            if (relative)
+                parent = Optional.ofNullable(lastTlv);
+            else if (path.length == 1)
+                parent = Optional.ofNullable(currentTlvs.peek());
+            else
+                parent = dictionary.getAttributeTemplate(vendorId, Integer.decode(path[0]));
+
+            for (int i = relative ? 0 : 1; i < path.length - 1 && parent.isPresent(); i++) {
+                parent = parent.get().structure().getChild(Integer.decode(path[i]));
+            }
+        } catch (NumberFormatException e) {
+            log.warn("Attribute type is not an integer and not supported - vendor: {}, attributeName: {}, type: {}", vendorId, name, oid);
+            return;
+        }
+
+        // e.g. RFC 6929 extended attributes such as '241.1', which aren't 'tlv' attributes
+        if (parent.isEmpty() || !isTlv(parent.get())) {
+            log.warn("Parent attribute is not a 'tlv' attribute and not supported - vendor: {}, attributeName: {}, type: {}, line: {}",
+                    vendorId, name, oid, lineNum);
+            return;
+        }
+
+        var template = new AttributeTemplate(vendorId, type, name, dataType,
+                factoryProvider.fromDataType(dataType.toLowerCase()), encryptFlag(flags), tagFlag(flags));
+        dictionary.addChildAttribute(parent.get(), template);
+        nestedTemplates.put(name, template);
+        if (!relative)
+            trackCompound(template);
+        else if (isStruct(template))
+            currentStruct = template;
+    }
+
+    private void trackCompound(AttributeTemplate template) {
+        if (isTlv(template))
+            lastTlv = template;
+        if (isStruct(template))
+            currentStruct = template;
+    }
+
+    /**
+     * Parses a line that declares a member of the last 'struct' attribute.
+     */
+    private void parseMember(String[] tok, int lineNum) throws IOException {
+        // MEMBER   3GPP-User-Location-Type   uint8   key
+        if (tok.length < 3 || tok.length > 4)
+            throw new IOException("MEMBER parse error on line " + lineNum + ", " + Arrays.toString(tok));
+
+        if (currentStruct == null) {
+            log.warn("MEMBER not following a 'struct' attribute - ignoring: {}, line: {}", tok[1], lineNum);
+            return;
+        }
+
+        boolean key = tok.length == 4 && Set.of(tok[3].split(",")).contains("key");
+        var member = AttributeStructure.Member.of(tok[1], tok[2], key);
+        if (currentStructKey == null)
+            dictionary.addStructMember(currentStruct, member);
+        else
+            dictionary.addStructMember(currentStruct, currentStructKey, member);
+    }
+
+    /**
+     * Parses a line that declares a variant of the last 'struct' attribute, selected by a key member value.
+     */
+    private void parseStruct(String[] tok, int lineNum) throws IOException {
+        // STRUCT   3GPP-User-Location-CGI   3GPP-User-Location-Type   0
+        if (tok.length != 4)
+            throw new IOException("STRUCT parse error on line " + lineNum + ", " + Arrays.toString(tok));
+
+        if (currentStruct == null) {
+            log.warn("STRUCT not following a 'struct' attribute - ignoring: {}, line: {}", tok[1], lineNum);
+            return;
+        }
+
+        try {
+            currentStructKey = Integer.decode(tok[3]);
+        } catch (NumberFormatException e) {
+            throw new IOException("STRUCT parse error on line " + lineNum + ", " + Arrays.toString(tok), e);
+        }
+    }
+
+    @NonNull
+    private Optional<AttributeTemplate> getTemplate(String name) {
+        var template = dictionary.getAttributeTemplate(name);
+        return template.isPresent() ?
+                template : Optional.ofNullable(nestedTemplates.get(name));
+    }
+
+    private static boolean isTlv(AttributeTemplate template) {
+        return template.dataType().equals("tlv");
+    }
 
-        dictionary.addAttributeTemplate(
-                new AttributeTemplate(vendorId, type, name, dataType, factory, encryptFlag(flags), tagFlag(flags)));
+    private static boolean isStruct(AttributeTemplate template) {
+        return template.dataType().equals("struct");
     }
 
     /**
@@ -244,8 +400,10 @@ public class ResourceParser {
 
         // If the attributeName is not found, log and ignore instead of throwing RuntimeException
         return d -> d.getAttributeTemplate(attributeName)
-                .ifPresentOrElse(at -> at.addEnumerationValue(Integer.decode(valStr), enumName),
-                        () -> log.warn("Unknown attribute type while parsing VALUE: {}, line: {}", attributeName, lineNum));
+                .ifPresentOrElse(at -> d.addEnumerationValue(at, Integer.decode(valStr), enumName),
+                        () -> Optional.ofNullable(nestedTemplates.get(attributeName))
+                                .ifPresentOrElse(at -> d.addEnumerationValue(at, Integer.decode(valStr), enumName),
+                                        () -> log.warn("Unknown attribute type while parsing VALUE: {}, line: {}", attributeName, lineNum)));
     }
 
     /**
@@ -2,14 +2,17 @@ package org.tinyradius.core.packet;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.util.ReferenceCounted;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
 import org.tinyradius.core.RadiusPacketException;
 import org.tinyradius.core.attribute.type.RadiusAttribute;
+import org.tinyradius.core.attribute.type.VendorSpecificAttribute;
 import org.tinyradius.core.dictionary.Dictionary;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
@@ -29,6 +32,12 @@ public abstract class BaseRadiusPacket<T extends RadiusPacket<T>> implements Rad
     private final ByteBuf header;
     private final List<RadiusAttribute> attributes;
 
+    // buffer that header and attributes were read from, set once before packet is published
+    private ReferenceCounted buffer;
+
+    // Vendor-Specific attributes grouped by vendor, built on first vendor lookup
+    private volatile VendorIndex vendorIndex;
+
     /**
      * Constructs a BaseRadiusPacket.
      *
@@ -41,6 +50,7 @@ public abstract class BaseRadiusPacket<T extends RadiusPacket<T>> implements Rad
         this.dictionary = dictionary;
         this.header = header;
         this.attributes = List.copyOf(attributes);
+        this.buffer = header; // slices share the reference count of the buffer they were read from
 
         if (header.readableBytes() != HEADER_LENGTH)
             throw new IllegalArgumentException("Packet header must be length " + HEADER_LENGTH + ", actual: " + header.readableBytes());
@@ -77,6 +87,27 @@ public abstract class BaseRadiusPacket<T extends RadiusPacket<T>> implements Rad
         return attributes;
     }
 
+    /**
+     * Returns the Vendor-Specific attribute(s) for the given vendor ID.
+     * <p>
+     * VSAs are indexed by vendor on first call, so repeated vendor lookups on packets
+     * with many VSAs don't scan all attributes. Sub-attributes are only parsed for
+     * the VSAs of vendors that are actually read.
+     *
+     * @param vendorId vendor ID to filter by
+     * @return List with VendorSpecificAttribute objects, or empty list
+     */
+    @Override
+    @NonNull
+    public List<VendorSpecificAttribute> getVendorAttributes(int vendorId) {
+        var index = vendorIndex;
+        if (index == null) {
+            index = VendorIndex.of(attributes);
+            vendorIndex = index;
+        }
+        return index.get(vendorId);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -97,6 +128,9 @@ public abstract class BaseRadiusPacket<T extends RadiusPacket<T>> implements Rad
 
     /**
      * Creates a new packet with the given authenticator and attributes.
+     * <p>
+     * Implementations should pass the new packet to {@link #shareBuffer(RadiusPacket)},
+     * as its attributes may still be slices of this packet's buffer.
      *
      * @param auth       the authenticator
      * @param attributes the attributes
@@ -106,6 +140,126 @@ public abstract class BaseRadiusPacket<T extends RadiusPacket<T>> implements Rad
     @NonNull
     public abstract T withAuthAttributes(byte @Nullable [] auth, @NonNull List<RadiusAttribute> attributes) throws RadiusPacketException;
 
+    /**
+     * Creates a new packet from the given header and attributes, which must already be consistent,
+     * e.g. the header length must match the attributes.
+     * <p>
+     * Used by {@link #removeTrailingAttribute(int)} so the header doesn't need rebuilding.
+     * Defaults to {@link #withAuthAttributes(byte[], List)} with this packet's authenticator.
+     *
+     * @param header     the 20-octet packet header
+     * @param attributes the attributes
+     * @return the new packet
+     * @throws RadiusPacketException if there is an error creating the packet
+     */
+    @NonNull
+    protected T withHeaderAttributes(@NonNull ByteBuf header, @NonNull List<RadiusAttribute> attributes) throws RadiusPacketException {
+        return withAuthAttributes(getAuthenticator(), attributes);
+    }
+
+    /**
+     * Truncates the last attribute if it has the given type: the header is copied with its length
+     * reduced by the removed attribute, and the other attributes are reused as they are.
+     * <p>
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public T removeTrailingAttribute(int type) throws RadiusPacketException {
+        int size = attributes.size();
+        if (size == 0 || attributes.get(size - 1).getType() != type)
+            return removeLastAttribute(type);
+
+        int length = header.getUnsignedShort(header.readerIndex() + 2) - attributes.get(size - 1).getData().readableBytes();
+        var truncated = Unpooled.buffer(HEADER_LENGTH, HEADER_LENGTH)
+                .writeBytes(header, header.readerIndex(), HEADER_LENGTH)
+                .setShort(2, length);
+        return shareBuffer(withHeaderAttributes(Unpooled.unreleasableBuffer(truncated), attributes.subList(0, size - 1)));
+    }
+
+    /**
+     * Makes a packet derived from this packet share this packet's buffer and reference count,
+     * so releasing either packet releases the buffer both packets' attributes were read from.
+     *
+     * @param packet new packet derived from this packet
+     * @param <P>    packet type
+     * @return packet
+     */
+    @NonNull
+    protected <P extends RadiusPacket<?>> P shareBuffer(@NonNull P packet) {
+        if (packet instanceof BaseRadiusPacket<?> derived)
+            derived.buffer = buffer;
+        return packet;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int refCnt() {
+        return buffer.refCnt();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    @SuppressWarnings("unchecked")
+    public T retain() {
+        buffer.retain();
+        return (T) this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    @SuppressWarnings("unchecked")
+    public T retain(int increment) {
+        buffer.retain(increment);
+        return (T) this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    @SuppressWarnings("unchecked")
+    public T touch() {
+        buffer.touch();
+        return (T) this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    @SuppressWarnings("unchecked")
+    public T touch(@Nullable Object hint) {
+        buffer.touch(hint);
+        return (T) this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean release() {
+        return buffer.release();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean release(int decrement) {
+        return buffer.release(decrement);
+    }
+
     /**
      * Verifies the packet authenticator.
      *
@@ -167,4 +321,54 @@ public abstract class BaseRadiusPacket<T extends RadiusPacket<T>> implements Rad
     public int hashCode() {
         return Objects.hash(header, attributes);
     }
+
+    /**
+     * Distinct vendor IDs in order of first occurrence, with the VSAs of each vendor.
+     * Packets usually carry few vendors, so a linear scan of an int array beats hashing.
+     */
+    private record VendorIndex(int @NonNull [] vendorIds, @NonNull List<List<VendorSpecificAttribute>> vsas) {
+
+        private static final VendorIndex EMPTY = new VendorIndex(new int[0], List.of());
+
+        @NonNull
+        static VendorIndex of(@NonNull List<RadiusAttribute> attributes) {
+            int[] vendorIds = new int[0];
+            var vsas = new ArrayList<List<VendorSpecificAttribute>>();
+            for (int i = 0; i < attributes.size(); i++) {
+                if (!(attributes.get(i) instanceof VendorSpecificAttribute vsa))
+                    continue;
+
+                int vendorId = vsa.getChildVendorId();
+                int pos = indexOf(vendorIds, vendorId);
+                if (pos < 0) {
+                    pos = vendorIds.length;
+                    vendorIds = Arrays.copyOf(vendorIds, pos + 1);
+                    vendorIds[pos] = vendorId;
+                    vsas.add(new ArrayList<>(1));
+                }
+                vsas.get(pos).add(vsa);
+            }
+
+            if (vendorIds.length == 0)
+                return EMPTY;
+
+            return new VendorIndex(vendorIds, vsas.stream()
+                    .<List<VendorSpecificAttribute>>map(List::copyOf)
+                    .toList());
+        }
+
+        private static int indexOf(int @NonNull [] vendorIds, int vendorId) {
+            for (int i = 0; i < vendorIds.length; i++) {
+                if (vendorIds[i] == vendorId)
+                    return i;
+            }
+            return -1;
+        }
+
+        @NonNull
+        List<VendorSpecificAttribute> get(int vendorId) {
+            int pos = indexOf(vendorIds, vendorId);
+            return pos < 0 ? List.of() : vsas.get(pos);
+        }
+    }
 }
@@ -0,0 +1,208 @@
+package org.tinyradius.core.packet;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.jspecify.annotations.NonNull;
+import org.tinyradius.core.RadiusPacketException;
+import org.tinyradius.core.attribute.type.RadiusAttribute;
+import org.tinyradius.core.attribute.type.VendorSpecificAttribute;
+import org.tinyradius.core.dictionary.Dictionary;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.tinyradius.core.attribute.codec.AttributeCodecType.NO_ENCRYPT;
+
+/**
+ * Compact, frozen form of a packet for holding large numbers of packets in memory,
+ * e.g. in response caches or in queues while an upstream server is unavailable.
+ * <p>
+ * The whole packet is stored as a single byte array plus an offset table with
+ * the start of each attribute, instead of a header buffer plus one object and
+ * buffer slice per attribute. Attribute objects are rebuilt on access, and the
+ * original packet type with {@link #expand()}.
+ * <p>
+ * Attributes that were decoded (e.g. a User-Password in plaintext) are restored
+ * in decoded form, all other attributes are restored as they were read.
+ *
+ * @param <T> packet type restored by {@link #expand()}
+ */
+public final class CompactPacket<T extends RadiusPacket<T>> {
+
+    private static final int HEADER_LENGTH = 20;
+
+    // set on offsets of attributes that contain decoded (plaintext) values of encrypted attributes
+    private static final int DECODED_FLAG = 0x8000;
+    private static final int OFFSET_MASK = 0x7FFF;
+
+    private final Dictionary dictionary;
+    private final byte[] bytes;
+    private final short[] offsets;
+    private final PacketFactory<T> factory;
+
+    private CompactPacket(@NonNull Dictionary dictionary, byte @NonNull [] bytes, short @NonNull [] offsets, @NonNull PacketFactory<T> factory) {
+        this.dictionary = dictionary;
+        this.bytes = bytes;
+        this.offsets = offsets;
+        this.factory = factory;
+    }
+
+    /**
+     * Creates a compact copy of a packet.
+     *
+     * @param packet  packet to compact
+     * @param factory factory to restore packet with, usually a static method reference
+     *                such as RadiusRequest::create, so it is shared by all instances
+     * @param <T>     packet type
+     * @return compact copy of the packet
+     */
+    @NonNull
+    public static <T extends RadiusPacket<T>> CompactPacket<T> of(@NonNull RadiusPacket<T> packet, @NonNull PacketFactory<T> factory) {
+        var attributes = packet.getAttributes();
+        var bytes = new byte[packet.getLength()];
+        var offsets = new short[attributes.size()];
+
+        var header = packet.getHeader();
+        header.getBytes(header.readerIndex(), bytes, 0, HEADER_LENGTH);
+        int offset = HEADER_LENGTH;
+        for (int i = 0; i < attributes.size(); i++) {
+            var attribute = attributes.get(i);
+            var data = attribute.getData();
+            int length = data.readableBytes();
+            data.getBytes(data.readerIndex(), bytes, offset, length);
+            offsets[i] = (short) (isDecoded(attribute) ? offset | DECODED_FLAG : offset);
+            offset += length;
+        }
+
+        return new CompactPacket<>(packet.getDictionary(), bytes, offsets, factory);
+    }
+
+    private static boolean isDecoded(@NonNull RadiusAttribute attribute) {
+        for (var a : attribute.flatten()) {
+            if (a.codecType() != NO_ENCRYPT && a.isDecoded())
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the Radius packet type.
+     *
+     * @return Radius packet type
+     */
+    public byte getType() {
+        return bytes[0];
+    }
+
+    /**
+     * Returns the Radius packet id.
+     *
+     * @return Radius packet id
+     */
+    public byte getId() {
+        return bytes[1];
+    }
+
+    /**
+     * Returns the length of the packet.
+     *
+     * @return the length of the packet
+     */
+    public int getLength() {
+        return bytes.length;
+    }
+
+    /**
+     * Returns the number of (top level) attributes in the packet.
+     *
+     * @return number of attributes
+     */
+    public int getAttributeCount() {
+        return offsets.length;
+    }
+
+    /**
+     * Rebuilds the attribute at the given position.
+     *
+     * @param index position of the attribute in the packet
+     * @return new RadiusAttribute view of the attribute data
+     */
+    @NonNull
+    public RadiusAttribute getAttribute(int index) {
+        int start = offsets[index] & OFFSET_MASK;
+        int end = index + 1 < offsets.length ? offsets[index + 1] & OFFSET_MASK : bytes.length;
+        var data = Unpooled.wrappedBuffer(bytes, start, end - start);
+
+        var attribute = dictionary.createAttribute(-1, Byte.toUnsignedInt(bytes[start]), data);
+        return (offsets[index] & DECODED_FLAG) != 0 ?
+                toDecoded(attribute) : attribute;
+    }
+
+    /**
+     * Rebuilds all attributes of the packet.
+     *
+     * @return list of new RadiusAttribute views of the attribute data
+     */
+    @NonNull
+    public List<RadiusAttribute> getAttributes() {
+        var attributes = new ArrayList<RadiusAttribute>(offsets.length);
+        for (int i = 0; i < offsets.length; i++) {
+            attributes.add(getAttribute(i));
+        }
+        return attributes;
+    }
+
+    /**
+     * Restores the packet.
+     *
+     * @return packet equivalent to the packet this was created from
+     * @throws RadiusPacketException packet validation exceptions
+     */
+    @NonNull
+    public T expand() throws RadiusPacketException {
+        var header = Unpooled.unreleasableBuffer(Unpooled.wrappedBuffer(bytes, 0, HEADER_LENGTH));
+        return factory.create(dictionary, header, getAttributes());
+    }
+
+    /**
+     * Attributes of encrypted types are parsed in encoded form by default,
+     * rebuild them as plaintext if they were compacted that way.
+     */
+    @NonNull
+    private RadiusAttribute toDecoded(@NonNull RadiusAttribute attribute) {
+        if (attribute instanceof VendorSpecificAttribute vsa) {
+            var subAttributes = vsa.getAttributes().stream()
+                    .map(this::toDecoded)
+                    .toList();
+            return new VendorSpecificAttribute(dictionary, vsa.getChildVendorId(), subAttributes);
+        }
+
+        if (!attribute.isEncoded())
+            return attribute;
+
+        return attribute.getAttributeTemplate()
+                .<RadiusAttribute>map(at -> at.factory().create(dictionary, attribute.getVendorId(), attribute.getData()))
+                .orElse(attribute);
+    }
+
+    /**
+     * Creates a packet from its header and attributes.
+     *
+     * @param <T> packet type
+     */
+    @FunctionalInterface
+    public interface PacketFactory<T extends RadiusPacket<T>> {
+
+        /**
+         * Creates a packet from its header and attributes.
+         *
+         * @param dictionary the dictionary to use
+         * @param header     the packet header
+         * @param attributes the packet attributes
+         * @return the new packet
+         * @throws RadiusPacketException packet validation exceptions
+         */
+        @NonNull
+        T create(@NonNull Dictionary dictionary, @NonNull ByteBuf header, @NonNull List<RadiusAttribute> attributes) throws RadiusPacketException;
+    }
+}
@@ -1,26 +1,40 @@
 package org.tinyradius.core.packet;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.tinyradius.core.attribute.AttributeTypes.EAP_MESSAGE;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
+import io.netty.util.ReferenceCounted;
 import java.nio.ByteBuffer;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
 import org.tinyradius.core.RadiusPacketException;
+import org.tinyradius.core.attribute.AttributeFragments;
 import org.tinyradius.core.attribute.NestedAttributeHolder;
 import org.tinyradius.core.attribute.type.RadiusAttribute;
 
 /**
  * A RADIUS packet.
+ * <p>
+ * Packets are reference counted. Packets read from a buffer own that buffer: header and
+ * attributes are slices of it, and it is released when the packet is released. Packets
+ * derived from another packet, e.g. with {@link #withAttributes(List)} or when encoding,
+ * share the reference count of the packet they were derived from. Packets created from
+ * attributes, or read with the default unpooled methods, are not backed by a releasable
+ * buffer: {@link #release()} has no effect and they are left to the garbage collector.
  *
  * @param <T> The type of the packet
  */
-public interface RadiusPacket<T extends RadiusPacket<T>> extends NestedAttributeHolder<T> {
+public interface RadiusPacket<T extends RadiusPacket<T>> extends NestedAttributeHolder<T>, ReferenceCounted {
 
     /**
      * The length of the RADIUS packet header.
@@ -79,7 +93,7 @@ public interface RadiusPacket<T extends RadiusPacket<T>> extends NestedAttribute
      * @param id         packet id
      * @param auth       16-byte array, defaults to empty byte[16] if null
      * @param attributes packet attributes, used to calculate packet length for header
-     * @return ByteBuf with 20 readable bytes
+     * @return unreleasable ByteBuf with 20 readable bytes
      * @throws RadiusPacketException packet validation exceptions
      */
     @NonNull
@@ -92,11 +106,11 @@ public interface RadiusPacket<T extends RadiusPacket<T>> extends NestedAttribute
                 .mapToInt(ByteBuf::readableBytes)
                 .sum();
 
-        return Unpooled.buffer(HEADER_LENGTH, HEADER_LENGTH)
+        return Unpooled.unreleasableBuffer(Unpooled.buffer(HEADER_LENGTH, HEADER_LENGTH)
                 .writeByte(type)
                 .writeByte(id)
                 .writeShort(attributeLen + HEADER_LENGTH)
-                .writeBytes(auth == null ? new byte[16] : auth);
+                .writeBytes(auth == null ? new byte[16] : auth));
     }
 
     /**
@@ -137,7 +151,7 @@ public interface RadiusPacket<T extends RadiusPacket<T>> extends NestedAttribute
      * @return authenticator, 16 bytes
      */
     default byte @Nullable [] getAuthenticator() {
-        var array = getHeader().slice(4, 16).copy().array();
+        var array = ByteBufUtil.getBytes(getHeader(), 4, 16);
         return Arrays.equals(array, new byte[array.length]) ?
                 null : array;
     }
@@ -162,6 +176,24 @@ public interface RadiusPacket<T extends RadiusPacket<T>> extends NestedAttribute
                 Unpooled.wrappedBuffer(getHeader(), getAttributeByteBuf()));
     }
 
+    /**
+     * Writes the packet to a new buffer from the given allocator, e.g. a pooled direct buffer
+     * to send on a channel. The caller owns the returned buffer and is responsible for
+     * releasing it, usually by passing it on to the channel.
+     *
+     * @param allocator allocator for the new buffer
+     * @return new buffer with the packet bytes
+     */
+    @NonNull
+    default ByteBuf toByteBuf(@NonNull ByteBufAllocator allocator) {
+        var header = getHeader();
+        var attributes = getAttributeByteBuf();
+        int length = header.readableBytes() + attributes.readableBytes();
+        return allocator.buffer(length, length)
+                .writeBytes(header, header.readerIndex(), header.readableBytes())
+                .writeBytes(attributes, attributes.readerIndex(), attributes.readableBytes());
+    }
+
     /**
      * Returns the packet as a ByteBuffer.
      *
@@ -178,7 +210,35 @@ public interface RadiusPacket<T extends RadiusPacket<T>> extends NestedAttribute
      * @return the packet as a byte array
      */
     default byte @NonNull [] toBytes() {
-        return toByteBuf().copy().array();
+        return ByteBufUtil.getBytes(toByteBuf());
+    }
+
+    /**
+     * Returns the EAP message carried by this packet, reassembled from all EAP-Message attributes
+     * as per RFC 3579, without copying attribute values.
+     *
+     * @return read-only composite view of EAP-Message values, or empty Optional if there are no EAP-Message attributes
+     */
+    @NonNull
+    default Optional<ByteBuf> getEapMessage() {
+        var attributes = getAttributes(EAP_MESSAGE);
+        return attributes.isEmpty() ?
+                Optional.empty() : Optional.of(AttributeFragments.concatValues(attributes));
+    }
+
+    /**
+     * Replaces all EAP-Message attributes with the given EAP message,
+     * split into as many EAP-Message attributes as needed.
+     *
+     * @param eapMessage EAP message, buffer indexes are not changed
+     * @return object of same type with EAP-Message attributes appended
+     * @throws RadiusPacketException packet validation exceptions, e.g. packet too long
+     */
+    @NonNull
+    default T withEapMessage(@NonNull ByteBuf eapMessage) throws RadiusPacketException {
+        var attributes = new ArrayList<>(getAttributes(a -> a.getType() != EAP_MESSAGE));
+        attributes.addAll(AttributeFragments.fragment(getDictionary(), EAP_MESSAGE, eapMessage));
+        return withAttributes(attributes);
     }
 
     /**
@@ -194,7 +254,7 @@ public interface RadiusPacket<T extends RadiusPacket<T>> extends NestedAttribute
         if (sharedSecret.isEmpty())
             throw new IllegalArgumentException("Shared secret cannot be null/empty");
 
-        byte[] attributeBytes = getAttributeByteBuf().copy().array();
+        byte[] attributeBytes = ByteBufUtil.getBytes(getAttributeByteBuf());
         int length = HEADER_LENGTH + attributeBytes.length;
 
         var md5 = getMd5Digest();
@@ -206,4 +266,32 @@ public interface RadiusPacket<T extends RadiusPacket<T>> extends NestedAttribute
         md5.update(attributeBytes);
         return md5.digest(sharedSecret.getBytes(UTF_8));
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @NonNull
+    @Override
+    T retain();
+
+    /**
+     * {@inheritDoc}
+     */
+    @NonNull
+    @Override
+    T retain(int increment);
+
+    /**
+     * {@inheritDoc}
+     */
+    @NonNull
+    @Override
+    T touch();
+
+    /**
+     * {@inheritDoc}
+     */
+    @NonNull
+    @Override
+    T touch(@Nullable Object hint);
 }
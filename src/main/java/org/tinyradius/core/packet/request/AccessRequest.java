@@ -4,6 +4,7 @@ import io.netty.buffer.ByteBuf;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 import org.tinyradius.core.RadiusPacketException;
 import org.tinyradius.core.attribute.type.RadiusAttribute;
 import org.tinyradius.core.dictionary.Dictionary;
@@ -129,6 +130,16 @@ public abstract class AccessRequest extends GenericRequest implements MessageAut
                 .map(RadiusAttribute::getValueString);
     }
 
+    /**
+     * Retrieves the username without copying it to a String if it is ASCII,
+     * see {@link #getCharSequence(int, int)}.
+     *
+     * @return username, or null if there is no User-Name attribute
+     */
+    public @Nullable CharSequence getUsernameChars() {
+        return getCharSequence(-1, USER_NAME);
+    }
+
     /**
      * Set CHAP-Password attribute with the provided password and initializes
      * CHAP-Challenge with random bytes.
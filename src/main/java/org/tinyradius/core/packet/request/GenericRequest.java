@@ -66,6 +66,14 @@ public class GenericRequest extends BaseRadiusPacket<RadiusRequest> implements R
      */
     @Override
     public @NonNull RadiusRequest withAuthAttributes(byte @Nullable [] auth, @NonNull List<RadiusAttribute> attributes) throws RadiusPacketException {
-        return RadiusRequest.create(getDictionary(), getType(), getId(), auth, attributes);
+        return shareBuffer(RadiusRequest.create(getDictionary(), getType(), getId(), auth, attributes));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected @NonNull RadiusRequest withHeaderAttributes(@NonNull ByteBuf header, @NonNull List<RadiusAttribute> attributes) throws RadiusPacketException {
+        return RadiusRequest.create(getDictionary(), header, attributes);
     }
 }
@@ -1,6 +1,7 @@
 package org.tinyradius.core.packet.request;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.socket.DatagramPacket;
 import org.jspecify.annotations.NonNull;
@@ -10,12 +11,14 @@ import org.tinyradius.core.attribute.AttributeHolder;
 import org.tinyradius.core.attribute.NestedAttributeHolder;
 import org.tinyradius.core.attribute.type.RadiusAttribute;
 import org.tinyradius.core.dictionary.Dictionary;
+import org.tinyradius.core.packet.CompactPacket;
 import org.tinyradius.core.packet.RadiusPacket;
 
 import java.util.List;
 
 import static org.tinyradius.core.packet.PacketType.ACCESS_REQUEST;
 import static org.tinyradius.core.packet.PacketType.ACCOUNTING_REQUEST;
+import static org.tinyradius.core.packet.PacketType.STATUS_SERVER;
 
 /**
  * Radius Request Packet interface.
@@ -39,6 +42,7 @@ public interface RadiusRequest extends RadiusPacket<RadiusRequest> {
         return switch (header.getByte(0)) {
             case ACCESS_REQUEST -> AccessRequest.create(dictionary, header, attributes);
             case ACCOUNTING_REQUEST -> new AccountingRequest(dictionary, header, attributes);
+            case STATUS_SERVER -> new StatusServerRequest(dictionary, header, attributes);
             default -> new GenericRequest(dictionary, header, attributes);
         };
     }
@@ -83,6 +87,32 @@ public interface RadiusRequest extends RadiusPacket<RadiusRequest> {
                 Unpooled.copiedBuffer(datagram.content())));
     }
 
+    /**
+     * Reads a request from the datagram into a new buffer from the given allocator, e.g. a pooled buffer.
+     * <p>
+     * The packet owns the buffer: header and attributes are slices of it. Unlike
+     * {@link #fromDatagram(Dictionary, DatagramPacket)}, the packet must be released
+     * when no longer used, as must be packets derived from it, which share its reference count.
+     *
+     * @param dictionary dictionary to use for attributes
+     * @param datagram   DatagramPacket to read packet from, buffer indexes are not changed
+     * @param allocator  allocator for the packet buffer
+     * @return new RadiusPacket object, with a reference count of 1
+     * @throws RadiusPacketException malformed packet
+     */
+    @NonNull
+    static RadiusRequest fromDatagram(@NonNull Dictionary dictionary, @NonNull DatagramPacket datagram, @NonNull ByteBufAllocator allocator) throws RadiusPacketException {
+        var content = datagram.content();
+        int length = content.readableBytes();
+        var buffer = allocator.buffer(length, length).writeBytes(content, content.readerIndex(), length);
+        try {
+            return fromByteBuf(dictionary, buffer);
+        } catch (RadiusPacketException | RuntimeException e) {
+            buffer.release();
+            throw e;
+        }
+    }
+
     /**
      * Reads a request from the given input stream and
      * creates an appropriate RadiusPacket/subclass.
@@ -125,4 +155,14 @@ public interface RadiusRequest extends RadiusPacket<RadiusRequest> {
      */
     @NonNull
     RadiusRequest decodeRequest(@NonNull String sharedSecret) throws RadiusPacketException;
+
+    /**
+     * Returns a compact copy of this packet, for holding it in memory for a long time.
+     *
+     * @return compact copy of this packet, restored with {@link CompactPacket#expand()}
+     */
+    @NonNull
+    default CompactPacket<RadiusRequest> compact() {
+        return CompactPacket.of(this, RadiusRequest::create);
+    }
 }
@@ -0,0 +1,85 @@
+package org.tinyradius.core.packet.request;
+
+import io.netty.buffer.ByteBuf;
+import org.jspecify.annotations.NonNull;
+import org.tinyradius.core.RadiusPacketException;
+import org.tinyradius.core.attribute.type.RadiusAttribute;
+import org.tinyradius.core.dictionary.Dictionary;
+import org.tinyradius.core.packet.util.MessageAuthSupport;
+
+import java.security.SecureRandom;
+import java.util.List;
+
+import static org.tinyradius.core.attribute.AttributeTypes.MESSAGE_AUTHENTICATOR;
+import static org.tinyradius.core.packet.PacketType.STATUS_SERVER;
+
+/**
+ * A Status-Server Radius packet (RFC 5997), used to check whether a server is alive.
+ * <p>
+ * Like Access-Request, the Request Authenticator is random, and the packet
+ * must be authenticated with a Message-Authenticator attribute.
+ */
+public class StatusServerRequest extends GenericRequest implements MessageAuthSupport<RadiusRequest> {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * Constructs a StatusServerRequest.
+     *
+     * @param dictionary the dictionary to use
+     * @param header     the packet header
+     * @param attributes the packet attributes
+     * @throws RadiusPacketException if there is an error creating the request
+     */
+    public StatusServerRequest(@NonNull Dictionary dictionary, @NonNull ByteBuf header, @NonNull List<RadiusAttribute> attributes) throws RadiusPacketException {
+        super(dictionary, header, attributes);
+        byte type = header.getByte(0);
+        if (type != STATUS_SERVER)
+            throw new IllegalArgumentException("First octet must be " + STATUS_SERVER + ", actual: " + type);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected byte @NonNull [] genAuth(String ignored) {
+        byte[] auth = getAuthenticator();
+        if (auth != null)
+            return auth; // create new auth only if needed - maintain idempotence
+
+        byte[] randomBytes = new byte[16];
+        RANDOM.nextBytes(randomBytes);
+        return randomBytes;
+    }
+
+    /**
+     * Generates a random authenticator and adds a Message-Authenticator attribute.
+     *
+     * @param sharedSecret shared secret that secures the communication
+     *                     with the other Radius server/client
+     * @return RadiusPacket with new authenticator and Message-Authenticator
+     */
+    @Override
+    public @NonNull RadiusRequest encodeRequest(@NonNull String sharedSecret) throws RadiusPacketException {
+        return ((StatusServerRequest) super.encodeRequest(sharedSecret))
+                .encodeMessageAuth(sharedSecret, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NonNull RadiusRequest decodeRequest(@NonNull String sharedSecret) throws RadiusPacketException {
+        var messageAuthAttr = getAttributes(MESSAGE_AUTHENTICATOR);
+        if (messageAuthAttr.size() != 1)
+            throw new RadiusPacketException("Status-Server should have exactly one Message-Authenticator attribute, has " + messageAuthAttr.size());
+
+        // authenticator is random, so can't run verifyPacketAuth()
+        byte[] auth = getAuthenticator();
+        if (auth == null || auth.length != 16)
+            throw new RadiusPacketException("Authenticator check failed - authenticator must be 16 octets");
+
+        verifyMessageAuth(sharedSecret, null);
+        return withAttributes(decodeAttributes(auth, sharedSecret));
+    }
+}
@@ -56,6 +56,14 @@ public class GenericResponse extends BaseRadiusPacket<RadiusResponse> implements
      */
     @Override
     public @NonNull RadiusResponse withAuthAttributes(byte @Nullable [] auth, @NonNull List<RadiusAttribute> attributes) throws RadiusPacketException {
-        return RadiusResponse.create(getDictionary(), getType(), getId(), auth, attributes);
+        return shareBuffer(RadiusResponse.create(getDictionary(), getType(), getId(), auth, attributes));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected @NonNull RadiusResponse withHeaderAttributes(@NonNull ByteBuf header, @NonNull List<RadiusAttribute> attributes) throws RadiusPacketException {
+        return RadiusResponse.create(getDictionary(), header, attributes);
     }
 }
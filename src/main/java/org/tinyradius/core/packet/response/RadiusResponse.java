@@ -5,6 +5,7 @@ import static org.tinyradius.core.packet.PacketType.ACCESS_CHALLENGE;
 import static org.tinyradius.core.packet.PacketType.ACCESS_REJECT;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.socket.DatagramPacket;
 import java.util.List;
@@ -15,6 +16,7 @@ import org.tinyradius.core.attribute.AttributeHolder;
 import org.tinyradius.core.attribute.NestedAttributeHolder;
 import org.tinyradius.core.attribute.type.RadiusAttribute;
 import org.tinyradius.core.dictionary.Dictionary;
+import org.tinyradius.core.packet.CompactPacket;
 import org.tinyradius.core.packet.RadiusPacket;
 
 /**
@@ -84,6 +86,32 @@ public interface RadiusResponse extends RadiusPacket<RadiusResponse> {
                 Unpooled.copiedBuffer(datagram.content())));
     }
 
+    /**
+     * Reads a response from the datagram into a new buffer from the given allocator, e.g. a pooled buffer.
+     * <p>
+     * The packet owns the buffer: header and attributes are slices of it. Unlike
+     * {@link #fromDatagram(Dictionary, DatagramPacket)}, the packet must be released
+     * when no longer used, as must be packets derived from it, which share its reference count.
+     *
+     * @param dictionary dictionary to use for attributes
+     * @param datagram   DatagramPacket to read packet from, buffer indexes are not changed
+     * @param allocator  allocator for the packet buffer
+     * @return new RadiusPacket object, with a reference count of 1
+     * @throws RadiusPacketException malformed packet
+     */
+    @NonNull
+    static RadiusResponse fromDatagram(@NonNull Dictionary dictionary, @NonNull DatagramPacket datagram, @NonNull ByteBufAllocator allocator) throws RadiusPacketException {
+        var content = datagram.content();
+        int length = content.readableBytes();
+        var buffer = allocator.buffer(length, length).writeBytes(content, content.readerIndex(), length);
+        try {
+            return fromByteBuf(dictionary, buffer);
+        } catch (RadiusPacketException | RuntimeException e) {
+            buffer.release();
+            throw e;
+        }
+    }
+
     /**
      * Reads a response from the given input stream and
      * creates an appropriate RadiusPacket/subclass.
@@ -129,4 +157,14 @@ public interface RadiusResponse extends RadiusPacket<RadiusResponse> {
      */
     @NonNull
     RadiusResponse decodeResponse(@NonNull String sharedSecret, byte @NonNull [] requestAuth) throws RadiusPacketException;
+
+    /**
+     * Returns a compact copy of this packet, for holding it in memory for a long time.
+     *
+     * @return compact copy of this packet, restored with {@link CompactPacket#expand()}
+     */
+    @NonNull
+    default CompactPacket<RadiusResponse> compact() {
+        return CompactPacket.of(this, RadiusResponse::create);
+    }
 }
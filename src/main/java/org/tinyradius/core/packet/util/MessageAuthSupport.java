@@ -11,7 +11,6 @@ import org.tinyradius.core.packet.RadiusPacket;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
-import java.nio.ByteBuffer;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
@@ -120,14 +119,16 @@ public interface MessageAuthSupport<T extends RadiusPacket<T>> extends RadiusPac
 
         // When the message integrity check is calculated, the signature
         // string should be considered to be sixteen octets of zero.
-        var buffer = ByteBuffer.allocate(16);
-        var attribute = getDictionary().createAttribute(-1, MESSAGE_AUTHENTICATOR, (byte) 0, buffer.array());
+        var attribute = getDictionary().createAttribute(-1, MESSAGE_AUTHENTICATOR, (byte) 0, new byte[16]);
 
         var attributes = getAttributes(a -> a.getType() != MESSAGE_AUTHENTICATOR);
         attributes.add(attribute);
 
         var newPacket = withAttributes(attributes);
-        buffer.put(computeMessageAuth(newPacket, sharedSecret, requestAuth));
+
+        // attribute owns its buffer, so the signature is written into it in place
+        attribute.getData().setBytes(attribute.getHeaderSize(),
+                computeMessageAuth(newPacket, sharedSecret, requestAuth));
 
         return newPacket;
     }
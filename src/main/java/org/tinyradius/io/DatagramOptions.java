@@ -0,0 +1,50 @@
+package org.tinyradius.io;
+
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Datagram socket options applied by {@link DatagramTransport#newBootstrap(io.netty.channel.EventLoopGroup, DatagramOptions)}.
+ * <p>
+ * Options a transport doesn't support are ignored with a warning, so the same
+ * options can be used whichever transport is selected.
+ *
+ * @param receiveBufferSize SO_RCVBUF in bytes, or 0 to keep the OS default.
+ *                          The kernel may cap the value, e.g. at net.core.rmem_max on Linux
+ * @param udpGro            enable UDP Generic Receive Offload, so the kernel can coalesce
+ *                          incoming datagrams and reduce syscalls per packet. Epoll only
+ */
+public record DatagramOptions(int receiveBufferSize, boolean udpGro) {
+
+    /**
+     * OS defaults for all options.
+     */
+    public static final DatagramOptions DEFAULT = new DatagramOptions(0, false);
+
+    /**
+     * @param receiveBufferSize SO_RCVBUF in bytes, or 0 to keep the OS default
+     * @param udpGro            enable UDP Generic Receive Offload
+     * @throws IllegalArgumentException if receiveBufferSize is negative
+     */
+    public DatagramOptions {
+        if (receiveBufferSize < 0)
+            throw new IllegalArgumentException("Receive buffer size must not be negative: " + receiveBufferSize);
+    }
+
+    /**
+     * @param receiveBufferSize SO_RCVBUF in bytes, or 0 to keep the OS default
+     * @return copy of these options with the receive buffer size set
+     */
+    @NonNull
+    public DatagramOptions withReceiveBufferSize(int receiveBufferSize) {
+        return new DatagramOptions(receiveBufferSize, udpGro);
+    }
+
+    /**
+     * @param udpGro enable UDP Generic Receive Offload
+     * @return copy of these options with UDP GRO set
+     */
+    @NonNull
+    public DatagramOptions withUdpGro(boolean udpGro) {
+        return new DatagramOptions(receiveBufferSize, udpGro);
+    }
+}
@@ -0,0 +1,229 @@
+package org.tinyradius.io;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.FixedRecvByteBufAllocator;
+import io.netty.channel.IoHandlerFactory;
+import io.netty.channel.MultiThreadIoEventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollDatagramChannel;
+import io.netty.channel.epoll.EpollIoHandler;
+import io.netty.channel.nio.NioIoHandler;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.channel.uring.IoUring;
+import io.netty.channel.uring.IoUringDatagramChannel;
+import io.netty.channel.uring.IoUringIoHandler;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Netty datagram transports, for setting up the Bootstrap passed to
+ * {@link org.tinyradius.io.client.RadiusClient} and {@link org.tinyradius.io.server.RadiusServer}.
+ * <p>
+ * Native transports are only available on Linux. They are optional dependencies, so to use
+ * them add the native library for the platform to the runtime classpath, e.g.
+ * 'io.netty:netty-transport-native-epoll:linux-x86_64' or
+ * 'io.netty:netty-transport-native-io_uring:linux-x86_64'.
+ * {@link #select()} picks the first available of io_uring, epoll and NIO.
+ * <pre>{@code
+ * var transport = DatagramTransport.select();
+ * var bootstrap = transport.newBootstrap(transport.newEventLoopGroup(4), DatagramOptions.DEFAULT);
+ * }</pre>
+ */
+public enum DatagramTransport {
+
+    /**
+     * io_uring, Linux 5.14+.
+     */
+    IO_URING {
+        @Override
+        @Nullable
+        Throwable checkAvailability() {
+            return IoUring.isAvailable() ? null : IoUring.unavailabilityCause();
+        }
+
+        @Override
+        @NonNull
+        IoHandlerFactory ioHandlerFactory() {
+            return IoUringIoHandler.newFactory();
+        }
+
+        @Override
+        @NonNull
+        public Class<? extends DatagramChannel> channelClass() {
+            return IoUringDatagramChannel.class;
+        }
+
+        @Override
+        void applyNativeOptions(@NonNull Bootstrap bootstrap, @NonNull DatagramOptions options) {
+            if (options.udpGro())
+                log.warn("UDP GRO not supported by {} transport, ignoring", this);
+        }
+    },
+
+    /**
+     * epoll, Linux only.
+     */
+    EPOLL {
+        @Override
+        @Nullable
+        Throwable checkAvailability() {
+            return Epoll.isAvailable() ? null : Epoll.unavailabilityCause();
+        }
+
+        @Override
+        @NonNull
+        IoHandlerFactory ioHandlerFactory() {
+            return EpollIoHandler.newFactory();
+        }
+
+        @Override
+        @NonNull
+        public Class<? extends DatagramChannel> channelClass() {
+            return EpollDatagramChannel.class;
+        }
+
+        // RCVBUF_ALLOCATOR is the only way to size reads from a Bootstrap, as the handler
+        // is set later by the client or server and can't configure the channel itself
+        @SuppressWarnings("deprecation")
+        @Override
+        void applyNativeOptions(@NonNull Bootstrap bootstrap, @NonNull DatagramOptions options) {
+            if (options.udpGro()) {
+                // coalesced datagrams are read in one go, then split into individual DatagramPackets
+                bootstrap.option(EpollChannelOption.UDP_GRO, true)
+                        .option(ChannelOption.RCVBUF_ALLOCATOR, new FixedRecvByteBufAllocator(GRO_READ_BUFFER_SIZE));
+            }
+        }
+    },
+
+    /**
+     * Java NIO, available on all platforms.
+     */
+    NIO {
+        @Override
+        @Nullable
+        Throwable checkAvailability() {
+            return null;
+        }
+
+        @Override
+        @NonNull
+        IoHandlerFactory ioHandlerFactory() {
+            return NioIoHandler.newFactory();
+        }
+
+        @Override
+        @NonNull
+        public Class<? extends DatagramChannel> channelClass() {
+            return NioDatagramChannel.class;
+        }
+
+        @Override
+        void applyNativeOptions(@NonNull Bootstrap bootstrap, @NonNull DatagramOptions options) {
+            if (options.udpGro())
+                log.warn("UDP GRO not supported by {} transport, ignoring", this);
+        }
+    };
+
+    private static final Logger log = LogManager.getLogger(DatagramTransport.class);
+
+    /**
+     * Max size of a GRO coalesced read, as per the 64KB IP datagram limit.
+     */
+    private static final int GRO_READ_BUFFER_SIZE = 65535;
+
+    /**
+     * Returns the first available transport, in order of preference: io_uring, epoll, NIO.
+     *
+     * @return available transport, NIO if no native transport is available
+     */
+    @NonNull
+    public static DatagramTransport select() {
+        var transport = Arrays.stream(values())
+                .filter(DatagramTransport::isAvailable)
+                .findFirst()
+                .orElse(NIO);
+        log.debug("Selected datagram transport: {}", transport);
+        return transport;
+    }
+
+    /**
+     * Returns whether this transport can be used on the current platform.
+     *
+     * @return true if native library for this transport is loaded, always true for NIO
+     */
+    public boolean isAvailable() {
+        return unavailabilityCause() == null;
+    }
+
+    /**
+     * Returns why this transport can't be used on the current platform.
+     *
+     * @return cause, or null if transport is available
+     */
+    @Nullable
+    public Throwable unavailabilityCause() {
+        try {
+            return checkAvailability();
+        } catch (LinkageError e) {
+            // transport classes not on classpath
+            return e;
+        }
+    }
+
+    /**
+     * Creates a new EventLoopGroup for this transport.
+     *
+     * @param nThreads number of event loop threads, or 0 for the Netty default
+     * @return new EventLoopGroup
+     * @throws IllegalStateException if transport is not available
+     */
+    @NonNull
+    public EventLoopGroup newEventLoopGroup(int nThreads) {
+        var cause = unavailabilityCause();
+        if (cause != null)
+            throw new IllegalStateException(this + " transport not available", cause);
+        return new MultiThreadIoEventLoopGroup(nThreads, ioHandlerFactory());
+    }
+
+    /**
+     * Creates a new Bootstrap with the channel class for this transport and the datagram options set.
+     * <p>
+     * The EventLoopGroup must be created by the same transport, e.g. with {@link #newEventLoopGroup(int)}.
+     *
+     * @param eventLoopGroup event loop group created for this transport
+     * @param options        datagram socket options
+     * @return new Bootstrap, handler is not set
+     */
+    @NonNull
+    public Bootstrap newBootstrap(@NonNull EventLoopGroup eventLoopGroup, @NonNull DatagramOptions options) {
+        var bootstrap = new Bootstrap().group(eventLoopGroup).channel(channelClass());
+        if (options.receiveBufferSize() > 0)
+            bootstrap.option(ChannelOption.SO_RCVBUF, options.receiveBufferSize());
+        applyNativeOptions(bootstrap, options);
+        return bootstrap;
+    }
+
+    /**
+     * Returns the DatagramChannel implementation for this transport.
+     *
+     * @return channel class
+     */
+    @NonNull
+    public abstract Class<? extends DatagramChannel> channelClass();
+
+    @Nullable
+    abstract Throwable checkAvailability();
+
+    @NonNull
+    abstract IoHandlerFactory ioHandlerFactory();
+
+    abstract void applyNativeOptions(@NonNull Bootstrap bootstrap, @NonNull DatagramOptions options);
+}
@@ -0,0 +1,112 @@
+package org.tinyradius.io.client;
+
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.tinyradius.core.packet.request.RadiusRequest;
+import org.tinyradius.core.packet.response.RadiusResponse;
+import org.tinyradius.io.RadiusEndpoint;
+import org.tinyradius.io.client.selector.EndpointSelector;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Sends a request to multiple endpoints through a single endpoint send function,
+ * shared by {@link RadiusClient} and {@link PooledRadiusClient}.
+ * <p>
+ * Endpoints are tried in the order chosen by the selector, and the selector is notified of each send.
+ * Cancelling the returned future cancels the outstanding attempt.
+ */
+final class EndpointRequest {
+
+    private EndpointRequest() {
+    }
+
+    /**
+     * Sends to endpoints in turn until an endpoint succeeds or all fail.
+     *
+     * @param packet    packet to send
+     * @param endpoints endpoints to send packet to
+     * @param selector  chooses the order endpoints are tried in
+     * @param send      sends packet to a single endpoint, including retries
+     * @param executor  executor for the returned future
+     * @return deferred response containing response packet or exception
+     */
+    @NonNull
+    static Future<RadiusResponse> failover(@NonNull RadiusRequest packet, @NonNull List<RadiusEndpoint> endpoints, @NonNull EndpointSelector selector,
+                                           @NonNull Function<RadiusEndpoint, Future<RadiusResponse>> send, @NonNull EventExecutor executor) {
+        if (endpoints.isEmpty())
+            return executor.newFailedFuture(new IOException("Client send failed - no valid endpoints"));
+
+        var promise = executor.<RadiusResponse>newPromise();
+        sendNext(selector.select(packet, endpoints), 0, promise, null, notifying(selector, send));
+        return promise;
+    }
+
+    /**
+     * Sends to endpoints in turn until an endpoint succeeds or all fail, hedging to the next
+     * endpoint if the outstanding one is slow to respond.
+     *
+     * @param packet      packet to send
+     * @param endpoints   endpoints to send packet to
+     * @param selector    chooses the order endpoints are tried in
+     * @param hedgePolicy when to send to the next endpoint, and how many hedges are allowed
+     * @param send        sends packet to a single endpoint, including retries
+     * @param executor    executor for hedge timers and the returned future
+     * @return deferred response containing first successful response or exception
+     */
+    @NonNull
+    static Future<RadiusResponse> hedged(@NonNull RadiusRequest packet, @NonNull List<RadiusEndpoint> endpoints, @NonNull EndpointSelector selector,
+                                         @NonNull HedgePolicy hedgePolicy, @NonNull Function<RadiusEndpoint, Future<RadiusResponse>> send,
+                                         @NonNull EventExecutor executor) {
+        var ordered = endpoints.isEmpty() ? endpoints : selector.select(packet, endpoints);
+        return HedgedRequest.start(ordered, notifying(selector, send), hedgePolicy, executor);
+    }
+
+    /**
+     * Cancels the attempt if the promise is cancelled, so the attempt stops retransmitting.
+     *
+     * @param attempt in progress attempt
+     * @param promise promise the attempt completes
+     */
+    static void cancelWith(@NonNull Future<RadiusResponse> attempt, @NonNull Promise<RadiusResponse> promise) {
+        promise.addListener(f -> {
+            if (f.isCancelled())
+                attempt.cancel(false);
+        });
+    }
+
+    @NonNull
+    private static Function<RadiusEndpoint, Future<RadiusResponse>> notifying(@NonNull EndpointSelector selector,
+                                                                              @NonNull Function<RadiusEndpoint, Future<RadiusResponse>> send) {
+        return endpoint -> {
+            var response = send.apply(endpoint);
+            selector.onSend(endpoint, response);
+            return response;
+        };
+    }
+
+    private static void sendNext(@NonNull List<RadiusEndpoint> endpoints, int endpointIndex, @NonNull Promise<RadiusResponse> promise,
+                                 @Nullable Throwable lastException, @NonNull Function<RadiusEndpoint, Future<RadiusResponse>> send) {
+        if (promise.isDone())
+            return;
+
+        if (endpointIndex >= endpoints.size()) {
+            promise.tryFailure(new IOException("Client send failed - all endpoints failed", lastException));
+            return;
+        }
+
+        var response = send.apply(endpoints.get(endpointIndex));
+        cancelWith(response, promise);
+        response.addListener((Future<RadiusResponse> f) -> {
+            if (f.isSuccess())
+                promise.trySuccess(f.getNow());
+            else
+                sendNext(endpoints, endpointIndex + 1, promise, f.cause(), send);
+        });
+    }
+}
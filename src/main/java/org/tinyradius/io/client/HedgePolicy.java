@@ -0,0 +1,163 @@
+package org.tinyradius.io.client;
+
+import org.jspecify.annotations.NonNull;
+import org.tinyradius.io.RadiusEndpoint;
+
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Determines when a request sent to a list of endpoints is hedged, i.e. a copy is sent
+ * to the next endpoint while the current one is still outstanding, and how many hedges
+ * are allowed.
+ * <p>
+ * The hedge delay is either fixed, or a percentile of recent response latencies of the endpoint
+ * the request is outstanding at, so only requests slower than usual for that endpoint are hedged.
+ * <p>
+ * Hedges are limited by a token bucket: every request adds a fraction of a token, every
+ * hedge takes a whole token, so at most that fraction of requests are hedged over time,
+ * with short bursts of up to {@value #BURST} hedges.
+ * <p>
+ * Thread safe, a policy may be shared between requests and clients.
+ */
+public class HedgePolicy {
+
+    /**
+     * Max hedges that can be sent in a burst, e.g. when an endpoint stalls.
+     */
+    public static final int BURST = 10;
+
+    private static final long TOKEN = 1000;
+    private static final int WINDOW = 64;
+    private static final int MIN_SAMPLES = 8;
+
+    private final double percentile;
+    private final long minDelayMs;
+    private final long maxDelayMs;
+    private final long tokensPerRequest;
+
+    private final AtomicLong tokens = new AtomicLong(BURST * TOKEN);
+    private final Map<InetSocketAddress, LatencyWindow> latencies = new ConcurrentHashMap<>();
+
+    private HedgePolicy(double percentile, long minDelayMs, long maxDelayMs, double budget) {
+        if (minDelayMs < 0 || maxDelayMs < minDelayMs)
+            throw new IllegalArgumentException("Hedge delay must satisfy 0 <= min <= max, actual: min "
+                    + minDelayMs + ", max " + maxDelayMs);
+        if (budget < 0 || budget > 1)
+            throw new IllegalArgumentException("Hedge budget must be between 0 and 1: " + budget);
+        this.percentile = percentile;
+        this.minDelayMs = minDelayMs;
+        this.maxDelayMs = maxDelayMs;
+        this.tokensPerRequest = Math.round(budget * TOKEN);
+    }
+
+    /**
+     * Creates a policy that hedges requests outstanding for a fixed delay.
+     *
+     * @param delayMs time to wait for a response before hedging, in milliseconds
+     * @param budget  max fraction of requests that are hedged, between 0 and 1
+     * @return hedge policy
+     */
+    @NonNull
+    public static HedgePolicy fixedDelay(long delayMs, double budget) {
+        return new HedgePolicy(0, delayMs, delayMs, budget);
+    }
+
+    /**
+     * Creates a policy that hedges requests outstanding for longer than a percentile
+     * of the recent response latencies of the endpoint.
+     * <p>
+     * Until the endpoint has enough samples, the max delay is used.
+     *
+     * @param percentile percentile of response latencies, greater than 0 and less than 1, e.g. 0.95
+     * @param minDelayMs floor for the hedge delay, in milliseconds
+     * @param maxDelayMs ceiling for the hedge delay, in milliseconds
+     * @param budget     max fraction of requests that are hedged, between 0 and 1
+     * @return hedge policy
+     */
+    @NonNull
+    public static HedgePolicy latencyPercentile(double percentile, long minDelayMs, long maxDelayMs, double budget) {
+        if (percentile <= 0 || percentile >= 1)
+            throw new IllegalArgumentException("Percentile must be greater than 0 and less than 1: " + percentile);
+        return new HedgePolicy(percentile, minDelayMs, maxDelayMs, budget);
+    }
+
+    /**
+     * Returns the time to wait for a response from an endpoint before hedging.
+     *
+     * @param endpoint endpoint the request is outstanding at
+     * @return hedge delay, in milliseconds
+     */
+    public long getDelayMs(@NonNull RadiusEndpoint endpoint) {
+        if (percentile == 0)
+            return maxDelayMs;
+
+        var window = latencies.get(endpoint.address());
+        if (window == null)
+            return maxDelayMs;
+
+        long delay = window.percentile(percentile);
+        return delay < 0 ? maxDelayMs : Math.min(maxDelayMs, Math.max(minDelayMs, delay));
+    }
+
+    /**
+     * Records the latency of a successful response.
+     *
+     * @param endpoint  endpoint that responded
+     * @param latencyMs time from sending the request to receiving a response, in milliseconds
+     */
+    public void recordLatency(@NonNull RadiusEndpoint endpoint, long latencyMs) {
+        if (percentile != 0)
+            latencies.computeIfAbsent(endpoint.address(), k -> new LatencyWindow()).add(latencyMs);
+    }
+
+    /**
+     * Adds to the hedge budget, called once for every request sent with this policy.
+     */
+    public void onRequest() {
+        tokens.accumulateAndGet(tokensPerRequest, (current, add) -> Math.min(BURST * TOKEN, current + add));
+    }
+
+    /**
+     * Takes a hedge from the budget.
+     *
+     * @return true if hedge is allowed, false if budget is exhausted
+     */
+    public boolean tryAcquireHedge() {
+        return tokens.getAndUpdate(current -> current >= TOKEN ? current - TOKEN : current) >= TOKEN;
+    }
+
+    /**
+     * Most recent latency samples for an endpoint, with percentile recalculated
+     * every few samples rather than on every request.
+     */
+    private static class LatencyWindow {
+
+        private final long[] samples = new long[WINDOW];
+        private int count;
+        private long cached = -1;
+
+        private synchronized void add(long latencyMs) {
+            samples[count++ % WINDOW] = latencyMs;
+            if (count == 2 * WINDOW)
+                count = WINDOW; // still full, same slot, avoids overflow
+            if (count % MIN_SAMPLES == 0)
+                cached = -1;
+        }
+
+        private synchronized long percentile(double percentile) {
+            int size = Math.min(count, WINDOW);
+            if (size < MIN_SAMPLES)
+                return -1;
+            if (cached < 0) {
+                long[] sorted = Arrays.copyOf(samples, size);
+                Arrays.sort(sorted);
+                cached = sorted[Math.min(size - 1, (int) Math.ceil(percentile * size) - 1)];
+            }
+            return cached;
+        }
+    }
+}
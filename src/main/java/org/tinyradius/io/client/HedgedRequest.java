@@ -0,0 +1,148 @@
+package org.tinyradius.io.client;
+
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.tinyradius.core.packet.response.RadiusResponse;
+import org.tinyradius.io.RadiusEndpoint;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Sends a request to a list of endpoints in turn, sending a copy to the next endpoint
+ * if the outstanding one hasn't responded within the hedge delay and the budget allows.
+ * <p>
+ * The first successful response completes the request and cancels other outstanding attempts.
+ * Responses to attempts that complete after that are released.
+ * Failed attempts fail over to the next endpoint as without hedging.
+ */
+class HedgedRequest {
+
+    private static final Logger log = LogManager.getLogger(HedgedRequest.class);
+
+    private final List<RadiusEndpoint> endpoints;
+    private final Function<RadiusEndpoint, Future<RadiusResponse>> send;
+    private final HedgePolicy policy;
+    private final EventExecutor executor;
+    private final Promise<RadiusResponse> promise;
+
+    private final List<Future<RadiusResponse>> attempts = new ArrayList<>();
+    private int nextEndpoint;
+    private int outstanding;
+    @Nullable
+    private Future<?> hedgeTimer;
+
+    private HedgedRequest(@NonNull List<RadiusEndpoint> endpoints, @NonNull Function<RadiusEndpoint, Future<RadiusResponse>> send,
+                          @NonNull HedgePolicy policy, @NonNull EventExecutor executor) {
+        this.endpoints = endpoints;
+        this.send = send;
+        this.policy = policy;
+        this.executor = executor;
+        this.promise = executor.newPromise();
+    }
+
+    /**
+     * Starts sending to the first endpoint.
+     *
+     * @param endpoints endpoints to send packet to, in order
+     * @param send      sends packet to a single endpoint, including retries
+     * @param policy    hedge delay and budget
+     * @param executor  executor for hedge timers and the returned future
+     * @return deferred response containing first successful response or exception
+     */
+    @NonNull
+    static Future<RadiusResponse> start(@NonNull List<RadiusEndpoint> endpoints, @NonNull Function<RadiusEndpoint, Future<RadiusResponse>> send,
+                                        @NonNull HedgePolicy policy, @NonNull EventExecutor executor) {
+        if (endpoints.isEmpty())
+            return executor.newFailedFuture(new IOException("Client send failed - no valid endpoints"));
+
+        policy.onRequest();
+        var request = new HedgedRequest(endpoints, send, policy, executor);
+        request.promise.addListener(f -> request.cancelOutstanding());
+        request.sendNext();
+        return request.promise;
+    }
+
+    private void sendNext() {
+        RadiusEndpoint endpoint;
+        synchronized (this) {
+            if (promise.isDone() || nextEndpoint >= endpoints.size())
+                return;
+            endpoint = endpoints.get(nextEndpoint++);
+            outstanding++;
+        }
+
+        long start = System.nanoTime();
+        var attempt = send.apply(endpoint);
+        synchronized (this) {
+            attempts.add(attempt);
+        }
+        attempt.addListener((Future<RadiusResponse> f) -> onAttemptDone(f, endpoint, start));
+        scheduleHedge(endpoint, attempt);
+    }
+
+    private void scheduleHedge(@NonNull RadiusEndpoint endpoint, @NonNull Future<RadiusResponse> attempt) {
+        synchronized (this) {
+            if (attempt.isDone() || promise.isDone() || nextEndpoint >= endpoints.size())
+                return;
+            if (hedgeTimer != null)
+                hedgeTimer.cancel(false);
+            hedgeTimer = executor.schedule(this::hedge, policy.getDelayMs(endpoint), MILLISECONDS);
+        }
+    }
+
+    private void hedge() {
+        if (promise.isDone())
+            return;
+        if (policy.tryAcquireHedge()) {
+            log.debug("No response within hedge delay, sending to next endpoint");
+            sendNext();
+        } else {
+            log.debug("Hedge budget exhausted, waiting for outstanding endpoint");
+        }
+    }
+
+    private void onAttemptDone(@NonNull Future<RadiusResponse> f, @NonNull RadiusEndpoint endpoint, long start) {
+        if (f.isSuccess()) {
+            policy.recordLatency(endpoint, NANOSECONDS.toMillis(System.nanoTime() - start));
+            // both attempts may succeed before the loser is cancelled
+            if (!promise.trySuccess(f.getNow()))
+                ReferenceCountUtil.release(f.getNow());
+            return;
+        }
+
+        boolean failOver;
+        boolean allFailed;
+        synchronized (this) {
+            outstanding--;
+            failOver = outstanding == 0 && nextEndpoint < endpoints.size();
+            allFailed = outstanding == 0 && nextEndpoint >= endpoints.size();
+        }
+
+        if (failOver)
+            sendNext();
+        else if (allFailed)
+            promise.tryFailure(new IOException("Client send failed - all endpoints failed", f.cause()));
+    }
+
+    private void cancelOutstanding() {
+        List<Future<RadiusResponse>> toCancel;
+        synchronized (this) {
+            if (hedgeTimer != null)
+                hedgeTimer.cancel(false);
+            toCancel = List.copyOf(attempts);
+        }
+        toCancel.forEach(attempt -> attempt.cancel(false));
+    }
+}
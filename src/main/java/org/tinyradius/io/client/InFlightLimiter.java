@@ -0,0 +1,251 @@
+package org.tinyradius.io.client;
+
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.concurrent.Promise;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.tinyradius.io.RadiusEndpoint;
+
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Limits the number of requests in flight, per endpoint and in total, so pending request
+ * state and timers stay bounded when an upstream slows down.
+ * <p>
+ * A request is in flight from when it is sent until its response promise completes, whether
+ * by response, timeout or failure. Requests over the limit wait in a bounded FIFO queue,
+ * and are sent when a permit frees up. Requests that don't fit in the queue fail fast
+ * with {@link RequestRejectedException}. Queued requests leave the queue as soon as their
+ * promise completes, e.g. when cancelled, and can optionally fail with {@link TimeoutException}
+ * if no permit frees up in time.
+ * <p>
+ * Thread safe, a single limiter may be shared between clients to enforce a global limit.
+ */
+public class InFlightLimiter {
+
+    private static final Logger log = LogManager.getLogger(InFlightLimiter.class);
+
+    private final int maxPerEndpoint;
+    private final int maxTotal;
+    private final int maxQueued;
+    private final Timer timer;
+    private final int queueTimeoutMs;
+
+    private final Map<InetSocketAddress, Integer> inFlight = new HashMap<>();
+    private final LinkedHashSet<Waiter> queue = new LinkedHashSet<>();
+    private int totalInFlight;
+
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Creates a new InFlightLimiter where queued requests wait for a permit
+     * until sent or their promise completes.
+     *
+     * @param maxPerEndpoint max requests in flight to a single endpoint
+     * @param maxTotal       max requests in flight across all endpoints
+     * @param maxQueued      max requests waiting for a permit, 0 to reject immediately when over limit
+     */
+    public InFlightLimiter(int maxPerEndpoint, int maxTotal, int maxQueued) {
+        this(null, maxPerEndpoint, maxTotal, maxQueued, 0);
+    }
+
+    /**
+     * Creates a new InFlightLimiter where queued requests fail with {@link TimeoutException}
+     * if not sent within the queue timeout.
+     *
+     * @param timer          netty timer for timing out queued requests, or null for no queue timeout
+     * @param maxPerEndpoint max requests in flight to a single endpoint
+     * @param maxTotal       max requests in flight across all endpoints
+     * @param maxQueued      max requests waiting for a permit, 0 to reject immediately when over limit
+     * @param queueTimeoutMs max time a request waits for a permit, in milliseconds, ignored if timer is null
+     */
+    public InFlightLimiter(@Nullable Timer timer, int maxPerEndpoint, int maxTotal, int maxQueued, int queueTimeoutMs) {
+        if (maxPerEndpoint < 1 || maxTotal < 1)
+            throw new IllegalArgumentException("In flight limits must be at least 1, actual: maxPerEndpoint "
+                    + maxPerEndpoint + ", maxTotal " + maxTotal);
+        if (maxQueued < 0)
+            throw new IllegalArgumentException("Max queued must not be negative: " + maxQueued);
+        if (timer != null && queueTimeoutMs < 1)
+            throw new IllegalArgumentException("Queue timeout must be at least 1ms: " + queueTimeoutMs);
+        this.maxPerEndpoint = maxPerEndpoint;
+        this.maxTotal = maxTotal;
+        this.maxQueued = maxQueued;
+        this.timer = timer;
+        this.queueTimeoutMs = queueTimeoutMs;
+    }
+
+    /**
+     * Runs send if under the limits, otherwise queues it or fails the promise.
+     * The permit is released when the promise completes.
+     *
+     * @param endpoint endpoint the request is sent to
+     * @param promise  response promise, completion releases the permit
+     * @param send     sends the request
+     */
+    public void execute(@NonNull RadiusEndpoint endpoint, @NonNull Promise<?> promise, @NonNull Runnable send) {
+        var address = endpoint.address();
+        int queueDepth;
+        Waiter waiter = null;
+        synchronized (this) {
+            if (!tryAcquire(address)) {
+                queueDepth = queue.size();
+                if (queueDepth < maxQueued) {
+                    waiter = new Waiter(address, promise, send);
+                    queue.add(waiter);
+                    log.debug("Queued request to {}, queue depth {}", address, queueDepth + 1);
+                } else {
+                    rejected.increment();
+                }
+            } else {
+                queueDepth = -1;
+            }
+        }
+
+        // promise listeners, timer and send run outside lock
+        if (waiter != null)
+            watch(waiter);
+        else if (queueDepth == -1)
+            run(address, promise, send);
+        else
+            promise.tryFailure(new RequestRejectedException(address, queueDepth));
+    }
+
+    /**
+     * Removes the waiter from the queue once its promise completes while queued,
+     * and fails the promise if it is still queued after the queue timeout.
+     */
+    private void watch(@NonNull Waiter waiter) {
+        if (timer != null)
+            waiter.timeout = timer.newTimeout(t -> {
+                if (dequeue(waiter))
+                    waiter.promise.tryFailure(new TimeoutException("Client send timeout - no permit within "
+                            + queueTimeoutMs + "ms for " + waiter.address));
+            }, queueTimeoutMs, MILLISECONDS);
+        waiter.promise.addListener(f -> {
+            if (dequeue(waiter) && waiter.timeout != null)
+                waiter.timeout.cancel();
+        });
+    }
+
+    /**
+     * @return true if the waiter was still queued, i.e. it wasn't sent or removed already
+     */
+    private synchronized boolean dequeue(@NonNull Waiter waiter) {
+        return queue.remove(waiter);
+    }
+
+    private void run(@NonNull InetSocketAddress address, @NonNull Promise<?> promise, @NonNull Runnable send) {
+        promise.addListener(f -> release(address));
+        send.run();
+    }
+
+    private boolean tryAcquire(@NonNull InetSocketAddress address) {
+        int endpointInFlight = inFlight.getOrDefault(address, 0);
+        if (totalInFlight >= maxTotal || endpointInFlight >= maxPerEndpoint)
+            return false;
+        inFlight.put(address, endpointInFlight + 1);
+        totalInFlight++;
+        return true;
+    }
+
+    private void release(@NonNull InetSocketAddress address) {
+        Waiter next;
+        synchronized (this) {
+            int endpointInFlight = inFlight.get(address) - 1;
+            if (endpointInFlight == 0)
+                inFlight.remove(address);
+            else
+                inFlight.put(address, endpointInFlight);
+            totalInFlight--;
+
+            next = pollEligible();
+        }
+        if (next != null) {
+            if (next.timeout != null)
+                next.timeout.cancel();
+            run(next.address, next.promise, next.send);
+        }
+    }
+
+    /**
+     * Oldest queued request that is under the limits, skipping requests completed while queued
+     * whose listener hasn't removed them yet.
+     */
+    @Nullable
+    private Waiter pollEligible() {
+        for (Iterator<Waiter> it = queue.iterator(); it.hasNext(); ) {
+            var waiter = it.next();
+            if (waiter.promise.isDone()) {
+                it.remove();
+            } else if (tryAcquire(waiter.address)) {
+                it.remove();
+                return waiter;
+            } else if (totalInFlight >= maxTotal) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the number of requests waiting for a permit.
+     *
+     * @return queue depth
+     */
+    public synchronized int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Returns the number of requests in flight across all endpoints.
+     *
+     * @return total in flight
+     */
+    public synchronized int getInFlight() {
+        return totalInFlight;
+    }
+
+    /**
+     * Returns the number of requests in flight to an endpoint.
+     *
+     * @param endpoint endpoint to check
+     * @return in flight to endpoint
+     */
+    public synchronized int getInFlight(@NonNull RadiusEndpoint endpoint) {
+        return inFlight.getOrDefault(endpoint.address(), 0);
+    }
+
+    /**
+     * Returns the number of requests rejected because the queue was full, since creation.
+     *
+     * @return rejected count
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    private static final class Waiter {
+
+        private final InetSocketAddress address;
+        private final Promise<?> promise;
+        private final Runnable send;
+        private volatile Timeout timeout;
+
+        private Waiter(InetSocketAddress address, Promise<?> promise, Runnable send) {
+            this.address = address;
+            this.promise = promise;
+            this.send = send;
+        }
+    }
+}
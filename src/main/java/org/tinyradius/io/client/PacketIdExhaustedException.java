@@ -0,0 +1,23 @@
+package org.tinyradius.io.client;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+/**
+ * Signals that a request could not be sent because all 256 packet identifiers
+ * for the endpoint are in use on the socket.
+ * <p>
+ * The request was not sent, so it can be safely retried through another socket,
+ * see {@link PooledRadiusClient}.
+ */
+public class PacketIdExhaustedException extends IOException {
+
+    /**
+     * Constructs a new PacketIdExhaustedException.
+     *
+     * @param endpoint address of the endpoint with no free packet identifiers
+     */
+    public PacketIdExhaustedException(InetSocketAddress endpoint) {
+        super("No free packet identifiers for endpoint " + endpoint);
+    }
+}
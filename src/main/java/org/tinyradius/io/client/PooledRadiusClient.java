@@ -0,0 +1,443 @@
+package org.tinyradius.io.client;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import io.netty.util.concurrent.PromiseCombiner;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.tinyradius.core.packet.request.RadiusRequest;
+import org.tinyradius.core.packet.response.RadiusResponse;
+import org.tinyradius.io.RadiusEndpoint;
+import org.tinyradius.io.RadiusLifecycle;
+import org.tinyradius.io.client.selector.EndpointSelector;
+import org.tinyradius.io.client.timeout.TimeoutHandler;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.tinyradius.io.client.ClientEventListener.NO_OP_LISTENER;
+
+/**
+ * A Radius client which binds multiple sockets and spreads requests across them,
+ * so throughput isn't limited to a single socket and event loop.
+ * <p>
+ * Each socket is a separate {@link RadiusClient} registered with its own event loop, as far as
+ * the EventLoopGroup has threads, and bound to its own source port. As each socket has its own
+ * pipeline, the handler should set up new handlers per channel, e.g. a ChannelInitializer,
+ * so stateful handlers such as {@link org.tinyradius.io.client.handler.PromiseAdapter} track
+ * pending requests per socket. Each source port also has a separate packet identifier space
+ * per upstream.
+ */
+public class PooledRadiusClient implements RadiusLifecycle {
+
+    private static final Logger log = LogManager.getLogger(PooledRadiusClient.class);
+
+    private final Bootstrap bootstrap;
+    private final InetSocketAddress listenAddress;
+    private final ChannelHandler handler;
+    private final TimeoutHandler defaultTimeoutHandler;
+    private final ClientEventListener defaultEventListener;
+    private final EventLoopGroup eventLoopGroup;
+    private final List<EventLoop> eventLoops = new ArrayList<>();
+
+    private final List<RadiusClient> clients = new CopyOnWriteArrayList<>();
+    private final int maxSockets;
+    private final SocketSelection socketSelection;
+    private final AtomicInteger nextSocket = new AtomicInteger();
+    @Nullable
+    private final InFlightLimiter limiter;
+    private final Promise<Void> isReady;
+
+    /**
+     * Creates a new pooled RADIUS client with a fixed number of sockets.
+     *
+     * @param bootstrap       bootstrap with channel class and eventLoopGroup set up
+     * @param listenAddress   local address to bind to. If port is 0, each socket binds to an ephemeral port,
+     *                        otherwise sockets bind to consecutive ports starting at this port
+     * @param sockets         number of sockets to bind
+     * @param socketSelection how to choose the socket for each request
+     * @param timeoutHandler  retry strategy for scheduling retries and timeouts
+     * @param handler         ChannelHandler to handle outbound requests, added to each socket
+     */
+    public PooledRadiusClient(@NonNull Bootstrap bootstrap, @NonNull InetSocketAddress listenAddress, int sockets,
+                              @NonNull SocketSelection socketSelection, @NonNull TimeoutHandler timeoutHandler, @NonNull ChannelHandler handler) {
+        this(bootstrap, listenAddress, sockets, sockets, socketSelection, timeoutHandler, handler, NO_OP_LISTENER);
+    }
+
+    /**
+     * Creates a new pooled RADIUS client with a fixed number of sockets and a custom event listener.
+     *
+     * @param bootstrap       bootstrap with channel class and eventLoopGroup set up
+     * @param listenAddress   local address to bind to. If port is 0, each socket binds to an ephemeral port,
+     *                        otherwise sockets bind to consecutive ports starting at this port
+     * @param sockets         number of sockets to bind
+     * @param socketSelection how to choose the socket for each request
+     * @param timeoutHandler  retry strategy for scheduling retries and timeouts
+     * @param handler         ChannelHandler to handle outbound requests, added to each socket
+     * @param eventListener   instrumentation hooks for client events
+     */
+    public PooledRadiusClient(@NonNull Bootstrap bootstrap, @NonNull InetSocketAddress listenAddress, int sockets,
+                              @NonNull SocketSelection socketSelection, @NonNull TimeoutHandler timeoutHandler,
+                              @NonNull ChannelHandler handler, @NonNull ClientEventListener eventListener) {
+        this(bootstrap, listenAddress, sockets, sockets, socketSelection, timeoutHandler, handler, eventListener);
+    }
+
+    /**
+     * Creates a new pooled RADIUS client that opens extra sockets when packet identifiers run out.
+     * <p>
+     * When a request fails with {@link PacketIdExhaustedException}, e.g. from
+     * {@link org.tinyradius.io.client.handler.IdMatchingCodec}, it is retried through the other sockets.
+     * If all sockets are out of IDs for the endpoint, a new socket is bound, up to maxSockets.
+     *
+     * @param bootstrap       bootstrap with channel class and eventLoopGroup set up
+     * @param listenAddress   local address to bind to. If port is 0, each socket binds to an ephemeral port,
+     *                        otherwise sockets bind to consecutive ports starting at this port
+     * @param sockets         number of sockets to bind initially
+     * @param maxSockets      max number of sockets to bind
+     * @param socketSelection how to choose the socket for each request
+     * @param timeoutHandler  retry strategy for scheduling retries and timeouts
+     * @param handler         ChannelHandler to handle outbound requests, added to each socket
+     * @param eventListener   instrumentation hooks for client events
+     */
+    public PooledRadiusClient(@NonNull Bootstrap bootstrap, @NonNull InetSocketAddress listenAddress, int sockets, int maxSockets,
+                              @NonNull SocketSelection socketSelection, @NonNull TimeoutHandler timeoutHandler,
+                              @NonNull ChannelHandler handler, @NonNull ClientEventListener eventListener) {
+        this(bootstrap, listenAddress, sockets, maxSockets, socketSelection, timeoutHandler, handler, eventListener, null);
+    }
+
+    /**
+     * Creates a new pooled RADIUS client that opens extra sockets when packet identifiers run out,
+     * with in flight limits across all sockets.
+     *
+     * @param bootstrap       bootstrap with channel class and eventLoopGroup set up
+     * @param listenAddress   local address to bind to. If port is 0, each socket binds to an ephemeral port,
+     *                        otherwise sockets bind to consecutive ports starting at this port
+     * @param sockets         number of sockets to bind initially
+     * @param maxSockets      max number of sockets to bind
+     * @param socketSelection how to choose the socket for each request
+     * @param timeoutHandler  retry strategy for scheduling retries and timeouts
+     * @param handler         ChannelHandler to handle outbound requests, added to each socket
+     * @param eventListener   instrumentation hooks for client events
+     * @param limiter         limits for requests in flight, or null for no limits
+     */
+    public PooledRadiusClient(@NonNull Bootstrap bootstrap, @NonNull InetSocketAddress listenAddress, int sockets, int maxSockets,
+                              @NonNull SocketSelection socketSelection, @NonNull TimeoutHandler timeoutHandler,
+                              @NonNull ChannelHandler handler, @NonNull ClientEventListener eventListener, @Nullable InFlightLimiter limiter) {
+        if (sockets < 1)
+            throw new IllegalArgumentException("Sockets must be at least 1, actual: " + sockets);
+        if (maxSockets < sockets)
+            throw new IllegalArgumentException("Max sockets (" + maxSockets + ") must be at least sockets (" + sockets + ")");
+
+        this.bootstrap = bootstrap;
+        this.listenAddress = listenAddress;
+        this.handler = handler;
+        this.defaultTimeoutHandler = timeoutHandler;
+        this.defaultEventListener = eventListener;
+        this.maxSockets = maxSockets;
+        this.socketSelection = socketSelection;
+        this.limiter = limiter;
+
+        eventLoopGroup = bootstrap.config().group();
+        for (EventExecutor executor : eventLoopGroup) {
+            eventLoops.add((EventLoop) executor);
+        }
+
+        for (int i = 0; i < sockets; i++) {
+            clients.add(newClient(i));
+        }
+
+        var eventLoop = eventLoopGroup.next();
+        isReady = eventLoop.newPromise();
+        var combiner = new PromiseCombiner(eventLoop);
+        eventLoop.execute(() -> {
+            combiner.addAll(clients.stream().map(RadiusClient::isReady).toArray(ChannelFuture[]::new));
+            combiner.finish(isReady);
+        });
+
+        isReady.addListener(f ->
+                log.info("Client start success: {}, sockets: {}", f.isSuccess(), sockets));
+    }
+
+    @NonNull
+    private RadiusClient newClient(int i) {
+        var address = listenAddress.getPort() == 0 ?
+                listenAddress :
+                new InetSocketAddress(listenAddress.getAddress(), listenAddress.getPort() + i);
+        return new RadiusClient(bootstrap.clone(eventLoops.get(i % eventLoops.size())),
+                address, defaultTimeoutHandler, handler, defaultEventListener);
+    }
+
+    /**
+     * Binds a new socket if below maxSockets.
+     *
+     * @return whether a socket was added
+     */
+    private synchronized boolean addSocket() {
+        if (clients.size() >= maxSockets)
+            return false;
+        clients.add(newClient(clients.size()));
+        log.info("Packet identifiers exhausted, opened socket {} of max {}", clients.size(), maxSockets);
+        return true;
+    }
+
+    /**
+     * Returns the channels for each socket, in order of binding.
+     *
+     * @return the channels the client sends requests through
+     */
+    @NonNull
+    public List<Channel> getChannels() {
+        return clients.stream().map(c -> c.isReady().channel()).toList();
+    }
+
+    /**
+     * Sends packet to specified endpoints in turn until an endpoint succeeds or all fail.
+     *
+     * @param packet         packet to send
+     * @param endpoints      endpoints to send packet to
+     * @param timeoutHandler the timeoutHandler to use for this request
+     * @param listener       instrumentation hooks
+     * @return deferred response containing response packet or exception
+     */
+    @NonNull
+    public Future<RadiusResponse> communicate(@NonNull RadiusRequest packet, @NonNull List<RadiusEndpoint> endpoints, @NonNull TimeoutHandler timeoutHandler, @NonNull ClientEventListener listener) {
+        return communicate(packet, endpoints, timeoutHandler, listener, EndpointSelector.LIST_ORDER);
+    }
+
+    /**
+     * Sends packet to endpoints in the order chosen by the selector until an endpoint succeeds or all fail.
+     *
+     * @param packet         packet to send
+     * @param endpoints      endpoints to send packet to
+     * @param timeoutHandler the timeoutHandler to use for this request
+     * @param listener       instrumentation hooks
+     * @param selector       chooses the order endpoints are tried in
+     * @return deferred response containing response packet or exception
+     */
+    @NonNull
+    public Future<RadiusResponse> communicate(@NonNull RadiusRequest packet, @NonNull List<RadiusEndpoint> endpoints, @NonNull TimeoutHandler timeoutHandler,
+                                              @NonNull ClientEventListener listener, @NonNull EndpointSelector selector) {
+        return EndpointRequest.failover(packet, endpoints, selector,
+                endpoint -> communicate(packet, endpoint, timeoutHandler, listener), eventLoopGroup.next());
+    }
+
+    /**
+     * Sends packet to endpoints in the order chosen by the selector until an endpoint succeeds or all fail,
+     * using the default timeout handler and event listener.
+     *
+     * @param packet    packet to send
+     * @param endpoints endpoints to send packet to
+     * @param selector  chooses the order endpoints are tried in
+     * @return deferred response containing response packet or exception
+     */
+    @NonNull
+    public Future<RadiusResponse> communicate(@NonNull RadiusRequest packet, @NonNull List<RadiusEndpoint> endpoints, @NonNull EndpointSelector selector) {
+        return communicate(packet, endpoints, defaultTimeoutHandler, defaultEventListener, selector);
+    }
+
+    /**
+     * Sends packet to specified endpoints in turn until an endpoint succeeds or all fail, using the default timeout handler and event listener.
+     *
+     * @param packet    packet to send
+     * @param endpoints endpoints to send packet to
+     * @return deferred response containing response packet or exception
+     */
+    @NonNull
+    public Future<RadiusResponse> communicate(@NonNull RadiusRequest packet, @NonNull List<RadiusEndpoint> endpoints) {
+        return communicate(packet, endpoints, defaultTimeoutHandler, defaultEventListener);
+    }
+
+    /**
+     * Sends packet to specified endpoints in turn until an endpoint succeeds or all fail,
+     * hedging to the next endpoint if the outstanding one is slow to respond.
+     * <p>
+     * The first successful response is returned, and other outstanding attempts are cancelled.
+     *
+     * @param packet         packet to send
+     * @param endpoints      endpoints to send packet to
+     * @param timeoutHandler the timeoutHandler to use for this request
+     * @param listener       instrumentation hooks
+     * @param hedgePolicy    when to send to the next endpoint, and how many hedges are allowed
+     * @return deferred response containing response packet or exception
+     */
+    @NonNull
+    public Future<RadiusResponse> communicate(@NonNull RadiusRequest packet, @NonNull List<RadiusEndpoint> endpoints, @NonNull TimeoutHandler timeoutHandler,
+                                              @NonNull ClientEventListener listener, @NonNull HedgePolicy hedgePolicy) {
+        return communicate(packet, endpoints, timeoutHandler, listener, EndpointSelector.LIST_ORDER, hedgePolicy);
+    }
+
+    /**
+     * Sends packet to endpoints in the order chosen by the selector until an endpoint succeeds or all fail,
+     * hedging to the next endpoint if the outstanding one is slow to respond.
+     *
+     * @param packet         packet to send
+     * @param endpoints      endpoints to send packet to
+     * @param timeoutHandler the timeoutHandler to use for this request
+     * @param listener       instrumentation hooks
+     * @param selector       chooses the order endpoints are tried in
+     * @param hedgePolicy    when to send to the next endpoint, and how many hedges are allowed
+     * @return deferred response containing response packet or exception
+     */
+    @NonNull
+    public Future<RadiusResponse> communicate(@NonNull RadiusRequest packet, @NonNull List<RadiusEndpoint> endpoints, @NonNull TimeoutHandler timeoutHandler,
+                                              @NonNull ClientEventListener listener, @NonNull EndpointSelector selector, @NonNull HedgePolicy hedgePolicy) {
+        return EndpointRequest.hedged(packet, endpoints, selector, hedgePolicy,
+                endpoint -> communicate(packet, endpoint, timeoutHandler, listener), eventLoopGroup.next());
+    }
+
+    /**
+     * Sends packet to specified endpoints in turn until an endpoint succeeds or all fail,
+     * hedging to the next endpoint if the outstanding one is slow to respond, using the default timeout handler and event listener.
+     *
+     * @param packet      packet to send
+     * @param endpoints   endpoints to send packet to
+     * @param hedgePolicy when to send to the next endpoint, and how many hedges are allowed
+     * @return deferred response containing response packet or exception
+     */
+    @NonNull
+    public Future<RadiusResponse> communicate(@NonNull RadiusRequest packet, @NonNull List<RadiusEndpoint> endpoints, @NonNull HedgePolicy hedgePolicy) {
+        return communicate(packet, endpoints, defaultTimeoutHandler, defaultEventListener, hedgePolicy);
+    }
+
+    /**
+     * Sends packet to specified endpoint with the default timeoutHandler and default event listener.
+     *
+     * @param packet   packet to send
+     * @param endpoint endpoint to send packet to
+     * @return deferred response containing response packet or exception
+     */
+    @NonNull
+    public Future<RadiusResponse> communicate(@NonNull RadiusRequest packet, @NonNull RadiusEndpoint endpoint) {
+        return communicate(packet, endpoint, defaultTimeoutHandler, defaultEventListener);
+    }
+
+    /**
+     * Sends packet to specified endpoint.
+     *
+     * @param packet         packet to send
+     * @param endpoint       endpoint to send packet to
+     * @param timeoutHandler TimeoutHandler to use for this request.
+     * @param listener       instrumentation event listeners
+     * @return deferred response containing response packet or exception
+     */
+    @NonNull
+    public Future<RadiusResponse> communicate(@NonNull RadiusRequest packet, @NonNull RadiusEndpoint endpoint, @NonNull TimeoutHandler timeoutHandler, @NonNull ClientEventListener listener) {
+        var promise = eventLoopGroup.next().<RadiusResponse>newPromise();
+
+        if (limiter == null)
+            communicate(packet, endpoint, promise, timeoutHandler, listener);
+        else
+            limiter.execute(endpoint, promise, () -> communicate(packet, endpoint, promise, timeoutHandler, listener));
+
+        return promise;
+    }
+
+    private void communicate(@NonNull RadiusRequest packet, @NonNull RadiusEndpoint endpoint, @NonNull Promise<RadiusResponse> promise,
+                             @NonNull TimeoutHandler timeoutHandler, @NonNull ClientEventListener listener) {
+        int socket = Math.floorMod(switch (socketSelection) {
+            case ENDPOINT -> endpoint.address().hashCode();
+            case ROUND_ROBIN -> nextSocket.getAndIncrement();
+        }, clients.size());
+
+        send(packet, endpoint, timeoutHandler, listener, socket, 1, promise);
+    }
+
+    /**
+     * Sends through the socket, completing the promise with the result. Cancelling the promise
+     * cancels the socket's request, so it stops retransmitting and frees its packet identifier.
+     */
+    private void send(@NonNull RadiusRequest packet, @NonNull RadiusEndpoint endpoint, @NonNull TimeoutHandler timeoutHandler,
+                      @NonNull ClientEventListener listener, int socket, int tried, @NonNull Promise<RadiusResponse> promise) {
+        if (promise.isDone())
+            return;
+
+        var response = clients.get(socket).communicate(packet, endpoint, timeoutHandler, listener);
+        EndpointRequest.cancelWith(response, promise);
+        response.addListener(f -> onSocketResult(f, packet, endpoint, timeoutHandler, listener, socket, tried, promise));
+    }
+
+    /**
+     * Retries through the next socket if packet identifiers ran out, opening a new socket
+     * once every socket has been tried.
+     */
+    private void onSocketResult(@NonNull Future<?> result, @NonNull RadiusRequest packet, @NonNull RadiusEndpoint endpoint,
+                                @NonNull TimeoutHandler timeoutHandler, @NonNull ClientEventListener listener,
+                                int socket, int tried, @NonNull Promise<RadiusResponse> promise) {
+        if (result.isSuccess()) {
+            promise.trySuccess((RadiusResponse) result.getNow());
+            return;
+        }
+
+        int next;
+        if (!(result.cause() instanceof PacketIdExhaustedException)) {
+            promise.tryFailure(result.cause());
+            return;
+        } else if (tried < clients.size()) {
+            next = Math.floorMod(socket + 1, clients.size());
+        } else if (addSocket()) {
+            next = clients.size() - 1;
+        } else {
+            promise.tryFailure(result.cause());
+            return;
+        }
+
+        send(packet, endpoint, timeoutHandler, listener, next, tried + 1, promise);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public Future<Void> isReady() {
+        return isReady;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public Future<Void> closeAsync() {
+        var eventLoop = eventLoopGroup.next();
+        var isClosed = eventLoop.<Void>newPromise();
+        var combiner = new PromiseCombiner(eventLoop);
+        var futures = clients.stream().map(RadiusClient::closeAsync).toArray(ChannelFuture[]::new);
+        eventLoop.execute(() -> {
+            combiner.addAll(futures);
+            combiner.finish(isClosed);
+        });
+
+        return isClosed;
+    }
+
+    /**
+     * Strategy for choosing the socket a request is sent through.
+     */
+    public enum SocketSelection {
+
+        /**
+         * Each request uses the next socket in turn, spreading load evenly.
+         */
+        ROUND_ROBIN,
+
+        /**
+         * All requests to an endpoint use the same socket, chosen by hash of the endpoint address.
+         * Keeps requests to an upstream in order and on one event loop, but an upstream
+         * can't use more than one socket.
+         */
+        ENDPOINT
+    }
+}
@@ -14,11 +14,13 @@ import org.tinyradius.core.packet.request.RadiusRequest;
 import org.tinyradius.core.packet.response.RadiusResponse;
 import org.tinyradius.io.RadiusEndpoint;
 import org.tinyradius.io.RadiusLifecycle;
+import org.tinyradius.io.client.selector.EndpointSelector;
 import org.tinyradius.io.client.timeout.TimeoutHandler;
 
-import java.io.IOException;
 import java.net.SocketAddress;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.tinyradius.io.client.ClientEventListener.EventType.POST_RECEIVE;
 import static org.tinyradius.io.client.ClientEventListener.EventType.PRE_SEND;
@@ -43,6 +45,9 @@ public class RadiusClient implements RadiusLifecycle {
 
     private final ChannelFuture channelFuture;
 
+    @Nullable
+    private final InFlightLimiter limiter;
+
     /**
      * Creates a new RADIUS client.
      *
@@ -65,8 +70,24 @@ public class RadiusClient implements RadiusLifecycle {
      * @param eventListener  instrumentation hooks for client events
      */
     public RadiusClient(@NonNull Bootstrap bootstrap, @NonNull SocketAddress listenAddress, @NonNull TimeoutHandler timeoutHandler, @NonNull ChannelHandler handler, @NonNull ClientEventListener eventListener) {
+        this(bootstrap, listenAddress, timeoutHandler, handler, eventListener, null);
+    }
+
+    /**
+     * Creates a new RADIUS client with a custom event listener and in flight limits.
+     *
+     * @param bootstrap      bootstrap with channel class and eventLoopGroup set up
+     * @param listenAddress  local address to bind to
+     * @param timeoutHandler retry strategy for scheduling retries and timeouts
+     * @param handler        ChannelHandler to handle outbound requests
+     * @param eventListener  instrumentation hooks for client events
+     * @param limiter        limits for requests in flight, may be shared between clients, or null for no limits
+     */
+    public RadiusClient(@NonNull Bootstrap bootstrap, @NonNull SocketAddress listenAddress, @NonNull TimeoutHandler timeoutHandler, @NonNull ChannelHandler handler,
+                        @NonNull ClientEventListener eventListener, @Nullable InFlightLimiter limiter) {
         this.defaultTimeoutHandler = timeoutHandler;
         this.defaultEventListener = eventListener;
+        this.limiter = limiter;
         eventLoopGroup = bootstrap.config().group();
         channelFuture = bootstrap.clone().handler(handler).bind(listenAddress);
     }
@@ -82,13 +103,38 @@ public class RadiusClient implements RadiusLifecycle {
      */
     @NonNull
     public Future<RadiusResponse> communicate(@NonNull RadiusRequest packet, @NonNull List<RadiusEndpoint> endpoints, @NonNull TimeoutHandler timeoutHandler, @NonNull ClientEventListener listener) {
-        if (endpoints.isEmpty())
-            return eventLoopGroup.next().newFailedFuture(new IOException("Client send failed - no valid endpoints"));
+        return communicate(packet, endpoints, timeoutHandler, listener, EndpointSelector.LIST_ORDER);
+    }
 
-        var promise = eventLoopGroup.next().<RadiusResponse>newPromise();
-        communicateNextEndpoint(packet, endpoints, 0, promise, null, timeoutHandler, listener);
+    /**
+     * Sends packet to endpoints in the order chosen by the selector until an endpoint succeeds or all fail.
+     *
+     * @param packet         packet to send
+     * @param endpoints      endpoints to send packet to
+     * @param timeoutHandler the timeoutHandler to use for this request
+     * @param listener       instrumentation hooks
+     * @param selector       chooses the order endpoints are tried in
+     * @return deferred response containing response packet or exception
+     */
+    @NonNull
+    public Future<RadiusResponse> communicate(@NonNull RadiusRequest packet, @NonNull List<RadiusEndpoint> endpoints, @NonNull TimeoutHandler timeoutHandler,
+                                              @NonNull ClientEventListener listener, @NonNull EndpointSelector selector) {
+        return EndpointRequest.failover(packet, endpoints, selector,
+                endpoint -> communicate(packet, endpoint, timeoutHandler, listener), eventLoopGroup.next());
+    }
 
-        return promise;
+    /**
+     * Sends packet to endpoints in the order chosen by the selector until an endpoint succeeds or all fail,
+     * using the default timeout handler and event listener.
+     *
+     * @param packet    packet to send
+     * @param endpoints endpoints to send packet to
+     * @param selector  chooses the order endpoints are tried in
+     * @return deferred response containing response packet or exception
+     */
+    @NonNull
+    public Future<RadiusResponse> communicate(@NonNull RadiusRequest packet, @NonNull List<RadiusEndpoint> endpoints, @NonNull EndpointSelector selector) {
+        return communicate(packet, endpoints, defaultTimeoutHandler, defaultEventListener, selector);
     }
 
     /**
@@ -103,21 +149,56 @@ public class RadiusClient implements RadiusLifecycle {
         return communicate(packet, endpoints, defaultTimeoutHandler, defaultEventListener);
     }
 
-    private void communicateNextEndpoint(@NonNull RadiusRequest packet, @NonNull List<RadiusEndpoint> endpoints, int endpointIndex,
-                                         @NonNull Promise<RadiusResponse> promise, @Nullable Throwable lastException, @NonNull TimeoutHandler timeoutHandler,
-                                         @NonNull ClientEventListener listener) {
+    /**
+     * Sends packet to specified endpoints in turn until an endpoint succeeds or all fail,
+     * hedging to the next endpoint if the outstanding one is slow to respond.
+     * <p>
+     * The first successful response is returned, and other outstanding attempts are cancelled.
+     *
+     * @param packet         packet to send
+     * @param endpoints      endpoints to send packet to
+     * @param timeoutHandler the timeoutHandler to use for this request
+     * @param listener       instrumentation hooks
+     * @param hedgePolicy    when to send to the next endpoint, and how many hedges are allowed
+     * @return deferred response containing response packet or exception
+     */
+    @NonNull
+    public Future<RadiusResponse> communicate(@NonNull RadiusRequest packet, @NonNull List<RadiusEndpoint> endpoints, @NonNull TimeoutHandler timeoutHandler,
+                                              @NonNull ClientEventListener listener, @NonNull HedgePolicy hedgePolicy) {
+        return communicate(packet, endpoints, timeoutHandler, listener, EndpointSelector.LIST_ORDER, hedgePolicy);
+    }
 
-        if (endpointIndex >= endpoints.size()) {
-            promise.tryFailure(new IOException("Client send failed - all endpoints failed", lastException));
-            return;
-        }
+    /**
+     * Sends packet to endpoints in the order chosen by the selector until an endpoint succeeds or all fail,
+     * hedging to the next endpoint if the outstanding one is slow to respond.
+     *
+     * @param packet         packet to send
+     * @param endpoints      endpoints to send packet to
+     * @param timeoutHandler the timeoutHandler to use for this request
+     * @param listener       instrumentation hooks
+     * @param selector       chooses the order endpoints are tried in
+     * @param hedgePolicy    when to send to the next endpoint, and how many hedges are allowed
+     * @return deferred response containing response packet or exception
+     */
+    @NonNull
+    public Future<RadiusResponse> communicate(@NonNull RadiusRequest packet, @NonNull List<RadiusEndpoint> endpoints, @NonNull TimeoutHandler timeoutHandler,
+                                              @NonNull ClientEventListener listener, @NonNull EndpointSelector selector, @NonNull HedgePolicy hedgePolicy) {
+        return EndpointRequest.hedged(packet, endpoints, selector, hedgePolicy,
+                endpoint -> communicate(packet, endpoint, timeoutHandler, listener), eventLoopGroup.next());
+    }
 
-        communicate(packet, endpoints.get(endpointIndex), timeoutHandler, listener).addListener((Future<RadiusResponse> f) -> {
-            if (f.isSuccess())
-                promise.trySuccess(f.getNow());
-            else
-                communicateNextEndpoint(packet, endpoints, endpointIndex + 1, promise, f.cause(), timeoutHandler, listener);
-        });
+    /**
+     * Sends packet to specified endpoints in turn until an endpoint succeeds or all fail,
+     * hedging to the next endpoint if the outstanding one is slow to respond, using the default timeout handler and event listener.
+     *
+     * @param packet      packet to send
+     * @param endpoints   endpoints to send packet to
+     * @param hedgePolicy when to send to the next endpoint, and how many hedges are allowed
+     * @return deferred response containing response packet or exception
+     */
+    @NonNull
+    public Future<RadiusResponse> communicate(@NonNull RadiusRequest packet, @NonNull List<RadiusEndpoint> endpoints, @NonNull HedgePolicy hedgePolicy) {
+        return communicate(packet, endpoints, defaultTimeoutHandler, defaultEventListener, hedgePolicy);
     }
 
     /**
@@ -134,6 +215,9 @@ public class RadiusClient implements RadiusLifecycle {
 
     /**
      * Sends packet to specified endpoint.
+     * <p>
+     * If in flight limits are set and reached, the request waits for a permit, or fails
+     * with {@link RequestRejectedException} if the wait queue is full.
      *
      * @param packet         packet to send
      * @param endpoint       endpoint to send packet to
@@ -145,32 +229,122 @@ public class RadiusClient implements RadiusLifecycle {
     public Future<RadiusResponse> communicate(@NonNull RadiusRequest packet, @NonNull RadiusEndpoint endpoint, @NonNull TimeoutHandler timeoutHandler, @NonNull ClientEventListener listener) {
         var promise = eventLoopGroup.next().<RadiusResponse>newPromise();
 
+        if (limiter == null)
+            communicate(packet, endpoint, promise, timeoutHandler, listener);
+        else
+            limiter.execute(endpoint, promise, () -> communicate(packet, endpoint, promise, timeoutHandler, listener));
+
+        return promise;
+    }
+
+    private void communicate(@NonNull RadiusRequest packet, @NonNull RadiusEndpoint endpoint, @NonNull Promise<RadiusResponse> promise,
+                             @NonNull TimeoutHandler timeoutHandler, @NonNull ClientEventListener listener) {
         channelFuture.addListener(s -> {
-            if (s.isSuccess()) {
-                var ctx = new PendingRequestCtx(packet, endpoint, promise);
-                send(ctx, 1, timeoutHandler, listener);
-                promise.addListener(f -> {
-                    if (f.isSuccess()) {
-                        log.debug("Response received, packet: {}", f.getNow());
-                        listener.onEvent(POST_RECEIVE, ctx);
-                    } else {
-                        log.warn(f.cause().getMessage());
-                    }
-                });
-            } else
+            if (s.isSuccess())
+                start(packet, endpoint, promise, timeoutHandler, listener, true);
+            else
                 promise.tryFailure(s.cause());
         });
+    }
 
-        return promise;
+    /**
+     * Sends packets to specified endpoint with the default timeoutHandler and default event listener,
+     * writing the whole batch before flushing once.
+     *
+     * @param packets  packets to send
+     * @param endpoint endpoint to send packets to
+     * @return deferred responses, in the same order as packets
+     */
+    @NonNull
+    public List<Future<RadiusResponse>> communicateAll(@NonNull List<RadiusRequest> packets, @NonNull RadiusEndpoint endpoint) {
+        return communicateAll(packets, endpoint, defaultTimeoutHandler, defaultEventListener, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Sends packets to specified endpoint, writing packets and flushing the channel every flushEvery
+     * packets and at the end of the batch, so bulk sends don't need a syscall per packet.
+     * <p>
+     * Each packet is otherwise handled as if sent with {@link #communicate(RadiusRequest, RadiusEndpoint, TimeoutHandler, ClientEventListener)},
+     * with its own timeouts, retries and in flight limits. Retries are flushed individually. Use
+     * {@link io.netty.util.concurrent.PromiseCombiner} to wait for all responses.
+     *
+     * @param packets        packets to send
+     * @param endpoint       endpoint to send packets to
+     * @param timeoutHandler TimeoutHandler to use for each request
+     * @param listener       instrumentation event listeners
+     * @param flushEvery     max packets written between flushes
+     * @return deferred responses, in the same order as packets
+     */
+    @NonNull
+    public List<Future<RadiusResponse>> communicateAll(@NonNull List<RadiusRequest> packets, @NonNull RadiusEndpoint endpoint,
+                                                       @NonNull TimeoutHandler timeoutHandler, @NonNull ClientEventListener listener, int flushEvery) {
+        if (flushEvery < 1)
+            throw new IllegalArgumentException("Flush interval must be at least 1 packet: " + flushEvery);
+
+        List<Promise<RadiusResponse>> promises = new ArrayList<>(packets.size());
+        for (int i = 0; i < packets.size(); i++) {
+            promises.add(eventLoopGroup.next().newPromise());
+        }
+
+        channelFuture.addListener(s -> {
+            if (!s.isSuccess()) {
+                promises.forEach(p -> p.tryFailure(s.cause()));
+                return;
+            }
+
+            // requests queued by the limiter may be sent later from other threads, so must flush themselves
+            var batchThread = Thread.currentThread();
+            var batching = new AtomicBoolean(true);
+            var channel = channelFuture.channel();
+
+            int unflushed = 0;
+            for (int i = 0; i < packets.size(); i++) {
+                var packet = packets.get(i);
+                var promise = promises.get(i);
+                Runnable send = () -> start(packet, endpoint, promise, timeoutHandler, listener,
+                        !batching.get() || Thread.currentThread() != batchThread);
+
+                if (limiter == null)
+                    send.run();
+                else
+                    limiter.execute(endpoint, promise, send);
+
+                if (++unflushed >= flushEvery) {
+                    channel.flush();
+                    unflushed = 0;
+                }
+            }
+            batching.set(false);
+            channel.flush();
+        });
+
+        return List.copyOf(promises);
+    }
+
+    private void start(@NonNull RadiusRequest packet, @NonNull RadiusEndpoint endpoint, @NonNull Promise<RadiusResponse> promise,
+                       @NonNull TimeoutHandler timeoutHandler, @NonNull ClientEventListener listener, boolean flush) {
+        var ctx = new PendingRequestCtx(packet, endpoint, promise);
+        send(ctx, 1, timeoutHandler, listener, flush);
+        promise.addListener(f -> {
+            if (f.isSuccess()) {
+                log.debug("Response received, packet: {}", f.getNow());
+                listener.onEvent(POST_RECEIVE, ctx);
+            } else {
+                log.warn(f.cause().getMessage());
+            }
+        });
     }
 
-    private void send(@NonNull PendingRequestCtx ctx, int attempt, @NonNull TimeoutHandler timeoutHandler, @NonNull ClientEventListener listener) {
+    private void send(@NonNull PendingRequestCtx ctx, int attempt, @NonNull TimeoutHandler timeoutHandler, @NonNull ClientEventListener listener, boolean flush) {
         log.debug("Attempt {}, sending packet to {}", attempt, ctx.getEndpoint().address());
 
         listener.onEvent(PRE_SEND, ctx);
-        channelFuture.channel().writeAndFlush(ctx);
+        if (flush)
+            channelFuture.channel().writeAndFlush(ctx);
+        else
+            channelFuture.channel().write(ctx);
 
-        timeoutHandler.scheduleTimeout(() -> send(ctx, attempt + 1, timeoutHandler, listener), attempt, ctx, listener);
+        timeoutHandler.scheduleTimeout(() -> send(ctx, attempt + 1, timeoutHandler, listener, true), attempt, ctx, listener);
     }
 
     /**
@@ -0,0 +1,21 @@
+package org.tinyradius.io.client;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+/**
+ * Signals that a request was not sent because in flight limits were reached
+ * and the wait queue was full, see {@link InFlightLimiter}.
+ */
+public class RequestRejectedException extends IOException {
+
+    /**
+     * Constructs a new RequestRejectedException.
+     *
+     * @param endpoint   address of the endpoint the request was for
+     * @param queueDepth number of requests waiting when the request was rejected
+     */
+    public RequestRejectedException(InetSocketAddress endpoint, int queueDepth) {
+        super("Client send rejected - in flight limit reached for " + endpoint + ", queue depth: " + queueDepth);
+    }
+}
@@ -0,0 +1,278 @@
+package org.tinyradius.io.client;
+
+import io.netty.util.concurrent.EventExecutorGroup;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.tinyradius.core.RadiusPacketException;
+import org.tinyradius.core.dictionary.Dictionary;
+import org.tinyradius.core.packet.request.RadiusRequest;
+import org.tinyradius.core.packet.response.RadiusResponse;
+import org.tinyradius.io.RadiusEndpoint;
+import org.tinyradius.io.client.handler.BlacklistManager;
+import org.tinyradius.io.client.selector.EndpointSelector;
+import org.tinyradius.io.client.timeout.TimeoutHandler;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.tinyradius.core.packet.PacketType.STATUS_SERVER;
+import static org.tinyradius.io.client.ClientEventListener.NO_OP_LISTENER;
+
+/**
+ * Sends Status-Server (RFC 5997) probes to endpoints on a fixed interval, so failing endpoints
+ * are detected before requests time out against them.
+ * <p>
+ * Probes are sent through a client, so they are authenticated with Message-Authenticator and
+ * retried according to the timeout handler. An endpoint is alive if its last probe received
+ * a response, and a moving average of probe latency is kept.
+ * <p>
+ * Results can be used in three ways:
+ * <ul>
+ *   <li>fed to a {@link BlacklistManager}, so failing endpoints are blacklisted, and blacklisted endpoints
+ *   that respond are marked healthy. Probes are not checked or recorded by a
+ *   {@link org.tinyradius.io.client.handler.BlacklistHandler}, so they reach blacklisted endpoints.</li>
+ *   <li>{@link #healthAware(EndpointSelector)} moves endpoints that are down to the end of another selector's order.</li>
+ *   <li>{@link #lowestLatency()} orders endpoints that are up by average latency.</li>
+ * </ul>
+ */
+public class StatusServerMonitor implements AutoCloseable {
+
+    private static final Logger log = LogManager.getLogger(StatusServerMonitor.class);
+
+    /**
+     * Weight of the latest probe in the latency moving average.
+     */
+    private static final double ALPHA = 0.3;
+
+    private final Prober prober;
+    private final Dictionary dictionary;
+    private final List<RadiusEndpoint> endpoints;
+    private final long intervalMs;
+    private final EventExecutorGroup executor;
+    @Nullable
+    private final BlacklistManager blacklistManager;
+
+    private final Map<InetSocketAddress, EndpointHealth> health = new ConcurrentHashMap<>();
+    private final Set<InetSocketAddress> probing = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger nextId = new AtomicInteger();
+    private final List<Future<?>> scheduled = new ArrayList<>();
+
+    /**
+     * Creates a new StatusServerMonitor that probes through a RadiusClient.
+     *
+     * @param client           client to send probes through
+     * @param dictionary       dictionary to create probes with
+     * @param endpoints        endpoints to probe
+     * @param intervalMs       time between probes to each endpoint, in milliseconds
+     * @param timeoutHandler   timeout and retries for each probe
+     * @param executor         executor to schedule probes on
+     * @param blacklistManager blacklist to report probe results to, or null
+     */
+    public StatusServerMonitor(@NonNull RadiusClient client, @NonNull Dictionary dictionary, @NonNull List<RadiusEndpoint> endpoints,
+                               long intervalMs, @NonNull TimeoutHandler timeoutHandler, @NonNull EventExecutorGroup executor,
+                               @Nullable BlacklistManager blacklistManager) {
+        this((request, endpoint) -> client.communicate(request, endpoint, timeoutHandler, NO_OP_LISTENER),
+                dictionary, endpoints, intervalMs, executor, blacklistManager);
+    }
+
+    /**
+     * Creates a new StatusServerMonitor that probes through a PooledRadiusClient.
+     *
+     * @param client           client to send probes through
+     * @param dictionary       dictionary to create probes with
+     * @param endpoints        endpoints to probe
+     * @param intervalMs       time between probes to each endpoint, in milliseconds
+     * @param timeoutHandler   timeout and retries for each probe
+     * @param executor         executor to schedule probes on
+     * @param blacklistManager blacklist to report probe results to, or null
+     */
+    public StatusServerMonitor(@NonNull PooledRadiusClient client, @NonNull Dictionary dictionary, @NonNull List<RadiusEndpoint> endpoints,
+                               long intervalMs, @NonNull TimeoutHandler timeoutHandler, @NonNull EventExecutorGroup executor,
+                               @Nullable BlacklistManager blacklistManager) {
+        this((request, endpoint) -> client.communicate(request, endpoint, timeoutHandler, NO_OP_LISTENER),
+                dictionary, endpoints, intervalMs, executor, blacklistManager);
+    }
+
+    private StatusServerMonitor(@NonNull Prober prober, @NonNull Dictionary dictionary, @NonNull List<RadiusEndpoint> endpoints,
+                                long intervalMs, @NonNull EventExecutorGroup executor, @Nullable BlacklistManager blacklistManager) {
+        if (intervalMs < 1)
+            throw new IllegalArgumentException("Probe interval must be at least 1ms: " + intervalMs);
+        this.prober = prober;
+        this.dictionary = dictionary;
+        this.endpoints = List.copyOf(endpoints);
+        this.intervalMs = intervalMs;
+        this.executor = executor;
+        this.blacklistManager = blacklistManager;
+    }
+
+    /**
+     * Starts probing endpoints. Probes to different endpoints are spread across the interval.
+     */
+    public synchronized void start() {
+        if (!scheduled.isEmpty())
+            return;
+
+        for (int i = 0; i < endpoints.size(); i++) {
+            var endpoint = endpoints.get(i);
+            long initialDelay = intervalMs * i / endpoints.size();
+            scheduled.add(executor.scheduleAtFixedRate(() -> probe(endpoint), initialDelay, intervalMs, MILLISECONDS));
+        }
+    }
+
+    /**
+     * Sends a Status-Server probe to an endpoint now and updates its health with the result.
+     * Skipped if a probe to the endpoint is already outstanding.
+     *
+     * @param endpoint endpoint to probe
+     * @return deferred response to the probe
+     */
+    @NonNull
+    public Future<RadiusResponse> probe(@NonNull RadiusEndpoint endpoint) {
+        var address = endpoint.address();
+        if (!probing.add(address))
+            return ImmediateEventExecutor.INSTANCE.newFailedFuture(new IllegalStateException("Probe already outstanding: " + address));
+
+        long start = System.nanoTime();
+        Future<RadiusResponse> response;
+        try {
+            var request = RadiusRequest.create(dictionary, STATUS_SERVER, (byte) nextId.getAndIncrement(), null, List.of());
+            response = prober.send(request, endpoint);
+        } catch (RadiusPacketException | RuntimeException e) {
+            probing.remove(address);
+            return ImmediateEventExecutor.INSTANCE.newFailedFuture(e);
+        }
+
+        response.addListener(f -> {
+            probing.remove(address);
+            if (f.isSuccess())
+                onAlive(address, NANOSECONDS.toMillis(System.nanoTime() - start));
+            else
+                onDown(address, f.cause());
+        });
+        return response;
+    }
+
+    private void onAlive(@NonNull InetSocketAddress address, long latencyMs) {
+        var previous = health.get(address);
+        health.compute(address, (k, v) -> v == null
+                ? new EndpointHealth(true, latencyMs, 0)
+                : new EndpointHealth(true, (1 - ALPHA) * v.latencyEwmaMs() + ALPHA * latencyMs, 0));
+        if (previous != null && !previous.alive())
+            log.info("Endpoint {} is up, Status-Server probe succeeded", address);
+        if (blacklistManager != null)
+            blacklistManager.markHealthy(address);
+    }
+
+    private void onDown(@NonNull InetSocketAddress address, @NonNull Throwable cause) {
+        var updated = health.compute(address, (k, v) -> v == null
+                ? new EndpointHealth(false, 0, 1)
+                : new EndpointHealth(false, v.latencyEwmaMs(), v.consecutiveFailures() + 1));
+        if (updated.consecutiveFailures() == 1)
+            log.warn("Endpoint {} is down, Status-Server probe failed: {}", address, cause.getMessage());
+        if (blacklistManager != null)
+            blacklistManager.logFailure(address, cause);
+    }
+
+    /**
+     * Returns the health of an endpoint.
+     *
+     * @param endpoint endpoint to check
+     * @return health from latest probe, or null if not probed yet
+     */
+    @Nullable
+    public EndpointHealth getHealth(@NonNull RadiusEndpoint endpoint) {
+        return health.get(endpoint.address());
+    }
+
+    /**
+     * Returns whether an endpoint is alive. Endpoints not probed yet are assumed alive.
+     *
+     * @param endpoint endpoint to check
+     * @return false if the latest probe failed
+     */
+    public boolean isAlive(@NonNull RadiusEndpoint endpoint) {
+        var endpointHealth = getHealth(endpoint);
+        return endpointHealth == null || endpointHealth.alive();
+    }
+
+    /**
+     * Returns an EndpointSelector that moves endpoints that are down to the end
+     * of the order chosen by another selector.
+     *
+     * @param delegate selector that determines order of endpoints
+     * @return health aware selector
+     */
+    @NonNull
+    public EndpointSelector healthAware(@NonNull EndpointSelector delegate) {
+        return new EndpointSelector() {
+            @Override
+            public @NonNull List<RadiusEndpoint> select(@NonNull RadiusRequest request, @NonNull List<RadiusEndpoint> endpoints) {
+                var ordered = new ArrayList<>(delegate.select(request, endpoints));
+                ordered.sort(Comparator.comparing(e -> !isAlive(e))); // stable, keeps delegate order
+                return ordered;
+            }
+
+            @Override
+            public void onSend(@NonNull RadiusEndpoint endpoint, @NonNull Future<RadiusResponse> response) {
+                delegate.onSend(endpoint, response);
+            }
+        };
+    }
+
+    /**
+     * Returns an EndpointSelector that orders endpoints that are up by average probe latency,
+     * followed by endpoints not probed yet, then endpoints that are down.
+     *
+     * @return lowest latency selector
+     */
+    @NonNull
+    public EndpointSelector lowestLatency() {
+        return (request, endpoints) -> {
+            var ordered = new ArrayList<>(endpoints);
+            ordered.sort(Comparator.comparingDouble(this::rank));
+            return ordered;
+        };
+    }
+
+    private double rank(@NonNull RadiusEndpoint endpoint) {
+        var endpointHealth = getHealth(endpoint);
+        if (endpointHealth == null)
+            return Double.MAX_VALUE;
+        return endpointHealth.alive() ? endpointHealth.latencyEwmaMs() : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Stops probing endpoints.
+     */
+    @Override
+    public synchronized void close() {
+        scheduled.forEach(f -> f.cancel(false));
+        scheduled.clear();
+    }
+
+    /**
+     * Health of an endpoint from Status-Server probes.
+     *
+     * @param alive               whether the latest probe received a response
+     * @param latencyEwmaMs       exponentially weighted moving average of probe latency, in milliseconds
+     * @param consecutiveFailures number of probes failed since the last response
+     */
+    public record EndpointHealth(boolean alive, double latencyEwmaMs, int consecutiveFailures) {
+    }
+
+    private interface Prober {
+        Future<RadiusResponse> send(RadiusRequest request, RadiusEndpoint endpoint);
+    }
+}
@@ -3,13 +3,20 @@ package org.tinyradius.io.client.handler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
+import io.netty.util.concurrent.Promise;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jspecify.annotations.NonNull;
+import org.tinyradius.core.packet.response.RadiusResponse;
 import org.tinyradius.io.client.PendingRequestCtx;
 
 import java.io.IOException;
 import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.tinyradius.core.packet.PacketType.STATUS_SERVER;
 
 /**
  * ChannelOutboundHandler that adds support for blacklists after multiple failures.
@@ -17,11 +24,19 @@ import java.time.Clock;
  * Can be placed at any point where PendingRequestCtx is available, as it hooks onto the promise
  * outcomes to catch all failure scenarios (e.g. timeouts). However, the earlier it's hooked, the
  * sooner it can fail fast the request if the endpoint is blacklisted.
+ * <p>
+ * Each request is checked with {@link BlacklistManager#tryAcquire} once, when it is first sent.
+ * Retransmissions of a request that was let through are not checked again, but are counted, and the
+ * outcome is recorded once the request completes with the number of times it was written, see
+ * {@link BlacklistManager#logFailure(java.net.SocketAddress, Throwable, int)}. Status-Server requests
+ * are health checks, so they are always sent and their outcomes are not recorded, see
+ * {@link org.tinyradius.io.client.StatusServerMonitor}.
  */
 public class BlacklistHandler extends ChannelOutboundHandlerAdapter {
 
     private static final Logger log = LogManager.getLogger(BlacklistHandler.class);
     private final BlacklistManager blacklistManager;
+    private final Map<Promise<RadiusResponse>, AtomicInteger> pending = new ConcurrentHashMap<>();
 
     /**
      * Constructs a {@code BlacklistHandler} with the specified {@link BlacklistManager}.
@@ -58,23 +73,33 @@ public class BlacklistHandler extends ChannelOutboundHandlerAdapter {
      */
     @Override
     public void write(@NonNull ChannelHandlerContext ctx, @NonNull Object msg, @NonNull ChannelPromise promise) {
-        if (msg instanceof PendingRequestCtx request) {
+        if (msg instanceof PendingRequestCtx request && request.getRequest().getType() != STATUS_SERVER) {
             var address = request.getEndpoint().address();
+            var response = request.getResponse();
 
-            if (blacklistManager.isBlacklisted(address)) {
-                log.debug("Endpoint blacklisted: {}", address);
-                request.getRequest().toByteBuf().release();
-                request.getResponse().tryFailure(new IOException("Client send failed - endpoint blacklisted: " + address));
-                return;
-            }
-
-            request.getResponse().addListener(f -> {
-                if (f.isSuccess()) {
-                    blacklistManager.reset(address);
-                } else {
-                    blacklistManager.logFailure(address, f.cause());
+            // retransmissions have already been checked
+            var attempts = pending.get(response);
+            if (attempts != null) {
+                attempts.incrementAndGet();
+            } else {
+                if (!blacklistManager.tryAcquire(address)) {
+                    log.debug("Endpoint blacklisted: {}", address);
+                    request.getRequest().toByteBuf().release();
+                    response.tryFailure(new IOException("Client send failed - endpoint blacklisted: " + address));
+                    return;
                 }
-            });
+
+                var written = new AtomicInteger(1);
+                pending.put(response, written);
+                response.addListener(f -> {
+                    pending.remove(response);
+                    if (f.isSuccess()) {
+                        blacklistManager.reset(address);
+                    } else {
+                        blacklistManager.logFailure(address, f.cause(), written.get());
+                    }
+                });
+            }
         }
 
         ctx.write(msg, promise);
@@ -13,9 +13,52 @@ import java.net.SocketAddress;
  */
 public interface BlacklistManager {
 
+    /**
+     * Returns whether requests to the endpoint should currently be avoided.
+     * Doesn't change any state, so can be called for ordering or monitoring.
+     *
+     * @param address endpoint address
+     * @return true if endpoint is blacklisted
+     */
     boolean isBlacklisted(@NonNull SocketAddress address);
 
+    /**
+     * Checks whether a new request may be sent to the endpoint, called once per request
+     * before it is first sent. Implementations that only allow a limited number of
+     * requests while an endpoint recovers take one of those permits.
+     *
+     * @param address endpoint address
+     * @return true if the request may be sent
+     */
+    default boolean tryAcquire(@NonNull SocketAddress address) {
+        return !isBlacklisted(address);
+    }
+
     void logFailure(@NonNull SocketAddress address, @NonNull Throwable cause);
 
+    /**
+     * Records a failed request that was written to the endpoint {@code attempts} times,
+     * including retransmissions. Defaults to a single {@link #logFailure(SocketAddress, Throwable)},
+     * so each request counts once however many times it was retransmitted.
+     *
+     * @param address  endpoint address
+     * @param cause    cause of the failure
+     * @param attempts number of times the request was written, at least 1
+     */
+    default void logFailure(@NonNull SocketAddress address, @NonNull Throwable cause, int attempts) {
+        logFailure(address, cause);
+    }
+
     void reset(@NonNull SocketAddress address);
+
+    /**
+     * Records a health signal for the endpoint, e.g. a response to a Status-Server probe,
+     * that is separate from the outcome of requests. Lets a blacklisted endpoint receive
+     * requests again. Defaults to {@link #reset(SocketAddress)}.
+     *
+     * @param address endpoint address
+     */
+    default void markHealthy(@NonNull SocketAddress address) {
+        reset(address);
+    }
 }
@@ -0,0 +1,339 @@
+package org.tinyradius.io.client.handler;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jspecify.annotations.NonNull;
+
+import java.net.SocketAddress;
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@link BlacklistManager} that blacklists endpoints using a circuit breaker per endpoint.
+ * <ul>
+ *   <li><b>Closed</b>: requests are sent, and outcomes recorded in a sliding time window.
+ *   When the failure rate in the window reaches the threshold, the circuit opens.</li>
+ *   <li><b>Open</b>: endpoint is blacklisted for a fixed period, then the circuit goes half open.</li>
+ *   <li><b>Half open</b>: a limited number of probe requests are sent. If they all succeed
+ *   the circuit closes, if any fails it opens again.</li>
+ * </ul>
+ * Unlike {@link DefaultBlacklistManager}, old failures expire with the window, and traffic
+ * only returns in full once probes succeed.
+ * <p>
+ * As with DefaultBlacklistManager, only timeouts count as failures. A success is recorded
+ * when {@link #reset(SocketAddress)} is called, which {@link BlacklistHandler} does for every response.
+ * Unlike DefaultBlacklistManager, a retransmitted request counts once, so the failure rate is per request.
+ * <p>
+ * State of each endpoint is held in an immutable object swapped by compare-and-set, so checking
+ * a closed circuit on the send path is a map lookup and a single volatile read, without locking
+ * or reading the clock. Only {@link #tryAcquire(SocketAddress)} takes probe permits, so
+ * {@link #isBlacklisted(SocketAddress)} can be used to order endpoints without using them up.
+ */
+public class CircuitBreakerBlacklistManager implements BlacklistManager {
+
+    private static final Logger log = LogManager.getLogger(CircuitBreakerBlacklistManager.class);
+
+    private static final int BUCKETS = 10;
+
+    private final long bucketMs;
+    private final int minRequests;
+    private final double failureRateThreshold;
+    private final long openMs;
+    private final int halfOpenProbes;
+    private final Clock clock;
+
+    private final Map<SocketAddress, Breaker> breakers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new CircuitBreakerBlacklistManager.
+     *
+     * @param windowMs             length of the sliding window failure rate is calculated over, in milliseconds
+     * @param minRequests          min requests in the window before the circuit can open
+     * @param failureRateThreshold fraction of failed requests in the window that opens the circuit, greater than 0 and at most 1
+     * @param openMs               time the circuit stays open before probing, in milliseconds
+     * @param halfOpenProbes       number of probe requests that must succeed to close the circuit
+     * @param clock                clock for timestamp operations
+     */
+    public CircuitBreakerBlacklistManager(long windowMs, int minRequests, double failureRateThreshold,
+                                          long openMs, int halfOpenProbes, @NonNull Clock clock) {
+        if (windowMs < BUCKETS)
+            throw new IllegalArgumentException("Window must be at least " + BUCKETS + "ms: " + windowMs);
+        if (minRequests < 1)
+            throw new IllegalArgumentException("Min requests must be at least 1: " + minRequests);
+        if (failureRateThreshold <= 0 || failureRateThreshold > 1)
+            throw new IllegalArgumentException("Failure rate threshold must be greater than 0 and at most 1: " + failureRateThreshold);
+        if (openMs < 1)
+            throw new IllegalArgumentException("Open period must be at least 1ms: " + openMs);
+        if (halfOpenProbes < 1)
+            throw new IllegalArgumentException("Half open probes must be at least 1: " + halfOpenProbes);
+        this.bucketMs = windowMs / BUCKETS;
+        this.minRequests = minRequests;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openMs = openMs;
+        this.halfOpenProbes = halfOpenProbes;
+        this.clock = clock;
+    }
+
+    /**
+     * Creates a new CircuitBreakerBlacklistManager using UTC clock.
+     *
+     * @param windowMs             length of the sliding window failure rate is calculated over, in milliseconds
+     * @param minRequests          min requests in the window before the circuit can open
+     * @param failureRateThreshold fraction of failed requests in the window that opens the circuit, greater than 0 and at most 1
+     * @param openMs               time the circuit stays open before probing, in milliseconds
+     * @param halfOpenProbes       number of probe requests that must succeed to close the circuit
+     */
+    public CircuitBreakerBlacklistManager(long windowMs, int minRequests, double failureRateThreshold, long openMs, int halfOpenProbes) {
+        this(windowMs, minRequests, failureRateThreshold, openMs, halfOpenProbes, Clock.systemUTC());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * False once the open period has elapsed, or while a half open circuit has probe permits left.
+     */
+    @Override
+    public boolean isBlacklisted(@NonNull SocketAddress address) {
+        var breaker = breakers.get(address);
+        if (breaker == null)
+            return false;
+
+        var circuit = breaker.circuit.get();
+        return switch (circuit.state) {
+            case CLOSED -> false;
+            case OPEN -> clock.millis() < circuit.sinceMs + openMs;
+            case HALF_OPEN -> circuit.permits.get() <= 0 && clock.millis() < circuit.sinceMs + openMs;
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * When the open period has elapsed or the circuit is half open, each call that returns true
+     * takes one of the probe permits.
+     */
+    @Override
+    public boolean tryAcquire(@NonNull SocketAddress address) {
+        var breaker = breakers.get(address);
+        if (breaker == null)
+            return true;
+
+        var circuit = breaker.circuit.get();
+        if (circuit.state == State.CLOSED)
+            return true;
+
+        return tryPass(address, breaker, circuit);
+    }
+
+    private boolean tryPass(@NonNull SocketAddress address, @NonNull Breaker breaker, @NonNull Circuit circuit) {
+        if (circuit.state == State.OPEN) {
+            long now = clock.millis();
+            if (now < circuit.sinceMs + openMs)
+                return false;
+
+            var halfOpen = Circuit.halfOpen(now, halfOpenProbes);
+            if (breaker.circuit.compareAndSet(circuit, halfOpen))
+                log.info("Endpoint {} circuit half open, sending {} probes", address, halfOpenProbes);
+            circuit = breaker.circuit.get();
+            if (circuit.state != State.HALF_OPEN)
+                return circuit.state == State.CLOSED;
+        }
+
+        if (circuit.permits.getAndDecrement() > 0)
+            return true;
+
+        // probes sent but none resolved, e.g. cancelled, so allow new probes
+        long now = clock.millis();
+        if (now >= circuit.sinceMs + openMs && breaker.circuit.compareAndSet(circuit, Circuit.halfOpen(now, halfOpenProbes - 1)))
+            return true;
+
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void logFailure(@NonNull SocketAddress address, @NonNull Throwable cause) {
+        if (!(cause instanceof TimeoutException))
+            return;
+
+        var breaker = breakers.computeIfAbsent(address, k -> new Breaker());
+        var circuit = breaker.circuit.get();
+        long now = clock.millis();
+
+        switch (circuit.state) {
+            case CLOSED -> {
+                var window = circuit.window;
+                window.record(true, now, bucketMs);
+                long failures = window.failures(now, bucketMs);
+                long total = failures + window.successes(now, bucketMs);
+                if (total >= minRequests && failures >= failureRateThreshold * total
+                        && breaker.circuit.compareAndSet(circuit, Circuit.open(now)))
+                    log.info("Endpoint {} circuit opened, {} failures in {} requests", address, failures, total);
+            }
+            case HALF_OPEN -> {
+                if (breaker.circuit.compareAndSet(circuit, Circuit.open(now)))
+                    log.info("Endpoint {} circuit opened, probe failed", address);
+            }
+            case OPEN -> {
+                // late responses don't extend open period
+            }
+        }
+    }
+
+    /**
+     * Records a successful response.
+     * <p>
+     * Closes the circuit when all probes of a half open circuit succeed.
+     *
+     * @param address endpoint address
+     */
+    @Override
+    public void reset(@NonNull SocketAddress address) {
+        var breaker = breakers.computeIfAbsent(address, k -> new Breaker());
+        var circuit = breaker.circuit.get();
+        switch (circuit.state) {
+            case CLOSED -> circuit.window.record(false, clock.millis(), bucketMs);
+            case HALF_OPEN -> {
+                if (circuit.successes.incrementAndGet() >= halfOpenProbes
+                        && breaker.circuit.compareAndSet(circuit, Circuit.closed()))
+                    log.info("Endpoint {} circuit closed, probes succeeded", address);
+            }
+            case OPEN -> {
+                // late responses don't close the circuit without probing
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Moves an open circuit to half open without waiting for the open period to elapse,
+     * so probe requests are sent straight away. Other states are unchanged, as health
+     * checks don't count towards the failure rate of requests.
+     */
+    @Override
+    public void markHealthy(@NonNull SocketAddress address) {
+        var breaker = breakers.get(address);
+        if (breaker == null)
+            return;
+
+        var circuit = breaker.circuit.get();
+        if (circuit.state == State.OPEN
+                && breaker.circuit.compareAndSet(circuit, Circuit.halfOpen(clock.millis(), halfOpenProbes)))
+            log.info("Endpoint {} circuit half open after health check, sending {} probes", address, halfOpenProbes);
+    }
+
+    /**
+     * Returns the circuit state of an endpoint.
+     *
+     * @param address endpoint address
+     * @return circuit state
+     */
+    @NonNull
+    public State getState(@NonNull SocketAddress address) {
+        var breaker = breakers.get(address);
+        return breaker == null ? State.CLOSED : breaker.circuit.get().state;
+    }
+
+    /**
+     * Circuit breaker states.
+     */
+    public enum State {
+        /**
+         * Requests are sent.
+         */
+        CLOSED,
+        /**
+         * Endpoint is blacklisted.
+         */
+        OPEN,
+        /**
+         * Limited probe requests are sent.
+         */
+        HALF_OPEN
+    }
+
+    private static class Breaker {
+        private final AtomicReference<Circuit> circuit = new AtomicReference<>(Circuit.closed());
+    }
+
+    /**
+     * Immutable state of a circuit, replaced on every transition.
+     * Window is only set when closed, probe counters only when half open.
+     */
+    private static class Circuit {
+
+        private final State state;
+        private final long sinceMs;
+        private final Window window;
+        private final AtomicInteger permits;
+        private final AtomicInteger successes;
+
+        private Circuit(State state, long sinceMs, Window window, AtomicInteger permits, AtomicInteger successes) {
+            this.state = state;
+            this.sinceMs = sinceMs;
+            this.window = window;
+            this.permits = permits;
+            this.successes = successes;
+        }
+
+        private static Circuit closed() {
+            return new Circuit(State.CLOSED, 0, new Window(), null, null);
+        }
+
+        private static Circuit open(long now) {
+            return new Circuit(State.OPEN, now, null, null, null);
+        }
+
+        private static Circuit halfOpen(long now, int probes) {
+            return new Circuit(State.HALF_OPEN, now, null, new AtomicInteger(probes), new AtomicInteger());
+        }
+    }
+
+    /**
+     * Success and failure counts in time buckets, buckets are reused once older than the window.
+     * Counts may be slightly off when a bucket is reused concurrently, which is fine for rates.
+     */
+    private static class Window {
+
+        private final AtomicLongArray epochs = new AtomicLongArray(BUCKETS);
+        private final AtomicLongArray successes = new AtomicLongArray(BUCKETS);
+        private final AtomicLongArray failures = new AtomicLongArray(BUCKETS);
+
+        private void record(boolean failure, long now, long bucketMs) {
+            long epoch = now / bucketMs + 1; // 0 marks unused bucket
+            int i = (int) (epoch % BUCKETS);
+            long seen = epochs.get(i);
+            if (seen != epoch && epochs.compareAndSet(i, seen, epoch)) {
+                successes.set(i, 0);
+                failures.set(i, 0);
+            }
+            (failure ? failures : successes).incrementAndGet(i);
+        }
+
+        private long successes(long now, long bucketMs) {
+            return sum(successes, now, bucketMs);
+        }
+
+        private long failures(long now, long bucketMs) {
+            return sum(failures, now, bucketMs);
+        }
+
+        private long sum(AtomicLongArray counts, long now, long bucketMs) {
+            long epoch = now / bucketMs + 1;
+            long sum = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                if (epoch - epochs.get(i) < BUCKETS)
+                    sum += counts.get(i);
+            }
+            return sum;
+        }
+    }
+}
@@ -20,20 +20,38 @@ import static org.tinyradius.core.packet.response.RadiusResponse.fromDatagram;
  * Datagram codec for sending requests and receiving responses.
  * <p>
  * Only manages datagram conversion, does not call encodeRequest() / decodeResponse().
+ * <p>
+ * Requests are not released, as they may be resent. In pooled mode, requests are written to,
+ * and responses read into, buffers from the channel allocator. Responses must then be released
+ * by whichever handler or listener consumes them last.
  */
 @ChannelHandler.Sharable
 public class ClientDatagramCodec extends MessageToMessageCodec<DatagramPacket, PendingRequestCtx> {
 
     private static final Logger log = LogManager.getLogger(ClientDatagramCodec.class);
     private final Dictionary dictionary;
+    private final boolean pooled;
 
     /**
      * Constructs a {@code ClientDatagramCodec} with the specified {@link Dictionary}.
+     * <p>
+     * Responses are copied to unpooled heap buffers and don't need to be released.
      *
      * @param dictionary the dictionary to use for packet decoding
      */
     public ClientDatagramCodec(Dictionary dictionary) {
+        this(dictionary, false);
+    }
+
+    /**
+     * Constructs a {@code ClientDatagramCodec} with the specified {@link Dictionary}.
+     *
+     * @param dictionary the dictionary to use for packet decoding
+     * @param pooled     whether to read responses into reference counted buffers from the channel allocator
+     */
+    public ClientDatagramCodec(Dictionary dictionary, boolean pooled) {
         this.dictionary = dictionary;
+        this.pooled = pooled;
     }
 
     /**
@@ -43,8 +61,9 @@ public class ClientDatagramCodec extends MessageToMessageCodec<DatagramPacket, P
     protected void encode(@NonNull ChannelHandlerContext ctx, @NonNull PendingRequestCtx msg, @NonNull List<Object> out) {
         log.debug("Sending packet to {} - {}", msg.getEndpoint().address(), msg.getRequest());
 
+        var request = msg.getRequest();
         var datagramPacket = new DatagramPacket(
-                msg.getRequest().toByteBuf(),
+                pooled ? request.toByteBuf(ctx.alloc()) : request.toByteBuf(),
                 msg.getEndpoint().address(),
                 (InetSocketAddress) ctx.channel().localAddress());
 
@@ -64,7 +83,7 @@ public class ClientDatagramCodec extends MessageToMessageCodec<DatagramPacket, P
         }
 
         try {
-            var response = fromDatagram(dictionary, msg);
+            var response = pooled ? fromDatagram(dictionary, msg, ctx.alloc()) : fromDatagram(dictionary, msg);
             log.debug("Received packet from {} - {}", remoteAddress, response);
 
             out.add(response);
@@ -18,6 +18,9 @@ import java.util.concurrent.atomic.AtomicInteger;
  * a configurable failure threshold. Endpoints are automatically removed
  * from the blacklist after a configurable TTL expires.
  * <p>
+ * Every attempt of a timed out request counts as a failure, so a request that timed out
+ * after retransmissions counts once per attempt towards the threshold.
+ * <p>
  * This implementation uses an in-memory ConcurrentHashMap to store
  * failure counts and timestamps. For production deployments with
  * multiple client instances, consider using a shared store (e.g., Redis).
@@ -71,8 +74,16 @@ public class DefaultBlacklistManager implements BlacklistManager {
      */
     @Override
     public void logFailure(@NonNull SocketAddress address, @NonNull Throwable cause) {
+        logFailure(address, cause, 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void logFailure(@NonNull SocketAddress address, @NonNull Throwable cause, int attempts) {
         if (cause instanceof TimeoutException) {
-            int failCount = failCounts.computeIfAbsent(address, k -> new AtomicInteger()).incrementAndGet();
+            int failCount = failCounts.computeIfAbsent(address, k -> new AtomicInteger()).addAndGet(attempts);
 
             if (failCount >= failCountThreshold && blacklist.get(address) == null) {
 
@@ -0,0 +1,196 @@
+package org.tinyradius.io.client.handler;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.handler.codec.MessageToMessageCodec;
+import io.netty.util.concurrent.Promise;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jspecify.annotations.NonNull;
+import org.tinyradius.core.RadiusPacketException;
+import org.tinyradius.core.dictionary.Dictionary;
+import org.tinyradius.core.packet.request.RadiusRequest;
+import org.tinyradius.core.packet.response.RadiusResponse;
+import org.tinyradius.io.client.PacketIdExhaustedException;
+import org.tinyradius.io.client.PendingRequestCtx;
+
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.tinyradius.core.packet.RadiusPacket.HEADER_LENGTH;
+import static org.tinyradius.core.packet.response.RadiusResponse.fromDatagram;
+
+/**
+ * Client codec that matches responses to requests by packet identifier, without
+ * modifying packets. Replaces both {@link ClientDatagramCodec} and {@link PromiseAdapter}.
+ * <p>
+ * Each request is assigned a free ID from a {@link PacketIdAllocator} for its endpoint,
+ * overwriting the ID set on the request, and the ID is released when the response
+ * promise completes, whether by response, timeout or cancellation. As a codec instance
+ * belongs to a single channel, responses are matched on (socket, endpoint, ID), with
+ * the response authenticator guarding against late responses to a reused ID.
+ * <p>
+ * Retransmissions of a pending request resend the same encoded packet, with the same ID
+ * and authenticator, so servers can detect duplicates. If all 256 IDs for an endpoint are in
+ * use, the request fails with {@link PacketIdExhaustedException} without being sent.
+ * <p>
+ * Not sharable, a new instance must be created for each channel. In pooled mode, requests
+ * are written to, and responses read into, buffers from the channel allocator, and responses
+ * that complete a promise must be released by listeners consuming them.
+ */
+public class IdMatchingCodec extends MessageToMessageCodec<DatagramPacket, PendingRequestCtx> {
+
+    private static final Logger log = LogManager.getLogger(IdMatchingCodec.class);
+
+    private final Dictionary dictionary;
+    private final boolean pooled;
+
+    private final Map<InetSocketAddress, Upstream> upstreams = new HashMap<>();
+    private final Map<Promise<RadiusResponse>, Request> requests = new HashMap<>();
+
+    /**
+     * Constructs an {@code IdMatchingCodec} with unpooled responses.
+     *
+     * @param dictionary the dictionary to use for packet decoding
+     */
+    public IdMatchingCodec(@NonNull Dictionary dictionary) {
+        this(dictionary, false);
+    }
+
+    /**
+     * Constructs an {@code IdMatchingCodec}.
+     *
+     * @param dictionary the dictionary to use for packet decoding
+     * @param pooled     whether to use reference counted buffers from the channel allocator
+     */
+    public IdMatchingCodec(@NonNull Dictionary dictionary, boolean pooled) {
+        this.dictionary = dictionary;
+        this.pooled = pooled;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void encode(@NonNull ChannelHandlerContext ctx, @NonNull PendingRequestCtx msg, @NonNull List<Object> out) {
+        var address = msg.getEndpoint().address();
+        var request = requests.get(msg.getResponse());
+
+        if (request == null) {
+            var upstream = upstreams.computeIfAbsent(address, a -> new Upstream());
+            int id = upstream.ids.allocate();
+            if (id == -1) {
+                log.warn("Could not send packet - no free packet identifiers for {}", address);
+                msg.getResponse().tryFailure(new PacketIdExhaustedException(address));
+                return;
+            }
+
+            try {
+                var packet = msg.getRequest();
+                var encodedRequest = RadiusRequest.create(packet.getDictionary(), packet.getType(), (byte) id, packet.getAuthenticator(), packet.getAttributes())
+                        .encodeRequest(msg.getEndpoint().secret());
+                request = new Request(encodedRequest, msg.getEndpoint().secret(), msg.getResponse());
+            } catch (RadiusPacketException e) {
+                upstream.ids.release(id);
+                log.warn("Could not encode packet", e);
+                msg.getResponse().tryFailure(e);
+                return;
+            }
+
+            upstream.requests[id] = request;
+            requests.put(msg.getResponse(), request);
+            log.debug("Adding id {} for {} to pending requests", id, address);
+
+            var pending = request;
+            msg.getResponse().addListener(f -> {
+                var executor = ctx.executor();
+                if (executor.inEventLoop())
+                    removeRequest(address, upstream, pending);
+                else
+                    executor.execute(() -> removeRequest(address, upstream, pending));
+            });
+        }
+
+        var packet = request.packet;
+        log.debug("Sending packet to {} - {}", address, packet);
+        out.add(new DatagramPacket(
+                pooled ? packet.toByteBuf(ctx.alloc()) : packet.toByteBuf(),
+                address,
+                (InetSocketAddress) ctx.channel().localAddress()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void decode(@NonNull ChannelHandlerContext ctx, @NonNull DatagramPacket msg, @NonNull List<Object> out) {
+        var sender = msg.sender();
+        if (sender == null) {
+            log.warn("Ignoring response, remoteAddress is null");
+            return;
+        }
+
+        var content = msg.content();
+        if (content.readableBytes() < HEADER_LENGTH) {
+            log.warn("Ignoring response from {} - too short: {} bytes", sender, content.readableBytes());
+            return;
+        }
+
+        // match before parsing, so unexpected datagrams are dropped cheaply
+        int id = content.getUnsignedByte(content.readerIndex() + 1);
+        var upstream = upstreams.get(sender);
+        var request = upstream == null ? null : upstream.requests[id];
+        if (request == null) {
+            log.warn("Ignoring response from {} - request context not found, id {}", sender, id);
+            return;
+        }
+
+        RadiusResponse response;
+        try {
+            response = pooled ? fromDatagram(dictionary, msg, ctx.alloc()) : fromDatagram(dictionary, msg);
+        } catch (RadiusPacketException e) {
+            log.warn("Could not deserialize packet: {}", e.getMessage());
+            return;
+        }
+
+        try {
+            var decoded = response.decodeResponse(request.secret, request.packet.getAuthenticator());
+            log.debug("Found request for response identifier {} from {}", id, sender);
+
+            if (!request.promise.trySuccess(decoded))
+                decoded.release();
+            // intentionally nothing to pass through - listeners should hook onto promise
+        } catch (RadiusPacketException e) {
+            response.release();
+            log.warn("Could not decode packet", e);
+        }
+    }
+
+    private void removeRequest(@NonNull InetSocketAddress address, @NonNull Upstream upstream, @NonNull Request request) {
+        int id = request.packet.getId() & 0xff;
+        requests.remove(request.promise);
+        upstream.requests[id] = null;
+        upstream.ids.release(id); // upstream kept, so IDs keep rotating rather than restart at 0
+        log.debug("Removing id {} for {} from pending requests", id, address);
+    }
+
+    /**
+     * Packet identifiers in use and pending requests for a single endpoint.
+     */
+    private static class Upstream {
+        private final PacketIdAllocator ids = new PacketIdAllocator();
+        private final Request[] requests = new Request[PacketIdAllocator.CAPACITY];
+    }
+
+    /**
+     * Internal record to store request context for matching responses.
+     *
+     * @param packet  The encoded request packet, resent as is on retransmission.
+     * @param secret  The RADIUS shared secret used for this request.
+     * @param promise The promise to be completed when a matching response is received.
+     */
+    private record Request(RadiusRequest packet, String secret, Promise<RadiusResponse> promise) {
+    }
+}
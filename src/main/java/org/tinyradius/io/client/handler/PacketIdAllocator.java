@@ -0,0 +1,96 @@
+package org.tinyradius.io.client.handler;
+
+/**
+ * Allocates RADIUS packet identifiers, backed by a 256-bit bitmap.
+ * <p>
+ * IDs are handed out in rotating order from the last allocated ID, so a released ID
+ * isn't reused until other free IDs have been used. This makes it less likely that a
+ * late response to a timed out request arrives after its ID has been reused.
+ * <p>
+ * Not thread safe, intended to be used from a single channel event loop.
+ */
+public final class PacketIdAllocator {
+
+    /**
+     * Number of distinct packet identifiers.
+     */
+    public static final int CAPACITY = 256;
+
+    private final long[] bitmap = new long[CAPACITY / Long.SIZE];
+    private int allocated;
+    private int next;
+
+    /**
+     * Allocates a free packet identifier.
+     *
+     * @return ID between 0 and 255, or -1 if all IDs are in use
+     */
+    public int allocate() {
+        if (allocated == CAPACITY)
+            return -1;
+
+        int word = next >>> 6;
+        long free = ~bitmap[word] & (-1L << next); // skip IDs before next in first word
+        for (int i = 0; free == 0 && i < bitmap.length; i++) {
+            word = (word + 1) % bitmap.length; // last iteration rechecks whole first word
+            free = ~bitmap[word];
+        }
+
+        int id = word << 6 | Long.numberOfTrailingZeros(free);
+        bitmap[word] |= 1L << id;
+        allocated++;
+        next = (id + 1) % CAPACITY;
+        return id;
+    }
+
+    /**
+     * Releases a packet identifier so it can be allocated again.
+     *
+     * @param id ID between 0 and 255
+     * @return true if ID was allocated, false if it was already free
+     * @throws IllegalArgumentException if ID is out of range
+     */
+    public boolean release(int id) {
+        checkId(id);
+        if (!isAllocated(id))
+            return false;
+        bitmap[id >>> 6] &= ~(1L << id);
+        allocated--;
+        return true;
+    }
+
+    /**
+     * Returns whether a packet identifier is in use.
+     *
+     * @param id ID between 0 and 255
+     * @return true if ID is allocated
+     * @throws IllegalArgumentException if ID is out of range
+     */
+    public boolean isAllocated(int id) {
+        checkId(id);
+        return (bitmap[id >>> 6] & 1L << id) != 0;
+    }
+
+    /**
+     * Returns the number of IDs in use.
+     *
+     * @return allocated count, between 0 and 256
+     */
+    public int allocated() {
+        return allocated;
+    }
+
+    /**
+     * Returns the number of free IDs.
+     *
+     * @return free count, between 0 and 256
+     */
+    public int available() {
+        return CAPACITY - allocated;
+    }
+
+    private static void checkId(int id) {
+        if (id < 0 || id >= CAPACITY)
+            throw new IllegalArgumentException("Packet identifier must be between 0 and 255, actual: " + id);
+    }
+}
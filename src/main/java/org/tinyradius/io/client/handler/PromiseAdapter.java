@@ -1,46 +1,74 @@
 package org.tinyradius.io.client.handler;
 
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToMessageCodec;
+import io.netty.util.collection.LongObjectHashMap;
 import io.netty.util.concurrent.Promise;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 import org.tinyradius.core.RadiusPacketException;
+import org.tinyradius.core.attribute.type.RadiusAttribute;
+import org.tinyradius.core.dictionary.Dictionary;
 import org.tinyradius.core.packet.response.RadiusResponse;
 import org.tinyradius.io.client.PendingRequestCtx;
 
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
-import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.tinyradius.core.attribute.AttributeTypes.PROXY_STATE;
 
 /**
  * ClientHandler that matches requests/response by appending Proxy-State attribute to
  * outbound packets. This avoids the problem with mismatched requests/responses when using
  * packet id, which is limited to 256 unique IDs.
+ * <p>
+ * The Proxy-State value is an 8-octet token: a 16-bit shard unique to this adapter, followed by
+ * a 48-bit sequence number. Pending requests are kept in a primitive long-keyed map that is only
+ * accessed from the channel event loop, so matching a response needs no locking or string handling.
+ * Adapters must therefore not be shared between channels.
+ * <p>
+ * Inbound responses are released after decoding. Responses that complete a promise are retained,
+ * so when responses are backed by pooled buffers, listeners consuming them must release them.
  */
 public class PromiseAdapter extends MessageToMessageCodec<RadiusResponse, PendingRequestCtx> {
 
     private static final Logger log = LogManager.getLogger(PromiseAdapter.class);
-    private final Map<String, Request> requests;
+
+    private static final int TOKEN_LENGTH = Long.BYTES;
+    private static final long SEQUENCE_MASK = (1L << 48) - 1;
+
+    // random start, so tokens of adapters in different processes are unlikely to collide
+    private static final AtomicInteger nextShard = new AtomicInteger(new SecureRandom().nextInt());
+
+    private final long shard = (long) nextShard.getAndIncrement() << 48;
+    private final LongObjectHashMap<Request> requests = new LongObjectHashMap<>();
+    private long sequence = ThreadLocalRandom.current().nextLong() & SEQUENCE_MASK;
 
     /**
      * Creates a new PromiseAdapter with a custom map supplier for pending requests.
      *
      * @param mapSupplier The supplier that provides the map for storing pending requests.
+     * @deprecated pending requests are now kept in an internal map keyed by Proxy-State token,
+     * and the supplied map is not used. Use {@link #PromiseAdapter()} instead.
      */
+    @Deprecated(since = "3.1.1")
     public PromiseAdapter(Supplier<Map<String, Request>> mapSupplier) {
-        this.requests = mapSupplier.get();
+        this();
     }
 
     /**
-     * Creates a new PromiseAdapter with a default map (ConcurrentHashMap) for pending requests.
+     * Creates a new PromiseAdapter.
      */
     public PromiseAdapter() {
-        this(ConcurrentHashMap::new);
     }
 
     /**
@@ -49,20 +77,23 @@ public class PromiseAdapter extends MessageToMessageCodec<RadiusResponse, Pendin
     @Override
     protected void encode(@NonNull ChannelHandlerContext ctx, @NonNull PendingRequestCtx msg, @NonNull List<Object> out) {
         var packet = msg.getRequest();
-        var requestId = UUID.randomUUID().toString();
+        long token = nextToken();
 
         try {
             var encodedRequest = packet
-                    .addAttribute(packet.getDictionary().createAttribute(-1, PROXY_STATE, requestId.getBytes(UTF_8)))
+                    .addAttribute(proxyState(packet.getDictionary(), token))
                     .encodeRequest(msg.getEndpoint().secret());
 
             msg.getResponse().addListener(f -> {
-                requests.remove(requestId);
-                log.debug("Removing {} from pending requests", requestId);
+                var executor = ctx.executor();
+                if (executor.inEventLoop())
+                    removeRequest(token);
+                else
+                    executor.execute(() -> removeRequest(token));
             });
 
-            requests.put(requestId, new Request(msg.getEndpoint().secret(), encodedRequest.getAuthenticator(), encodedRequest.getId(), msg.getResponse()));
-            log.debug("Adding {} to pending requests", requestId);
+            requests.put(token, new Request(msg.getEndpoint().secret(), encodedRequest.getAuthenticator(), encodedRequest.getId(), msg.getResponse()));
+            log.debug("Adding {} to pending requests", token);
 
             out.add(new PendingRequestCtx(encodedRequest, msg.getEndpoint(), msg.getResponse()));
         } catch (RadiusPacketException e) {
@@ -78,13 +109,18 @@ public class PromiseAdapter extends MessageToMessageCodec<RadiusResponse, Pendin
     protected void decode(@NonNull ChannelHandlerContext ctx, @NonNull RadiusResponse msg, @NonNull List<Object> out) {
 
         // retrieve my Proxy-State attribute (the last)
-        var proxyStates = msg.getAttributes(PROXY_STATE);
-        if (proxyStates.isEmpty()) {
+        var proxyState = lastProxyState(msg);
+        if (proxyState == null) {
             log.warn("Ignoring response - no Proxy-State attribute");
             return;
         }
 
-        var requestId = new String(proxyStates.get(proxyStates.size() - 1).getValue(), UTF_8);
+        if (proxyState.getValueLength() != TOKEN_LENGTH) {
+            log.warn("Ignoring response - Proxy-State is not a request token");
+            return;
+        }
+
+        long requestId = proxyState.getData().getLong(proxyState.getHeaderSize());
         var request = requests.get(requestId);
 
         if (request == null) {
@@ -100,11 +136,14 @@ public class PromiseAdapter extends MessageToMessageCodec<RadiusResponse, Pendin
 
         try {
             var response = msg.decodeResponse(request.secret, request.auth)
-                    .removeLastAttribute(PROXY_STATE);
+                    .removeTrailingAttribute(PROXY_STATE);
 
-            log.debug("Found request for response identifier {}, proxyState requestId '{}'",
+            log.debug("Found request for response identifier {}, proxyState requestId {}",
                     response.getId(), requestId);
-            request.promise.trySuccess(response);
+
+            // response shares msg buffer, which is released once decoded
+            if (!request.promise.trySuccess(response.retain()))
+                response.release();
 
             // intentionally nothing to pass through - listeners should hook onto promise
         } catch (RadiusPacketException e) {
@@ -112,8 +151,43 @@ public class PromiseAdapter extends MessageToMessageCodec<RadiusResponse, Pendin
         }
     }
 
+    private long nextToken() {
+        sequence = (sequence + 1) & SEQUENCE_MASK;
+        return shard | sequence;
+    }
+
+    private void removeRequest(long token) {
+        requests.remove(token);
+        log.debug("Removing {} from pending requests", token);
+    }
+
+    @NonNull
+    private static RadiusAttribute proxyState(@NonNull Dictionary dictionary, long token) {
+        int length = 2 + TOKEN_LENGTH;
+        var data = Unpooled.buffer(length, length)
+                .writeByte(PROXY_STATE)
+                .writeByte(length)
+                .writeLong(token);
+        return dictionary.createAttribute(-1, PROXY_STATE, data);
+    }
+
+    /**
+     * Our Proxy-State is appended last and servers copy Proxy-State in order,
+     * so search from the end rather than collecting all Proxy-State attributes.
+     */
+    @Nullable
+    private static RadiusAttribute lastProxyState(@NonNull RadiusResponse msg) {
+        var attributes = msg.getAttributes();
+        for (int i = attributes.size() - 1; i >= 0; i--) {
+            var attribute = attributes.get(i);
+            if (attribute.getType() == PROXY_STATE)
+                return attribute;
+        }
+        return null;
+    }
+
     /**
-     * Internal record to store request context for matching responses.
+     * Record to store request context for matching responses.
      *
      * @param secret  The RADIUS shared secret used for this request.
      * @param auth    The authenticator of the request packet.
@@ -6,6 +6,8 @@
  * <ul>
  *   <li><b>ClientDatagramCodec</b>: Decodes incoming RADIUS packets and encodes outgoing</li>
  *   <li><b>PromiseAdapter</b>: Converts async responses to blocking promises</li>
+ *   <li><b>IdMatchingCodec</b>: Matches responses by packet identifier instead of Proxy-State,
+ *   replacing both of the above</li>
  *   <li><b>BlacklistHandler</b>: Filters requests to blacklisted endpoints</li>
  * </ul>
  * <p>
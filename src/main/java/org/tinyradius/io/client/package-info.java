@@ -10,6 +10,14 @@
  *   maintain the asynchronous nature of the library.</li>
  *   <li><b>Retries</b>: Automatically handles retries based on configured timeouts.</li>
  *   <li><b>Blacklisting</b>: Support for blacklisting unresponsive endpoints.</li>
+ *   <li><b>Socket pooling</b>: {@code PooledRadiusClient} spreads requests over multiple
+ *   sockets and event loops.</li>
+ *   <li><b>Endpoint selection</b>: Requests to multiple endpoints can be spread using an
+ *   {@code EndpointSelector}, with failover to the remaining endpoints.</li>
+ *   <li><b>Health checks</b>: {@code StatusServerMonitor} probes endpoints with Status-Server
+ *   (RFC 5997) packets.</li>
+ *   <li><b>Batching</b>: {@code RadiusClient.communicateAll} writes a batch of requests and
+ *   flushes the socket once.</li>
  * </ul>
  */
 package org.tinyradius.io.client;
@@ -0,0 +1,72 @@
+package org.tinyradius.io.client.selector;
+
+import io.netty.util.concurrent.Future;
+import org.jspecify.annotations.NonNull;
+import org.tinyradius.core.packet.request.RadiusRequest;
+import org.tinyradius.core.packet.response.RadiusResponse;
+import org.tinyradius.io.RadiusEndpoint;
+import org.tinyradius.io.client.handler.BlacklistManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * EndpointSelector that moves blacklisted endpoints to the end of the order chosen by another selector,
+ * so requests go to healthy endpoints first. Blacklisted endpoints are kept as a last resort
+ * rather than removed.
+ * <p>
+ * Should use the same {@link BlacklistManager} as the client's
+ * {@link org.tinyradius.io.client.handler.BlacklistHandler}.
+ */
+public class BlacklistAwareSelector implements EndpointSelector {
+
+    private final EndpointSelector delegate;
+    private final BlacklistManager blacklistManager;
+
+    /**
+     * Creates a new BlacklistAwareSelector.
+     *
+     * @param delegate         selector that determines order of endpoints
+     * @param blacklistManager blacklist state of endpoints
+     */
+    public BlacklistAwareSelector(@NonNull EndpointSelector delegate, @NonNull BlacklistManager blacklistManager) {
+        this.delegate = delegate;
+        this.blacklistManager = blacklistManager;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public List<RadiusEndpoint> select(@NonNull RadiusRequest request, @NonNull List<RadiusEndpoint> endpoints) {
+        var selected = delegate.select(request, endpoints);
+
+        List<RadiusEndpoint> blacklisted = null;
+        for (var endpoint : selected) {
+            if (blacklistManager.isBlacklisted(endpoint.address())) {
+                if (blacklisted == null)
+                    blacklisted = new ArrayList<>(selected.size());
+                blacklisted.add(endpoint);
+            }
+        }
+        if (blacklisted == null || blacklisted.size() == selected.size())
+            return selected;
+
+        var ordered = new ArrayList<RadiusEndpoint>(selected.size());
+        for (var endpoint : selected) {
+            if (!blacklisted.contains(endpoint))
+                ordered.add(endpoint);
+        }
+        ordered.addAll(blacklisted);
+        return ordered;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onSend(@NonNull RadiusEndpoint endpoint, @NonNull Future<RadiusResponse> response) {
+        delegate.onSend(endpoint, response);
+    }
+}
@@ -0,0 +1,124 @@
+package org.tinyradius.io.client.selector;
+
+import org.jspecify.annotations.NonNull;
+import org.tinyradius.core.packet.request.RadiusRequest;
+import org.tinyradius.io.RadiusEndpoint;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * EndpointSelector that hashes an attribute of the request onto a ring of endpoints,
+ * so requests for the same session or user go to the same endpoint, e.g. using
+ * User-Name, Calling-Station-Id or Acct-Session-Id.
+ * <p>
+ * Each endpoint is placed on the ring multiple times to spread keys evenly. When endpoints are
+ * added or removed, only keys on the affected parts of the ring move. Failover follows the ring,
+ * so keys of an unavailable endpoint are spread across the others rather than all moving to one.
+ * <p>
+ * Requests without the attribute use endpoints in list order.
+ */
+public class ConsistentHashSelector implements EndpointSelector {
+
+    private final String attributeName;
+    private final int virtualNodes;
+
+    private volatile Ring ring = new Ring(List.of(), new TreeMap<>());
+
+    /**
+     * Creates a new ConsistentHashSelector with 100 virtual nodes per endpoint.
+     *
+     * @param attributeName name of attribute to hash, e.g. User-Name
+     */
+    public ConsistentHashSelector(@NonNull String attributeName) {
+        this(attributeName, 100);
+    }
+
+    /**
+     * Creates a new ConsistentHashSelector.
+     *
+     * @param attributeName name of attribute to hash, e.g. User-Name
+     * @param virtualNodes  number of points on the ring per endpoint
+     */
+    public ConsistentHashSelector(@NonNull String attributeName, int virtualNodes) {
+        if (virtualNodes < 1)
+            throw new IllegalArgumentException("Virtual nodes must be at least 1: " + virtualNodes);
+        this.attributeName = attributeName;
+        this.virtualNodes = virtualNodes;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public List<RadiusEndpoint> select(@NonNull RadiusRequest request, @NonNull List<RadiusEndpoint> endpoints) {
+        if (endpoints.size() < 2)
+            return endpoints;
+
+        var attribute = request.getAttribute(attributeName);
+        if (attribute.isEmpty())
+            return endpoints;
+
+        var nodes = getRing(endpoints).nodes;
+        long hash = hash(attribute.get().getValue());
+
+        var ordered = new LinkedHashSet<RadiusEndpoint>(endpoints.size());
+        collect(nodes.tailMap(hash, true), ordered, endpoints.size());
+        collect(nodes.headMap(hash, false), ordered, endpoints.size());
+        return new ArrayList<>(ordered);
+    }
+
+    private static void collect(Map<Long, RadiusEndpoint> nodes, LinkedHashSet<RadiusEndpoint> ordered, int size) {
+        for (var endpoint : nodes.values()) {
+            if (ordered.size() == size)
+                return;
+            ordered.add(endpoint);
+        }
+    }
+
+    /**
+     * Ring for the endpoints, rebuilt only when the endpoints change.
+     */
+    private Ring getRing(@NonNull List<RadiusEndpoint> endpoints) {
+        var current = ring;
+        if (current.endpoints.equals(endpoints))
+            return current;
+
+        NavigableMap<Long, RadiusEndpoint> nodes = new TreeMap<>();
+        for (var endpoint : endpoints) {
+            for (int i = 0; i < virtualNodes; i++) {
+                var key = endpoint.address().toString() + '#' + i;
+                nodes.putIfAbsent(hash(key.getBytes(StandardCharsets.UTF_8)), endpoint);
+            }
+        }
+        current = new Ring(List.copyOf(endpoints), nodes);
+        ring = current;
+        return current;
+    }
+
+    /**
+     * 64-bit FNV-1a with a final avalanche, so similar keys spread across the ring.
+     */
+    static long hash(byte[] bytes) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private record Ring(List<RadiusEndpoint> endpoints, NavigableMap<Long, RadiusEndpoint> nodes) {
+    }
+}
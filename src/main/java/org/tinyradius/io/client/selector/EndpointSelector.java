@@ -0,0 +1,44 @@
+package org.tinyradius.io.client.selector;
+
+import io.netty.util.concurrent.Future;
+import org.jspecify.annotations.NonNull;
+import org.tinyradius.core.packet.request.RadiusRequest;
+import org.tinyradius.core.packet.response.RadiusResponse;
+import org.tinyradius.io.RadiusEndpoint;
+
+import java.util.List;
+
+/**
+ * Chooses which endpoint a request is sent to when multiple endpoints are available.
+ * <p>
+ * Invoked once per request to order the endpoints. The request is sent to the first endpoint,
+ * and fails over to the following endpoints in order, so selectors should return all endpoints
+ * rather than filter them out.
+ */
+public interface EndpointSelector {
+
+    /**
+     * Selector that keeps endpoints in list order, i.e. primary/secondary failover.
+     */
+    EndpointSelector LIST_ORDER = (request, endpoints) -> endpoints;
+
+    /**
+     * Orders endpoints for a request.
+     *
+     * @param request   request to be sent
+     * @param endpoints endpoints available, in configured order
+     * @return endpoints in order they should be tried
+     */
+    @NonNull
+    List<RadiusEndpoint> select(@NonNull RadiusRequest request, @NonNull List<RadiusEndpoint> endpoints);
+
+    /**
+     * Invoked when the request is sent to an endpoint, including failovers, so selectors
+     * can track outcomes. Default implementation does nothing.
+     *
+     * @param endpoint endpoint the request is sent to
+     * @param response deferred response from the endpoint
+     */
+    default void onSend(@NonNull RadiusEndpoint endpoint, @NonNull Future<RadiusResponse> response) {
+    }
+}
@@ -0,0 +1,63 @@
+package org.tinyradius.io.client.selector;
+
+import io.netty.util.concurrent.Future;
+import org.jspecify.annotations.NonNull;
+import org.tinyradius.core.packet.request.RadiusRequest;
+import org.tinyradius.core.packet.response.RadiusResponse;
+import org.tinyradius.io.RadiusEndpoint;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * EndpointSelector that orders endpoints by the number of requests outstanding,
+ * so slow endpoints get fewer new requests. Ties are broken round-robin.
+ * <p>
+ * Only requests sent with this selector are counted, a selector instance should be shared
+ * for all requests to the same endpoints.
+ */
+public class LeastOutstandingSelector implements EndpointSelector {
+
+    private final Map<InetSocketAddress, AtomicInteger> outstanding = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public List<RadiusEndpoint> select(@NonNull RadiusRequest request, @NonNull List<RadiusEndpoint> endpoints) {
+        if (endpoints.size() < 2)
+            return endpoints;
+
+        var ordered = new ArrayList<>(RoundRobinSelector.rotate(endpoints, next.getAndIncrement()));
+        ordered.sort(Comparator.comparingInt(this::getOutstanding)); // stable, keeps rotation for ties
+        return ordered;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onSend(@NonNull RadiusEndpoint endpoint, @NonNull Future<RadiusResponse> response) {
+        var count = outstanding.computeIfAbsent(endpoint.address(), k -> new AtomicInteger());
+        count.incrementAndGet();
+        response.addListener(f -> count.decrementAndGet());
+    }
+
+    /**
+     * Returns the number of requests outstanding at an endpoint.
+     *
+     * @param endpoint endpoint to check
+     * @return outstanding request count
+     */
+    public int getOutstanding(@NonNull RadiusEndpoint endpoint) {
+        var count = outstanding.get(endpoint.address());
+        return count == null ? 0 : count.get();
+    }
+}
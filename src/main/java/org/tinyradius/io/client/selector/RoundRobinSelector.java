@@ -0,0 +1,41 @@
+package org.tinyradius.io.client.selector;
+
+import org.jspecify.annotations.NonNull;
+import org.tinyradius.core.packet.request.RadiusRequest;
+import org.tinyradius.io.RadiusEndpoint;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * EndpointSelector that starts each request at the next endpoint in turn,
+ * failing over to the following endpoints in list order.
+ */
+public class RoundRobinSelector implements EndpointSelector {
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public List<RadiusEndpoint> select(@NonNull RadiusRequest request, @NonNull List<RadiusEndpoint> endpoints) {
+        return rotate(endpoints, next.getAndIncrement());
+    }
+
+    static List<RadiusEndpoint> rotate(List<RadiusEndpoint> endpoints, int start) {
+        int size = endpoints.size();
+        if (size < 2)
+            return endpoints;
+        int offset = Math.floorMod(start, size);
+        if (offset == 0)
+            return endpoints;
+
+        var rotated = new RadiusEndpoint[size];
+        for (int i = 0; i < size; i++) {
+            rotated[i] = endpoints.get((offset + i) % size);
+        }
+        return List.of(rotated);
+    }
+}
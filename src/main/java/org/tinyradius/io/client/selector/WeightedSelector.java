@@ -0,0 +1,76 @@
+package org.tinyradius.io.client.selector;
+
+import org.jspecify.annotations.NonNull;
+import org.tinyradius.core.packet.request.RadiusRequest;
+import org.tinyradius.io.RadiusEndpoint;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * EndpointSelector that picks the first endpoint at random, in proportion to its weight,
+ * failing over to the other endpoints in list order.
+ * <p>
+ * Endpoints without a configured weight have weight 1. Endpoints with weight 0
+ * are only used for failover.
+ */
+public class WeightedSelector implements EndpointSelector {
+
+    private final Map<RadiusEndpoint, Integer> weights;
+
+    /**
+     * Creates a new WeightedSelector.
+     *
+     * @param weights relative weight of each endpoint, must not be negative
+     */
+    public WeightedSelector(@NonNull Map<RadiusEndpoint, Integer> weights) {
+        weights.forEach((endpoint, weight) -> {
+            if (weight < 0)
+                throw new IllegalArgumentException("Weight must not be negative: " + endpoint + " " + weight);
+        });
+        this.weights = Map.copyOf(weights);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public List<RadiusEndpoint> select(@NonNull RadiusRequest request, @NonNull List<RadiusEndpoint> endpoints) {
+        if (endpoints.size() < 2)
+            return endpoints;
+
+        long total = 0;
+        for (var endpoint : endpoints) {
+            total += getWeight(endpoint);
+        }
+        if (total == 0)
+            return endpoints;
+
+        long target = ThreadLocalRandom.current().nextLong(total);
+        int selected = 0;
+        for (int i = 0; i < endpoints.size(); i++) {
+            target -= getWeight(endpoints.get(i));
+            if (target < 0) {
+                selected = i;
+                break;
+            }
+        }
+        if (selected == 0)
+            return endpoints;
+
+        var ordered = new ArrayList<RadiusEndpoint>(endpoints.size());
+        ordered.add(endpoints.get(selected));
+        for (int i = 0; i < endpoints.size(); i++) {
+            if (i != selected)
+                ordered.add(endpoints.get(i));
+        }
+        return ordered;
+    }
+
+    private int getWeight(@NonNull RadiusEndpoint endpoint) {
+        return weights.getOrDefault(endpoint, 1);
+    }
+}
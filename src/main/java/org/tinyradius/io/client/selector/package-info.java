@@ -0,0 +1,9 @@
+/**
+ * {@link org.tinyradius.io.client.selector.EndpointSelector} chooses the order
+ * endpoints are tried in when a request can be sent to multiple endpoints.
+ * <p>
+ * Implementations for round-robin, weighted, least outstanding requests and consistent
+ * hashing on a request attribute are included, as well as a decorator that moves
+ * blacklisted endpoints to the end. Endpoints after the first are used for failover.
+ */
+package org.tinyradius.io.client.selector;
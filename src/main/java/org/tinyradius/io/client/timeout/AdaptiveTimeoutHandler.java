@@ -0,0 +1,182 @@
+package org.tinyradius.io.client.timeout;
+
+import io.netty.util.Timer;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.tinyradius.io.RadiusEndpoint;
+import org.tinyradius.io.client.ClientEventListener;
+import org.tinyradius.io.client.PendingRequestCtx;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.tinyradius.io.client.ClientEventListener.EventType.ATTEMPT_TIMEOUT;
+
+/**
+ * TimeoutHandler that derives the timeout for each endpoint from measured round trip times,
+ * up to a predefined max attempt count.
+ * <p>
+ * Keeps a smoothed RTT and RTT variance per endpoint address, updated Jacobson/Karels style
+ * (as in RFC 6298) from the time a request is sent to the time its response is received, measured
+ * with a monotonic ticker so wall clock adjustments don't skew samples.
+ * Only requests answered without retransmission are sampled, as a response to a retransmitted
+ * request can't be attributed to a specific attempt (Karn's algorithm).
+ * <p>
+ * The timeout for an attempt is {@code SRTT + 4 * RTTVAR}, or the initial timeout before the first sample,
+ * doubled for each retransmission, randomized by the jitter factor so retries to the same endpoint
+ * don't synchronize, then clamped between the min and max timeout.
+ */
+public class AdaptiveTimeoutHandler implements TimeoutHandler {
+
+    private static final double ALPHA = 1 / 8d;
+    private static final double BETA = 1 / 4d;
+    private static final int K = 4;
+
+    private final Timer timer;
+    private final int maxAttempts;
+    private final long initialTimeoutMs;
+    private final long minTimeoutMs;
+    private final long maxTimeoutMs;
+    private final double jitter;
+    private final LongSupplier ticker;
+
+    private final Map<InetSocketAddress, RttEstimate> estimates = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new AdaptiveTimeoutHandler with default values (1000ms initial timeout, 100ms min timeout,
+     * 16000ms max timeout, 0.1 jitter).
+     *
+     * @param timer       netty timer for timing out requests
+     * @param maxAttempts max number of attempts to try before returning failure
+     */
+    public AdaptiveTimeoutHandler(@NonNull Timer timer, int maxAttempts) {
+        this(timer, maxAttempts, 1000, 100, 16000, 0.1, System::nanoTime);
+    }
+
+    /**
+     * Creates a new AdaptiveTimeoutHandler.
+     *
+     * @param timer            netty timer for timing out requests
+     * @param maxAttempts      max number of attempts to try before returning failure
+     * @param initialTimeoutMs timeout for endpoints without RTT samples yet, in milliseconds
+     * @param minTimeoutMs     floor for the timeout of any attempt, in milliseconds
+     * @param maxTimeoutMs     ceiling for the timeout of any attempt, in milliseconds
+     * @param jitter           max fraction the timeout is randomly increased or decreased by, between 0 and 1
+     * @param ticker           monotonic time source in nanoseconds for measuring round trip times, e.g. System::nanoTime
+     */
+    public AdaptiveTimeoutHandler(@NonNull Timer timer, int maxAttempts, long initialTimeoutMs,
+                                  long minTimeoutMs, long maxTimeoutMs, double jitter, @NonNull LongSupplier ticker) {
+        if (maxAttempts < 1)
+            throw new IllegalArgumentException("Max attempts must be at least 1: " + maxAttempts);
+        if (minTimeoutMs < 1 || maxTimeoutMs < minTimeoutMs)
+            throw new IllegalArgumentException("Timeout bounds must satisfy 1 <= min <= max, actual: min "
+                    + minTimeoutMs + ", max " + maxTimeoutMs);
+        if (initialTimeoutMs < minTimeoutMs || initialTimeoutMs > maxTimeoutMs)
+            throw new IllegalArgumentException("Initial timeout must be between min and max timeout: " + initialTimeoutMs);
+        if (jitter < 0 || jitter >= 1)
+            throw new IllegalArgumentException("Jitter must be at least 0 and less than 1: " + jitter);
+        this.timer = timer;
+        this.maxAttempts = maxAttempts;
+        this.initialTimeoutMs = initialTimeoutMs;
+        this.minTimeoutMs = minTimeoutMs;
+        this.maxTimeoutMs = maxTimeoutMs;
+        this.jitter = jitter;
+        this.ticker = ticker;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void scheduleTimeout(@NonNull Runnable retry, int totalAttempts, @NonNull PendingRequestCtx ctx, @NonNull ClientEventListener eventListener) {
+        var address = ctx.getEndpoint().address();
+        var retransmitted = new AtomicBoolean();
+
+        if (totalAttempts == 1) {
+            long sentAt = ticker.getAsLong();
+            ctx.getResponse().addListener(f -> {
+                long elapsed = ticker.getAsLong() - sentAt;
+                if (f.isSuccess() && !retransmitted.get() && elapsed > 0)
+                    recordRtt(address, elapsed / 1e6);
+            });
+        }
+
+        timer.newTimeout(t -> {
+            if (ctx.getResponse().isDone())
+                return;
+
+            eventListener.onEvent(ATTEMPT_TIMEOUT, ctx);
+
+            if (totalAttempts >= maxAttempts) {
+                ctx.getResponse().tryFailure(new TimeoutException("Client send timeout - max attempts reached: " + maxAttempts));
+            } else {
+                retransmitted.set(true);
+                retry.run();
+            }
+        }, timeoutMs(address, totalAttempts), MILLISECONDS);
+    }
+
+    /**
+     * Returns the timeout for an attempt to an endpoint, including backoff and jitter.
+     *
+     * @param address       endpoint address
+     * @param totalAttempts attempt number, starting from 1
+     * @return timeout in milliseconds
+     */
+    long timeoutMs(@NonNull InetSocketAddress address, int totalAttempts) {
+        var estimate = estimates.get(address);
+        double rto = estimate == null ? initialTimeoutMs : estimate.rto();
+        double backoff = rto * (1L << Math.min(totalAttempts - 1, 30));
+        double jittered = backoff * (1 + jitter * ThreadLocalRandom.current().nextDouble(-1, 1));
+        return Math.min(maxTimeoutMs, Math.max(minTimeoutMs, Math.round(jittered)));
+    }
+
+    void recordRtt(@NonNull InetSocketAddress address, double rttMs) {
+        estimates.compute(address, (k, v) -> v == null ? RttEstimate.first(rttMs) : v.update(rttMs));
+    }
+
+    /**
+     * Returns the current RTT estimate for an endpoint.
+     *
+     * @param endpoint endpoint to check
+     * @return RTT estimate, or null if no responses have been sampled yet
+     */
+    @Nullable
+    public RttEstimate getRttEstimate(@NonNull RadiusEndpoint endpoint) {
+        return estimates.get(endpoint.address());
+    }
+
+    /**
+     * Smoothed round trip time and variance for an endpoint.
+     *
+     * @param srttMs   smoothed round trip time, in milliseconds
+     * @param rttvarMs round trip time variation, in milliseconds
+     */
+    public record RttEstimate(double srttMs, double rttvarMs) {
+
+        static RttEstimate first(double rttMs) {
+            return new RttEstimate(rttMs, rttMs / 2d);
+        }
+
+        RttEstimate update(double rttMs) {
+            return new RttEstimate(
+                    (1 - ALPHA) * srttMs + ALPHA * rttMs,
+                    (1 - BETA) * rttvarMs + BETA * Math.abs(srttMs - rttMs));
+        }
+
+        /**
+         * Returns the retransmission timeout before backoff, jitter and bounds are applied.
+         *
+         * @return retransmission timeout, in milliseconds
+         */
+        public double rto() {
+            return srttMs + Math.max(1, K * rttvarMs);
+        }
+    }
+}
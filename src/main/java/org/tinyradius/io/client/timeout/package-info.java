@@ -3,7 +3,8 @@
  * in the future and handles timeouts.
  * <p>
  * A basic implementation that times out based on fixed period and max attempt
- * count is included. Custom implementations such as exponential backoff or
+ * count is included, as well as one that adapts the timeout per endpoint to
+ * measured round trip times with exponential backoff. Custom implementations such as
  * using external service to determine timeouts/retries is possible in the same way.
  */
 package org.tinyradius.io.client.timeout;
\ No newline at end of file
@@ -20,6 +20,10 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
  * Simple caching handler backed by ConcurrentHashMap, invalidates using {@link Timer}.
+ * <p>
+ * Cached request and response packets are retained until they are invalidated, so cached
+ * responses stay valid when packets are backed by pooled buffers. Retransmitted requests
+ * answered from the cache are released.
  */
 public class BasicCachingHandler extends MessageToMessageCodec<RequestCtx, ResponseCtx> {
 
@@ -53,6 +57,11 @@ public class BasicCachingHandler extends MessageToMessageCodec<RequestCtx, Respo
 
     /**
      * Called when a request is found in the cache.
+     * <p>
+     * The cached response context is retained for this call, and released by
+     * {@link ServerPacketCodec} once written. Implementations that don't write it must
+     * release its request and response. The retransmitted request is released after this
+     * call, implementations that pass it on must retain it.
      *
      * @param ctx         ChannelHandlerContext
      * @param requestCtx  inbound request context
@@ -69,11 +78,13 @@ public class BasicCachingHandler extends MessageToMessageCodec<RequestCtx, Respo
     @Override
     protected void decode(ChannelHandlerContext ctx, RequestCtx requestCtx, List<Object> out) {
         var packet = Packet.from(requestCtx);
-        var responseContext = requests.get(packet);
+        // retain atomically with lookup, so entry can't be released by invalidation in between
+        var responseContext = requests.computeIfPresent(packet, (k, v) -> retain(v));
 
         if (responseContext != null) {
             log.debug("Cache hit, resending response, id: {}, remote address: {}", packet.id, packet.remoteAddress);
             onHit(ctx, requestCtx, responseContext, out);
+            requestCtx.getRequest().release();
         } else {
             log.debug("Cache miss, handling request, id: {}, remote address: {}", packet.id, packet.remoteAddress);
             onMiss(ctx, requestCtx, out);
@@ -86,11 +97,31 @@ public class BasicCachingHandler extends MessageToMessageCodec<RequestCtx, Respo
     @Override
     protected void encode(ChannelHandlerContext ctx, ResponseCtx msg, List<Object> out) {
         var packet = Packet.from(msg);
-        requests.put(packet, msg);
-        timer.newTimeout(t -> requests.remove(packet), ttlMs, MILLISECONDS);
+        var previous = requests.put(packet, retain(msg));
+        if (previous != null)
+            release(previous);
+
+        timer.newTimeout(t -> requests.computeIfPresent(packet, (k, v) -> {
+            if (v != msg)
+                return v; // replaced, released when replaced
+            release(v);
+            return null;
+        }), ttlMs, MILLISECONDS);
         out.add(msg);
     }
 
+    @NonNull
+    private static ResponseCtx retain(@NonNull ResponseCtx ctx) {
+        ctx.getRequest().retain();
+        ctx.getResponse().retain();
+        return ctx;
+    }
+
+    private static void release(@NonNull ResponseCtx ctx) {
+        ctx.getRequest().release();
+        ctx.getResponse().release();
+    }
+
     /**
      * Represents a RADIUS packet for caching purposes.
      *
@@ -48,17 +48,19 @@ public abstract class ProxyHandler extends SimpleChannelInboundHandler<RequestCt
 
         if (serverEndpoint.isEmpty()) {
             log.info("Server not found for client proxy request, ignoring");
+            request.release();
             return;
         }
 
         log.debug("Proxying packet to {}", serverEndpoint.get().address());
 
         radiusClient.communicate(request, serverEndpoint.get()).addListener(f -> {
-            var packet = (RadiusResponse) f.getNow();
-            if (f.isSuccess() && packet != null) {
-                var response = RadiusResponse.create(
-                        request.getDictionary(), packet.getType(), packet.getId(), packet.getAuthenticator(), packet.getAttributes());
+            var response = (RadiusResponse) f.getNow();
+            if (f.isSuccess() && response != null) {
+                // upstream response is passed on as is, so it keeps its buffer until written
                 ctx.writeAndFlush(msg.withResponse(response));
+            } else {
+                request.release();
             }
         });
     }
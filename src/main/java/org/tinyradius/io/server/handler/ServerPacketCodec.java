@@ -8,6 +8,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.tinyradius.core.RadiusPacketException;
 import org.tinyradius.core.dictionary.Dictionary;
+import org.tinyradius.core.packet.request.RadiusRequest;
 import org.tinyradius.io.RadiusEndpoint;
 import org.tinyradius.io.server.RequestCtx;
 import org.tinyradius.io.server.ResponseCtx;
@@ -22,6 +23,10 @@ import static org.tinyradius.core.packet.request.RadiusRequest.fromDatagram;
  * Codec for receiving requests and sending responses.
  * <p>
  * Both converts to/from datagrams and calls encodeResponse() / decodeRequest()
+ * <p>
+ * Request and response packets are released once the response is encoded. In pooled mode,
+ * requests are read into, and responses written to, buffers from the channel allocator.
+ * Handlers that drop a request without responding must then release it.
  */
 @ChannelHandler.Sharable
 public class ServerPacketCodec extends MessageToMessageCodec<DatagramPacket, ResponseCtx> {
@@ -29,16 +34,31 @@ public class ServerPacketCodec extends MessageToMessageCodec<DatagramPacket, Res
     private static final Logger log = LogManager.getLogger(ServerPacketCodec.class);
     private final Dictionary dictionary;
     private final SecretProvider secretProvider;
+    private final boolean pooled;
 
     /**
      * Constructs a {@code ServerPacketCodec} with the specified {@link Dictionary} and {@link SecretProvider}.
+     * <p>
+     * Requests are copied to unpooled heap buffers and don't need to be released.
      *
      * @param dictionary     the dictionary to use for packet decoding/encoding
      * @param secretProvider the provider to use for looking up shared secrets
      */
     public ServerPacketCodec(Dictionary dictionary, SecretProvider secretProvider) {
+        this(dictionary, secretProvider, false);
+    }
+
+    /**
+     * Constructs a {@code ServerPacketCodec} with the specified {@link Dictionary} and {@link SecretProvider}.
+     *
+     * @param dictionary     the dictionary to use for packet decoding/encoding
+     * @param secretProvider the provider to use for looking up shared secrets
+     * @param pooled         whether to read requests into reference counted buffers from the channel allocator
+     */
+    public ServerPacketCodec(Dictionary dictionary, SecretProvider secretProvider, boolean pooled) {
         this.dictionary = dictionary;
         this.secretProvider = secretProvider;
+        this.pooled = pooled;
     }
 
     /**
@@ -49,16 +69,19 @@ public class ServerPacketCodec extends MessageToMessageCodec<DatagramPacket, Res
         try {
             // should never be null - decode will have already thrown Exception
             var requestAuth = msg.getRequest().getAuthenticator();
+            var response = msg.getResponse()
+                    .encodeResponse(msg.getEndpoint().secret(), requestAuth == null ? new byte[16] : requestAuth);
             var datagramPacket = new DatagramPacket(
-                    msg.getResponse()
-                            .encodeResponse(msg.getEndpoint().secret(), requestAuth == null ? new byte[16] : requestAuth)
-                            .toByteBuf(),
+                    pooled ? response.toByteBuf(ctx.alloc()) : response.toByteBuf(),
                     msg.getEndpoint().address(),
                     (InetSocketAddress) ctx.channel().localAddress());
             log.debug("Sending packet to {}", msg.getEndpoint().address());
             out.add(datagramPacket);
         } catch (RadiusPacketException e) {
             log.warn("Could not serialize packet: {}", e.getMessage());
+        } finally {
+            msg.getRequest().release();
+            msg.getResponse().release();
         }
     }
 
@@ -69,21 +92,30 @@ public class ServerPacketCodec extends MessageToMessageCodec<DatagramPacket, Res
     protected void decode(ChannelHandlerContext ctx, DatagramPacket msg, List<Object> out) {
         var remoteAddress = msg.sender();
 
+        RadiusRequest request;
         try {
-            var request = fromDatagram(dictionary, msg);
+            request = pooled ? fromDatagram(dictionary, msg, ctx.alloc()) : fromDatagram(dictionary, msg);
+        } catch (RadiusPacketException e) {
+            log.warn("Could not deserialize packet: {}", e.getMessage());
+            return;
+        }
 
+        try {
             var secret = secretProvider.getSharedSecret(remoteAddress, request);
             if (secret == null) {
                 log.warn("Ignoring packet from {}, shared secret lookup failed", remoteAddress);
+                request.release();
                 return;
             }
 
             log.debug("Received request from {} - {}", remoteAddress, request);
             // log first before errors may be thrown
 
+            // decoded request shares the buffer of the request it was decoded from
             out.add(new RequestCtx(request.decodeRequest(secret), new RadiusEndpoint(remoteAddress, secret)));
         } catch (RadiusPacketException e) {
             log.warn("Could not deserialize packet: {}", e.getMessage());
+            request.release();
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,106 @@
+package org.tinyradius.core.attribute;
+
+import org.junit.jupiter.api.Test;
+import org.tinyradius.core.RadiusPacketException;
+import org.tinyradius.core.attribute.type.IntegerAttribute;
+import org.tinyradius.core.attribute.type.RadiusAttribute;
+import org.tinyradius.core.dictionary.DefaultDictionary;
+import org.tinyradius.core.dictionary.Dictionary;
+import org.tinyradius.core.packet.response.RadiusResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.tinyradius.core.packet.PacketType.ACCESS_ACCEPT;
+
+class AttributeCacheTest {
+
+    private static final Dictionary dictionary = DefaultDictionary.INSTANCE;
+
+    @Test
+    void sharedInstance() {
+        var cache = new AttributeCache(dictionary, 10);
+
+        RadiusAttribute serviceType = cache.get("Service-Type", "Framed-User");
+        assertSame(serviceType, cache.get("Service-Type", "Framed-User"));
+        assertSame(serviceType, cache.get(dictionary.getAttributeTemplate("Service-Type").get(), "Framed-User"));
+
+        assertInstanceOf(IntegerAttribute.class, serviceType);
+        assertTrue(serviceType.getData().isReadOnly());
+        assertEquals(dictionary.createAttribute("Service-Type", "Framed-User"), serviceType);
+
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(2.0 / 3, cache.getHitRate(), 0.0001);
+    }
+
+    @Test
+    void bounded() {
+        var cache = new AttributeCache(dictionary, 1);
+
+        RadiusAttribute filterId = cache.get("Filter-Id", "a");
+        RadiusAttribute uncached = cache.get("Filter-Id", "b");
+
+        assertEquals("b", uncached.getValueString());
+        assertNotSame(uncached, cache.get("Filter-Id", "b"));
+        assertSame(filterId, cache.get("Filter-Id", "a"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void boundedConcurrent() throws InterruptedException {
+        var cache = new AttributeCache(dictionary, 10);
+        var threads = new ArrayList<Thread>();
+        for (int t = 0; t < 8; t++) {
+            int offset = t * 100;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    cache.get("Filter-Id", String.valueOf(offset + i));
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (var thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(10, cache.size());
+    }
+
+    @Test
+    void preload() {
+        var cache = new AttributeCache(dictionary, 3)
+                .preload(Map.of(
+                        "Session-Timeout", List.of("3600"),
+                        "Filter-Id", List.of("gold", "silver")));
+
+        assertEquals(3, cache.size());
+        assertEquals(0, cache.getMisses());
+
+        cache.get("Filter-Id", "gold");
+        assertEquals(1, cache.getHits());
+        assertEquals(1.0, cache.getHitRate());
+
+        var full = Map.of("Filter-Id", List.of("bronze"));
+        assertThrows(IllegalArgumentException.class, () -> cache.preload(full));
+
+        var unknown = Map.of("Unknown-Attr", List.of("1"));
+        assertThrows(IllegalArgumentException.class, () -> new AttributeCache(dictionary, 3).preload(unknown));
+    }
+
+    @Test
+    void sharedBetweenPackets() throws RadiusPacketException {
+        var cache = new AttributeCache(dictionary, 10);
+
+        var response1 = RadiusResponse.create(dictionary, ACCESS_ACCEPT, (byte) 1, null, List.of())
+                .addAttribute(cache.get("Session-Timeout", "3600"));
+        var response2 = RadiusResponse.create(dictionary, ACCESS_ACCEPT, (byte) 2, null, List.of())
+                .addAttribute(cache.get("Session-Timeout", "3600"));
+
+        assertSame(response1.getAttribute(27).get(), response2.getAttribute(27).get());
+        assertArrayEquals(response1.toByteBuf().slice(20, 6).copy().array(), response2.toByteBuf().slice(20, 6).copy().array());
+    }
+}
@@ -0,0 +1,103 @@
+package org.tinyradius.core.attribute;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+import org.tinyradius.core.RadiusPacketException;
+import org.tinyradius.core.attribute.type.RadiusAttribute;
+import org.tinyradius.core.dictionary.DefaultDictionary;
+import org.tinyradius.core.dictionary.Dictionary;
+import org.tinyradius.core.packet.response.RadiusResponse;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.tinyradius.core.attribute.AttributeTypes.EAP_MESSAGE;
+import static org.tinyradius.core.attribute.AttributeTypes.USER_NAME;
+import static org.tinyradius.core.packet.PacketType.ACCESS_CHALLENGE;
+
+class AttributeFragmentsTest {
+
+    private static final Dictionary dictionary = DefaultDictionary.INSTANCE;
+    private static final SecureRandom random = new SecureRandom();
+
+    @Test
+    void fragmentAndConcat() {
+        byte[] value = random.generateSeed(600);
+
+        List<RadiusAttribute> attributes = AttributeFragments.fragment(dictionary, EAP_MESSAGE, Unpooled.wrappedBuffer(value));
+        assertEquals(3, attributes.size());
+        assertEquals(255, attributes.get(0).getData().readableBytes());
+        assertEquals(255, attributes.get(1).getData().readableBytes());
+        assertEquals(96, attributes.get(2).getData().readableBytes());
+        assertTrue(attributes.stream().allMatch(a -> a.getType() == EAP_MESSAGE));
+
+        ByteBuf concat = AttributeFragments.concatValues(attributes);
+        assertTrue(concat.isReadOnly());
+        assertArrayEquals(value, ByteBufUtil.getBytes(concat));
+
+        assertTrue(AttributeFragments.fragment(dictionary, EAP_MESSAGE, Unpooled.EMPTY_BUFFER).isEmpty());
+        assertEquals(0, AttributeFragments.concatValues(List.of()).readableBytes());
+    }
+
+    @Test
+    void fragmentExactMultiple() {
+        byte[] value = random.generateSeed(506);
+        ByteBuf buf = Unpooled.wrappedBuffer(value);
+
+        List<RadiusAttribute> attributes = AttributeFragments.fragment(dictionary, EAP_MESSAGE, buf);
+        assertEquals(2, attributes.size());
+        assertEquals(0, buf.readerIndex());
+        assertArrayEquals(value, ByteBufUtil.getBytes(AttributeFragments.concatValues(attributes)));
+    }
+
+    @Test
+    void longExtended() {
+        byte[] value = random.generateSeed(600);
+
+        List<RadiusAttribute> fragments = AttributeFragments.fragmentLongExtended(dictionary, 245, 4, Unpooled.wrappedBuffer(value));
+        assertEquals(3, fragments.size());
+        assertEquals((byte) 0x80, fragments.get(0).getData().getByte(3));
+        assertEquals((byte) 0x80, fragments.get(1).getData().getByte(3));
+        assertEquals(0, fragments.get(2).getData().getByte(3));
+        assertEquals(4, fragments.get(2).getData().getByte(2));
+
+        // other long extended attributes before and after
+        List<RadiusAttribute> attributes = new ArrayList<>();
+        attributes.addAll(AttributeFragments.fragmentLongExtended(dictionary, 245, 1, Unpooled.wrappedBuffer(new byte[]{1})));
+        attributes.addAll(fragments);
+        attributes.addAll(AttributeFragments.fragmentLongExtended(dictionary, 245, 4, Unpooled.wrappedBuffer(new byte[]{2})));
+
+        assertArrayEquals(value, ByteBufUtil.getBytes(AttributeFragments.concatLongExtended(attributes, 4)));
+        assertArrayEquals(new byte[]{1}, ByteBufUtil.getBytes(AttributeFragments.concatLongExtended(attributes, 1)));
+        assertEquals(0, AttributeFragments.concatLongExtended(attributes, 9).readableBytes());
+
+        List<RadiusAttribute> incomplete = fragments.subList(0, 2);
+        assertThrows(IllegalArgumentException.class, () -> AttributeFragments.concatLongExtended(incomplete, 4));
+
+        List<RadiusAttribute> empty = AttributeFragments.fragmentLongExtended(dictionary, 246, 1, Unpooled.EMPTY_BUFFER);
+        assertEquals(1, empty.size());
+        assertEquals(4, empty.get(0).getData().readableBytes());
+    }
+
+    @Test
+    void packetEapMessage() throws RadiusPacketException {
+        byte[] eap = random.generateSeed(1020);
+
+        RadiusResponse challenge = RadiusResponse.create(dictionary, ACCESS_CHALLENGE, (byte) 1, null, List.of())
+                .addAttribute(dictionary.createAttribute(-1, EAP_MESSAGE, new byte[]{1, 2}))
+                .addAttribute(dictionary.createAttribute(-1, USER_NAME, "user1".getBytes()));
+        assertArrayEquals(new byte[]{1, 2}, ByteBufUtil.getBytes(challenge.getEapMessage().get()));
+
+        RadiusResponse replaced = challenge.withEapMessage(Unpooled.wrappedBuffer(eap));
+        assertEquals(5, replaced.getAttributes(EAP_MESSAGE).size());
+        assertEquals(USER_NAME, replaced.getAttributes().get(0).getType());
+        assertEquals(20 + 7 + 1020 + 5 * 2, replaced.getLength());
+        assertArrayEquals(eap, ByteBufUtil.getBytes(replaced.getEapMessage().get()));
+
+        assertTrue(replaced.removeAttributes(EAP_MESSAGE).getEapMessage().isEmpty());
+    }
+}
@@ -13,6 +13,7 @@ import org.tinyradius.core.dictionary.WritableDictionary;
 
 import java.security.SecureRandom;
 import java.util.Arrays;
+import java.util.Map;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.*;
@@ -70,6 +71,85 @@ class AttributeTemplateTest {
         assertTrue(customEncoded.getTag().isPresent());
     }
 
+    @Test
+    void enumerationLookup() {
+        AttributeTemplate template = new AttributeTemplate(
+                -1, 6, "Test-Service-Type", "integer", IntegerAttribute.FACTORY, NO_ENCRYPT, false);
+        assertTrue(template.enumeration().isEmpty());
+        assertNull(template.getEnumeration(1));
+        assertNull(template.getEnumeration("Login-User"));
+
+        template.addEnumerationValue(2, "Framed-User");
+        template.addEnumerationValue(1, "Login-User");
+        template.addEnumerationValue(-1, "Max-Unsigned");
+
+        assertEquals(3, template.enumeration().size());
+        assertEquals("Login-User", template.getEnumeration(1));
+        assertEquals("Framed-User", template.getEnumeration(2));
+        assertEquals("Max-Unsigned", template.getEnumeration(-1));
+        assertEquals(2, template.getEnumeration("Framed-User"));
+        assertNull(template.getEnumeration(3));
+        assertNull(template.getEnumeration("Callback-Login-User"));
+
+        // later definitions overwrite earlier ones, old names still resolve
+        template.addEnumerationValue(1, "Login");
+        assertEquals("Login", template.getEnumeration(1));
+        assertEquals(1, template.getEnumeration("Login"));
+        assertEquals(1, template.getEnumeration("Login-User"));
+
+        assertThrows(IllegalArgumentException.class, () -> template.addEnumerationValue(3, ""));
+    }
+
+    @Test
+    void enumerationSharedUntilAdded() {
+        AttributeTemplate template1 = new AttributeTemplate(
+                -1, 6, "Test-Service-Type", "integer", IntegerAttribute.FACTORY, NO_ENCRYPT, false);
+        AttributeTemplate template2 = new AttributeTemplate(
+                -1, 7, "Test-Framed-Protocol", "integer", IntegerAttribute.FACTORY, NO_ENCRYPT, false);
+        assertSame(template1.enumeration(), template2.enumeration());
+
+        template1.addEnumerationValue(1, "Login-User");
+        assertNotSame(template1.enumeration(), template2.enumeration());
+        assertTrue(template2.enumeration().isEmpty());
+        assertNull(template2.getEnumeration(1));
+    }
+
+    @Test
+    void enumerationLargeBlock() {
+        AttributeTemplate template = new AttributeTemplate(
+                -1, 6, "Test-Service-Type", "integer", IntegerAttribute.FACTORY, NO_ENCRYPT, false);
+        for (int i = 1000; i > 0; i--) {
+            template.addEnumerationValue(i * 2, "Value-" + i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            template.addEnumerationValue(i * 2 + 1, "Odd-" + i);
+        }
+
+        assertEquals(2000, template.enumeration().size());
+        for (int i = 1; i <= 1000; i++) {
+            assertEquals("Value-" + i, template.getEnumeration(i * 2));
+            assertEquals(i * 2, template.getEnumeration("Value-" + i));
+        }
+        assertEquals("Odd-500", template.getEnumeration(1001));
+        assertEquals(1001, template.getEnumeration("Odd-500"));
+    }
+
+    @Test
+    void enumerationEquality() {
+        AttributeTemplate template1 = new AttributeTemplate(
+                -1, 6, "Test-Service-Type", "integer", IntegerAttribute.FACTORY, NO_ENCRYPT, false);
+        AttributeTemplate template2 = new AttributeTemplate(
+                -1, 6, "Test-Service-Type", "integer", IntegerAttribute.FACTORY, NO_ENCRYPT, false);
+        assertEquals(template1, template2);
+
+        template1.addEnumerationValue(1, "Login-User");
+        assertNotEquals(template1, template2);
+
+        template2.addEnumerationValue(1, "Login-User");
+        assertEquals(template1, template2);
+        assertEquals(template1.hashCode(), template2.hashCode());
+    }
+
     @Test
     void encodeNonEncryptAttribute() throws RadiusPacketException {
         String username = "myUsername";
@@ -162,4 +242,36 @@ class AttributeTemplateTest {
         assertEquals(tag, attribute.getTag().get());
         assertEquals(tag, attribute.toByteArray()[2]);
     }
-}
\ No newline at end of file
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void deprecatedEnumerationMaps() {
+        AttributeTemplate template = new AttributeTemplate(-1, 6, "Service-Type", "integer", false, NO_ENCRYPT,
+                IntegerAttribute.FACTORY, Map.of(1, "Login-User"), Map.of("Login-User", 1, "Login", 1));
+
+        assertEquals("Login-User", template.getEnumeration(1));
+        assertEquals(1, template.getEnumeration("Login"));
+        assertEquals(Map.of(1, "Login-User"), template.int2str());
+        assertEquals(Map.of("Login-User", 1, "Login", 1), template.str2int());
+        assertThrows(UnsupportedOperationException.class, () -> template.int2str().put(2, "Framed-User"));
+
+        AttributeTemplate empty = new AttributeTemplate(-1, 1, "User-Name", "string", false, NO_ENCRYPT,
+                IntegerAttribute.FACTORY, Map.of(), Map.of());
+        assertTrue(empty.int2str().isEmpty());
+        assertSame(AttributeEnumeration.EMPTY, empty.enumeration());
+    }
+
+    @Test
+    void sharedEmptyStructure() {
+        AttributeTemplate tlv = new AttributeTemplate(-1, 241, "Test-Tlv", "tlv", OctetsAttribute.FACTORY, NO_ENCRYPT, false);
+        AttributeTemplate other = new AttributeTemplate(-1, 242, "Test-Other", "tlv", OctetsAttribute.FACTORY, NO_ENCRYPT, false);
+        assertSame(tlv.structure(), other.structure());
+        assertThrows(UnsupportedOperationException.class, () -> AttributeStructure.EMPTY.addMember(AttributeStructure.Member.of("x", "uint8", false)));
+
+        AttributeTemplate child = new AttributeTemplate(-1, 1, "Test-Tlv-Child", "integer", IntegerAttribute.FACTORY, NO_ENCRYPT, false);
+        tlv.addChild(child);
+        assertSame(child, tlv.structure().getChild(1).get());
+        assertTrue(other.structure().isEmpty());
+        assertSame(AttributeStructure.EMPTY, other.structure());
+    }
+}
@@ -0,0 +1,134 @@
+package org.tinyradius.core.attribute;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.tinyradius.core.RadiusPacketException;
+import org.tinyradius.core.attribute.type.IntegerAttribute;
+import org.tinyradius.core.attribute.type.IpAttribute;
+import org.tinyradius.core.attribute.type.RadiusAttribute;
+import org.tinyradius.core.dictionary.Dictionary;
+import org.tinyradius.core.dictionary.parser.DictionaryParser;
+import org.tinyradius.core.packet.request.RadiusRequest;
+import org.tinyradius.core.packet.util.MessageAuthSupport;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.tinyradius.core.packet.PacketType.ACCESS_REQUEST;
+
+@SuppressWarnings("OptionalGetWithoutIsPresent")
+class AttributeWriterTest {
+
+    private static Dictionary dictionary;
+
+    @BeforeAll
+    static void setup() throws IOException {
+        dictionary = DictionaryParser.newClasspathParser().parseDictionary("org/tinyradius/core/dictionary/test_dictionary");
+    }
+
+    @Test
+    void writeSameAsDictionary() {
+        String[][] values = {
+                {"User-Name", "user1"},
+                {"NAS-IP-Address", "192.168.0.1"},
+                {"NAS-IPv6-Address", "2001:db8::1"},
+                {"Framed-IPv6-Prefix", "2001:db8::/32"},
+                {"Service-Type", "Login-User"},
+                {"Session-Timeout", "3600"},
+                {"State", "0102AB"},
+                {"WISPr-Location-ID", "myLocationId"}, // format=1,1
+                {"Lucent-Max-Shared-Users", "5"}, // format=2,1
+                {"SN-Role-Of-Node", "1"}, // format=2,2
+        };
+
+        ByteBuf buf = Unpooled.buffer();
+        for (String[] value : values) {
+            RadiusAttribute expected = dictionary.createAttribute(value[0], value[1]);
+            AttributeWriter writer = AttributeWriter.of(dictionary, value[0]);
+
+            buf.clear();
+            writer.write(buf, (byte) 0, value[1]);
+            assertArrayEquals(expected.toByteArray(), ByteBufUtil.getBytes(buf), value[0]);
+
+            RadiusAttribute created = writer.create((byte) 0, value[1]);
+            assertEquals(expected, created);
+            assertEquals(expected.getClass(), created.getClass());
+        }
+    }
+
+    @Test
+    void writeTagged() {
+        // WISPr-Bandwidth-Min-Up is a tagged integer
+        AttributeWriter writer = AttributeWriter.of(dictionary, "WISPr-Bandwidth-Min-Up");
+        assertEquals(3, writer.getHeaderSize());
+
+        ByteBuf buf = writer.writeInt(Unpooled.buffer(), (byte) 3, 12345);
+        assertArrayEquals(dictionary.createAttribute(14122, 5, (byte) 3, "12345").toByteArray(), ByteBufUtil.getBytes(buf));
+
+        RadiusAttribute attribute = writer.create((byte) 3, "12345");
+        assertEquals((byte) 3, attribute.getTag().get());
+        assertEquals(12345, ((IntegerAttribute) attribute).getValueInt());
+    }
+
+    @Test
+    void writeBytesAndBuffers() {
+        AttributeWriter writer = AttributeWriter.of(dictionary, -1, AttributeTypes.EAP_MESSAGE);
+        ByteBuf value = Unpooled.wrappedBuffer(new byte[]{9, 1, 2, 3});
+        value.readByte();
+
+        ByteBuf buf = Unpooled.buffer().writeByte(0xFF);
+        writer.write(buf, (byte) 0, value);
+        writer.write(buf, (byte) 0, new byte[]{4});
+        assertArrayEquals(new byte[]{(byte) 0xFF, 79, 5, 1, 2, 3, 79, 3, 4}, ByteBufUtil.getBytes(buf));
+        assertEquals(1, value.readerIndex());
+
+        RadiusAttribute attribute = writer.create((byte) 0, new byte[]{1, 2});
+        assertEquals(4, attribute.getData().capacity());
+    }
+
+    @Test
+    void invalidValuesLeaveBufferUnchanged() {
+        ByteBuf buf = Unpooled.buffer().writeByte(1);
+
+        AttributeWriter nasIp = AttributeWriter.of(dictionary, "NAS-IP-Address");
+        assertThrows(IllegalArgumentException.class, () -> nasIp.write(buf, (byte) 0, "localhost"));
+        assertThrows(IllegalArgumentException.class, () -> nasIp.write(buf, (byte) 0, "::1"));
+
+        AttributeWriter userName = AttributeWriter.of(dictionary, "User-Name");
+        assertThrows(IllegalArgumentException.class, () -> userName.write(buf, (byte) 0, new byte[254]));
+
+        AttributeWriter serviceType = AttributeWriter.of(dictionary, "Service-Type");
+        assertThrows(IllegalArgumentException.class, () -> serviceType.write(buf, (byte) 0, "Unknown-Service"));
+
+        assertEquals(1, buf.writerIndex());
+
+        assertThrows(IllegalArgumentException.class, () -> AttributeWriter.of(dictionary, "Unknown-Attribute"));
+        assertThrows(IllegalArgumentException.class, () -> AttributeWriter.of(dictionary, 9999, 1));
+    }
+
+    @Test
+    void messageAuthenticatorEncodeVerify() throws RadiusPacketException {
+        var request = RadiusRequest.create(dictionary, ACCESS_REQUEST, (byte) 1, null,
+                        List.of(dictionary.createAttribute("User-Name", "user1")))
+                .encodeRequest("mySecret");
+
+        // Message-Authenticator value is created zeroed, then signed in place
+        byte[] messageAuth = request.getAttribute(AttributeTypes.MESSAGE_AUTHENTICATOR).get().getValue();
+        assertFalse(Arrays.equals(new byte[16], messageAuth));
+
+        ((MessageAuthSupport<?>) request).verifyMessageAuth("mySecret", null);
+        assertThrows(RadiusPacketException.class, () -> ((MessageAuthSupport<?>) request).verifyMessageAuth("otherSecret", null));
+    }
+
+    @Test
+    void literalOnlyFactories() {
+        assertThrows(IllegalArgumentException.class, () -> dictionary.createAttribute("NAS-IP-Address", "localhost"));
+        assertInstanceOf(IpAttribute.V4.class, dictionary.createAttribute("NAS-IP-Address", "127.0.0.1"));
+        assertEquals("2001:db8:0:0:0:0:0:0/32", dictionary.createAttribute("Framed-IPv6-Prefix", "2001:db8::/32").getValueString());
+    }
+}
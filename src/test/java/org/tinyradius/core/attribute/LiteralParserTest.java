@@ -0,0 +1,90 @@
+package org.tinyradius.core.attribute;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiteralParserTest {
+
+    @Test
+    void unsignedInt() {
+        assertEquals(0, LiteralParser.parseUnsignedInt("0"));
+        assertEquals(12345, LiteralParser.parseUnsignedInt("12345"));
+        assertEquals(-1, LiteralParser.parseUnsignedInt("4294967295"));
+        assertThrows(IllegalArgumentException.class, () -> LiteralParser.parseUnsignedInt("4294967296"));
+        assertThrows(IllegalArgumentException.class, () -> LiteralParser.parseUnsignedInt("-1"));
+        assertThrows(IllegalArgumentException.class, () -> LiteralParser.parseUnsignedInt(""));
+    }
+
+    @Test
+    void ipv4() {
+        assertEquals(0xC0A80001, LiteralParser.parseIpv4("192.168.0.1"));
+        assertEquals(0, LiteralParser.parseIpv4("0.0.0.0"));
+        assertEquals(-1, LiteralParser.parseIpv4("255.255.255.255"));
+        assertEquals(0x0A000001, LiteralParser.parseIpv4(new StringBuilder("10.0.0.1")));
+        assertEquals(1234567, LiteralParser.parseIpv4("1234567"));
+        assertEquals(-1, LiteralParser.parseIpv4("4294967295"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "1.2.3", "1.2.3.4.5", "256.0.0.1", "1..2.3", "1.2.3.", ".1.2.3", "1.2.3.4 ", "0001.2.3.4", "4294967296", "-1", "localhost"})
+    void ipv4Invalid(String value) {
+        assertThrows(IllegalArgumentException.class, () -> LiteralParser.parseIpv4(value));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"::", "::1", "1::", "2001:db8::1", "2001:DB8:0:0:1:0:0:1", "fe80::1:2:3:4:5:6",
+            "1:2:3:4:5:6:7:8", "::ffff:192.168.0.1", "64:ff9b::10.0.0.1", "1:2:3:4:5:6:1.2.3.4"})
+    void ipv6(String value) throws UnknownHostException {
+        ByteBuf buf = Unpooled.buffer().writeByte(7);
+        LiteralParser.parseIpv6(value, buf);
+
+        assertEquals(17, buf.readableBytes());
+        assertEquals(7, buf.readByte());
+        byte[] expected = InetAddress.getByName(value).getAddress();
+        if (expected.length == 4) // IPv4-mapped address
+            assertArrayEquals(expected, ByteBufUtil.getBytes(buf, 13, 4));
+        else
+            assertArrayEquals(expected, ByteBufUtil.getBytes(buf));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", ":", ":1", "1:", ":::", "1:::2", "1::2::3", "1:2:3:4:5:6:7:8:9", "1:2:3:4:5:6:7",
+            "1:2:3:4:5:6:7:8::", "12345::", "g::1", "fe80::1%eth0", "[::1]", "::1.2.3", "1:2:3:4:5:6:7:1.2.3.4", "localhost"})
+    void ipv6Invalid(String value) {
+        ByteBuf buf = Unpooled.buffer();
+        assertThrows(IllegalArgumentException.class, () -> LiteralParser.parseIpv6(value, buf));
+        assertEquals(0, buf.writerIndex());
+    }
+
+    @Test
+    void ipv6Prefix() {
+        assertArrayEquals(new byte[]{0, 32, 0x20, 0x01, 0x0d, (byte) 0xb8},
+                ByteBufUtil.getBytes(LiteralParser.parseIpv6Prefix("2001:db8::/32", Unpooled.buffer())));
+        assertArrayEquals(new byte[]{0, 0},
+                ByteBufUtil.getBytes(LiteralParser.parseIpv6Prefix("::/0", Unpooled.buffer())));
+        assertArrayEquals(new byte[]{0, 7, (byte) 0xfe},
+                ByteBufUtil.getBytes(LiteralParser.parseIpv6Prefix("fe00::/7", Unpooled.buffer())));
+        assertEquals(18, LiteralParser.parseIpv6Prefix("2001:db8::1/128", Unpooled.buffer()).readableBytes());
+
+        ByteBuf buf = Unpooled.buffer();
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> LiteralParser.parseIpv6Prefix("fe80::/7", buf));
+        assertTrue(e.getMessage().contains("bits outside of the Prefix-Length must be zero"));
+        assertEquals(0, buf.writerIndex());
+
+        assertThrows(IllegalArgumentException.class, () -> LiteralParser.parseIpv6Prefix("2001:db8::", buf));
+        assertThrows(IllegalArgumentException.class, () -> LiteralParser.parseIpv6Prefix("2001:db8::/129", buf));
+        assertThrows(IllegalArgumentException.class, () -> LiteralParser.parseIpv6Prefix("2001:db8::/x", buf));
+        assertThrows(IllegalArgumentException.class, () -> LiteralParser.parseIpv6Prefix("localhost/32", buf));
+        assertEquals(0, buf.writerIndex());
+    }
+}
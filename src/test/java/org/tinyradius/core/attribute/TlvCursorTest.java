@@ -0,0 +1,139 @@
+package org.tinyradius.core.attribute;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.tinyradius.core.RadiusPacketException;
+import org.tinyradius.core.dictionary.Dictionary;
+import org.tinyradius.core.dictionary.parser.DictionaryParser;
+import org.tinyradius.core.packet.request.RadiusRequest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.tinyradius.core.attribute.AttributeTypes.*;
+import static org.tinyradius.core.packet.PacketType.ACCOUNTING_REQUEST;
+
+class TlvCursorTest {
+
+    private static Dictionary dictionary;
+
+    @BeforeAll
+    static void setup() throws IOException {
+        dictionary = DictionaryParser.newClasspathParser().parseDictionary("org/tinyradius/core/dictionary/test_dictionary");
+    }
+
+    @Test
+    void walkPacket() throws RadiusPacketException {
+        ByteBuf packet = RadiusRequest.create(dictionary, ACCOUNTING_REQUEST, (byte) 1, null, List.of(
+                        dictionary.createAttribute("User-Name", "user1"),
+                        dictionary.createAttribute("Acct-Input-Octets", "100"),
+                        dictionary.createAttribute("Acct-Input-Gigawords", "2")))
+                .addAttribute(dictionary.createAttribute("WISPr-Location-ID", "myLocationId"))
+                .addAttribute(dictionary.createAttribute(14122, 5, (byte) 3, "12345")) // tagged integer
+                .addAttribute(dictionary.createAttribute("SN-Role-Of-Node", "1")) // format=2,2
+                .addAttribute(dictionary.createAttribute(9999, 1, new byte[]{1, 2, 3})) // unknown vendor
+                .toByteBuf();
+
+        List<String> visited = new ArrayList<>();
+        var cursor = new TlvCursor(dictionary).resetPacket(packet);
+        long octets = 0;
+        while (cursor.next()) {
+            visited.add(cursor.getVendorId() + ":" + cursor.getType());
+            if (cursor.is(-1, ACCT_INPUT_OCTETS))
+                octets += cursor.getValueLong();
+            else if (cursor.is(-1, ACCT_INPUT_GIGAWORDS))
+                octets += cursor.getValueLong() << 32;
+            else if (cursor.is(-1, USER_NAME)) {
+                assertEquals(-1, cursor.getTag());
+                assertEquals("user1", cursor.getData().toString(cursor.getValueOffset(), cursor.getValueLength(), UTF_8));
+            } else if (cursor.is(14122, 1)) {
+                assertEquals("myLocationId", cursor.getData().toString(cursor.getValueOffset(), cursor.getValueLength(), UTF_8));
+            } else if (cursor.is(14122, 5)) {
+                assertEquals(3, cursor.getTag());
+                assertEquals(3, cursor.getValueLength());
+                assertEquals(12345, cursor.getValueInt());
+            } else if (cursor.is(8164, 256)) {
+                assertEquals(8, cursor.getLength());
+                assertEquals(1, cursor.getValueInt());
+            } else if (cursor.is(9999, 0)) {
+                assertEquals(-1, cursor.getTag());
+                // vendor format unknown, whole VSA body including sub-attribute header
+                assertEquals(5, cursor.getValueLength());
+                assertEquals(3, cursor.getData().getByte(cursor.getValueOffset() + 4));
+            }
+        }
+
+        assertEquals(List.of("-1:1", "-1:42", "-1:52", "14122:1", "14122:5", "8164:256", "9999:0"), visited);
+        assertEquals(100 + (2L << 32), octets);
+        assertEquals(0, packet.readerIndex());
+        assertFalse(cursor.next());
+    }
+
+    @Test
+    void visitorStops() throws RadiusPacketException {
+        ByteBuf attributes = RadiusRequest.create(dictionary, ACCOUNTING_REQUEST, (byte) 1, null, List.of(
+                        dictionary.createAttribute("User-Name", "user1"),
+                        dictionary.createAttribute("WISPr-Location-ID", "myLocationId"),
+                        dictionary.createAttribute("Acct-Input-Octets", "100")))
+                .getAttributeByteBuf();
+
+        var cursor = new TlvCursor(dictionary);
+        assertFalse(cursor.reset(attributes).forEach(a -> !a.is(14122, 1)));
+        assertTrue(cursor.next());
+        assertEquals(ACCT_INPUT_OCTETS, cursor.getType());
+
+        int[] count = {0};
+        assertTrue(cursor.reset(attributes).forEach(a -> ++count[0] > 0));
+        assertEquals(3, count[0]);
+    }
+
+    @Test
+    void walkTlvValue() {
+        // type 26 is a plain child in TLV values, and WISPr type 5 is not tagged
+        var value = Unpooled.wrappedBuffer(new byte[]{0, 0, VENDOR_SPECIFIC, 3, 7, 5, 6, 0, 0, 0, 1});
+        var cursor = new TlvCursor(dictionary).resetTlv(value.slice(2, 9), 14122);
+
+        assertTrue(cursor.next());
+        assertTrue(cursor.is(14122, VENDOR_SPECIFIC));
+        assertEquals(-1, cursor.getTag());
+        assertEquals(1, cursor.getValueLength());
+
+        assertTrue(cursor.next());
+        assertTrue(cursor.is(14122, 5));
+        assertEquals(-1, cursor.getTag());
+        assertEquals(1, cursor.getValueInt());
+        assertFalse(cursor.next());
+
+        // reset to attributes clears TLV mode
+        cursor.reset(Unpooled.wrappedBuffer(new byte[]{VENDOR_SPECIFIC, 9, 0, 0, 0x37, 0x2a, 1, 3, 'a'}));
+        assertTrue(cursor.next());
+        assertEquals(14122, cursor.getVendorId());
+        assertEquals(1, cursor.getType());
+    }
+
+    @Test
+    void malformed() {
+        var cursor = new TlvCursor(dictionary);
+
+        var badLength = Unpooled.wrappedBuffer(new byte[]{1, 5, 'a', 'b'});
+        cursor.reset(badLength);
+        assertThrows(IllegalArgumentException.class, cursor::next);
+
+        var trailing = Unpooled.wrappedBuffer(new byte[]{1, 3, 'a', 1});
+        cursor.reset(trailing);
+        assertTrue(cursor.next());
+        assertThrows(IllegalArgumentException.class, cursor::next);
+
+        var badSubAttribute = Unpooled.wrappedBuffer(new byte[]{VENDOR_SPECIFIC, 9, 0, 0, 0x37, 0x2a, 1, 4, 'a'});
+        cursor.reset(badSubAttribute);
+        assertThrows(IllegalArgumentException.class, cursor::next);
+
+        var shortPacket = Unpooled.wrappedBuffer(new byte[19]);
+        assertThrows(IllegalArgumentException.class, () -> cursor.resetPacket(shortPacket));
+    }
+}
@@ -192,4 +192,16 @@ class IntegerAttributeTest {
         IntegerAttribute parsedVlan = (IntegerAttribute) AttributeHolder.readAttribute(dict, -1, vlan.toByteBuf().copy());
         assertArrayEquals(vlan.toByteArray(), parsedVlan.toByteArray());
     }
-}
\ No newline at end of file
+
+    @Test
+    void taggedMaxValue() throws IOException {
+        Dictionary dict = DictionaryParser.newClasspathParser()
+                .parseDictionary("org/tinyradius/core/dictionary/freeradius/dictionary.rfc2868");
+
+        IntegerAttribute attribute = (IntegerAttribute) dict.getAttributeTemplate("Tunnel-Type").get()
+                .create(dict, (byte) 1, new byte[]{(byte) 0xff, (byte) 0xff, (byte) 0xff});
+        assertEquals(3, attribute.getValueLength());
+        assertEquals(0xffffff, attribute.getValueInt());
+        assertEquals(0xffffffL, attribute.getValueLong());
+    }
+}
@@ -1,6 +1,7 @@
 package org.tinyradius.core.attribute.type;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import org.junit.jupiter.api.Test;
 import org.tinyradius.core.RadiusPacketException;
 import org.tinyradius.core.dictionary.DefaultDictionary;
@@ -15,6 +16,7 @@ import java.util.Arrays;
 import static java.lang.Byte.toUnsignedInt;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 import static org.tinyradius.core.attribute.AttributeTypes.*;
 
 class OctetsAttributeTest {
@@ -54,6 +56,24 @@ class OctetsAttributeTest {
         assertEquals("Attribute declared length is 123, actual length: 255", exception.getCause().getMessage());
     }
 
+    @Test
+    void templateResolvedOnCreate() {
+        Dictionary spyDictionary = spy(dictionary);
+        OctetsAttribute attribute = FACTORY.create(spyDictionary, -1,
+                Unpooled.wrappedBuffer(new byte[]{CHAP_PASSWORD, 4, 1, 2}));
+
+        for (int i = 0; i < 3; i++) {
+            assertArrayEquals(new byte[]{1, 2}, attribute.getValue());
+            assertFalse(attribute.getTag().isPresent());
+            assertEquals("CHAP-Password", attribute.getAttributeName());
+            assertEquals(2, attribute.getHeaderSize());
+        }
+
+        assertSame(dictionary.getAttributeTemplate(-1, CHAP_PASSWORD).get(), attribute.getAttributeTemplate().get());
+        verify(spyDictionary, times(1)).getVendor(-1);
+        verify(spyDictionary, times(1)).getAttributeTemplate(-1, CHAP_PASSWORD);
+    }
+
     @Test
     void testFlatten() {
         OctetsAttribute attribute = FACTORY.create(dictionary, -1, CHAP_PASSWORD, (byte) 0, "FFFF0000");
@@ -1,5 +1,7 @@
 package org.tinyradius.core.attribute.type;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import org.junit.jupiter.api.Test;
 import org.tinyradius.core.dictionary.DefaultDictionary;
 import org.tinyradius.core.dictionary.Dictionary;
@@ -31,4 +33,28 @@ class StringAttributeTest {
         assertEquals(s, stringAttribute.getValueString());
         assertArrayEquals(s.getBytes(UTF_8), stringAttribute.getValue());
     }
-}
\ No newline at end of file
+
+    @Test
+    void valueChars() {
+        StringAttribute ascii = FACTORY.create(dictionary, -1, USER_NAME, (byte) 0, "user@example.com");
+        CharSequence chars = ascii.getValueChars();
+        assertEquals(16, chars.length());
+        assertEquals('u', chars.charAt(0));
+        assertEquals("example", chars.subSequence(5, 12).toString());
+        assertEquals("user@example.com", chars.toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> chars.charAt(16));
+
+        StringAttribute utf8 = FACTORY.create(dictionary, -1, USER_NAME, (byte) 0, "us\u00e9r");
+        assertEquals("us\u00e9r", utf8.getValueChars().toString());
+        assertEquals(4, utf8.getValueChars().length());
+    }
+
+    @Test
+    void copyValueTo() {
+        StringAttribute attribute = FACTORY.create(dictionary, -1, USER_NAME, (byte) 0, "user1");
+        ByteBuf buf = Unpooled.buffer().writeByte(0);
+        assertSame(buf, attribute.copyValueTo(buf));
+        assertEquals(5, attribute.getValueLength());
+        assertEquals("\0user1", buf.toString(UTF_8));
+    }
+}
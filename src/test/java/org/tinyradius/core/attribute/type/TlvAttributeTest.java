@@ -0,0 +1,137 @@
+package org.tinyradius.core.attribute.type;
+
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.tinyradius.core.RadiusPacketException;
+import org.tinyradius.core.dictionary.Dictionary;
+import org.tinyradius.core.dictionary.parser.DictionaryParser;
+
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings("OptionalGetWithoutIsPresent")
+class TlvAttributeTest {
+
+    private static final int EXAMPLE_VENDOR_ID = 32473;
+
+    private static final SecureRandom random = new SecureRandom();
+    private static Dictionary dictionary;
+
+    @BeforeAll
+    static void setup() throws IOException {
+        dictionary = DictionaryParser.newClasspathParser().parseDictionary("org/tinyradius/core/dictionary/tlv_dictionary");
+    }
+
+    @Test
+    void parseChildrenOnAccess() {
+        byte[] data = {
+                1, 13,                      // Example-Capability
+                1, 5, 'r', '1', '0',        // Example-Release
+                2, 3, 2,                    // Example-Accounting-Capabilities
+                9, 3, 7                     // unknown child
+        };
+
+        RadiusAttribute attribute = dictionary.createAttribute(EXAMPLE_VENDOR_ID, 1, Unpooled.wrappedBuffer(data));
+        TlvAttribute tlv = assertInstanceOf(TlvAttribute.class, attribute);
+        assertEquals("Example-Capability", tlv.getAttributeName());
+        assertEquals(EXAMPLE_VENDOR_ID, tlv.getChildVendorId());
+
+        List<RadiusAttribute> children = tlv.getAttributes();
+        assertSame(children, tlv.getAttributes());
+        assertEquals(3, children.size());
+
+        RadiusAttribute release = children.get(0);
+        assertInstanceOf(StringAttribute.class, release);
+        assertEquals("Example-Release", release.getAttributeName());
+        assertEquals("r10", release.getValueString());
+        assertEquals(EXAMPLE_VENDOR_ID, release.getVendorId());
+
+        assertEquals("Example-Accounting-Capabilities", children.get(1).getAttributeName());
+        assertEquals("Unknown-Sub-Attribute-9", children.get(2).getAttributeName());
+        assertEquals("Example-Release", tlv.getAttribute("Example-Release").get().getAttributeName());
+        assertArrayEquals(new byte[]{1, 5, 'r', '1', '0'}, release.toByteArray());
+    }
+
+    @Test
+    void nestedTlv() {
+        byte[] data = {
+                2, 16,                      // Example-Flow
+                1, 6, 0, 0, 0, 42,          // Example-Flow-Id
+                3, 8,                       // Example-Flow-Classifier
+                1, 6, 0, 0, 0x1F, (byte) 0x90 // Example-Flow-Classifier-Port
+        };
+
+        TlvAttribute flow = (TlvAttribute) dictionary.createAttribute(EXAMPLE_VENDOR_ID, 2, Unpooled.wrappedBuffer(data));
+        assertEquals(42, ((IntegerAttribute) flow.getAttribute(1).get()).getValueInt());
+
+        TlvAttribute classifier = assertInstanceOf(TlvAttribute.class, flow.getAttribute(3).get());
+        assertEquals("Example-Flow-Classifier", classifier.getAttributeName());
+        assertEquals(1, classifier.getAttributes().size());
+        assertEquals("Example-Flow-Classifier-Port", classifier.getAttributes().get(0).getAttributeName());
+        assertEquals("8080", classifier.getAttributes().get(0).getValueString());
+    }
+
+    @Test
+    void malformedChildrenOnlyOnAccess() {
+        byte[] data = {1, 5, 1, 9, 0};
+
+        TlvAttribute tlv = (TlvAttribute) dictionary.createAttribute(EXAMPLE_VENDOR_ID, 1, Unpooled.wrappedBuffer(data));
+        assertEquals(3, tlv.getValueLength());
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, tlv::getAttributes);
+        assertTrue(e.getMessage().contains("Invalid attribute length 9"));
+
+        // logging still works
+        assertEquals("Example-Capability=0x010900", tlv.toString());
+    }
+
+    @Test
+    void createWithChildren() throws RadiusPacketException {
+        Dictionary children = ((TlvAttribute) dictionary.createAttribute(EXAMPLE_VENDOR_ID, 1, new byte[0])).getChildDictionary();
+
+        TlvAttribute tlv = new TlvAttribute(dictionary, EXAMPLE_VENDOR_ID, 1, List.of(
+                children.createAttribute("Example-Release", "r10"),
+                children.createAttribute(EXAMPLE_VENDOR_ID, 2, new byte[]{2})));
+
+        assertArrayEquals(new byte[]{1, 10, 1, 5, 'r', '1', '0', 2, 3, 2}, tlv.toByteArray());
+        assertEquals(tlv, tlv.withAttributes(tlv.getAttributes()));
+
+        TlvAttribute parsed = (TlvAttribute) dictionary.createAttribute(EXAMPLE_VENDOR_ID, 1, Unpooled.wrappedBuffer(tlv.toByteArray()));
+        assertEquals(tlv.getAttributes(), parsed.getAttributes());
+
+        // child names resolved against the TLV's own template
+        TlvAttribute added = tlv.addAttribute("Example-Release", "r11").addAttribute(2, "01");
+        assertEquals(2, added.getAttributes("Example-Release").size());
+        assertArrayEquals(new byte[]{2, 3, 1}, added.getAttributes().get(3).toByteArray());
+
+        // sub-attributes with vendor headers are not valid children
+        RadiusAttribute topLevel = dictionary.createAttribute(-1, 1, "user");
+        assertThrows(IllegalArgumentException.class, () -> new TlvAttribute(dictionary, EXAMPLE_VENDOR_ID, 1, List.of(topLevel)));
+    }
+
+    @Test
+    void encodeDecodeChildren() throws RadiusPacketException {
+        byte[] requestAuth = random.generateSeed(16);
+        Dictionary children = ((TlvAttribute) dictionary.createAttribute(EXAMPLE_VENDOR_ID, 2, new byte[0])).getChildDictionary();
+
+        TlvAttribute flow = new TlvAttribute(dictionary, EXAMPLE_VENDOR_ID, 2, List.of(
+                children.createAttribute(EXAMPLE_VENDOR_ID, 1, new byte[]{0, 0, 0, 1}),
+                children.createAttribute(EXAMPLE_VENDOR_ID, 2, new byte[]{1, 2, 3, 4})));
+
+        TlvAttribute encoded = flow.encode(requestAuth, "secret");
+        assertTrue(encoded.getAttributes().get(1).isEncoded());
+        assertEquals(flow.getAttributes().get(0), encoded.getAttributes().get(0));
+
+        TlvAttribute parsed = (TlvAttribute) dictionary.createAttribute(EXAMPLE_VENDOR_ID, 2, Unpooled.wrappedBuffer(encoded.toByteArray()));
+        TlvAttribute decoded = parsed.decode(requestAuth, "secret");
+        assertArrayEquals(new byte[]{1, 2, 3, 4}, decoded.getAttributes().get(1).getValue());
+
+        // no encrypted children, children not parsed
+        TlvAttribute capability = (TlvAttribute) dictionary.createAttribute(EXAMPLE_VENDOR_ID, 1, Unpooled.wrappedBuffer(new byte[]{1, 3, 0}));
+        assertSame(capability, capability.encode(requestAuth, "secret"));
+    }
+}
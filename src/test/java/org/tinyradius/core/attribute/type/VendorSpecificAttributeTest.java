@@ -48,6 +48,55 @@ class VendorSpecificAttributeTest {
         assertEquals(0, vsa.getChildVendorId());
     }
 
+    @Test
+    void parseSubAttributesOnAccess() {
+        VendorSpecificAttribute vsa = new VendorSpecificAttribute(dictionary, WISPR_VENDOR_ID, Arrays.asList(
+                dictionary.createAttribute("WISPr-Location-ID", "myLocationId"),
+                dictionary.createAttribute("WISPr-Location-Name", "myLocationName")
+        ));
+
+        VendorSpecificAttribute parsed = new VendorSpecificAttribute(dictionary, -1, Unpooled.wrappedBuffer(vsa.toByteArray()));
+        List<RadiusAttribute> attributes = parsed.getAttributes();
+        assertSame(attributes, parsed.getAttributes());
+        assertEquals(vsa.getAttributes(), attributes);
+        assertEquals(vsa, parsed);
+    }
+
+    @Test
+    void parseMalformedSubAttributeLength() {
+        byte[] value = {
+                0, 0, 0x37, 0x2a, // childVendorId 14122
+                1, 7, 'a', 'b', 'c' // sub-attribute length exceeds VSA
+        };
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () ->
+                FACTORY.create(dictionary, -1, VENDOR_SPECIFIC, (byte) 0, value));
+        assertEquals("Invalid attribute length 7, parsable bytes 5", e.getCause().getCause().getMessage());
+
+        byte[] trailing = {
+                0, 0, 0x37, 0x2a, // childVendorId 14122
+                1, 3, 'a', 2 // 1 byte left over
+        };
+        IllegalArgumentException e2 = assertThrows(IllegalArgumentException.class, () ->
+                FACTORY.create(dictionary, -1, VENDOR_SPECIFIC, (byte) 0, trailing));
+        assertTrue(e2.getCause().getCause().getMessage().contains("1 bytes remaining to parse"));
+    }
+
+    @Test
+    void parseInvalidSubAttributeValueOnAccess() {
+        byte[] value = {
+                0, 0, 0x37, 0x2a, // childVendorId 14122
+                10, 4, 0, 1 // WISPr-Session-Terminate-End-Of-Day, integer should be 4 octets
+        };
+        VendorSpecificAttribute vsa = FACTORY.create(dictionary, -1, VENDOR_SPECIFIC, (byte) 0, value);
+
+        assertThrows(IllegalArgumentException.class, vsa::getAttributes);
+        assertEquals("Vendor-Specific: Vendor ID 14122 (WISPr), malformed sub-attributes: 0x0000372A0A040001",
+                vsa.toString());
+
+        var e = assertThrows(RadiusPacketException.class, () -> vsa.encode(new byte[16], "secret"));
+        assertInstanceOf(IllegalArgumentException.class, e.getCause());
+    }
+
     @Test
     void parseChildVendorIdUnsignedIntMax() {
         byte[] value = {
@@ -0,0 +1,157 @@
+package org.tinyradius.core.dictionary;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.tinyradius.core.attribute.AttributeStructure;
+import org.tinyradius.core.attribute.AttributeTemplate;
+import org.tinyradius.core.attribute.type.IntegerAttribute;
+import org.tinyradius.core.attribute.type.StringAttribute;
+import org.tinyradius.core.dictionary.parser.DictionaryParser;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.tinyradius.core.attribute.codec.AttributeCodecType.NO_ENCRYPT;
+
+class OverlayDictionaryTest {
+
+    private static Dictionary base;
+
+    @BeforeAll
+    static void setup() throws IOException {
+        base = DictionaryParser.newClasspathParser()
+                .parseDictionary("org/tinyradius/core/dictionary/default_dictionary")
+                .addVendor(new Vendor(9, "Cisco", 1, 1));
+    }
+
+    @Test
+    void lookupFallsThroughToBase() throws IOException {
+        var overlay = new OverlayDictionary(base);
+        DictionaryParser.newClasspathParser().parseDictionary(overlay, "org/tinyradius/core/dictionary/dictionary.wispr");
+
+        // from layer
+        assertEquals(14122, overlay.getVendor("WISPr").orElseThrow().id());
+        assertEquals("WISPr-Location-ID", overlay.getAttributeTemplate(14122, 1).orElseThrow().name());
+        assertTrue(base.getAttributeTemplate("WISPr-Location-ID").isEmpty());
+
+        // from base, same instance
+        assertSame(base.getAttributeTemplate(-1, 1).orElseThrow(), overlay.getAttributeTemplate("User-Name").orElseThrow());
+        assertSame(base.getVendor(9).orElseThrow(), overlay.getVendor(9).orElseThrow());
+
+        assertEquals(StringAttribute.class, overlay.createAttribute("WISPr-Location-ID", "foo").getClass());
+        assertEquals(StringAttribute.class, overlay.createAttribute("User-Name", "foo").getClass());
+    }
+
+    @Test
+    void overlaysShareBase() {
+        var overlay1 = new OverlayDictionary(base);
+        var overlay2 = new OverlayDictionary(base);
+
+        overlay1.addVendor(new Vendor(99999, "Tenant", 1, 1));
+        overlay1.addAttributeTemplate(new AttributeTemplate(99999, 1, "Tenant-Attr", "string", StringAttribute.FACTORY, NO_ENCRYPT, false));
+
+        assertTrue(overlay1.getAttributeTemplate("Tenant-Attr").isPresent());
+        assertTrue(overlay2.getAttributeTemplate("Tenant-Attr").isEmpty());
+        assertTrue(overlay2.getVendor(99999).isEmpty());
+        assertTrue(base.getVendor(99999).isEmpty());
+    }
+
+    @Test
+    void conflictsWithBase() {
+        var overlay = new OverlayDictionary(base);
+
+        // identical definitions are ignored
+        var userName = base.getAttributeTemplate("User-Name").orElseThrow();
+        overlay.addAttributeTemplate(new AttributeTemplate(-1, 1, "User-Name", "string", StringAttribute.FACTORY, NO_ENCRYPT, false));
+        overlay.addVendor(base.getVendor(9).orElseThrow());
+        assertSame(userName, overlay.getAttributeTemplate("User-Name").orElseThrow());
+
+        // different definition for same name
+        var sameName = new AttributeTemplate(-1, 1, "User-Name", "integer", IntegerAttribute.FACTORY, NO_ENCRYPT, false);
+        var e1 = assertThrows(IllegalArgumentException.class, () -> overlay.addAttributeTemplate(sameName));
+        assertTrue(e1.getMessage().contains("User-Name"));
+
+        // different name for same type code
+        var sameCode = new AttributeTemplate(-1, 1, "My-User-Name", "string", StringAttribute.FACTORY, NO_ENCRYPT, false);
+        var e2 = assertThrows(IllegalArgumentException.class, () -> overlay.addAttributeTemplate(sameCode));
+        assertTrue(e2.getMessage().contains("Duplicate type code"));
+
+        // vendor conflicts
+        var sameVendorId = new Vendor(9, "NotCisco", 1, 1);
+        assertThrows(IllegalArgumentException.class, () -> overlay.addVendor(sameVendorId));
+        var sameVendorName = new Vendor(99998, base.getVendor(9).orElseThrow().name(), 1, 1);
+        assertThrows(IllegalArgumentException.class, () -> overlay.addVendor(sameVendorName));
+    }
+
+    @Test
+    void enumerationCopiedIntoLayer() {
+        var overlay = new OverlayDictionary(base);
+        var serviceType = base.getAttributeTemplate("Service-Type").orElseThrow();
+
+        // already in base, nothing copied
+        overlay.addEnumerationValue(serviceType, 1, "Login-User");
+        assertSame(serviceType, overlay.getAttributeTemplate("Service-Type").orElseThrow());
+
+        overlay.addEnumerationValue(serviceType, 999, "Tenant-Service");
+
+        var layerServiceType = overlay.getAttributeTemplate("Service-Type").orElseThrow();
+        assertNotSame(serviceType, layerServiceType);
+        assertSame(layerServiceType, overlay.getAttributeTemplate(-1, 6).orElseThrow());
+        assertEquals("Tenant-Service", layerServiceType.getEnumeration(999));
+        assertEquals("Login-User", layerServiceType.getEnumeration(1));
+        assertNull(serviceType.getEnumeration(999));
+        var attribute = (IntegerAttribute) overlay.createAttribute("Service-Type", "Tenant-Service");
+        assertEquals(999, attribute.getValueInt());
+        assertEquals("Tenant-Service", attribute.getValueString());
+    }
+
+    @Test
+    void childrenCopiedIntoLayer() throws IOException {
+        var parser = DictionaryParser.newClasspathParser();
+        var tlvBase = parser.parseDictionary("org/tinyradius/core/dictionary/tlv_dictionary");
+        var overlay = new OverlayDictionary(tlvBase);
+        var sibling = new OverlayDictionary(tlvBase);
+        parser.parseDictionary(overlay, "org/tinyradius/core/dictionary/tlv_overlay_dictionary");
+
+        var baseCapability = tlvBase.getAttributeTemplate("Example-Capability").orElseThrow();
+        var capability = overlay.getAttributeTemplate("Example-Capability").orElseThrow();
+        assertNotSame(baseCapability, capability);
+        assertEquals("Example-Release", capability.structure().getChild(1).orElseThrow().name());
+        assertEquals("Flow-Based", capability.structure().getChild(2).orElseThrow().getEnumeration(2));
+        var feature = capability.structure().getChild(3).orElseThrow();
+        assertEquals("Example-Tenant-Feature", feature.name());
+        assertEquals("Enabled", feature.getEnumeration(1));
+
+        var counters = overlay.getAttributeTemplate("Example-Stats").orElseThrow()
+                .structure().getChild(1).orElseThrow();
+        assertEquals("Example-Stats-Requests", counters.structure().getChild(1).orElseThrow().name());
+        assertEquals("Example-Stats-Errors", counters.structure().getChild(2).orElseThrow().name());
+
+        // base and sibling overlay unchanged
+        for (var dictionary : new Dictionary[]{tlvBase, sibling}) {
+            assertSame(baseCapability, dictionary.getAttributeTemplate("Example-Capability").orElseThrow());
+            assertTrue(baseCapability.structure().getChild(3).isEmpty());
+            var baseCounters = dictionary.getAttributeTemplate("Example-Stats").orElseThrow()
+                    .structure().getChild(1).orElseThrow();
+            assertTrue(baseCounters.structure().getChild(2).isEmpty());
+        }
+
+        // untouched base attributes are not copied
+        assertSame(tlvBase.getAttributeTemplate("Example-Flow").orElseThrow(),
+                overlay.getAttributeTemplate("Example-Flow").orElseThrow());
+    }
+
+    @Test
+    void structMembersCopiedIntoLayer() throws IOException {
+        var tlvBase = DictionaryParser.newClasspathParser().parseDictionary("org/tinyradius/core/dictionary/tlv_dictionary");
+        var overlay = new OverlayDictionary(tlvBase);
+        var baseLocation = tlvBase.getAttributeTemplate("Example-Location").orElseThrow();
+
+        overlay.addStructMember(baseLocation, 128, AttributeStructure.Member.of("Example-Location-TAI-TAC", "uint16", false));
+
+        var location = overlay.getAttributeTemplate("Example-Location").orElseThrow();
+        assertEquals(baseLocation.structure().getMembers(), location.structure().getMembers());
+        assertEquals("Example-Location-TAI-TAC", location.structure().getMembers(128).get(0).name());
+        assertTrue(baseLocation.structure().getMembers(128).isEmpty());
+    }
+}
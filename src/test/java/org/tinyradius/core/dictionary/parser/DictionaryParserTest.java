@@ -2,7 +2,9 @@ package org.tinyradius.core.dictionary.parser;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.tinyradius.core.attribute.AttributeStructure;
 import org.tinyradius.core.attribute.AttributeTemplate;
+import org.tinyradius.core.attribute.type.TlvAttribute;
 import org.tinyradius.core.dictionary.Dictionary;
 import org.tinyradius.core.dictionary.Vendor;
 
@@ -11,6 +13,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
 
 import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
@@ -23,6 +26,7 @@ class DictionaryParserTest {
 
     private static final String PACKAGE_PREFIX = "org/tinyradius/core/dictionary/";
     private static final String TEST_DICTIONARY = "test_dictionary";
+    private static final String TLV_DICTIONARY = "tlv_dictionary";
 
     private static Dictionary dictionary;
 
@@ -178,6 +182,76 @@ class DictionaryParserTest {
         assertEquals(20119, custom.type());
     }
 
+    @Test
+    void tlvChildren() throws IOException {
+        Dictionary tlvDictionary = DictionaryParser.newClasspathParser().parseDictionary(PACKAGE_PREFIX + TLV_DICTIONARY);
+
+        // BEGIN-TLV block
+        AttributeTemplate capability = tlvDictionary.getAttributeTemplate("Example-Capability").get();
+        assertSame(TlvAttribute.FACTORY, capability.factory());
+        assertEquals(List.of("Example-Release", "Example-Accounting-Capabilities"),
+                capability.structure().getChildren().stream().map(AttributeTemplate::name).toList());
+        AttributeTemplate accounting = capability.structure().getChild(2).get();
+        assertEquals(32473, accounting.vendorId());
+        assertEquals("Flow-Based", accounting.getEnumeration(2));
+
+        // nested templates are not top level attributes
+        assertTrue(tlvDictionary.getAttributeTemplate("Example-Release").isEmpty());
+        assertEquals("Example-Capability", tlvDictionary.getAttributeTemplate(32473, 1).get().name());
+
+        // relative type codes
+        AttributeStructure flow = tlvDictionary.getAttributeTemplate("Example-Flow").get().structure();
+        assertEquals("Example-Flow-Id", flow.getChild(1).get().name());
+        assertEquals(RFC2868_TUNNEL_PASSWORD, flow.getChild(2).get().codecType());
+        assertEquals("Example-Flow-Classifier-Port", flow.getChild(3).get().structure().getChild(1).get().name());
+
+        // absolute type codes, data type is case-insensitive
+        AttributeTemplate stats = tlvDictionary.getAttributeTemplate("Example-Stats").get();
+        assertSame(TlvAttribute.FACTORY, stats.factory());
+        assertEquals("Example-Stats-Requests", stats.structure().getChild(1).get().structure().getChild(1).get().name());
+
+        // non-tlv parent ignored
+        assertTrue(tlvDictionary.getAttributeTemplate(32473, 4).isEmpty());
+    }
+
+    @Test
+    void structMembers() throws IOException {
+        Dictionary tlvDictionary = DictionaryParser.newClasspathParser().parseDictionary(PACKAGE_PREFIX + TLV_DICTIONARY);
+
+        AttributeStructure location = tlvDictionary.getAttributeTemplate("Example-Location").get().structure();
+        assertEquals(List.of(
+                new AttributeStructure.Member("Example-Location-Type", "uint8", 1, true),
+                new AttributeStructure.Member("Example-Location-PLMN-ID", "octets[3]", 3, false)
+        ), location.getMembers());
+        assertEquals(List.of(
+                new AttributeStructure.Member("Example-Location-CGI-LAC", "uint16", 2, false),
+                new AttributeStructure.Member("Example-Location-CGI-CI", "uint16", 2, false)
+        ), location.getMembers(0));
+        assertEquals(4, location.getMembers(129).get(0).length());
+        assertTrue(location.getMembers(1).isEmpty());
+        assertTrue(location.getChildren().isEmpty());
+    }
+
+    @Test
+    void tlvBlockMismatch() throws IOException {
+        Path tmpPath = Files.createTempDirectory("tinyradius_test_");
+        Path file = tmpPath.resolve("dictionary.tlv");
+        Files.writeString(file, """
+                ATTRIBUTE	Test-Tlv	241	tlv
+                ATTRIBUTE	Test-Other	242	tlv
+                BEGIN-TLV	Test-Tlv
+                ATTRIBUTE	Test-Child	1	integer
+                END-TLV		Test-Other
+                """);
+
+        DictionaryParser parser = DictionaryParser.newFileParser();
+        IOException e = assertThrows(IOException.class, () -> parser.parseDictionary(file.toString()));
+        assertTrue(e.getMessage().contains("no corresponding BEGIN-TLV found"));
+
+        Files.delete(file);
+        Files.delete(tmpPath);
+    }
+
     @Test
     void fileSystemIncludeDict() throws IOException {
         Path tmpPath = Files.createTempDirectory("tinyradius_test_");
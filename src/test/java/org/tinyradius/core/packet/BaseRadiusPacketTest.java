@@ -153,6 +153,29 @@ class BaseRadiusPacketTest {
         assertEquals(1, rp4.getAttributes().size());
     }
 
+    @Test
+    void removeTrailingAttribute() throws RadiusPacketException {
+        StubPacket rp = new StubPacket()
+                .addAttribute("Proxy-State", "01")
+                .addAttribute("User-Name", "user")
+                .addAttribute("Proxy-State", "01");
+
+        // only the trailing instance is removed, even if an equal attribute exists
+        StubPacket rp2 = rp.removeTrailingAttribute(33);
+        assertEquals(2, rp2.getAttributes().size());
+        assertEquals(List.of(33, 1), rp2.getAttributes().stream().map(RadiusAttribute::getType).toList());
+        assertEquals(rp.getLength() - 3, rp2.getLength());
+        assertEquals(rp2.getLength(), rp2.toByteBuf().getShort(2));
+
+        // last attribute has different type, falls back to last occurrence
+        StubPacket rp3 = rp2.removeTrailingAttribute(33);
+        assertEquals(List.of(1), rp3.getAttributes().stream().map(RadiusAttribute::getType).toList());
+
+        // no attribute of type
+        assertEquals(rp3.getAttributes(), rp3.removeTrailingAttribute(33).getAttributes());
+        assertTrue(new StubPacket().removeTrailingAttribute(33).getAttributes().isEmpty());
+    }
+
     @Test
     void testFlattenAttributes() throws RadiusPacketException {
         VendorSpecificAttribute vsa = new VendorSpecificAttribute(dictionary, 14122, Arrays.asList(
@@ -217,6 +240,52 @@ class BaseRadiusPacketTest {
         assertEquals(vendorAttrName, request2.getAttribute(vendorAttrName).get().getAttributeName());
     }
 
+    @Test
+    void typedAccessors() throws RadiusPacketException {
+        StubPacket packet = new StubPacket()
+                .addAttribute("User-Name", "user1")
+                .addAttribute("Session-Timeout", "3600")
+                .addAttribute("WISPr-Session-Terminate-End-Of-Day", "1");
+
+        assertEquals(3600, packet.getInt(-1, 27, 0));
+        assertEquals(3600L, packet.getLong(-1, 27, 0));
+        assertEquals(1, packet.getInt(14122, 10, 0));
+        assertEquals(-1, packet.getInt(-1, 28, -1)); // missing
+        assertEquals(-1, packet.getInt(-1, 1, -1)); // not integer
+
+        assertEquals("user1", packet.getCharSequence(-1, 1).toString());
+        assertEquals("3600", packet.getCharSequence(-1, 27).toString());
+        assertNull(packet.getCharSequence(-1, 28));
+        assertNull(packet.getCharSequence(14122, 1));
+    }
+
+    @Test
+    void vendorIndex() throws RadiusPacketException {
+        StubPacket packet = new StubPacket()
+                .addAttribute("WISPr-Location-ID", "location1")
+                .addAttribute("User-Name", "user1")
+                .addAttribute(dictionary.createAttribute(9999, 1, new byte[4]))
+                .addAttribute("WISPr-Location-ID", "location2")
+                .addAttribute("WISPr-Location-Name", "name");
+
+        List<VendorSpecificAttribute> wispr = packet.getVendorAttributes(14122);
+        assertEquals(3, wispr.size());
+        assertSame(wispr, packet.getVendorAttributes(14122));
+        assertEquals(1, packet.getVendorAttributes(9999).size());
+        assertTrue(packet.getVendorAttributes(1234).isEmpty());
+
+        assertEquals(List.of("location1", "location2"), packet.getAttributes(14122, 1).stream()
+                .map(RadiusAttribute::getValueString)
+                .toList());
+        assertEquals("name", packet.getAttribute(14122, 2).get().getValueString());
+        assertTrue(packet.getAttributes(1234, 1).isEmpty());
+
+        // index is per packet instance
+        StubPacket removed = packet.removeAttributes(14122, 1);
+        assertEquals(1, removed.getVendorAttributes(14122).size());
+        assertTrue(removed.getAttributes(14122, 1).isEmpty());
+    }
+
     private static class StubPacket extends BaseRadiusPacket<StubPacket> {
 
         private StubPacket() throws RadiusPacketException {
@@ -0,0 +1,77 @@
+package org.tinyradius.core.packet;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.tinyradius.core.RadiusPacketException;
+import org.tinyradius.core.attribute.type.RadiusAttribute;
+import org.tinyradius.core.dictionary.Dictionary;
+import org.tinyradius.core.dictionary.parser.DictionaryParser;
+import org.tinyradius.core.packet.request.AccessRequest;
+import org.tinyradius.core.packet.request.AccessRequestPap;
+import org.tinyradius.core.packet.request.RadiusRequest;
+import org.tinyradius.core.packet.response.RadiusResponse;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.tinyradius.core.packet.PacketType.ACCESS_ACCEPT;
+import static org.tinyradius.core.packet.PacketType.ACCESS_REQUEST;
+
+class CompactPacketTest {
+
+    private static Dictionary dictionary;
+
+    @BeforeAll
+    static void setup() throws IOException {
+        dictionary = DictionaryParser.newClasspathParser().parseDictionary("org/tinyradius/core/dictionary/test_dictionary");
+    }
+
+    @Test
+    void compactResponse() throws RadiusPacketException {
+        RadiusResponse response = RadiusResponse.create(dictionary, ACCESS_ACCEPT, (byte) 7, new byte[16], List.of(
+                dictionary.createAttribute("Service-Type", "Framed-User"),
+                dictionary.createAttribute("WISPr-Location-ID", "myLocationId"),
+                dictionary.createAttribute("Session-Timeout", "3600")));
+
+        CompactPacket<RadiusResponse> compact = response.compact();
+        assertEquals(ACCESS_ACCEPT, compact.getType());
+        assertEquals(7, compact.getId());
+        assertEquals(response.getLength(), compact.getLength());
+        assertEquals(3, compact.getAttributeCount());
+        assertEquals("Service-Type=Framed-User", compact.getAttribute(0).toString());
+        assertEquals("myLocationId", compact.getAttribute(1).flatten().get(0).getValueString());
+
+        RadiusResponse expanded = compact.expand();
+        assertEquals(response.getClass(), expanded.getClass());
+        assertEquals(response, expanded);
+        assertArrayEquals(response.toBytes(), expanded.toBytes());
+    }
+
+    @Test
+    void compactKeepsDecodedAttributes() throws RadiusPacketException {
+        String secret = "sharedSecret1";
+        RadiusRequest request = ((AccessRequest) RadiusRequest.create(dictionary, ACCESS_REQUEST, (byte) 1, null, List.of()))
+                .withPapPassword("myPassword")
+                .addAttribute(dictionary.createAttribute("User-Name", "myUser"));
+
+        // plaintext password before encoding
+        RadiusRequest expanded = request.compact().expand();
+        assertInstanceOf(AccessRequestPap.class, expanded);
+        assertEquals("myPassword", ((AccessRequestPap) expanded).getPassword().get());
+        assertEquals("myUser", expanded.getAttribute("User-Name").get().getValueString());
+
+        // encoded password stays encoded
+        RadiusRequest encoded = request.encodeRequest(secret);
+        RadiusRequest expandedEncoded = encoded.compact().expand();
+        assertArrayEquals(encoded.toBytes(), expandedEncoded.toBytes());
+        assertTrue(expandedEncoded.getAttribute("User-Password").map(RadiusAttribute::isEncoded).get());
+        assertEquals("myPassword", ((AccessRequestPap) expandedEncoded.decodeRequest(secret)).getPassword().get());
+
+        // decoded password stays decoded
+        RadiusRequest decoded = encoded.decodeRequest(secret);
+        RadiusRequest expandedDecoded = decoded.compact().expand();
+        assertArrayEquals(decoded.toBytes(), expandedDecoded.toBytes());
+        assertEquals("myPassword", ((AccessRequestPap) expandedDecoded).getPassword().get());
+    }
+}
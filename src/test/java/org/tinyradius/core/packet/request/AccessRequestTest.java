@@ -36,6 +36,18 @@ class AccessRequestTest {
         assertArrayEquals(authRequest.getAuthenticator(), authRequest.encodeRequest(sharedSecret).getAuthenticator());
     }
 
+    @Test
+    void username() throws RadiusPacketException {
+        AccessRequest request = (AccessRequest) RadiusRequest.create(dictionary, ACCESS_REQUEST, (byte) 1, null,
+                Collections.singletonList(dictionary.createAttribute(-1, USER_NAME, "user1".getBytes())));
+        assertEquals("user1", request.getUsername().orElseThrow());
+        assertEquals("user1", request.getUsernameChars().toString());
+
+        AccessRequest noUser = (AccessRequest) RadiusRequest.create(dictionary, ACCESS_REQUEST, (byte) 1, null, Collections.emptyList());
+        assertTrue(noUser.getUsername().isEmpty());
+        assertNull(noUser.getUsernameChars());
+    }
+
     @Test
     void testDetectCorrectAuth() throws RadiusPacketException {
         SecureRandom random = new SecureRandom();
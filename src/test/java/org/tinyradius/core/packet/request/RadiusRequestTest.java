@@ -1,6 +1,8 @@
 package org.tinyradius.core.packet.request;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.socket.DatagramPacket;
 import org.junit.jupiter.api.Test;
@@ -11,8 +13,13 @@ import org.tinyradius.core.dictionary.Dictionary;
 import java.net.InetSocketAddress;
 import java.security.SecureRandom;
 import java.util.Collections;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.tinyradius.core.attribute.AttributeTypes.PROXY_STATE;
 import static org.tinyradius.core.attribute.AttributeTypes.USER_NAME;
 import static org.tinyradius.core.packet.PacketType.*;
 
@@ -49,6 +56,26 @@ class RadiusRequestTest {
         assertEquals(AccountingRequest.class, accountingRequest.getClass());
     }
 
+    @Test
+    void removeTrailingAttributeKeepsHeader() throws RadiusPacketException {
+        byte[] auth = random.generateSeed(16);
+        RadiusRequest request = RadiusRequest.create(dictionary, ACCOUNTING_REQUEST, (byte) 7, auth, List.of(
+                dictionary.createAttribute("User-Name", "user1"),
+                dictionary.createAttribute(-1, PROXY_STATE, new byte[]{1, 2})));
+
+        RadiusRequest truncated = request.removeTrailingAttribute(PROXY_STATE);
+        assertEquals(AccountingRequest.class, truncated.getClass());
+        assertEquals(7, truncated.getId());
+        assertArrayEquals(auth, truncated.getAuthenticator());
+        assertEquals(request.getLength() - 4, truncated.getHeader().getShort(2));
+        assertEquals(1, truncated.getAttributes().size());
+        assertSame(request.getAttributes().get(0), truncated.getAttributes().get(0));
+
+        // original packet unchanged
+        assertEquals(2, request.getAttributes().size());
+        assertEquals(request.getLength(), request.getHeader().getShort(2));
+    }
+
     @Test
     void accountingRequestFromDatagram() throws RadiusPacketException {
         String user = "user1";
@@ -166,4 +193,46 @@ class RadiusRequestTest {
                 () -> RadiusRequest.fromDatagram(dictionary, new DatagramPacket(buffer, new InetSocketAddress(0))));
         assertTrue(exception.getMessage().contains("too long"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void pooledRequestFromDatagram() throws RadiusPacketException {
+        String sharedSecret = "sharedSecret1";
+        RadiusRequest request = RadiusRequest.create(dictionary, ACCOUNTING_REQUEST, (byte) 1, null, Collections.emptyList())
+                .addAttribute(USER_NAME, "user1")
+                .encodeRequest(sharedSecret);
+
+        // packets not read from a pooled buffer can't be released
+        assertEquals(1, request.refCnt());
+        assertFalse(request.release());
+        assertEquals(1, request.refCnt());
+
+        DatagramPacket datagram = new DatagramPacket(request.toByteBuf(), remoteAddress);
+        RadiusRequest pooled = RadiusRequest.fromDatagram(dictionary, datagram, PooledByteBufAllocator.DEFAULT);
+        assertEquals(1, pooled.refCnt());
+        assertEquals(request, pooled);
+        assertEquals(0, datagram.content().readerIndex());
+
+        // derived packets share reference count
+        RadiusRequest decoded = pooled.decodeRequest(sharedSecret).retain();
+        assertEquals(2, pooled.refCnt());
+        assertEquals("user1", decoded.getAttribute(USER_NAME).get().getValueString());
+
+        assertFalse(pooled.release());
+        assertTrue(decoded.release());
+        assertEquals(0, pooled.refCnt());
+    }
+
+    @Test
+    void pooledRequestFromBadDatagram() {
+        ByteBuf buffer = Unpooled.buffer();
+        ByteBufAllocator allocator = mock(ByteBufAllocator.class);
+        when(allocator.buffer(anyInt(), anyInt())).thenReturn(buffer);
+
+        // declared length 30, actual 20
+        ByteBuf content = Unpooled.buffer().writeByte(ACCOUNTING_REQUEST).writeByte(1).writeShort(30).writeZero(16);
+        DatagramPacket datagram = new DatagramPacket(content, remoteAddress);
+
+        assertThrows(RadiusPacketException.class, () -> RadiusRequest.fromDatagram(dictionary, datagram, allocator));
+        assertEquals(0, buffer.refCnt());
+    }
+}
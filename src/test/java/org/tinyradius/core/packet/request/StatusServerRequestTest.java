@@ -0,0 +1,44 @@
+package org.tinyradius.core.packet.request;
+
+import org.junit.jupiter.api.Test;
+import org.tinyradius.core.RadiusPacketException;
+import org.tinyradius.core.dictionary.DefaultDictionary;
+import org.tinyradius.core.dictionary.Dictionary;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.tinyradius.core.attribute.AttributeTypes.MESSAGE_AUTHENTICATOR;
+import static org.tinyradius.core.packet.PacketType.STATUS_SERVER;
+
+class StatusServerRequestTest {
+
+    private static final Dictionary dictionary = DefaultDictionary.INSTANCE;
+
+    @Test
+    void encodeDecode() throws RadiusPacketException {
+        var request = RadiusRequest.create(dictionary, STATUS_SERVER, (byte) 1, null, Collections.emptyList());
+        assertInstanceOf(StatusServerRequest.class, request);
+
+        // Message-Authenticator required
+        var e = assertThrows(RadiusPacketException.class, () -> request.decodeRequest("secret"));
+        assertTrue(e.getMessage().contains("Message-Authenticator"));
+
+        var encoded = request.encodeRequest("secret");
+        assertNotNull(encoded.getAuthenticator());
+        assertEquals(1, encoded.getAttributes(MESSAGE_AUTHENTICATOR).size());
+
+        // idempotence check
+        assertArrayEquals(encoded.toBytes(), encoded.encodeRequest("secret").toBytes());
+
+        // random authenticator
+        assertFalse(Arrays.equals(encoded.getAuthenticator(), request.encodeRequest("secret").getAuthenticator()));
+
+        var decoded = RadiusRequest.fromByteBuf(dictionary, encoded.toByteBuf()).decodeRequest("secret");
+        assertInstanceOf(StatusServerRequest.class, decoded);
+
+        var badSecret = assertThrows(RadiusPacketException.class, () -> encoded.decodeRequest("wrong"));
+        assertTrue(badSecret.getMessage().contains("Message-Authenticator check failed"));
+    }
+}
@@ -1,11 +1,7 @@
 package org.tinyradius.e2e;
 
-import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.ChannelInitializer;
-import io.netty.channel.MultiThreadIoEventLoopGroup;
-import io.netty.channel.nio.NioIoHandler;
 import io.netty.channel.socket.DatagramChannel;
-import io.netty.channel.socket.nio.NioDatagramChannel;
 import io.netty.util.HashedWheelTimer;
 import io.netty.util.Timer;
 import org.apache.logging.log4j.LogManager;
@@ -18,6 +14,8 @@ import org.tinyradius.core.packet.response.RadiusResponse;
 import org.tinyradius.e2e.handler.SimpleAccessHandler;
 import org.tinyradius.e2e.handler.SimpleAccountingHandler;
 import org.tinyradius.e2e.handler.SimpleProxyHandler;
+import org.tinyradius.io.DatagramOptions;
+import org.tinyradius.io.DatagramTransport;
 import org.tinyradius.io.RadiusEndpoint;
 import org.tinyradius.io.client.RadiusClient;
 import org.tinyradius.io.client.handler.BlacklistHandler;
@@ -40,11 +38,12 @@ public class Harness implements AutoCloseable {
     private static final Logger log = LogManager.getLogger(Harness.class);
     private final Dictionary dictionary = DefaultDictionary.INSTANCE;
     private final Timer timer = new HashedWheelTimer();
+    private final DatagramTransport transport = DatagramTransport.select();
     private final FixedTimeoutHandler retryStrategy = new FixedTimeoutHandler(timer);
 
     public List<RadiusResponse> testClient(String host, int accessPort, int acctPort, String secret, List<RadiusRequest> requests) {
-        var eventLoopGroup = new MultiThreadIoEventLoopGroup(4, NioIoHandler.newFactory());
-        var bootstrap = new Bootstrap().group(eventLoopGroup).channel(NioDatagramChannel.class);
+        var eventLoopGroup = transport.newEventLoopGroup(4);
+        var bootstrap = transport.newBootstrap(eventLoopGroup, DatagramOptions.DEFAULT);
 
         try (var rc = new RadiusClient(
                 bootstrap, new InetSocketAddress(0), new FixedTimeoutHandler(timer), new ChannelInitializer<DatagramChannel>() {
@@ -77,8 +76,8 @@ public class Harness implements AutoCloseable {
      * @return Closeable handler to trigger origin server shutdown
      */
     public RadiusServer startOrigin(int originAccessPort, int originAcctPort, String originSecret, Map<String, String> credentials) {
-        var eventLoopGroup = new MultiThreadIoEventLoopGroup(4, NioIoHandler.newFactory());
-        var bootstrap = new Bootstrap().channel(NioDatagramChannel.class).group(eventLoopGroup);
+        var eventLoopGroup = transport.newEventLoopGroup(4);
+        var bootstrap = transport.newBootstrap(eventLoopGroup, DatagramOptions.DEFAULT);
 
         var serverPacketCodec = new ServerPacketCodec(dictionary, ignored -> originSecret);
 
@@ -135,8 +134,8 @@ public class Harness implements AutoCloseable {
      * @return Closeable handler to trigger proxy server shutdown
      */
     public RadiusServer startProxy(int proxyAccessPort, int proxyAcctPort, String proxySecret, int originAccessPort, int originAcctPort, String originSecret) {
-        var eventLoopGroup = new MultiThreadIoEventLoopGroup(4, NioIoHandler.newFactory());
-        var bootstrap = new Bootstrap().channel(NioDatagramChannel.class).group(eventLoopGroup);
+        var eventLoopGroup = transport.newEventLoopGroup(4);
+        var bootstrap = transport.newBootstrap(eventLoopGroup, DatagramOptions.DEFAULT);
 
         var client = new RadiusClient(bootstrap, new InetSocketAddress(0), retryStrategy, new ChannelInitializer<DatagramChannel>() {
             @Override
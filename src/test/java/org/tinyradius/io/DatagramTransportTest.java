@@ -0,0 +1,68 @@
+package org.tinyradius.io;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelOption;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.net.InetSocketAddress;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatagramTransportTest {
+
+    @Test
+    void selectAvailable() {
+        assertTrue(DatagramTransport.NIO.isAvailable());
+        assertNull(DatagramTransport.NIO.unavailabilityCause());
+
+        DatagramTransport selected = DatagramTransport.select();
+        assertTrue(selected.isAvailable());
+
+        // first available in order of preference
+        for (DatagramTransport transport : DatagramTransport.values()) {
+            if (transport == selected)
+                break;
+            assertFalse(transport.isAvailable());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(DatagramTransport.class)
+    void bindWithOptions(DatagramTransport transport) {
+        if (!transport.isAvailable()) {
+            IllegalStateException e = assertThrows(IllegalStateException.class, () -> transport.newEventLoopGroup(1));
+            assertSame(transport.unavailabilityCause(), e.getCause());
+            return;
+        }
+
+        var eventLoopGroup = transport.newEventLoopGroup(1);
+        try {
+            var options = DatagramOptions.DEFAULT
+                    .withReceiveBufferSize(64 * 1024)
+                    .withUdpGro(true);
+            Channel channel = transport.newBootstrap(eventLoopGroup, options)
+                    .handler(new ChannelInboundHandlerAdapter())
+                    .bind(new InetSocketAddress(0))
+                    .syncUninterruptibly()
+                    .channel();
+
+            assertInstanceOf(transport.channelClass(), channel);
+            assertNotNull(channel.localAddress());
+            // kernel may round up or double requested size
+            assertTrue(channel.config().getOption(ChannelOption.SO_RCVBUF) >= 64 * 1024);
+
+            channel.close().syncUninterruptibly();
+        } finally {
+            eventLoopGroup.shutdownGracefully().syncUninterruptibly();
+        }
+    }
+
+    @Test
+    void invalidOptions() {
+        assertThrows(IllegalArgumentException.class, () -> new DatagramOptions(-1, false));
+        assertEquals(new DatagramOptions(1024, true), DatagramOptions.DEFAULT.withReceiveBufferSize(1024).withUdpGro(true));
+    }
+}
@@ -0,0 +1,82 @@
+package org.tinyradius.io.client;
+
+import org.junit.jupiter.api.Test;
+import org.tinyradius.io.RadiusEndpoint;
+
+import java.net.InetSocketAddress;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgePolicyTest {
+
+    private final RadiusEndpoint endpoint1 = new RadiusEndpoint(new InetSocketAddress(1), "secret");
+    private final RadiusEndpoint endpoint2 = new RadiusEndpoint(new InetSocketAddress(2), "secret");
+
+    @Test
+    void fixedDelay() {
+        var policy = HedgePolicy.fixedDelay(50, 0.1);
+        policy.recordLatency(endpoint1, 1);
+        assertEquals(50, policy.getDelayMs(endpoint1));
+    }
+
+    @Test
+    void latencyPercentile() {
+        var policy = HedgePolicy.latencyPercentile(0.9, 5, 500, 0.1);
+
+        // max delay until enough samples
+        for (int i = 1; i < 8; i++) {
+            policy.recordLatency(endpoint1, i * 10);
+        }
+        assertEquals(500, policy.getDelayMs(endpoint1));
+
+        for (int i = 8; i <= 64; i++) {
+            policy.recordLatency(endpoint1, i * 10);
+        }
+        assertEquals(500, policy.getDelayMs(endpoint1)); // p90 is 580, capped
+
+        // window keeps most recent samples only
+        for (int i = 0; i < 64; i++) {
+            policy.recordLatency(endpoint1, 1);
+        }
+        assertEquals(5, policy.getDelayMs(endpoint1)); // floor
+
+        for (int i = 0; i < 64; i++) {
+            policy.recordLatency(endpoint2, i < 57 ? 20 : 200);
+        }
+        assertEquals(200, policy.getDelayMs(endpoint2));
+    }
+
+    @Test
+    void budget() {
+        var policy = HedgePolicy.fixedDelay(0, 0.5);
+
+        // starts with burst
+        for (int i = 0; i < HedgePolicy.BURST; i++) {
+            assertTrue(policy.tryAcquireHedge());
+        }
+        assertFalse(policy.tryAcquireHedge());
+
+        policy.onRequest();
+        assertFalse(policy.tryAcquireHedge());
+        policy.onRequest();
+        assertTrue(policy.tryAcquireHedge());
+        assertFalse(policy.tryAcquireHedge());
+
+        // capped at burst
+        for (int i = 0; i < 100; i++) {
+            policy.onRequest();
+        }
+        for (int i = 0; i < HedgePolicy.BURST; i++) {
+            assertTrue(policy.tryAcquireHedge());
+        }
+        assertFalse(policy.tryAcquireHedge());
+    }
+
+    @Test
+    void invalidConfig() {
+        assertThrows(IllegalArgumentException.class, () -> HedgePolicy.fixedDelay(-1, 0.1));
+        assertThrows(IllegalArgumentException.class, () -> HedgePolicy.fixedDelay(10, 1.5));
+        assertThrows(IllegalArgumentException.class, () -> HedgePolicy.latencyPercentile(1, 10, 100, 0.1));
+        assertThrows(IllegalArgumentException.class, () -> HedgePolicy.latencyPercentile(0.9, 100, 10, 0.1));
+    }
+}
@@ -0,0 +1,129 @@
+package org.tinyradius.io.client;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.DefaultEventLoop;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
+import org.junit.jupiter.api.AutoClose;
+import org.junit.jupiter.api.Test;
+import org.tinyradius.core.RadiusPacketException;
+import org.tinyradius.core.dictionary.DefaultDictionary;
+import org.tinyradius.core.packet.response.RadiusResponse;
+import org.tinyradius.io.RadiusEndpoint;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgedRequestTest {
+
+    @AutoClose("shutdownGracefully")
+    private final DefaultEventLoop eventLoop = new DefaultEventLoop();
+
+    private final RadiusEndpoint endpoint1 = new RadiusEndpoint(new InetSocketAddress(1), "secret");
+    private final RadiusEndpoint endpoint2 = new RadiusEndpoint(new InetSocketAddress(2), "secret");
+    private final RadiusEndpoint endpoint3 = new RadiusEndpoint(new InetSocketAddress(3), "secret");
+    private final List<RadiusEndpoint> endpoints = List.of(endpoint1, endpoint2, endpoint3);
+
+    private final List<RadiusEndpoint> sent = new CopyOnWriteArrayList<>();
+    private final Map<RadiusEndpoint, Promise<RadiusResponse>> attempts = new ConcurrentHashMap<>();
+
+    @Test
+    void hedgeAfterDelay() throws InterruptedException {
+        // two endpoints only, so the hedge timer fires once and the second send can't be missed
+        var response = HedgedRequest.start(List.of(endpoint1, endpoint2), this::send, HedgePolicy.fixedDelay(50, 0.1), eventLoop);
+        assertEquals(List.of(endpoint1), sent);
+
+        await().atMost(Duration.ofSeconds(1)).pollInterval(Duration.ofMillis(10)).until(() -> sent.size() == 2);
+        assertEquals(endpoint2, sent.get(1));
+        assertFalse(response.isDone());
+
+        // first valid response wins, others cancelled
+        attempts.get(endpoint2).trySuccess(null);
+        assertTrue(response.awaitUninterruptibly(1000));
+        assertTrue(response.isSuccess());
+        // cancelled by a listener that runs on the event loop
+        await().atMost(Duration.ofSeconds(1)).until(() -> attempts.get(endpoint1).isCancelled());
+
+        // no further hedges
+        Thread.sleep(200);
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    void losingResponseReleased() throws RadiusPacketException {
+        var response = HedgedRequest.start(List.of(endpoint1, endpoint2), this::send, HedgePolicy.fixedDelay(50, 0.1), eventLoop);
+        // response arrives before the attempt can be cancelled
+        attempts.get(endpoint1).setUncancellable();
+        await().atMost(Duration.ofSeconds(1)).pollInterval(Duration.ofMillis(10)).until(() -> sent.size() == 2);
+
+        var winner = response();
+        var loser = response();
+        attempts.get(endpoint2).trySuccess(winner);
+        attempts.get(endpoint1).trySuccess(loser);
+
+        assertTrue(response.awaitUninterruptibly(1000));
+        assertSame(winner, response.getNow());
+        assertEquals(1, winner.refCnt());
+        assertEquals(0, loser.refCnt());
+    }
+
+    @Test
+    void failOverWithoutWaitingForDelay() {
+        var response = HedgedRequest.start(endpoints, this::send, HedgePolicy.fixedDelay(10000, 0), eventLoop);
+
+        attempts.get(endpoint1).tryFailure(new IOException("timeout 1"));
+        assertEquals(List.of(endpoint1, endpoint2), sent);
+        attempts.get(endpoint2).tryFailure(new IOException("timeout 2"));
+        assertEquals(endpoints, sent);
+        attempts.get(endpoint3).tryFailure(new IOException("timeout 3"));
+
+        assertTrue(response.awaitUninterruptibly(1000));
+        assertEquals("Client send failed - all endpoints failed", response.cause().getMessage());
+        assertEquals("timeout 3", response.cause().getCause().getMessage());
+    }
+
+    @Test
+    void noHedgeIfBudgetExhausted() throws InterruptedException {
+        var policy = HedgePolicy.fixedDelay(10, 0);
+        while (policy.tryAcquireHedge()) {
+            // drain burst
+        }
+
+        var response = HedgedRequest.start(endpoints, this::send, policy, eventLoop);
+        Thread.sleep(200);
+        assertEquals(List.of(endpoint1), sent);
+
+        attempts.get(endpoint1).trySuccess(null);
+        assertTrue(response.awaitUninterruptibly(1000));
+        assertTrue(response.isSuccess());
+    }
+
+    @Test
+    void noEndpoints() {
+        var response = HedgedRequest.start(List.of(), this::send, HedgePolicy.fixedDelay(10, 0), eventLoop);
+        assertInstanceOf(IOException.class, response.cause());
+        assertTrue(sent.isEmpty());
+    }
+
+    private static RadiusResponse response() throws RadiusPacketException {
+        // read from a releasable buffer, created packets have unreleasable headers
+        var buffer = Unpooled.buffer(20).writeByte(2).writeByte(1).writeShort(20).writeZero(16);
+        return RadiusResponse.fromByteBuf(DefaultDictionary.INSTANCE, buffer);
+    }
+
+    private Future<RadiusResponse> send(RadiusEndpoint endpoint) {
+        sent.add(endpoint);
+        Promise<RadiusResponse> promise = ImmediateEventExecutor.INSTANCE.newPromise();
+        attempts.put(endpoint, promise);
+        return promise;
+    }
+}
@@ -0,0 +1,158 @@
+package org.tinyradius.io.client;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
+import org.junit.jupiter.api.Test;
+import org.tinyradius.io.RadiusEndpoint;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+class InFlightLimiterTest {
+
+    private final RadiusEndpoint endpoint1 = new RadiusEndpoint(new InetSocketAddress(1), "secret");
+    private final RadiusEndpoint endpoint2 = new RadiusEndpoint(new InetSocketAddress(2), "secret");
+
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+
+    @Test
+    void perEndpointLimit() {
+        var limiter = new InFlightLimiter(2, 10, 1);
+
+        var p1 = execute(limiter, endpoint1, "a");
+        execute(limiter, endpoint1, "b");
+        var p3 = execute(limiter, endpoint1, "c"); // queued
+        var p4 = execute(limiter, endpoint1, "d"); // rejected
+        execute(limiter, endpoint2, "e"); // other endpoint not limited
+
+        assertEquals(List.of("a", "b", "e"), sent);
+        assertEquals(3, limiter.getInFlight());
+        assertEquals(2, limiter.getInFlight(endpoint1));
+        assertEquals(1, limiter.getQueueDepth());
+        assertInstanceOf(RequestRejectedException.class, p4.cause());
+        assertEquals(1, limiter.getRejectedCount());
+
+        // queued request sent when permit released
+        p1.trySuccess(null);
+        assertEquals(List.of("a", "b", "e", "c"), sent);
+        assertEquals(0, limiter.getQueueDepth());
+        assertEquals(2, limiter.getInFlight(endpoint1));
+        assertFalse(p3.isDone());
+    }
+
+    @Test
+    void globalLimit() {
+        var limiter = new InFlightLimiter(10, 2, 2);
+
+        var p1 = execute(limiter, endpoint1, "a");
+        var p2 = execute(limiter, endpoint2, "b");
+        execute(limiter, endpoint2, "c"); // queued
+        var p4 = execute(limiter, endpoint1, "d"); // queued
+        assertEquals(List.of("a", "b"), sent);
+        assertEquals(2, limiter.getQueueDepth());
+
+        // cancelled while queued, removed from queue
+        assertTrue(p4.cancel(false));
+        assertEquals(1, limiter.getQueueDepth());
+
+        p1.tryFailure(new Exception("timeout"));
+        assertEquals(List.of("a", "b", "c"), sent);
+
+        p2.trySuccess(null);
+        assertEquals(List.of("a", "b", "c"), sent);
+        assertEquals(0, limiter.getQueueDepth());
+        assertEquals(1, limiter.getInFlight());
+        assertEquals(0, limiter.getInFlight(endpoint1));
+        assertEquals(0, limiter.getRejectedCount());
+    }
+
+    @Test
+    void cancelledWaiterFreesQueueSlot() {
+        var limiter = new InFlightLimiter(1, 1, 1);
+
+        var p1 = execute(limiter, endpoint1, "a");
+        var p2 = execute(limiter, endpoint1, "b"); // queued
+        assertTrue(p2.cancel(false));
+        assertEquals(0, limiter.getQueueDepth());
+
+        // slot freed by cancelled request, not rejected
+        var p3 = execute(limiter, endpoint1, "c");
+        assertFalse(p3.isDone());
+        assertEquals(1, limiter.getQueueDepth());
+        assertEquals(0, limiter.getRejectedCount());
+
+        p1.trySuccess(null);
+        assertEquals(List.of("a", "c"), sent);
+    }
+
+    @Test
+    void queueTimeout() {
+        var timer = new HashedWheelTimer();
+        try {
+            var limiter = new InFlightLimiter(timer, 1, 1, 1, 100);
+
+            var p1 = execute(limiter, endpoint1, "a");
+            var p2 = execute(limiter, endpoint1, "b"); // queued
+
+            await().until(p2::isDone);
+            assertInstanceOf(TimeoutException.class, p2.cause());
+            assertEquals(0, limiter.getQueueDepth());
+
+            p1.trySuccess(null);
+            assertEquals(List.of("a"), sent);
+            assertEquals(0, limiter.getInFlight());
+        } finally {
+            timer.stop();
+        }
+    }
+
+    @Test
+    void queueTimeoutCancelledWhenSent() {
+        var timer = new HashedWheelTimer();
+        try {
+            var limiter = new InFlightLimiter(timer, 1, 1, 1, 100);
+
+            var p1 = execute(limiter, endpoint1, "a");
+            var p2 = execute(limiter, endpoint1, "b"); // queued
+            p1.trySuccess(null);
+            assertEquals(List.of("a", "b"), sent);
+
+            // sent request not failed by queue timeout
+            await().during(Duration.ofMillis(300)).atMost(Duration.ofSeconds(1)).until(() -> !p2.isDone());
+            assertEquals(1, limiter.getInFlight());
+        } finally {
+            timer.stop();
+        }
+    }
+
+    @Test
+    void noQueue() {
+        var limiter = new InFlightLimiter(1, 1, 0);
+        execute(limiter, endpoint1, "a");
+        var rejected = execute(limiter, endpoint2, "b");
+
+        assertEquals(List.of("a"), sent);
+        assertInstanceOf(RequestRejectedException.class, rejected.cause());
+    }
+
+    @Test
+    void invalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new InFlightLimiter(0, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new InFlightLimiter(1, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new InFlightLimiter(1, 1, -1));
+        assertThrows(IllegalArgumentException.class, () -> new InFlightLimiter(new HashedWheelTimer(), 1, 1, 1, 0));
+    }
+
+    private Promise<Void> execute(InFlightLimiter limiter, RadiusEndpoint endpoint, String name) {
+        Promise<Void> promise = ImmediateEventExecutor.INSTANCE.newPromise();
+        limiter.execute(endpoint, promise, () -> sent.add(name));
+        return promise;
+    }
+}
@@ -0,0 +1,172 @@
+package org.tinyradius.io.client;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.*;
+import io.netty.channel.nio.NioIoHandler;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timer;
+import org.junit.jupiter.api.AutoClose;
+import org.junit.jupiter.api.Test;
+import org.tinyradius.core.RadiusPacketException;
+import org.tinyradius.core.dictionary.DefaultDictionary;
+import org.tinyradius.core.dictionary.Dictionary;
+import org.tinyradius.core.packet.request.RadiusRequest;
+import org.tinyradius.core.packet.response.RadiusResponse;
+import org.tinyradius.io.RadiusEndpoint;
+import org.tinyradius.io.client.PooledRadiusClient.SocketSelection;
+import org.tinyradius.io.client.timeout.FixedTimeoutHandler;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.tinyradius.core.packet.PacketType.ACCESS_ACCEPT;
+import static org.tinyradius.core.packet.PacketType.ACCESS_REQUEST;
+
+class PooledRadiusClientTest {
+
+    private static final Dictionary dictionary = DefaultDictionary.INSTANCE;
+
+    @AutoClose("shutdownGracefully")
+    private final EventLoopGroup eventLoopGroup = new MultiThreadIoEventLoopGroup(4, NioIoHandler.newFactory());
+    private final Bootstrap bootstrap = new Bootstrap().group(eventLoopGroup).channel(NioDatagramChannel.class);
+
+    @AutoClose("stop")
+    private final Timer timer = new HashedWheelTimer();
+
+    private final RadiusEndpoint endpoint1 = new RadiusEndpoint(new InetSocketAddress(1), "secret1");
+    private final RadiusEndpoint endpoint2 = new RadiusEndpoint(new InetSocketAddress(2), "secret2");
+
+    @Test
+    void socketsOnDistinctEventLoopsAndPorts() {
+        var handler = new RespondingHandler();
+        try (var client = new PooledRadiusClient(bootstrap, new InetSocketAddress(0), 4,
+                SocketSelection.ROUND_ROBIN, new FixedTimeoutHandler(timer), handler)) {
+            client.isReady().syncUninterruptibly();
+
+            List<Channel> channels = client.getChannels();
+            assertEquals(4, channels.size());
+            assertEquals(4, new HashSet<>(channels.stream().map(Channel::eventLoop).toList()).size());
+            assertEquals(4, new HashSet<>(channels.stream().map(Channel::localAddress).toList()).size());
+        }
+    }
+
+    @Test
+    void roundRobin() throws RadiusPacketException {
+        var handler = new RespondingHandler();
+        try (var client = new PooledRadiusClient(bootstrap, new InetSocketAddress(0), 3,
+                SocketSelection.ROUND_ROBIN, new FixedTimeoutHandler(timer), handler)) {
+            for (int i = 0; i < 6; i++) {
+                var response = client.communicate(request(i), endpoint1).syncUninterruptibly().getNow();
+                assertEquals(ACCESS_ACCEPT, response.getType());
+            }
+
+            assertEquals(6, handler.channels.size());
+            assertEquals(new HashSet<>(client.getChannels()), new HashSet<>(handler.channels));
+        }
+    }
+
+    @Test
+    void stickyEndpoint() throws RadiusPacketException {
+        var handler = new RespondingHandler();
+        try (var client = new PooledRadiusClient(bootstrap, new InetSocketAddress(0), 3,
+                SocketSelection.ENDPOINT, new FixedTimeoutHandler(timer), handler)) {
+            for (int i = 0; i < 6; i++) {
+                client.communicate(request(i), endpoint1).syncUninterruptibly();
+            }
+            assertEquals(1, new HashSet<>(handler.channels).size());
+
+            handler.channels.clear();
+            client.communicate(request(0), List.of(endpoint2, endpoint1)).syncUninterruptibly();
+            client.communicate(request(1), endpoint2).syncUninterruptibly();
+            assertEquals(1, new HashSet<>(handler.channels).size());
+        }
+    }
+
+    @Test
+    void openSocketWhenIdsExhausted() throws RadiusPacketException {
+        var handler = new RespondingHandler();
+        try (var client = new PooledRadiusClient(bootstrap, new InetSocketAddress(0), 1, 2,
+                SocketSelection.ROUND_ROBIN, new FixedTimeoutHandler(timer), handler, ClientEventListener.NO_OP_LISTENER)) {
+            client.isReady().syncUninterruptibly();
+            handler.exhausted.add(client.getChannels().get(0));
+
+            var response = client.communicate(request(1), endpoint1).syncUninterruptibly().getNow();
+            assertEquals(ACCESS_ACCEPT, response.getType());
+
+            List<Channel> channels = client.getChannels();
+            assertEquals(2, channels.size());
+            assertEquals(channels, List.copyOf(handler.channels));
+
+            // max sockets reached
+            handler.exhausted.add(channels.get(1));
+            handler.channels.clear();
+            var future = client.communicate(request(2), endpoint1).awaitUninterruptibly();
+            assertInstanceOf(PacketIdExhaustedException.class, future.cause());
+            assertEquals(2, client.getChannels().size());
+            assertEquals(2, handler.channels.size());
+        }
+    }
+
+    @Test
+    void cancelStopsSocketRequest() throws RadiusPacketException {
+        var handler = new RespondingHandler();
+        handler.respond = false;
+        try (var client = new PooledRadiusClient(bootstrap, new InetSocketAddress(0), 2,
+                SocketSelection.ROUND_ROBIN, new FixedTimeoutHandler(timer, 1, 10000), handler)) {
+            var future = client.communicate(request(1), endpoint1);
+            await().atMost(Duration.ofSeconds(1)).until(() -> !handler.requests.isEmpty());
+
+            assertTrue(future.cancel(false));
+            var sent = handler.requests.peek();
+            await().atMost(Duration.ofSeconds(1)).until(() -> sent.getResponse().isCancelled());
+        }
+    }
+
+    @Test
+    void invalidSockets() {
+        var timeoutHandler = new FixedTimeoutHandler(timer);
+        var handler = new RespondingHandler();
+        var address = new InetSocketAddress(0);
+        assertThrows(IllegalArgumentException.class, () ->
+                new PooledRadiusClient(bootstrap, address, 0, SocketSelection.ROUND_ROBIN, timeoutHandler, handler));
+        assertThrows(IllegalArgumentException.class, () ->
+                new PooledRadiusClient(bootstrap, address, 2, 1, SocketSelection.ROUND_ROBIN, timeoutHandler, handler, ClientEventListener.NO_OP_LISTENER));
+    }
+
+    private static RadiusRequest request(int id) throws RadiusPacketException {
+        return RadiusRequest.create(dictionary, ACCESS_REQUEST, (byte) id, null, List.of());
+    }
+
+    @ChannelHandler.Sharable
+    private static class RespondingHandler extends ChannelOutboundHandlerAdapter {
+
+        private final Queue<Channel> channels = new ConcurrentLinkedQueue<>();
+        private final Set<Channel> exhausted = ConcurrentHashMap.newKeySet();
+        private final Queue<PendingRequestCtx> requests = new ConcurrentLinkedQueue<>();
+        private volatile boolean respond = true;
+
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws RadiusPacketException {
+            var request = (PendingRequestCtx) msg;
+            channels.add(ctx.channel());
+            requests.add(request);
+            if (!respond)
+                return;
+            if (exhausted.contains(ctx.channel())) {
+                request.getResponse().tryFailure(new PacketIdExhaustedException(request.getEndpoint().address()));
+                return;
+            }
+            request.getResponse().trySuccess(RadiusResponse.create(
+                    dictionary, ACCESS_ACCEPT, request.getRequest().getId(), null, List.of()));
+        }
+    }
+}
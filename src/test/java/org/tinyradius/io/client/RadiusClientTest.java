@@ -30,6 +30,7 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -104,6 +105,24 @@ class RadiusClientTest {
         }
     }
 
+    @Test
+    void communicateInFlightLimit() throws RadiusPacketException {
+        var request = RadiusRequest.create(dictionary, ACCESS_REQUEST, (byte) 1, null, List.of());
+        var limiter = new InFlightLimiter(1, 1, 0);
+
+        try (var radiusClient = new RadiusClient(bootstrap, address, timeoutHandler, CapturingOutboundHandler.NOOP, listener, limiter)) {
+            var pending = radiusClient.communicate(request, stubEndpoint);
+            var rejected = radiusClient.communicate(request, stubEndpoint).awaitUninterruptibly();
+
+            assertInstanceOf(RequestRejectedException.class, rejected.cause());
+            assertEquals(1, limiter.getRejectedCount());
+
+            // permit released on timeout
+            assertThrows(TimeoutException.class, pending::syncUninterruptibly);
+            await().until(() -> limiter.getInFlight() == 0);
+        }
+    }
+
     @Test
     void communicateEndpointListFirstSuccess() throws RadiusPacketException, InterruptedException {
         byte id = (byte) random.nextInt(256);
@@ -239,6 +258,83 @@ class RadiusClientTest {
         }
     }
 
+    @Test
+    void communicateAllSingleFlush() throws RadiusPacketException, InterruptedException {
+        var response = RadiusResponse.create(dictionary, ACCESS_ACCEPT, (byte) 1, null, List.of());
+        var capturingOutboundHandler = CapturingOutboundHandler.of(response);
+
+        var requests = new ArrayList<RadiusRequest>();
+        for (int i = 0; i < 5; i++) {
+            requests.add(RadiusRequest.create(dictionary, ACCESS_REQUEST, (byte) i, null, List.of()));
+        }
+
+        try (var radiusClient = new RadiusClient(bootstrap, address, timeoutHandler, capturingOutboundHandler)) {
+            var futures = radiusClient.communicateAll(requests, stubEndpoint);
+
+            assertThat(futures).hasSize(5);
+            for (var future : futures) {
+                assertTrue(future.await().isSuccess());
+                assertSame(response, future.getNow());
+            }
+
+            assertThat(capturingOutboundHandler.requests)
+                    .extracting(PendingRequestCtx::getRequest)
+                    .containsExactlyElementsOf(requests);
+            await().until(() -> capturingOutboundHandler.flushes.get() == 1);
+        }
+    }
+
+    @Test
+    void communicateAllFlushEvery() throws RadiusPacketException, InterruptedException {
+        var response = RadiusResponse.create(dictionary, ACCESS_ACCEPT, (byte) 1, null, List.of());
+        var capturingOutboundHandler = CapturingOutboundHandler.of(response);
+
+        var requests = new ArrayList<RadiusRequest>();
+        for (int i = 0; i < 5; i++) {
+            requests.add(RadiusRequest.create(dictionary, ACCESS_REQUEST, (byte) i, null, List.of()));
+        }
+
+        try (var radiusClient = new RadiusClient(bootstrap, address, timeoutHandler, capturingOutboundHandler)) {
+            var futures = radiusClient.communicateAll(requests, stubEndpoint, timeoutHandler, listener, 2);
+
+            for (var future : futures) {
+                assertTrue(future.await().isSuccess());
+            }
+
+            // after 2nd, 4th, and end of batch
+            await().until(() -> capturingOutboundHandler.flushes.get() == 3);
+            verify(listener, times(5)).onEvent(eq(PRE_SEND), any());
+        }
+    }
+
+    @Test
+    void communicateAllTimeoutRetries() throws RadiusPacketException, InterruptedException {
+        var requests = List.of(
+                RadiusRequest.create(dictionary, ACCESS_REQUEST, (byte) 1, null, List.of()),
+                RadiusRequest.create(dictionary, ACCESS_REQUEST, (byte) 2, null, List.of()));
+
+        try (var radiusClient = new RadiusClient(bootstrap, address, timeoutHandler, CapturingOutboundHandler.NOOP)) {
+            var futures = radiusClient.communicateAll(requests, stubEndpoint, new FixedTimeoutHandler(timer, 2, 0), listener, 10);
+
+            for (var future : futures) {
+                assertFalse(future.await().isSuccess());
+                assertEquals("Client send timeout - max attempts reached: 2", future.cause().getMessage());
+            }
+
+            // each packet retried separately
+            verify(listener, times(4)).onEvent(eq(PRE_SEND), any());
+            verify(listener, times(4)).onEvent(eq(ATTEMPT_TIMEOUT), any());
+        }
+    }
+
+    @Test
+    void communicateAllInvalidFlushEvery() {
+        try (var radiusClient = new RadiusClient(bootstrap, address, timeoutHandler, CapturingOutboundHandler.NOOP)) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> radiusClient.communicateAll(List.of(), stubEndpoint, timeoutHandler, listener, 0));
+        }
+    }
+
     @ChannelHandler.Sharable
     private static class CapturingOutboundHandler extends ChannelOutboundHandlerAdapter {
 
@@ -266,6 +362,14 @@ class RadiusClientTest {
 
         private final List<PendingRequestCtx> requests = new ArrayList<>();
 
+        private final AtomicInteger flushes = new AtomicInteger();
+
+        @Override
+        public void flush(ChannelHandlerContext ctx) {
+            flushes.incrementAndGet();
+            ctx.flush();
+        }
+
         @Override
         public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
             PendingRequestCtx reqCtx = (PendingRequestCtx) msg;
@@ -0,0 +1,153 @@
+package org.tinyradius.io.client;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.*;
+import io.netty.channel.nio.NioIoHandler;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timer;
+import org.junit.jupiter.api.AutoClose;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.tinyradius.core.RadiusPacketException;
+import org.tinyradius.core.dictionary.DefaultDictionary;
+import org.tinyradius.core.dictionary.Dictionary;
+import org.tinyradius.core.packet.request.RadiusRequest;
+import org.tinyradius.core.packet.request.StatusServerRequest;
+import org.tinyradius.core.packet.response.RadiusResponse;
+import org.tinyradius.io.RadiusEndpoint;
+import org.tinyradius.io.client.handler.BlacklistHandler;
+import org.tinyradius.io.client.handler.BlacklistManager;
+import org.tinyradius.io.client.handler.CircuitBreakerBlacklistManager;
+import org.tinyradius.io.client.selector.EndpointSelector;
+import org.tinyradius.io.client.timeout.FixedTimeoutHandler;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.tinyradius.core.packet.PacketType.ACCESS_ACCEPT;
+import static org.tinyradius.core.packet.PacketType.ACCESS_REQUEST;
+import static org.tinyradius.io.client.handler.CircuitBreakerBlacklistManager.State.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatusServerMonitorTest {
+
+    private static final Dictionary dictionary = DefaultDictionary.INSTANCE;
+
+    @AutoClose("shutdownGracefully")
+    private final EventLoopGroup eventLoopGroup = new MultiThreadIoEventLoopGroup(2, NioIoHandler.newFactory());
+    private final Bootstrap bootstrap = new Bootstrap().group(eventLoopGroup).channel(NioDatagramChannel.class);
+
+    @AutoClose("stop")
+    private final Timer timer = new HashedWheelTimer();
+
+    private final RadiusEndpoint endpoint1 = new RadiusEndpoint(new InetSocketAddress(1), "secret1");
+    private final RadiusEndpoint endpoint2 = new RadiusEndpoint(new InetSocketAddress(2), "secret2");
+    private final List<RadiusEndpoint> endpoints = List.of(endpoint1, endpoint2);
+
+    private final RespondingHandler handler = new RespondingHandler();
+
+    private final RadiusClient client = new RadiusClient(bootstrap, new InetSocketAddress(0), new FixedTimeoutHandler(timer), handler);
+
+    @Mock
+    private BlacklistManager blacklistManager;
+
+    @Test
+    void probeUpdatesHealth() {
+        var monitor = new StatusServerMonitor(client, dictionary, endpoints, 1000,
+                new FixedTimeoutHandler(timer, 1, 100), eventLoopGroup, blacklistManager);
+        assertTrue(monitor.isAlive(endpoint1));
+        assertNull(monitor.getHealth(endpoint1));
+
+        assertTrue(monitor.probe(endpoint1).syncUninterruptibly().isSuccess());
+        await().atMost(Duration.ofSeconds(1)).until(() -> monitor.getHealth(endpoint1) != null);
+        var health = monitor.getHealth(endpoint1);
+        assertNotNull(health);
+        assertTrue(health.alive());
+        assertEquals(0, health.consecutiveFailures());
+        verify(blacklistManager, timeout(1000)).markHealthy(endpoint1.address());
+
+        handler.down.add(endpoint1.address());
+        assertFalse(monitor.probe(endpoint1).awaitUninterruptibly().isSuccess());
+        await().atMost(Duration.ofSeconds(1)).until(() -> !monitor.isAlive(endpoint1));
+        assertEquals(1, monitor.getHealth(endpoint1).consecutiveFailures());
+        verify(blacklistManager, timeout(1000)).logFailure(eq(endpoint1.address()), any(TimeoutException.class));
+
+        handler.down.clear();
+        monitor.probe(endpoint1).syncUninterruptibly();
+        await().atMost(Duration.ofSeconds(1)).until(() -> monitor.isAlive(endpoint1));
+    }
+
+    @Test
+    void probeRecoversOpenCircuit() {
+        // opens on first timeout, stays open for 60s
+        var circuitBreaker = new CircuitBreakerBlacklistManager(10000, 1, 1, 60000, 1);
+        var blacklistClient = new RadiusClient(bootstrap, new InetSocketAddress(0), new FixedTimeoutHandler(timer),
+                new ChannelInitializer<>() {
+                    @Override
+                    protected void initChannel(Channel ch) {
+                        ch.pipeline().addLast(handler, new BlacklistHandler(circuitBreaker));
+                    }
+                });
+        var monitor = new StatusServerMonitor(blacklistClient, dictionary, endpoints, 1000,
+                new FixedTimeoutHandler(timer, 1, 100), eventLoopGroup, circuitBreaker);
+
+        circuitBreaker.logFailure(endpoint1.address(), new TimeoutException());
+        assertEquals(OPEN, circuitBreaker.getState(endpoint1.address()));
+        assertTrue(circuitBreaker.isBlacklisted(endpoint1.address()));
+
+        // probe sent to blacklisted endpoint
+        assertTrue(monitor.probe(endpoint1).syncUninterruptibly().isSuccess());
+        await().atMost(Duration.ofSeconds(1)).until(() -> circuitBreaker.getState(endpoint1.address()) == HALF_OPEN);
+        assertFalse(circuitBreaker.isBlacklisted(endpoint1.address()));
+
+        // requests resume as probes
+        assertTrue(circuitBreaker.tryAcquire(endpoint1.address()));
+        circuitBreaker.reset(endpoint1.address());
+        assertEquals(CLOSED, circuitBreaker.getState(endpoint1.address()));
+    }
+
+    @Test
+    void scheduledProbesFeedSelectors() throws RadiusPacketException {
+        handler.down.add(endpoint1.address());
+        try (var monitor = new StatusServerMonitor(client, dictionary, endpoints, 50,
+                new FixedTimeoutHandler(timer, 1, 100), eventLoopGroup, null)) {
+            monitor.start();
+
+            await().atMost(Duration.ofSeconds(2)).until(() ->
+                    monitor.getHealth(endpoint1) != null && monitor.getHealth(endpoint2) != null);
+            assertFalse(monitor.isAlive(endpoint1));
+            assertTrue(monitor.isAlive(endpoint2));
+
+            var request = RadiusRequest.create(dictionary, ACCESS_REQUEST, (byte) 1, null, List.of());
+            assertEquals(List.of(endpoint2, endpoint1), monitor.healthAware(EndpointSelector.LIST_ORDER).select(request, endpoints));
+            assertEquals(List.of(endpoint2, endpoint1), monitor.lowestLatency().select(request, endpoints));
+        }
+    }
+
+    @ChannelHandler.Sharable
+    private static class RespondingHandler extends ChannelOutboundHandlerAdapter {
+
+        private final Set<InetSocketAddress> down = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws RadiusPacketException {
+            var request = (PendingRequestCtx) msg;
+            assertInstanceOf(StatusServerRequest.class, request.getRequest());
+            if (down.contains(request.getEndpoint().address()))
+                return;
+            request.getResponse().trySuccess(RadiusResponse.create(
+                    dictionary, ACCESS_ACCEPT, request.getRequest().getId(), null, List.of()));
+        }
+    }
+}
@@ -27,9 +27,14 @@ import java.util.concurrent.TimeoutException;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.tinyradius.core.packet.PacketType.ACCOUNTING_REQUEST;
+import static org.tinyradius.core.packet.PacketType.STATUS_SERVER;
 
 @ExtendWith(MockitoExtension.class)
 class BlacklistHandlerTest {
@@ -90,6 +95,81 @@ class BlacklistHandlerTest {
         verify(handlerContext).write(diffEndpoint, channelPromise);
     }
 
+    @Test
+    void retransmissionNotChecked() throws RadiusPacketException {
+        PendingRequestCtx request1 = genRequest(0);
+        handler.write(handlerContext, request1, channelPromise);
+        PendingRequestCtx request2 = genRequest(0);
+        handler.write(handlerContext, request2, channelPromise);
+        PendingRequestCtx request3 = genRequest(0);
+        handler.write(handlerContext, request3, channelPromise);
+
+        // two failures to trigger blacklist
+        request1.getResponse().tryFailure(new TimeoutException());
+        request2.getResponse().tryFailure(new TimeoutException());
+
+        // request sent before blacklisting can still be retransmitted
+        handler.write(handlerContext, request3, channelPromise);
+        verify(handlerContext, times(2)).write(request3, channelPromise);
+        assertFalse(request3.getResponse().isDone());
+
+        PendingRequestCtx request4 = genRequest(0);
+        handler.write(handlerContext, request4, channelPromise);
+        verify(handlerContext, never()).write(request4, channelPromise);
+    }
+
+    @Test
+    void retransmissionsCountedAsFailures() throws RadiusPacketException {
+        PendingRequestCtx request1 = genRequest(0);
+        handler.write(handlerContext, request1, channelPromise);
+        handler.write(handlerContext, request1, channelPromise);
+
+        // one request timed out after two attempts reaches threshold of 2
+        request1.getResponse().tryFailure(new TimeoutException());
+
+        PendingRequestCtx request2 = genRequest(0);
+        handler.write(handlerContext, request2, channelPromise);
+        verify(handlerContext, never()).write(request2, channelPromise);
+    }
+
+    @Test
+    void attemptsPassedToManager() throws RadiusPacketException {
+        var manager = mock(BlacklistManager.class);
+        when(manager.tryAcquire(any())).thenReturn(true);
+        var countingHandler = new BlacklistHandler(manager);
+
+        PendingRequestCtx request = genRequest(0);
+        countingHandler.write(handlerContext, request, channelPromise);
+        countingHandler.write(handlerContext, request, channelPromise);
+        countingHandler.write(handlerContext, request, channelPromise);
+
+        var cause = new TimeoutException();
+        request.getResponse().tryFailure(cause);
+
+        // checked once, outcome recorded once with attempt count
+        verify(manager).tryAcquire(request.getEndpoint().address());
+        verify(manager).logFailure(request.getEndpoint().address(), cause, 3);
+    }
+
+    @Test
+    void statusServerNotChecked() throws RadiusPacketException {
+        PendingRequestCtx request1 = genRequest(0);
+        handler.write(handlerContext, request1, channelPromise);
+        PendingRequestCtx request2 = genRequest(0);
+        handler.write(handlerContext, request2, channelPromise);
+
+        // two failures to trigger blacklist
+        request1.getResponse().tryFailure(new TimeoutException());
+        request2.getResponse().tryFailure(new TimeoutException());
+
+        var endpoint = new RadiusEndpoint(new InetSocketAddress(0), "mySecret");
+        var statusServer = new PendingRequestCtx(
+                RadiusRequest.create(dictionary, STATUS_SERVER, (byte) 1, null, Collections.emptyList()),
+                endpoint, eventExecutor.newPromise());
+        handler.write(handlerContext, statusServer, channelPromise);
+        verify(handlerContext).write(statusServer, channelPromise);
+    }
+
     @Test
     void blacklistEndByExpire() throws RadiusPacketException {
         PendingRequestCtx request1 = genRequest(0);
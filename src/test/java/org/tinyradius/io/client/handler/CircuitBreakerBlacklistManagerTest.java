@@ -0,0 +1,194 @@
+package org.tinyradius.io.client.handler;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.tinyradius.io.client.handler.CircuitBreakerBlacklistManager.State.*;
+
+class CircuitBreakerBlacklistManagerTest {
+
+    private final InetSocketAddress address = new InetSocketAddress(1);
+    private final TestClock clock = new TestClock();
+
+    // 10s window, 4 requests min, 50% failures, 5s open, 2 probes
+    private final CircuitBreakerBlacklistManager manager = new CircuitBreakerBlacklistManager(10000, 4, 0.5, 5000, 2, clock);
+
+    @Test
+    void openOnFailureRate() {
+        assertFalse(manager.isBlacklisted(address));
+
+        manager.reset(address);
+        manager.reset(address);
+        manager.logFailure(address, new TimeoutException());
+        assertEquals(CLOSED, manager.getState(address));
+
+        // other failures not counted
+        manager.logFailure(address, new IOException("blacklisted"));
+        assertEquals(CLOSED, manager.getState(address));
+
+        manager.logFailure(address, new TimeoutException());
+        assertEquals(OPEN, manager.getState(address));
+        assertTrue(manager.isBlacklisted(address));
+
+        // other endpoints unaffected
+        assertFalse(manager.isBlacklisted(new InetSocketAddress(2)));
+    }
+
+    @Test
+    void failuresExpireWithWindow() {
+        manager.logFailure(address, new TimeoutException());
+        manager.logFailure(address, new TimeoutException());
+        manager.logFailure(address, new TimeoutException());
+
+        clock.tickMillis(11000);
+        manager.logFailure(address, new TimeoutException());
+        assertEquals(CLOSED, manager.getState(address));
+        assertFalse(manager.isBlacklisted(address));
+    }
+
+    @Test
+    void halfOpenProbes() {
+        open();
+
+        clock.tickMillis(4999);
+        assertTrue(manager.isBlacklisted(address));
+        assertFalse(manager.tryAcquire(address));
+
+        // limited probes allowed after open period
+        clock.tickMillis(1);
+        assertFalse(manager.isBlacklisted(address));
+        assertTrue(manager.tryAcquire(address));
+        assertEquals(HALF_OPEN, manager.getState(address));
+        assertFalse(manager.isBlacklisted(address));
+        assertTrue(manager.tryAcquire(address));
+        assertTrue(manager.isBlacklisted(address));
+        assertFalse(manager.tryAcquire(address));
+
+        manager.reset(address);
+        assertEquals(HALF_OPEN, manager.getState(address));
+        manager.reset(address);
+        assertEquals(CLOSED, manager.getState(address));
+        assertFalse(manager.isBlacklisted(address));
+        assertTrue(manager.tryAcquire(address));
+
+        // previous failures cleared
+        manager.logFailure(address, new TimeoutException());
+        manager.logFailure(address, new TimeoutException());
+        manager.logFailure(address, new TimeoutException());
+        assertEquals(CLOSED, manager.getState(address));
+    }
+
+    @Test
+    void queriesDontTakePermits() {
+        open();
+        clock.tickMillis(5000);
+
+        for (int i = 0; i < 10; i++) {
+            assertFalse(manager.isBlacklisted(address));
+        }
+        assertEquals(OPEN, manager.getState(address));
+
+        assertTrue(manager.tryAcquire(address));
+        for (int i = 0; i < 10; i++) {
+            assertFalse(manager.isBlacklisted(address));
+        }
+        assertTrue(manager.tryAcquire(address));
+        assertFalse(manager.tryAcquire(address));
+    }
+
+    @Test
+    void probeFailureReopens() {
+        open();
+        clock.tickMillis(5000);
+        assertTrue(manager.tryAcquire(address));
+
+        manager.logFailure(address, new TimeoutException());
+        assertEquals(OPEN, manager.getState(address));
+        assertTrue(manager.isBlacklisted(address));
+        assertFalse(manager.tryAcquire(address));
+
+        clock.tickMillis(5000);
+        assertTrue(manager.tryAcquire(address));
+    }
+
+    @Test
+    void unresolvedProbesRetried() {
+        open();
+        clock.tickMillis(5000);
+        assertTrue(manager.tryAcquire(address));
+        assertTrue(manager.tryAcquire(address));
+        assertFalse(manager.tryAcquire(address));
+
+        // probes cancelled without outcome
+        clock.tickMillis(5000);
+        assertFalse(manager.isBlacklisted(address));
+        assertTrue(manager.tryAcquire(address));
+        assertTrue(manager.tryAcquire(address));
+        assertFalse(manager.tryAcquire(address));
+    }
+
+    @Test
+    void markHealthyHalfOpens() {
+        manager.markHealthy(address);
+        assertEquals(CLOSED, manager.getState(address));
+
+        open();
+        manager.markHealthy(address);
+        assertEquals(HALF_OPEN, manager.getState(address));
+        assertFalse(manager.isBlacklisted(address));
+        assertTrue(manager.tryAcquire(address));
+        assertTrue(manager.tryAcquire(address));
+        assertFalse(manager.tryAcquire(address));
+
+        // doesn't count as probe success
+        manager.markHealthy(address);
+        assertEquals(HALF_OPEN, manager.getState(address));
+    }
+
+    @Test
+    void invalidConfig() {
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreakerBlacklistManager(5, 4, 0.5, 5000, 2));
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreakerBlacklistManager(10000, 0, 0.5, 5000, 2));
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreakerBlacklistManager(10000, 4, 0, 5000, 2));
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreakerBlacklistManager(10000, 4, 0.5, 0, 2));
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreakerBlacklistManager(10000, 4, 0.5, 5000, 0));
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            manager.logFailure(address, new TimeoutException());
+        }
+        assertEquals(OPEN, manager.getState(address));
+    }
+
+    private static class TestClock extends Clock {
+
+        private long epochMillis = System.currentTimeMillis();
+
+        private void tickMillis(long millis) {
+            epochMillis += millis;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(epochMillis);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package org.tinyradius.io.client.handler;
+
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.tinyradius.core.RadiusPacketException;
+import org.tinyradius.core.dictionary.DefaultDictionary;
+import org.tinyradius.core.dictionary.Dictionary;
+import org.tinyradius.core.packet.request.RadiusRequest;
+import org.tinyradius.core.packet.response.RadiusResponse;
+import org.tinyradius.io.RadiusEndpoint;
+import org.tinyradius.io.client.PacketIdExhaustedException;
+import org.tinyradius.io.client.PendingRequestCtx;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+import static org.tinyradius.core.packet.PacketType.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdMatchingCodecTest {
+
+    private static final String SECRET = "secret";
+
+    private final Dictionary dictionary = DefaultDictionary.INSTANCE;
+    private final EventExecutor eventExecutor = ImmediateEventExecutor.INSTANCE;
+
+    private final InetSocketAddress localAddress = new InetSocketAddress("127.0.0.1", 1812);
+    private final RadiusEndpoint endpoint = new RadiusEndpoint(new InetSocketAddress("127.0.0.1", 11812), SECRET);
+
+    private final IdMatchingCodec codec = new IdMatchingCodec(dictionary);
+
+    @Mock
+    private ChannelHandlerContext ctx;
+
+    @Mock
+    private Channel channel;
+
+    @BeforeEach
+    void setup() {
+        when(ctx.channel()).thenReturn(channel);
+        when(channel.localAddress()).thenReturn(localAddress);
+    }
+
+    @Test
+    void encodeAssignsIdWithoutModifyingPacket() throws RadiusPacketException {
+        var request = RadiusRequest.create(dictionary, ACCOUNTING_REQUEST, (byte) 99, null, List.of())
+                .addAttribute("User-Name", "user1");
+        Promise<RadiusResponse> promise = eventExecutor.newPromise();
+
+        var first = encode(new PendingRequestCtx(request, endpoint, promise));
+        assertEquals(endpoint.address(), first.recipient());
+        assertEquals(localAddress, first.sender());
+
+        var sent = RadiusRequest.fromDatagram(dictionary, first);
+        assertEquals(0, sent.getId()); // allocated, not the request ID
+        assertEquals(request.getAttributes(), sent.getAttributes()); // no Proxy-State
+        sent.decodeRequest(SECRET); // encoded with endpoint secret
+
+        // retransmission resends same packet
+        var retry = encode(new PendingRequestCtx(request, endpoint, promise));
+        assertArrayEquals(ByteBufUtil.getBytes(first.content()), ByteBufUtil.getBytes(retry.content()));
+
+        // next request gets next ID
+        var other = encode(new PendingRequestCtx(request, endpoint, eventExecutor.newPromise()));
+        assertEquals(1, RadiusRequest.fromDatagram(dictionary, other).getId());
+    }
+
+    @Test
+    void encodeExhausted() throws RadiusPacketException {
+        when(ctx.executor()).thenReturn(eventExecutor);
+        var request = RadiusRequest.create(dictionary, ACCOUNTING_REQUEST, (byte) 1, null, List.of());
+
+        List<Promise<RadiusResponse>> promises = new ArrayList<>();
+        Set<Byte> ids = new HashSet<>();
+        for (int i = 0; i < 256; i++) {
+            Promise<RadiusResponse> promise = eventExecutor.newPromise();
+            promises.add(promise);
+            ids.add(RadiusRequest.fromDatagram(dictionary, encode(new PendingRequestCtx(request, endpoint, promise))).getId());
+        }
+        assertEquals(256, ids.size());
+
+        // other endpoints have separate IDs
+        var otherEndpoint = new RadiusEndpoint(new InetSocketAddress("127.0.0.1", 11813), SECRET);
+        encode(new PendingRequestCtx(request, otherEndpoint, eventExecutor.newPromise()));
+
+        Promise<RadiusResponse> exhausted = eventExecutor.newPromise();
+        List<Object> out = new ArrayList<>();
+        codec.encode(ctx, new PendingRequestCtx(request, endpoint, exhausted), out);
+        assertTrue(out.isEmpty());
+        assertInstanceOf(PacketIdExhaustedException.class, exhausted.cause());
+
+        // ID released when promise completes
+        promises.get(7).tryFailure(new Exception("timeout"));
+        var next = encode(new PendingRequestCtx(request, endpoint, eventExecutor.newPromise()));
+        assertEquals(7, RadiusRequest.fromDatagram(dictionary, next).getId());
+    }
+
+    @Test
+    void decodeMatchesSenderAndId() throws RadiusPacketException {
+        when(ctx.executor()).thenReturn(eventExecutor);
+        var request = RadiusRequest.create(dictionary, ACCESS_REQUEST, (byte) 1, null, List.of())
+                .addAttribute("User-Name", "user1")
+                .addAttribute("User-Password", "pw");
+        Promise<RadiusResponse> promise = eventExecutor.newPromise();
+        var sent = RadiusRequest.fromDatagram(dictionary, encode(new PendingRequestCtx(request, endpoint, promise)));
+
+        var response = RadiusResponse.create(dictionary, ACCESS_ACCEPT, sent.getId(), null, List.of())
+                .encodeResponse(SECRET, sent.getAuthenticator());
+
+        // unknown sender
+        var otherSender = new InetSocketAddress("127.0.0.1", 11813);
+        decode(new DatagramPacket(Unpooled.wrappedBuffer(response.toBytes()), localAddress, otherSender));
+        assertFalse(promise.isDone());
+
+        // unknown ID
+        var otherId = RadiusResponse.create(dictionary, ACCESS_ACCEPT, (byte) (sent.getId() + 1), null, List.of())
+                .encodeResponse(SECRET, sent.getAuthenticator());
+        decode(new DatagramPacket(Unpooled.wrappedBuffer(otherId.toBytes()), localAddress, endpoint.address()));
+        assertFalse(promise.isDone());
+
+        // bad authenticator, e.g. late response to previous use of ID
+        var badAuth = RadiusResponse.create(dictionary, ACCESS_ACCEPT, sent.getId(), null, List.of())
+                .encodeResponse(SECRET, new byte[16]);
+        decode(new DatagramPacket(Unpooled.wrappedBuffer(badAuth.toBytes()), localAddress, endpoint.address()));
+        assertFalse(promise.isDone());
+
+        // too short
+        decode(new DatagramPacket(Unpooled.wrappedBuffer(new byte[4]), localAddress, endpoint.address()));
+        assertFalse(promise.isDone());
+
+        decode(new DatagramPacket(Unpooled.wrappedBuffer(response.toBytes()), localAddress, endpoint.address()));
+        assertTrue(promise.isSuccess());
+        assertEquals(ACCESS_ACCEPT, promise.getNow().getType());
+        assertEquals(sent.getId(), promise.getNow().getId());
+
+        // ID released once matched
+        var next = encode(new PendingRequestCtx(request, endpoint, eventExecutor.newPromise()));
+        assertNotEquals(sent.getId(), RadiusRequest.fromDatagram(dictionary, next).getId()); // rotates
+    }
+
+    private DatagramPacket encode(PendingRequestCtx msg) {
+        List<Object> out = new ArrayList<>();
+        codec.encode(ctx, msg, out);
+        assertEquals(1, out.size());
+        return (DatagramPacket) out.get(0);
+    }
+
+    private void decode(DatagramPacket datagram) {
+        List<Object> out = new ArrayList<>();
+        codec.decode(ctx, datagram, out);
+        assertTrue(out.isEmpty());
+    }
+}
@@ -0,0 +1,62 @@
+package org.tinyradius.io.client.handler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PacketIdAllocatorTest {
+
+    private final PacketIdAllocator allocator = new PacketIdAllocator();
+
+    @Test
+    void allocateAll() {
+        Set<Integer> ids = new HashSet<>();
+        for (int i = 0; i < 256; i++) {
+            int id = allocator.allocate();
+            assertTrue(id >= 0 && id < 256);
+            assertTrue(allocator.isAllocated(id));
+            ids.add(id);
+        }
+
+        assertEquals(256, ids.size());
+        assertEquals(256, allocator.allocated());
+        assertEquals(0, allocator.available());
+        assertEquals(-1, allocator.allocate());
+
+        assertTrue(allocator.release(100));
+        assertFalse(allocator.isAllocated(100));
+        assertEquals(100, allocator.allocate());
+        assertEquals(-1, allocator.allocate());
+    }
+
+    @Test
+    void rotateBeforeReuse() {
+        assertEquals(0, allocator.allocate());
+        assertTrue(allocator.release(0));
+
+        // released ID not reused until others have been handed out
+        for (int i = 1; i < 256; i++) {
+            assertEquals(i, allocator.allocate());
+        }
+        assertEquals(0, allocator.allocate());
+
+        // wraps around, searching across words
+        assertTrue(allocator.release(5));
+        assertTrue(allocator.release(200));
+        assertEquals(5, allocator.allocate());
+        assertEquals(200, allocator.allocate());
+    }
+
+    @Test
+    void releaseInvalid() {
+        assertFalse(allocator.release(3));
+        assertEquals(0, allocator.allocated());
+
+        assertThrows(IllegalArgumentException.class, () -> allocator.release(-1));
+        assertThrows(IllegalArgumentException.class, () -> allocator.release(256));
+        assertThrows(IllegalArgumentException.class, () -> allocator.isAllocated(256));
+    }
+}
@@ -1,6 +1,8 @@
 package org.tinyradius.io.client.handler;
 
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.socket.DatagramPacket;
 import io.netty.util.concurrent.EventExecutor;
 import io.netty.util.concurrent.ImmediateEventExecutor;
 import io.netty.util.concurrent.Promise;
@@ -20,15 +22,18 @@ import org.tinyradius.io.client.PendingRequestCtx;
 import org.tinyradius.io.server.RequestCtx;
 
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
 import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.tinyradius.core.attribute.AttributeTypes.PROXY_STATE;
+import static org.mockito.Mockito.when;
 import static org.tinyradius.core.packet.PacketType.*;
 
 @SuppressWarnings("OptionalGetWithoutIsPresent")
@@ -67,7 +72,7 @@ class PromiseAdapterTest {
         // check proxy-state added
         assertEquals(1, attributes1.size());
         byte[] proxyState1 = processedPacket1.getAttribute(PROXY_STATE).get().getValue();
-        UUID requestId1 = UUID.fromString(new String(proxyState1, UTF_8));
+        assertEquals(8, proxyState1.length);
 
         // process again
         List<Object> out2 = new ArrayList<>();
@@ -82,8 +87,32 @@ class PromiseAdapterTest {
         assertEquals(2, attributes2.size());
 
         List<RadiusAttribute> attributes = processedPacket2.getAttributes(PROXY_STATE);
-        assertEquals(requestId1, UUID.fromString(new String(attributes.get(0).getValue(), UTF_8)));
-        assertNotEquals(requestId1, UUID.fromString(new String(attributes.get(1).getValue(), UTF_8)));
+        assertArrayEquals(proxyState1, attributes.get(0).getValue());
+        long token1 = ByteBuffer.wrap(proxyState1).getLong();
+        long token2 = ByteBuffer.wrap(attributes.get(1).getValue()).getLong();
+
+        // same shard, next sequence number
+        assertEquals(token1 >>> 48, token2 >>> 48);
+        assertEquals(1, (token2 - token1) & 0xFFFFFFFFFFFFL);
+
+        // other adapters use other shards
+        List<Object> out3 = new ArrayList<>();
+        new PromiseAdapter().encode(ctx, new PendingRequestCtx(originalRequest, endpoint, promise), out3);
+        long token3 = ByteBuffer.wrap(((PendingRequestCtx) out3.get(0)).getRequest().getAttribute(PROXY_STATE).get().getValue()).getLong();
+        assertNotEquals(token1 >>> 48, token3 >>> 48);
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void deprecatedMapSupplierConstructor() throws RadiusPacketException {
+        var adapter = new PromiseAdapter(ConcurrentHashMap::new);
+        var request = RadiusRequest.create(dictionary, ACCOUNTING_REQUEST, (byte) 1, null, Collections.emptyList());
+
+        List<Object> out = new ArrayList<>();
+        adapter.encode(ctx, new PendingRequestCtx(request, new RadiusEndpoint(address, "test"), promise), out);
+
+        assertEquals(1, out.size());
+        assertEquals(8, ((PendingRequestCtx) out.get(0)).getRequest().getAttribute(PROXY_STATE).get().getValueLength());
     }
 
 
@@ -108,6 +137,14 @@ class PromiseAdapterTest {
         handler.decode(ctx, response, in);
 
         assertTrue(in.isEmpty());
+
+        // token length, but not a pending request
+        AccessResponse.Accept tokenResponse = (AccessResponse.Accept)
+                RadiusResponse.create(dictionary, (byte) 2, (byte) 1, null,
+                        Collections.singletonList(dictionary.createAttribute(-1, PROXY_STATE, new byte[8])));
+        handler.decode(ctx, tokenResponse, in);
+
+        assertTrue(in.isEmpty());
     }
 
     @Test
@@ -181,6 +218,8 @@ class PromiseAdapterTest {
 
         Promise<RadiusResponse> promise = eventExecutor.newPromise();
 
+        when(ctx.executor()).thenReturn(eventExecutor);
+
         AccessRequestNoAuth request = (AccessRequestNoAuth) RadiusRequest.create(dictionary, ACCESS_REQUEST, (byte) 1, null, Collections.emptyList())
                 .addAttribute("Tunnel-Password", pw);
         RadiusEndpoint requestEndpoint = new RadiusEndpoint(address, secret);
@@ -258,4 +297,32 @@ class PromiseAdapterTest {
         assertTrue(promise.cause().getMessage().contains("Packet too long"));
         assertEquals(0, out1.size());
     }
+
+    @Test
+    void decodePooledResponseRetained() throws RadiusPacketException {
+        String secret = "mySecret";
+        Promise<RadiusResponse> promise = eventExecutor.newPromise();
+        RadiusRequest request = RadiusRequest.create(dictionary, ACCOUNTING_REQUEST, (byte) 1, null, Collections.emptyList());
+        when(ctx.executor()).thenReturn(eventExecutor);
+
+        List<Object> out = new ArrayList<>();
+        handler.encode(ctx, new PendingRequestCtx(request, new RadiusEndpoint(address, secret), promise), out);
+        RadiusRequest encodedRequest = ((PendingRequestCtx) out.get(0)).getRequest();
+
+        RadiusResponse encodedResponse = RadiusResponse.create(dictionary, ACCOUNTING_RESPONSE, (byte) 1, null, Collections.emptyList())
+                .addAttribute(encodedRequest.getAttribute(PROXY_STATE).get())
+                .encodeResponse(secret, encodedRequest.getAuthenticator());
+        RadiusResponse pooledResponse = RadiusResponse.fromDatagram(dictionary,
+                new DatagramPacket(encodedResponse.toByteBuf(), address), PooledByteBufAllocator.DEFAULT);
+
+        // decoder releases inbound message after decode
+        handler.decode(ctx, pooledResponse, new ArrayList<>());
+        pooledResponse.release();
+
+        RadiusResponse response = promise.getNow();
+        assertTrue(response.getAttributes(PROXY_STATE).isEmpty());
+        assertEquals(1, response.refCnt());
+        assertTrue(response.release());
+        assertEquals(0, pooledResponse.refCnt());
+    }
 }
@@ -0,0 +1,70 @@
+package org.tinyradius.io.client.selector;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.tinyradius.core.RadiusPacketException;
+import org.tinyradius.core.dictionary.DefaultDictionary;
+import org.tinyradius.core.packet.request.RadiusRequest;
+import org.tinyradius.io.RadiusEndpoint;
+import org.tinyradius.io.client.handler.BlacklistManager;
+import org.tinyradius.io.client.handler.CircuitBreakerBlacklistManager;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+import static org.tinyradius.core.packet.PacketType.ACCESS_REQUEST;
+
+@ExtendWith(MockitoExtension.class)
+class BlacklistAwareSelectorTest {
+
+    private final RadiusEndpoint endpoint1 = new RadiusEndpoint(new InetSocketAddress(1), "secret");
+    private final RadiusEndpoint endpoint2 = new RadiusEndpoint(new InetSocketAddress(2), "secret");
+    private final RadiusEndpoint endpoint3 = new RadiusEndpoint(new InetSocketAddress(3), "secret");
+    private final List<RadiusEndpoint> endpoints = List.of(endpoint1, endpoint2, endpoint3);
+
+    @Mock
+    private BlacklistManager blacklistManager;
+
+    @Test
+    void blacklistedLast() throws RadiusPacketException {
+        var request = RadiusRequest.create(DefaultDictionary.INSTANCE, ACCESS_REQUEST, (byte) 1, null, List.of());
+        var selector = new BlacklistAwareSelector(EndpointSelector.LIST_ORDER, blacklistManager);
+
+        when(blacklistManager.isBlacklisted(endpoint1.address())).thenReturn(true);
+        when(blacklistManager.isBlacklisted(endpoint2.address())).thenReturn(false);
+        when(blacklistManager.isBlacklisted(endpoint3.address())).thenReturn(false);
+        assertEquals(List.of(endpoint2, endpoint3, endpoint1), selector.select(request, endpoints));
+
+        // all blacklisted, keep order
+        when(blacklistManager.isBlacklisted(endpoint2.address())).thenReturn(true);
+        when(blacklistManager.isBlacklisted(endpoint3.address())).thenReturn(true);
+        assertEquals(endpoints, selector.select(request, endpoints));
+    }
+
+    @Test
+    void orderingDoesNotTakeProbePermits() throws RadiusPacketException {
+        var request = RadiusRequest.create(DefaultDictionary.INSTANCE, ACCESS_REQUEST, (byte) 1, null, List.of());
+        // opens on first timeout, one probe after 100ms
+        var circuitBreaker = new CircuitBreakerBlacklistManager(10000, 1, 1, 100, 1);
+        var selector = new BlacklistAwareSelector(EndpointSelector.LIST_ORDER, circuitBreaker);
+
+        circuitBreaker.logFailure(endpoint1.address(), new TimeoutException());
+        assertEquals(List.of(endpoint2, endpoint3, endpoint1), selector.select(request, endpoints));
+
+        await().atMost(Duration.ofSeconds(1)).until(() -> !circuitBreaker.isBlacklisted(endpoint1.address()));
+        for (int i = 0; i < 10; i++) {
+            assertEquals(endpoints, selector.select(request, endpoints));
+        }
+
+        // probe permit still available for the request actually sent
+        assertTrue(circuitBreaker.tryAcquire(endpoint1.address()));
+        assertEquals(CircuitBreakerBlacklistManager.State.HALF_OPEN, circuitBreaker.getState(endpoint1.address()));
+    }
+}
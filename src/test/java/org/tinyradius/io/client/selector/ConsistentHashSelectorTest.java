@@ -0,0 +1,67 @@
+package org.tinyradius.io.client.selector;
+
+import org.junit.jupiter.api.Test;
+import org.tinyradius.core.RadiusPacketException;
+import org.tinyradius.core.dictionary.DefaultDictionary;
+import org.tinyradius.core.packet.request.RadiusRequest;
+import org.tinyradius.io.RadiusEndpoint;
+
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.tinyradius.core.packet.PacketType.ACCOUNTING_REQUEST;
+
+class ConsistentHashSelectorTest {
+
+    private final RadiusEndpoint endpoint1 = new RadiusEndpoint(new InetSocketAddress(1), "secret");
+    private final RadiusEndpoint endpoint2 = new RadiusEndpoint(new InetSocketAddress(2), "secret");
+    private final RadiusEndpoint endpoint3 = new RadiusEndpoint(new InetSocketAddress(3), "secret");
+    private final List<RadiusEndpoint> endpoints = List.of(endpoint1, endpoint2, endpoint3);
+
+    private final ConsistentHashSelector selector = new ConsistentHashSelector("Acct-Session-Id");
+
+    @Test
+    void sameKeySameEndpoint() throws RadiusPacketException {
+        Map<RadiusEndpoint, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 300; i++) {
+            var selected = selector.select(request("session" + i), endpoints);
+            assertEquals(new HashSet<>(endpoints), new HashSet<>(selected));
+            assertEquals(selected, selector.select(request("session" + i), endpoints));
+            counts.merge(selected.get(0), 1, Integer::sum);
+        }
+
+        // spread across all endpoints
+        assertEquals(3, counts.size());
+        counts.values().forEach(c -> assertTrue(c > 50, "count " + c));
+    }
+
+    @Test
+    void onlyRemovedEndpointKeysMove() throws RadiusPacketException {
+        var remaining = List.of(endpoint1, endpoint3);
+        for (int i = 0; i < 300; i++) {
+            var request = request("session" + i);
+            var before = selector.select(request, endpoints);
+            var after = selector.select(request, remaining);
+
+            if (before.get(0).equals(endpoint2))
+                assertEquals(before.get(1), after.get(0)); // same as failover
+            else
+                assertEquals(before.get(0), after.get(0));
+        }
+    }
+
+    @Test
+    void noAttribute() throws RadiusPacketException {
+        var request = RadiusRequest.create(DefaultDictionary.INSTANCE, ACCOUNTING_REQUEST, (byte) 1, null, List.of());
+        assertEquals(endpoints, selector.select(request, endpoints));
+    }
+
+    private static RadiusRequest request(String sessionId) throws RadiusPacketException {
+        return RadiusRequest.create(DefaultDictionary.INSTANCE, ACCOUNTING_REQUEST, (byte) 1, null, List.of())
+                .addAttribute("Acct-Session-Id", sessionId);
+    }
+}
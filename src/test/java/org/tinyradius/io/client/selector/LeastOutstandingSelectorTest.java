@@ -0,0 +1,47 @@
+package org.tinyradius.io.client.selector;
+
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
+import org.junit.jupiter.api.Test;
+import org.tinyradius.core.RadiusPacketException;
+import org.tinyradius.core.dictionary.DefaultDictionary;
+import org.tinyradius.core.packet.request.RadiusRequest;
+import org.tinyradius.core.packet.response.RadiusResponse;
+import org.tinyradius.io.RadiusEndpoint;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.tinyradius.core.packet.PacketType.ACCESS_REQUEST;
+
+class LeastOutstandingSelectorTest {
+
+    private final RadiusEndpoint endpoint1 = new RadiusEndpoint(new InetSocketAddress(1), "secret");
+    private final RadiusEndpoint endpoint2 = new RadiusEndpoint(new InetSocketAddress(2), "secret");
+
+    @Test
+    void preferFewestOutstanding() throws RadiusPacketException {
+        var request = RadiusRequest.create(DefaultDictionary.INSTANCE, ACCESS_REQUEST, (byte) 1, null, List.of());
+        var endpoints = List.of(endpoint1, endpoint2);
+        var selector = new LeastOutstandingSelector();
+
+        // ties broken round-robin
+        assertEquals(List.of(endpoint1, endpoint2), selector.select(request, endpoints));
+        assertEquals(List.of(endpoint2, endpoint1), selector.select(request, endpoints));
+
+        Promise<RadiusResponse> response1 = ImmediateEventExecutor.INSTANCE.newPromise();
+        Promise<RadiusResponse> response2 = ImmediateEventExecutor.INSTANCE.newPromise();
+        selector.onSend(endpoint1, response1);
+        selector.onSend(endpoint1, response2);
+        assertEquals(2, selector.getOutstanding(endpoint1));
+
+        assertEquals(List.of(endpoint2, endpoint1), selector.select(request, endpoints));
+        assertEquals(List.of(endpoint2, endpoint1), selector.select(request, endpoints));
+
+        response1.trySuccess(null);
+        response2.tryFailure(new Exception("timeout"));
+        assertEquals(0, selector.getOutstanding(endpoint1));
+        assertEquals(List.of(endpoint1, endpoint2), selector.select(request, endpoints));
+    }
+}
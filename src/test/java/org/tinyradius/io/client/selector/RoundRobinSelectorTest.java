@@ -0,0 +1,34 @@
+package org.tinyradius.io.client.selector;
+
+import org.junit.jupiter.api.Test;
+import org.tinyradius.core.RadiusPacketException;
+import org.tinyradius.core.dictionary.DefaultDictionary;
+import org.tinyradius.core.packet.request.RadiusRequest;
+import org.tinyradius.io.RadiusEndpoint;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.tinyradius.core.packet.PacketType.ACCESS_REQUEST;
+
+class RoundRobinSelectorTest {
+
+    private final RadiusEndpoint endpoint1 = new RadiusEndpoint(new InetSocketAddress(1), "secret");
+    private final RadiusEndpoint endpoint2 = new RadiusEndpoint(new InetSocketAddress(2), "secret");
+    private final RadiusEndpoint endpoint3 = new RadiusEndpoint(new InetSocketAddress(3), "secret");
+
+    @Test
+    void rotateStartingEndpoint() throws RadiusPacketException {
+        var request = RadiusRequest.create(DefaultDictionary.INSTANCE, ACCESS_REQUEST, (byte) 1, null, List.of());
+        var endpoints = List.of(endpoint1, endpoint2, endpoint3);
+        var selector = new RoundRobinSelector();
+
+        assertEquals(endpoints, selector.select(request, endpoints));
+        assertEquals(List.of(endpoint2, endpoint3, endpoint1), selector.select(request, endpoints));
+        assertEquals(List.of(endpoint3, endpoint1, endpoint2), selector.select(request, endpoints));
+        assertEquals(endpoints, selector.select(request, endpoints));
+
+        assertEquals(List.of(endpoint1), selector.select(request, List.of(endpoint1)));
+    }
+}
@@ -0,0 +1,46 @@
+package org.tinyradius.io.client.selector;
+
+import org.junit.jupiter.api.Test;
+import org.tinyradius.core.RadiusPacketException;
+import org.tinyradius.core.dictionary.DefaultDictionary;
+import org.tinyradius.core.packet.request.RadiusRequest;
+import org.tinyradius.io.RadiusEndpoint;
+
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.tinyradius.core.packet.PacketType.ACCESS_REQUEST;
+
+class WeightedSelectorTest {
+
+    private final RadiusEndpoint endpoint1 = new RadiusEndpoint(new InetSocketAddress(1), "secret");
+    private final RadiusEndpoint endpoint2 = new RadiusEndpoint(new InetSocketAddress(2), "secret");
+    private final RadiusEndpoint endpoint3 = new RadiusEndpoint(new InetSocketAddress(3), "secret");
+
+    @Test
+    void selectInProportionToWeight() throws RadiusPacketException {
+        var request = RadiusRequest.create(DefaultDictionary.INSTANCE, ACCESS_REQUEST, (byte) 1, null, List.of());
+        var endpoints = List.of(endpoint1, endpoint2, endpoint3);
+        var selector = new WeightedSelector(Map.of(endpoint1, 1, endpoint2, 3, endpoint3, 0));
+
+        Map<RadiusEndpoint, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 4000; i++) {
+            var selected = selector.select(request, endpoints);
+            assertEquals(3, selected.size());
+            assertEquals(endpoint3, selected.get(2)); // failover in list order
+            counts.merge(selected.get(0), 1, Integer::sum);
+        }
+
+        assertNull(counts.get(endpoint3));
+        assertTrue(counts.get(endpoint2) > 2 * counts.get(endpoint1));
+    }
+
+    @Test
+    void negativeWeight() {
+        var weights = Map.of(endpoint1, -1);
+        assertThrows(IllegalArgumentException.class, () -> new WeightedSelector(weights));
+    }
+}
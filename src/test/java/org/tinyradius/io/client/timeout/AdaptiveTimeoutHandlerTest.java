@@ -0,0 +1,151 @@
+package org.tinyradius.io.client.timeout;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import org.junit.jupiter.api.AutoClose;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.tinyradius.core.packet.response.RadiusResponse;
+import org.tinyradius.io.RadiusEndpoint;
+import org.tinyradius.io.client.PendingRequestCtx;
+
+import java.net.InetSocketAddress;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdaptiveTimeoutHandlerTest {
+
+    @AutoClose("stop")
+    private final HashedWheelTimer timer = new HashedWheelTimer();
+    private final EventExecutor eventExecutor = ImmediateEventExecutor.INSTANCE;
+
+    private final RadiusEndpoint endpoint = new RadiusEndpoint(new InetSocketAddress(1), "secret");
+
+    @Mock
+    private Runnable mockRetry;
+
+    @Mock
+    private LongSupplier ticker;
+
+    @Test
+    void sampleRttFromFirstAttempt() {
+        when(ticker.getAsLong()).thenReturn(ms(1000), ms(1200), ms(2000), ms(2100));
+        var handler = new AdaptiveTimeoutHandler(timer, 3, 1000, 10, 60000, 0, ticker);
+        assertEquals(1000, handler.timeoutMs(endpoint.address(), 1));
+        assertNull(handler.getRttEstimate(endpoint));
+
+        respond(handler);
+        var estimate = handler.getRttEstimate(endpoint);
+        assertNotNull(estimate);
+        assertEquals(200, estimate.srttMs());
+        assertEquals(100, estimate.rttvarMs());
+        assertEquals(600, handler.timeoutMs(endpoint.address(), 1));
+
+        respond(handler);
+        estimate = handler.getRttEstimate(endpoint);
+        assertNotNull(estimate);
+        assertEquals(187.5, estimate.srttMs());
+        assertEquals(100, estimate.rttvarMs());
+        assertEquals(588, handler.timeoutMs(endpoint.address(), 1));
+
+        // other endpoints unaffected
+        assertEquals(1000, handler.timeoutMs(new InetSocketAddress(2), 1));
+    }
+
+    @Test
+    void noSampleIfRetransmitted() {
+        when(ticker.getAsLong()).thenReturn(ms(1000));
+        var handler = new AdaptiveTimeoutHandler(timer, 3, 10, 10, 1000, 0, ticker);
+        var promise = eventExecutor.<RadiusResponse>newPromise();
+        var ctx = new PendingRequestCtx(null, endpoint, promise);
+
+        handler.scheduleTimeout(mockRetry, 1, ctx);
+        verify(mockRetry, timeout(500)).run();
+
+        promise.trySuccess(null);
+        assertNull(handler.getRttEstimate(endpoint));
+    }
+
+    @Test
+    void subMillisecondSamples() {
+        when(ticker.getAsLong()).thenReturn(1_000_000L, 1_300_000L);
+        var handler = new AdaptiveTimeoutHandler(timer, 3, 1000, 1, 60000, 0, ticker);
+
+        respond(handler);
+        var estimate = handler.getRttEstimate(endpoint);
+        assertNotNull(estimate);
+        assertEquals(0.3, estimate.srttMs(), 1e-9);
+        assertEquals(0.15, estimate.rttvarMs(), 1e-9);
+    }
+
+    @Test
+    void nonPositiveSamplesIgnored() {
+        when(ticker.getAsLong()).thenReturn(ms(1000), ms(1000), ms(2000), ms(1500));
+        var handler = new AdaptiveTimeoutHandler(timer, 3, 1000, 10, 60000, 0, ticker);
+
+        respond(handler);
+        respond(handler);
+        assertNull(handler.getRttEstimate(endpoint));
+    }
+
+    @Test
+    void backoffBoundedByMinMax() {
+        var handler = new AdaptiveTimeoutHandler(timer, 10, 100, 50, 1000, 0, ticker);
+        assertEquals(100, handler.timeoutMs(endpoint.address(), 1));
+        assertEquals(200, handler.timeoutMs(endpoint.address(), 2));
+        assertEquals(800, handler.timeoutMs(endpoint.address(), 4));
+        assertEquals(1000, handler.timeoutMs(endpoint.address(), 5));
+        assertEquals(1000, handler.timeoutMs(endpoint.address(), 100));
+
+        // floor applied to fast endpoints
+        handler.recordRtt(endpoint.address(), 1);
+        assertEquals(50, handler.timeoutMs(endpoint.address(), 1));
+    }
+
+    @Test
+    void jitterWithinFactor() {
+        var handler = new AdaptiveTimeoutHandler(timer, 3, 1000, 10, 60000, 0.2, ticker);
+        for (int i = 0; i < 100; i++) {
+            long timeout = handler.timeoutMs(endpoint.address(), 2);
+            assertTrue(timeout >= 1600 && timeout <= 2400, "timeout " + timeout);
+        }
+    }
+
+    @Test
+    void retryFailIfMaxAttempts() {
+        var handler = new AdaptiveTimeoutHandler(timer, 2, 10, 10, 10, 0, ticker);
+        var promise = eventExecutor.<RadiusResponse>newPromise();
+        var ctx = new PendingRequestCtx(null, endpoint, promise);
+
+        handler.scheduleTimeout(mockRetry, 2, ctx);
+        verify(mockRetry, after(500).never()).run();
+
+        assertFalse(promise.isSuccess());
+        assertTrue(promise.cause().getMessage().toLowerCase().contains("max attempts reached"));
+    }
+
+    @Test
+    void invalidConfig() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveTimeoutHandler(timer, 0));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveTimeoutHandler(timer, 1, 100, 0, 1000, 0, ticker));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveTimeoutHandler(timer, 1, 100, 200, 100, 0, ticker));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveTimeoutHandler(timer, 1, 5000, 10, 1000, 0, ticker));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveTimeoutHandler(timer, 1, 100, 10, 1000, 1, ticker));
+    }
+
+    private void respond(AdaptiveTimeoutHandler handler) {
+        var promise = eventExecutor.<RadiusResponse>newPromise();
+        handler.scheduleTimeout(mockRetry, 1, new PendingRequestCtx(null, endpoint, promise));
+        promise.trySuccess(null);
+    }
+
+    private static long ms(long millis) {
+        return millis * 1_000_000;
+    }
+}
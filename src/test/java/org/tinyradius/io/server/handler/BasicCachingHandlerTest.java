@@ -1,6 +1,8 @@
 package org.tinyradius.io.server.handler;
 
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.socket.DatagramPacket;
 import io.netty.util.HashedWheelTimer;
 import io.netty.util.Timer;
 import org.junit.jupiter.api.AutoClose;
@@ -95,4 +97,42 @@ class BasicCachingHandlerTest {
         assertEquals(1, in7.size());
         assertTrue(in7.contains(requestCtx));
     }
-}
\ No newline at end of file
+
+    @Test
+    void pooledPacketsRetainedWhileCached() throws RadiusPacketException {
+        BasicCachingHandler basicCachingHandler = new BasicCachingHandler(timer, 500);
+        RadiusEndpoint endpoint = new RadiusEndpoint(new InetSocketAddress(0), "foo");
+
+        RadiusRequest request = RadiusRequest.create(dictionary, ACCOUNTING_REQUEST, (byte) 100, null, Collections.emptyList()).encodeRequest("test");
+        DatagramPacket datagram = new DatagramPacket(request.toByteBuf(), endpoint.address());
+        RadiusRequest pooledRequest = RadiusRequest.fromDatagram(dictionary, datagram, PooledByteBufAllocator.DEFAULT);
+        RadiusResponse pooledResponse = RadiusResponse.fromDatagram(dictionary, new DatagramPacket(
+                RadiusResponse.create(dictionary, ACCESS_ACCEPT, (byte) 100, null, Collections.emptyList()).toByteBuf(), endpoint.address()),
+                PooledByteBufAllocator.DEFAULT);
+        ResponseCtx responseContext = new RequestCtx(pooledRequest, endpoint).withResponse(pooledResponse);
+
+        // response cached, then released by codec once sent
+        basicCachingHandler.encode(ctx, responseContext, new ArrayList<>());
+        assertEquals(2, pooledRequest.refCnt());
+        assertEquals(2, pooledResponse.refCnt());
+        pooledRequest.release();
+        pooledResponse.release();
+
+        // retransmission answered from cache and released, cached packets retained until sent
+        RadiusRequest retransmission = RadiusRequest.fromDatagram(dictionary, datagram, PooledByteBufAllocator.DEFAULT);
+        ArrayList<Object> in = new ArrayList<>();
+        basicCachingHandler.decode(ctx, new RequestCtx(retransmission, endpoint), in);
+        assertEquals(0, in.size());
+        assertEquals(0, retransmission.refCnt());
+        verify(ctx).writeAndFlush(responseContext);
+        assertEquals(2, pooledResponse.refCnt());
+        pooledRequest.release();
+        pooledResponse.release();
+
+        // released when invalidated
+        await().atMost(2000, MILLISECONDS).untilAsserted(() -> {
+            assertEquals(0, pooledRequest.refCnt());
+            assertEquals(0, pooledResponse.refCnt());
+        });
+    }
+}
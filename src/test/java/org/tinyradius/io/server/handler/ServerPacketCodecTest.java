@@ -1,5 +1,9 @@
 package org.tinyradius.io.server.handler;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
@@ -23,6 +27,8 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.tinyradius.core.packet.PacketType.ACCESS_REQUEST;
@@ -101,4 +107,48 @@ class ServerPacketCodecTest {
         assertArrayEquals(response.content().copy().array(),
                 new DatagramPacket(responsePacket.encodeResponse(secret, request.getAuthenticator()).toByteBuf(), remoteAddress, address).content().copy().array());
     }
-}
\ No newline at end of file
+
+    @Test
+    void pooledDecodeUnknownSecretReleases() throws RadiusPacketException {
+        ByteBuf buffer = Unpooled.buffer();
+        ByteBufAllocator allocator = mock(ByteBufAllocator.class);
+        when(allocator.buffer(anyInt(), anyInt())).thenReturn(buffer);
+        when(ctx.alloc()).thenReturn(allocator);
+
+        RadiusRequest request = RadiusRequest.create(dictionary, ACCOUNTING_REQUEST, (byte) 1, null, Collections.emptyList()).encodeRequest("mySecret");
+        ServerPacketCodec codec = new ServerPacketCodec(dictionary, address -> null, true);
+
+        List<Object> out = new ArrayList<>();
+        codec.decode(ctx, new DatagramPacket(request.toByteBuf(), address), out);
+
+        assertEquals(0, out.size());
+        assertEquals(0, buffer.refCnt());
+    }
+
+    @Test
+    void pooledDecodeEncodeReleases() throws RadiusPacketException {
+        String secret = "mySecret";
+        ServerPacketCodec codec = new ServerPacketCodec(dictionary, address -> secret, true);
+        when(ctx.alloc()).thenReturn(PooledByteBufAllocator.DEFAULT);
+        when(ctx.channel()).thenReturn(mock(Channel.class));
+
+        RadiusRequest request = RadiusRequest.create(dictionary, ACCOUNTING_REQUEST, (byte) 1, null, Collections.emptyList()).encodeRequest(secret);
+        DatagramPacket datagram = new DatagramPacket(request.toByteBuf(), address, new InetSocketAddress(123));
+
+        // decode
+        List<Object> out1 = new ArrayList<>();
+        codec.decode(ctx, datagram, out1);
+        RequestCtx requestCtx = (RequestCtx) out1.get(0);
+        assertEquals(1, requestCtx.getRequest().refCnt());
+
+        // encode, releases request
+        RadiusResponse response = RadiusResponse.create(dictionary, (byte) 5, (byte) 1, null, Collections.emptyList());
+        List<Object> out2 = new ArrayList<>();
+        codec.encode(ctx, requestCtx.withResponse(response), out2);
+        assertEquals(0, requestCtx.getRequest().refCnt());
+
+        DatagramPacket sent = (DatagramPacket) out2.get(0);
+        assertArrayEquals(response.encodeResponse(secret, request.getAuthenticator()).toBytes(), ByteBufUtil.getBytes(sent.content()));
+        assertTrue(sent.release());
+    }
+}